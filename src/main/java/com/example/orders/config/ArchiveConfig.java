@@ -0,0 +1,38 @@
+package com.example.orders.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.ColdOrderStore;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderArchiver;
+
+/**
+ * Configuração da camada fria de pedidos
+ * Só cria o armazenamento e o agendador quando orders.archive.enabled=true
+ * e o backend é o em memória (orders.repository.backend=memory)
+ */
+@Configuration
+@EnableConfigurationProperties(OrderArchiveProperties.class)
+public class ArchiveConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "orders.archive", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(InMemoryOrderRepository.class)
+    public ColdOrderStore coldOrderStore(OrderArchiveProperties properties) throws IOException {
+        return new ColdOrderStore(Path.of(properties.getDirectory()));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "orders.archive", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(InMemoryOrderRepository.class)
+    public OrderArchiver orderArchiver(InMemoryOrderRepository orderRepository, OrderArchiveProperties properties) {
+        return new OrderArchiver(orderRepository, properties.getMinAge(), properties.getInterval());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.OrderColumnStore;
+import com.example.orders.repository.OrderRepository;
+
+/**
+ * Configuração da visão colunar off-heap usada pelos relatórios
+ * Só é criada quando orders.columnar.enabled=true
+ */
+@Configuration
+public class ColumnarConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "orders.columnar", name = "enabled", havingValue = "true")
+    public OrderColumnStore orderColumnStore(OrderRepository orderRepository) {
+        OrderColumnStore columnStore = new OrderColumnStore();
+        orderRepository.addListener(columnStore);
+        return columnStore;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.orders.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.CouponRedemptionLog;
+import com.example.orders.service.CouponRedemptions;
+import com.example.orders.service.CouponRegistry;
+
+/**
+ * Configuração do registro de cupons compilados e dos contadores de cota
+ * - Sem orders.coupons.file, apenas os cupons embutidos
+ * - Com orders.persistence.enabled=true, os contadores de cota são gravados no mesmo
+ *   diretório dos pedidos e sobrevivem a reinícios
+ */
+@Configuration
+@EnableConfigurationProperties({ OrderCouponProperties.class, OrderPersistenceProperties.class })
+public class CouponConfig {
+
+    @Bean(destroyMethod = "close")
+    public CouponRegistry couponRegistry(OrderCouponProperties properties) throws IOException {
+        if (properties.getFile() == null || properties.getFile().isBlank()) {
+            return new CouponRegistry();
+        }
+        return new CouponRegistry(Path.of(properties.getFile()), properties.isWatch());
+    }
+
+    @Bean(destroyMethod = "close")
+    public CouponRedemptions couponRedemptions(OrderPersistenceProperties persistence) throws IOException {
+        if (!persistence.isEnabled()) {
+            return new CouponRedemptions();
+        }
+        return new CouponRedemptions(CouponRedemptionLog.open(Path.of(persistence.getDirectory())));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.service.IdempotencyStore;
+
+/**
+ * Configuração do armazenamento de chaves de idempotência da criação de pedidos
+ */
+@Configuration
+@EnableConfigurationProperties(OrderIdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore<OrderResponse> orderIdempotencyStore(OrderIdempotencyProperties properties) {
+        return new IdempotencyStore<>(properties.getTtl(), properties.getMaxEntries());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.JdbcOrderRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuração do backend JDBC (banco embarcado em arquivo)
+ * Só é criada quando orders.repository.backend=jdbc; WAL, snapshots, shards e
+ * camada fria pertencem ao backend em memória e não se aplicam aqui
+ */
+@Configuration
+@EnableConfigurationProperties(OrderJdbcProperties.class)
+@ConditionalOnProperty(prefix = "orders.repository", name = "backend", havingValue = "jdbc")
+public class JdbcConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource orderDataSource(OrderJdbcProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("orders-jdbc");
+        config.setJdbcUrl(properties.getUrl());
+        config.setUsername(properties.getUsername());
+        config.setPassword(properties.getPassword());
+        // Pool fixo: conexões abertas na partida, sem criação sob carga
+        int poolSize = Math.max(2, properties.getPoolSize());
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "close")
+    public JdbcOrderRepository jdbcOrderRepository(HikariDataSource orderDataSource,
+            OrderJdbcProperties properties) {
+        return new JdbcOrderRepository(orderDataSource, properties.getBatchSize());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.service.OrderJobService;
+import com.example.orders.service.OrderService;
+
+/**
+ * Configuração dos jobs assíncronos em lote (/api/orders/jobs)
+ */
+@Configuration
+@EnableConfigurationProperties(OrderJobProperties.class)
+public class JobConfig {
+
+    @Bean(destroyMethod = "close")
+    public OrderJobService orderJobService(OrderService orderService, OrderJobProperties properties) {
+        return new OrderJobService(orderService, properties);
+    }
+}
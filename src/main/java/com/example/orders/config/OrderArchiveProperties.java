@@ -0,0 +1,64 @@
+package com.example.orders.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração do arquivamento em camada fria (prefixo orders.archive)
+ */
+@ConfigurationProperties(prefix = "orders.archive")
+public class OrderArchiveProperties {
+
+    /**
+     * Move pedidos finalizados ou cancelados antigos para arquivos compactados
+     */
+    private boolean enabled = false;
+
+    /**
+     * Diretório dos segmentos da camada fria
+     */
+    private String directory = "archive";
+
+    /**
+     * Idade mínima (pela data do pedido) para arquivar; considerada em dias
+     */
+    private Duration minAge = Duration.ofDays(30);
+
+    /**
+     * Intervalo entre execuções do arquivamento; zero desabilita a execução periódica
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Duration getMinAge() {
+        return minAge;
+    }
+
+    public void setMinAge(Duration minAge) {
+        this.minAge = minAge;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+}
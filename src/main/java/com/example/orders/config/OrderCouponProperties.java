@@ -0,0 +1,37 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração do registro de cupons (prefixo orders.coupons)
+ */
+@ConfigurationProperties(prefix = "orders.coupons")
+public class OrderCouponProperties {
+
+    /**
+     * Arquivo com os cupons nomeados (código=definição, ex.: BEMVINDO=OFF15);
+     * vazio, apenas os cupons embutidos OFF&lt;n&gt; e VALOR&lt;valor&gt;
+     */
+    private String file = "";
+
+    /**
+     * Recarrega o arquivo a cada alteração, sem reiniciar a aplicação
+     */
+    private boolean watch = true;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.orders.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração das chaves de idempotência de POST /api/orders (prefixo orders.idempotency)
+ */
+@ConfigurationProperties(prefix = "orders.idempotency")
+public class OrderIdempotencyProperties {
+
+    /**
+     * Por quanto tempo uma chave devolve o pedido criado originalmente
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Máximo de chaves em memória; acima dele as mais antigas são descartadas
+     */
+    private int maxEntries = 100_000;
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
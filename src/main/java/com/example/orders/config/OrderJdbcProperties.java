@@ -0,0 +1,85 @@
+package com.example.orders.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração do backend JDBC do repositório (prefixo orders.jdbc)
+ * Usada quando orders.repository.backend=jdbc
+ */
+@ConfigurationProperties(prefix = "orders.jdbc")
+public class OrderJdbcProperties {
+
+    /**
+     * URL do banco embarcado; QUERY_CACHE_SIZE define o cache de comandos preparados por conexão
+     */
+    private String url = "jdbc:h2:file:./data/orders-db;QUERY_CACHE_SIZE=64";
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /**
+     * Tamanho fixo do pool de conexões (mínimo 2: uma fica com a thread escritora)
+     */
+    private int poolSize = 8;
+
+    /**
+     * Máximo de inserções agrupadas em um lote JDBC
+     */
+    private int batchSize = 256;
+
+    /**
+     * Tempo máximo de espera por uma conexão do pool
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.orders.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração dos jobs assíncronos em lote (prefixo orders.jobs)
+ */
+@ConfigurationProperties(prefix = "orders.jobs")
+public class OrderJobProperties {
+
+    /**
+     * Máximo de pedidos em processamento ao mesmo tempo, somando todos os jobs
+     */
+    private int concurrency = 16;
+
+    /**
+     * Jobs executados ao mesmo tempo; os demais aguardam como PENDING
+     */
+    private int maxRunningJobs = 2;
+
+    /**
+     * Jobs mantidos em memória (pendentes, em execução e concluídos não expirados)
+     */
+    private int maxJobs = 1000;
+
+    /**
+     * Máximo de pedidos por job
+     */
+    private int maxOrders = 100_000;
+
+    /**
+     * Por quanto tempo um job concluído ou cancelado continua consultável
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getMaxRunningJobs() {
+        return maxRunningJobs;
+    }
+
+    public void setMaxRunningJobs(int maxRunningJobs) {
+        this.maxRunningJobs = maxRunningJobs;
+    }
+
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    public void setMaxJobs(int maxJobs) {
+        this.maxJobs = maxJobs;
+    }
+
+    public int getMaxOrders() {
+        return maxOrders;
+    }
+
+    public void setMaxOrders(int maxOrders) {
+        this.maxOrders = maxOrders;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.orders.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.example.orders.repository.DurabilityMode;
+
+/**
+ * Configuração da persistência do repositório de pedidos (prefixo orders.persistence)
+ */
+@ConfigurationProperties(prefix = "orders.persistence")
+public class OrderPersistenceProperties {
+
+    /**
+     * Habilita o write-ahead log; desabilitado mantém o repositório apenas em memória
+     */
+    private boolean enabled = false;
+
+    /**
+     * Diretório onde os arquivos de persistência são gravados
+     */
+    private String directory = "data";
+
+    private DurabilityMode durability = DurabilityMode.BATCHED;
+
+    /**
+     * Intervalo do flush periódico nos modos BATCHED e ASYNC
+     */
+    private Duration flushInterval = Duration.ofMillis(2);
+
+    /**
+     * Intervalo entre snapshots; zero desabilita os snapshots periódicos
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DurabilityMode getDurability() {
+        return durability;
+    }
+
+    public void setDurability(DurabilityMode durability) {
+        this.durability = durability;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+}
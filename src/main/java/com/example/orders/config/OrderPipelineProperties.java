@@ -0,0 +1,37 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração do pipeline de comandos de escritor único (prefixo orders.pipeline)
+ */
+@ConfigurationProperties(prefix = "orders.pipeline")
+public class OrderPipelineProperties {
+
+    /**
+     * Encaminha criação, cupom e entrega por uma única thread de negócio;
+     * desabilitado, cada requisição grava na própria thread
+     */
+    private boolean enabled = false;
+
+    /**
+     * Posições do buffer circular (potência de dois); cheio, o produtor espera
+     */
+    private int bufferSize = 4_096;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+}
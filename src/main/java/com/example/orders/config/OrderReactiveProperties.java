@@ -0,0 +1,50 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração da pilha reativa (prefixo orders.reactive), ativa com
+ * spring.main.web-application-type=reactive
+ */
+@ConfigurationProperties(prefix = "orders.reactive")
+public class OrderReactiveProperties {
+
+    /**
+     * Threads do scheduler que executa as chamadas bloqueantes ao repositório e aos serviços
+     */
+    private int blockingThreads = 10 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Chamadas bloqueantes enfileiradas além das threads ocupadas; acima disso a requisição falha
+     */
+    private int maxQueuedTasks = 100_000;
+
+    /**
+     * Pedidos lidos do repositório por vez ao transmitir uma consulta (NDJSON e exportação)
+     */
+    private int pageSize = 500;
+
+    public int getBlockingThreads() {
+        return blockingThreads;
+    }
+
+    public void setBlockingThreads(int blockingThreads) {
+        this.blockingThreads = blockingThreads;
+    }
+
+    public int getMaxQueuedTasks() {
+        return maxQueuedTasks;
+    }
+
+    public void setMaxQueuedTasks(int maxQueuedTasks) {
+        this.maxQueuedTasks = maxQueuedTasks;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+}
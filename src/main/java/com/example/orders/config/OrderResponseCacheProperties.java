@@ -0,0 +1,24 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuração do cache de respostas JSON de GET /api/orders/{id} (prefixo orders.response-cache)
+ */
+@ConfigurationProperties(prefix = "orders.response-cache")
+public class OrderResponseCacheProperties {
+
+    /**
+     * Memória máxima ocupada pelas respostas serializadas; 0 desabilita o cache
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração do modo particionado do repositório (prefixo orders.sharding)
+ */
+@ConfigurationProperties(prefix = "orders.sharding")
+public class OrderShardingProperties {
+
+    /**
+     * Habilita os shards com escritor único; desabilitado usa um mapa com CAS
+     */
+    private boolean enabled = false;
+
+    /**
+     * Quantidade de shards; zero usa um por processador
+     */
+    private int shards = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+}
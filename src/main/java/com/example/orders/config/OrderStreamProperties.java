@@ -0,0 +1,77 @@
+package com.example.orders.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração do feed de alterações e do endpoint SSE (prefixo orders.stream)
+ */
+@ConfigurationProperties(prefix = "orders.stream")
+public class OrderStreamProperties {
+
+    /**
+     * Quantidade de eventos retidos no buffer circular; leitores mais atrasados perdem eventos
+     */
+    private int capacity = 65_536;
+
+    /**
+     * Intervalo entre leituras do feed para os assinantes SSE
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /**
+     * Máximo de eventos enviados a um assinante por leitura
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * Tempo máximo de uma conexão SSE; zero mantém a conexão sem limite
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Tempo máximo de um envio a um assinante SSE; quem não consome nesse prazo é desconectado
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(Duration sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+}
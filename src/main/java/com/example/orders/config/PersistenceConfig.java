@@ -0,0 +1,46 @@
+package com.example.orders.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.SnapshotScheduler;
+import com.example.orders.repository.SnapshotStore;
+import com.example.orders.repository.WriteAheadLog;
+
+/**
+ * Configuração dos componentes de persistência em arquivo
+ * Só cria o write-ahead log e os snapshots quando orders.persistence.enabled=true
+ * O agendador de snapshots só existe com o backend em memória (orders.repository.backend=memory)
+ */
+@Configuration
+@EnableConfigurationProperties(OrderPersistenceProperties.class)
+public class PersistenceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "orders.persistence", name = "enabled", havingValue = "true")
+    public WriteAheadLog writeAheadLog(OrderPersistenceProperties properties) throws IOException {
+        return WriteAheadLog.open(Path.of(properties.getDirectory()),
+                properties.getDurability(), properties.getFlushInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "orders.persistence", name = "enabled", havingValue = "true")
+    public SnapshotStore snapshotStore(OrderPersistenceProperties properties) throws IOException {
+        return new SnapshotStore(Path.of(properties.getDirectory()));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "orders.persistence", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(InMemoryOrderRepository.class)
+    public SnapshotScheduler snapshotScheduler(InMemoryOrderRepository orderRepository,
+            OrderPersistenceProperties properties) {
+        return new SnapshotScheduler(orderRepository, properties.getSnapshotInterval());
+    }
+}
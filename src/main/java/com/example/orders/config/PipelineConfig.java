@@ -0,0 +1,26 @@
+package com.example.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.service.OrderCommandPipeline;
+import com.example.orders.service.OrderService;
+
+/**
+ * Configuração do pipeline de comandos de escritor único
+ * Só cria a thread de negócio quando orders.pipeline.enabled=true
+ */
+@Configuration
+@EnableConfigurationProperties(OrderPipelineProperties.class)
+public class PipelineConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "orders.pipeline", name = "enabled", havingValue = "true")
+    public OrderCommandPipeline orderCommandPipeline(OrderService orderService, OrderRepository orderRepository,
+            OrderPipelineProperties properties) {
+        return new OrderCommandPipeline(orderService, orderRepository, properties.getBufferSize());
+    }
+}
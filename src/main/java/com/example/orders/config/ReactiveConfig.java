@@ -0,0 +1,48 @@
+package com.example.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.ReactiveOrderRepository;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuração da pilha reativa (WebFlux sobre Netty)
+ * Ativa apenas com spring.main.web-application-type=reactive; o padrão continua
+ * sendo a pilha servlet (Tomcat) com o OrderController
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(OrderReactiveProperties.class)
+public class ReactiveConfig {
+
+    /**
+     * Servidor Netty: com o Tomcat também no classpath (pilha servlet), o Spring Boot
+     * escolheria o Tomcat mesmo no modo reativo
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Scheduler das chamadas bloqueantes, separado das threads de I/O do Netty
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler orderBlockingScheduler(OrderReactiveProperties properties) {
+        return Schedulers.newBoundedElastic(properties.getBlockingThreads(),
+                properties.getMaxQueuedTasks(), "order-reactive");
+    }
+
+    @Bean
+    public ReactiveOrderRepository reactiveOrderRepository(OrderRepository orderRepository,
+            Scheduler orderBlockingScheduler, OrderReactiveProperties properties) {
+        return new ReactiveOrderRepository(orderRepository, orderBlockingScheduler, properties.getPageSize());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.service.OrderJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Configuração do cache de respostas JSON serializadas, invalidado pelo repositório
+ */
+@Configuration
+@EnableConfigurationProperties(OrderResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public OrderJsonCache orderJsonCache(OrderResponseCacheProperties properties, OrderRepository orderRepository,
+            OrderMapper orderMapper, ObjectMapper objectMapper) {
+        OrderJsonCache cache = new OrderJsonCache(orderRepository, orderMapper, objectMapper,
+                properties.getMaxSize().toBytes());
+        orderRepository.addListener(cache);
+        return cache;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.ShardWriters;
+
+/**
+ * Configuração do modo particionado do repositório
+ * Só cria as threads escritoras quando orders.sharding.enabled=true
+ */
+@Configuration
+@EnableConfigurationProperties(OrderShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "orders.sharding", name = "enabled", havingValue = "true")
+    public ShardWriters shardWriters(OrderShardingProperties properties) {
+        return new ShardWriters(properties.getShards());
+    }
+}
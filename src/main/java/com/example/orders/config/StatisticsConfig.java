@@ -0,0 +1,21 @@
+package com.example.orders.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.OrderStatistics;
+
+/**
+ * Configuração dos agregados incrementais servidos por GET /api/orders/stats
+ */
+@Configuration
+public class StatisticsConfig {
+
+    @Bean
+    public OrderStatistics orderStatistics(OrderRepository orderRepository) {
+        OrderStatistics statistics = new OrderStatistics();
+        orderRepository.addListener(statistics);
+        return statistics;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.orders.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.orders.repository.OrderChangeFeed;
+import com.example.orders.repository.OrderRepository;
+
+/**
+ * Configuração do feed de alterações (CDC) consumido por GET /api/orders/stream
+ */
+@Configuration
+@EnableConfigurationProperties(OrderStreamProperties.class)
+public class StreamConfig {
+
+    @Bean
+    public OrderChangeFeed orderChangeFeed(OrderRepository orderRepository, OrderStreamProperties properties) {
+        OrderChangeFeed feed = new OrderChangeFeed(properties.getCapacity());
+        orderRepository.addListener(feed);
+        return feed;
+    }
+}
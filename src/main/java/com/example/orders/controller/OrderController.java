@@ -1,26 +1,59 @@
 package com.example.orders.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.orders.dto.ApiResponse;
+import com.example.orders.dto.BatchOperationResponse;
+import com.example.orders.dto.BulkImportResponse;
 import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderJobResponse;
+import com.example.orders.dto.OrderReportResponse;
 import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.OrderStatsResponse;
+import com.example.orders.dto.PageResponse;
+import com.example.orders.mapper.OrderMapper;
 import com.example.orders.model.ApplyCouponRequest;
+import com.example.orders.model.BatchApplyCouponRequest;
+import com.example.orders.model.BatchFulfillRequest;
 import com.example.orders.model.FulfillRequest;
+import com.example.orders.model.OrderJobRequest;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.service.IdempotencyStore;
+import com.example.orders.service.OrderBatchService;
+import com.example.orders.service.OrderBulkImportService;
+import com.example.orders.service.OrderCommandPipeline;
+import com.example.orders.service.OrderExportService;
+import com.example.orders.service.OrderJobService;
+import com.example.orders.service.OrderJsonCache;
+import com.example.orders.service.OrderReportService;
 import com.example.orders.service.OrderService;
+import com.example.orders.service.OrderStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -33,24 +66,59 @@ import jakarta.validation.Valid;
  * - Tratamento de erros adequado
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
 
     private final OrderService orderService;
+    private final OrderCommandPipeline orderCommandPipeline;
+    private final OrderBulkImportService orderBulkImportService;
+    private final OrderBatchService orderBatchService;
+    private final OrderJobService orderJobService;
+    private final OrderReportService orderReportService;
+    private final OrderExportService orderExportService;
+    private final OrderStreamService orderStreamService;
+    private final IdempotencyStore<OrderResponse> idempotencyStore;
+    private final OrderJsonCache orderJsonCache;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, @Nullable OrderCommandPipeline orderCommandPipeline,
+            OrderBulkImportService orderBulkImportService,
+            OrderBatchService orderBatchService, OrderJobService orderJobService,
+            OrderReportService orderReportService,
+            OrderExportService orderExportService, OrderStreamService orderStreamService,
+            IdempotencyStore<OrderResponse> idempotencyStore,
+            OrderJsonCache orderJsonCache, OrderMapper orderMapper, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderCommandPipeline = orderCommandPipeline;
+        this.orderBulkImportService = orderBulkImportService;
+        this.orderBatchService = orderBatchService;
+        this.orderJobService = orderJobService;
+        this.orderReportService = orderReportService;
+        this.orderExportService = orderExportService;
+        this.orderStreamService = orderStreamService;
+        this.idempotencyStore = idempotencyStore;
+        this.orderJsonCache = orderJsonCache;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Cria um novo pedido
+     * Com o cabeçalho Idempotency-Key, repetições da mesma chave devolvem o pedido
+     * criado na primeira requisição, sem gravar de novo
+     * Com orders.pipeline.enabled, as mutações passam pelo pipeline de escritor único
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<OrderResponse>> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    public ResponseEntity<ApiResponse<OrderResponse>> createOrder(@Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            OrderResponse order = orderService.createOrder(request);
+            OrderResponse order = idempotencyKey != null
+                    ? idempotencyStore.execute(idempotencyKey, () -> create(request))
+                    : create(request);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Pedido criado com sucesso", order));
         } catch (IllegalArgumentException e) {
@@ -65,13 +133,52 @@ public class OrderController {
     }
 
     /**
-     * Lista todos os pedidos
+     * Cria pedidos em lote a partir de NDJSON (application/x-ndjson) ou CSV (text/csv)
+     * O corpo é processado em streaming; linhas inválidas voltam no relatório de erros
+     * sem impedir a gravação das demais
+     */
+    @PostMapping(path = "/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<ApiResponse<BulkImportResponse>> bulkImport(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        OrderBulkImportService.Format format = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                        ? OrderBulkImportService.Format.NDJSON
+                        : OrderBulkImportService.Format.CSV;
+        try {
+            BulkImportResponse result = orderBulkImportService.importOrders(body, format);
+            return ResponseEntity.ok(ApiResponse.success("Importação concluída", result));
+        } catch (IOException e) {
+            logger.warn("Importação em lote interrompida: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Falha na leitura do corpo da requisição"));
+        } catch (Exception e) {
+            logger.error("Erro interno na importação em lote", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Erro interno do servidor"));
+        }
+    }
+
+    /**
+     * Lista os pedidos, todos ou filtrados, paginados por cursor
+     * Filtros opcionais: status, intervalo de datas (dd-MM-yyyy) e cliente
+     * Paginação: after (nextCursor da página anterior) e limit (padrão 100, máximo 1000)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllOrders() {
+    public ResponseEntity<ApiResponse<PageResponse<OrderResponse>>> getAllOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<OrderResponse> orders = orderService.getAllOrders();
-            return ResponseEntity.ok(ApiResponse.success(orders));
+            PageResponse<OrderResponse> page = orderService.findOrders(
+                    toQuery(status, from, to, customer), after, limit);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Filtro de pedidos inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Erro ao buscar pedidos", e);
             return ResponseEntity.internalServerError()
@@ -79,15 +186,99 @@ public class OrderController {
         }
     }
 
+    /**
+     * Exporta os pedidos em NDJSON (um pedido por linha), em ordem de ID
+     * Filtros opcionais: status, intervalo de datas (dd-MM-yyyy) e cliente
+     * Os pedidos são escritos à medida que o repositório é percorrido, sem montar a lista
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String customer) {
+        OrderQuery query;
+        try {
+            query = toQuery(status, from, to, customer);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Filtro de exportação inválido: {}", e.getMessage());
+            ApiResponse<Void> error = ApiResponse.error(e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                orderExportService.exportNdjson(query, out);
+            } catch (IOException e) {
+                // Cliente desconectado: não há a quem responder
+                logger.info("Exportação interrompida pelo cliente: {}", e.getMessage());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Relatório agregado (quantidade e total, geral e por status)
+     * Filtros opcionais: status, intervalo de datas (dd-MM-yyyy) e cliente
+     */
+    @GetMapping("/report")
+    public ResponseEntity<ApiResponse<OrderReportResponse>> getReport(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String customer) {
+        try {
+            OrderReportResponse report = orderReportService.report(toQuery(status, from, to, customer));
+            return ResponseEntity.ok(ApiResponse.success(report));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Filtro de relatório inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Erro ao gerar relatório de pedidos", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Erro interno do servidor"));
+        }
+    }
+
+    /**
+     * Estatísticas correntes de todos os pedidos (geral, por status e por dia)
+     * Respondidas a partir de agregados incrementais, em tempo constante
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<OrderStatsResponse>> getStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(orderReportService.stats()));
+        } catch (Exception e) {
+            logger.error("Erro ao obter estatísticas de pedidos", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Erro interno do servidor"));
+        }
+    }
+
+    /**
+     * Acompanha as alterações de pedidos via Server-Sent Events
+     * Começa do momento atual, ou do evento seguinte ao cabeçalho Last-Event-ID
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return orderStreamService.subscribe(lastEventId);
+    }
+
     /**
      * Busca pedido por ID
+     * A resposta sai do cache de JSON serializado, escrita direto como bytes
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(@PathVariable Long id) {
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getOrderById(@PathVariable Long id) {
         try {
-            Optional<OrderResponse> order = orderService.getOrderById(id);
-            if (order.isPresent()) {
-                return ResponseEntity.ok(ApiResponse.success(order.get()));
+            Optional<byte[]> json = orderJsonCache.getOrderJson(id);
+            if (json.isPresent()) {
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.get());
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -104,12 +295,18 @@ public class OrderController {
     @PostMapping("/apply-coupon")
     public ResponseEntity<ApiResponse<BigDecimal>> applyCoupon(@Valid @RequestBody ApplyCouponRequest request) {
         try {
-            BigDecimal newTotal = orderService.applyCoupon(request.getOrderId(), request.getCoupon());
+            BigDecimal newTotal = orderCommandPipeline != null
+                    ? orderCommandPipeline.applyCoupon(request.getOrderId(), request.getCoupon())
+                    : orderService.applyCoupon(request.getOrderId(), request.getCoupon());
             return ResponseEntity.ok(ApiResponse.success("Cupom aplicado com sucesso", newTotal));
         } catch (IllegalArgumentException e) {
             logger.warn("Erro na aplicação do cupom: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            logger.warn("Conflito na aplicação do cupom: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Erro interno na aplicação do cupom", e);
             return ResponseEntity.internalServerError()
@@ -123,7 +320,9 @@ public class OrderController {
     @PostMapping("/fulfill")
     public ResponseEntity<ApiResponse<String>> fulfillOrder(@Valid @RequestBody FulfillRequest request) {
         try {
-            String result = orderService.fulfillOrder(request.getOrderId());
+            String result = orderCommandPipeline != null
+                    ? orderCommandPipeline.fulfillOrder(request.getOrderId())
+                    : orderService.fulfillOrder(request.getOrderId());
             return ResponseEntity.ok(ApiResponse.success("Entrega processada com sucesso", result));
         } catch (IllegalArgumentException e) {
             logger.warn("Erro no processamento da entrega: {}", e.getMessage());
@@ -139,4 +338,102 @@ public class OrderController {
                     .body(ApiResponse.error("Erro interno do servidor"));
         }
     }
+
+    /**
+     * Aplica o mesmo cupom a vários pedidos, com resultado por pedido
+     * Pedidos não encontrados ou em conflito são reportados sem interromper o lote
+     */
+    @PostMapping("/batch/apply-coupon")
+    public ResponseEntity<ApiResponse<BatchOperationResponse>> applyCouponBatch(
+            @Valid @RequestBody BatchApplyCouponRequest request) {
+        try {
+            BatchOperationResponse result = orderBatchService.applyCoupon(request.getOrderIds(), request.getCoupon());
+            return ResponseEntity.ok(ApiResponse.success("Lote processado", result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro na aplicação do cupom em lote: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Erro interno na aplicação do cupom em lote", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Erro interno do servidor"));
+        }
+    }
+
+    /**
+     * Processa a entrega de vários pedidos, com resultado por pedido
+     * Pedidos não encontrados ou não pagos são reportados sem interromper o lote
+     */
+    @PostMapping("/batch/fulfill")
+    public ResponseEntity<ApiResponse<BatchOperationResponse>> fulfillBatch(
+            @Valid @RequestBody BatchFulfillRequest request) {
+        try {
+            BatchOperationResponse result = orderBatchService.fulfill(request.getOrderIds());
+            return ResponseEntity.ok(ApiResponse.success("Lote processado", result));
+        } catch (Exception e) {
+            logger.error("Erro interno no processamento da entrega em lote", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Erro interno do servidor"));
+        }
+    }
+
+    /**
+     * Submete um job assíncrono (APPLY_COUPON ou FULFILL) sobre vários pedidos
+     * Responde 202 com o ID do job; o progresso é consultado em /jobs/{id}
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<OrderJobResponse>> submitJob(@Valid @RequestBody OrderJobRequest request) {
+        try {
+            OrderJobResponse job = orderJobService.submit(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Job submetido", job));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Job inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            logger.warn("Job recusado: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Erro interno na submissão do job", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Erro interno do servidor"));
+        }
+    }
+
+    /**
+     * Progresso e falhas de um job
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ApiResponse<OrderJobResponse>> getJob(@PathVariable String id) {
+        return orderJobService.find(id)
+                .map(job -> ResponseEntity.ok(ApiResponse.success(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cancela um job pendente ou em execução
+     */
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<ApiResponse<OrderJobResponse>> cancelJob(@PathVariable String id) {
+        return orderJobService.cancel(id)
+                .map(job -> ResponseEntity.ok(ApiResponse.success("Cancelamento solicitado", job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private OrderResponse create(CreateOrderRequest request) {
+        return orderCommandPipeline != null
+                ? orderCommandPipeline.createOrder(request)
+                : orderService.createOrder(request);
+    }
+
+    /**
+     * Monta a consulta a partir dos parâmetros opcionais da requisição
+     */
+    private OrderQuery toQuery(OrderStatus status, String from, String to, String customer) {
+        LocalDate fromDate = from != null ? orderMapper.parseDate(from) : null;
+        LocalDate toDate = to != null ? orderMapper.parseDate(to) : null;
+        return new OrderQuery(status, fromDate, toDate, customer);
+    }
 }
@@ -0,0 +1,308 @@
+package com.example.orders.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.orders.dto.ApiResponse;
+import com.example.orders.dto.BatchOperationResponse;
+import com.example.orders.dto.BulkImportResponse;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderJobResponse;
+import com.example.orders.dto.OrderReportResponse;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.OrderStatsResponse;
+import com.example.orders.dto.PageResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.ApplyCouponRequest;
+import com.example.orders.model.BatchApplyCouponRequest;
+import com.example.orders.model.BatchFulfillRequest;
+import com.example.orders.model.FulfillRequest;
+import com.example.orders.model.OrderJobRequest;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.service.OrderBulkImportService;
+import com.example.orders.service.ReactiveOrderService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Variante reativa (WebFlux) do OrderController, com os mesmos endpoints e respostas
+ * Ativa com spring.main.web-application-type=reactive; nenhuma thread de I/O
+ * espera pelo repositório (ver ReactiveOrderService)
+ * Diferença: GET /api/orders com Accept: application/x-ndjson transmite todos os
+ * pedidos da consulta, com backpressure, em vez de uma página
+ */
+@RestController
+@RequestMapping("/api/orders")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOrderController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveOrderController.class);
+
+    private final ReactiveOrderService reactiveOrderService;
+    private final OrderMapper orderMapper;
+
+    public ReactiveOrderController(ReactiveOrderService reactiveOrderService, OrderMapper orderMapper) {
+        this.reactiveOrderService = reactiveOrderService;
+        this.orderMapper = orderMapper;
+    }
+
+    /**
+     * Cria um novo pedido (com Idempotency-Key opcional, como na pilha servlet)
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<OrderResponse>>> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return reactiveOrderService.createOrder(request, idempotencyKey)
+                .map(order -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Pedido criado com sucesso", order)))
+                .onErrorResume(errors("criação do pedido", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Cria pedidos em lote a partir de NDJSON (application/x-ndjson) ou CSV (text/csv)
+     */
+    @PostMapping(path = "/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public Mono<ResponseEntity<ApiResponse<BulkImportResponse>>> bulkImport(@RequestBody Flux<DataBuffer> body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        OrderBulkImportService.Format format = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                        ? OrderBulkImportService.Format.NDJSON
+                        : OrderBulkImportService.Format.CSV;
+        return reactiveOrderService.importOrders(body, format)
+                .map(result -> ResponseEntity.ok(ApiResponse.success("Importação concluída", result)))
+                .onErrorResume(errors("importação em lote", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Lista os pedidos, todos ou filtrados
+     * - Padrão: uma página por cursor (after, limit), como na pilha servlet
+     * - Accept: application/x-ndjson: todos os pedidos da consulta, um por linha,
+     *   lidos do repositório à medida que o cliente consome
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) List<MediaType> accept) {
+        if (accept != null && accept.stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype)) {
+            return Mono.fromSupplier(() -> streamOrders(status, from, to, customer));
+        }
+        return Mono.fromCallable(() -> toQuery(status, from, to, customer))
+                .flatMap(query -> reactiveOrderService.findOrders(query, after, limit))
+                .<ResponseEntity<?>>map(page -> ResponseEntity.ok(ApiResponse.success(page)))
+                .onErrorResume(errors("busca de pedidos", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Exporta os pedidos em NDJSON (um pedido por linha), em ordem de ID
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String customer) {
+        return streamOrders(status, from, to, customer);
+    }
+
+    /**
+     * Relatório agregado (quantidade e total, geral e por status)
+     */
+    @GetMapping("/report")
+    public Mono<ResponseEntity<ApiResponse<OrderReportResponse>>> getReport(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String customer) {
+        return Mono.fromCallable(() -> toQuery(status, from, to, customer))
+                .flatMap(reactiveOrderService::report)
+                .map(report -> ResponseEntity.ok(ApiResponse.success(report)))
+                .onErrorResume(errors("relatório de pedidos", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Estatísticas correntes de todos os pedidos (geral, por status e por dia)
+     */
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<ApiResponse<OrderStatsResponse>>> getStats() {
+        return reactiveOrderService.stats()
+                .map(stats -> ResponseEntity.ok(ApiResponse.success(stats)))
+                .onErrorResume(errors("estatísticas de pedidos", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Acompanha as alterações de pedidos via Server-Sent Events
+     * Começa do momento atual, ou do evento seguinte ao cabeçalho Last-Event-ID
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return reactiveOrderService.streamChanges(lastEventId);
+    }
+
+    /**
+     * Busca pedido por ID, a partir do cache de JSON serializado
+     */
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> getOrderById(@PathVariable Long id) {
+        return reactiveOrderService.getOrderJson(id)
+                .<ResponseEntity<?>>map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> {
+                    logger.error("Erro ao buscar pedido ID: {}", id, e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                            .body(ApiResponse.error("Erro interno do servidor")));
+                });
+    }
+
+    /**
+     * Aplica cupom de desconto
+     */
+    @PostMapping("/apply-coupon")
+    public Mono<ResponseEntity<ApiResponse<BigDecimal>>> applyCoupon(@Valid @RequestBody ApplyCouponRequest request) {
+        return reactiveOrderService.applyCoupon(request.getOrderId(), request.getCoupon())
+                .map(total -> ResponseEntity.ok(ApiResponse.success("Cupom aplicado com sucesso", total)))
+                .onErrorResume(errors("aplicação do cupom", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Processa entrega do pedido
+     */
+    @PostMapping("/fulfill")
+    public Mono<ResponseEntity<ApiResponse<String>>> fulfillOrder(@Valid @RequestBody FulfillRequest request) {
+        return reactiveOrderService.fulfillOrder(request.getOrderId())
+                .map(result -> ResponseEntity.ok(ApiResponse.success("Entrega processada com sucesso", result)))
+                .onErrorResume(errors("processamento da entrega", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Aplica o mesmo cupom a vários pedidos, com resultado por pedido
+     */
+    @PostMapping("/batch/apply-coupon")
+    public Mono<ResponseEntity<ApiResponse<BatchOperationResponse>>> applyCouponBatch(
+            @Valid @RequestBody BatchApplyCouponRequest request) {
+        return reactiveOrderService.applyCouponBatch(request.getOrderIds(), request.getCoupon())
+                .map(result -> ResponseEntity.ok(ApiResponse.success("Lote processado", result)))
+                .onErrorResume(errors("aplicação do cupom em lote", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Processa a entrega de vários pedidos, com resultado por pedido
+     */
+    @PostMapping("/batch/fulfill")
+    public Mono<ResponseEntity<ApiResponse<BatchOperationResponse>>> fulfillBatch(
+            @Valid @RequestBody BatchFulfillRequest request) {
+        return reactiveOrderService.fulfillBatch(request.getOrderIds())
+                .map(result -> ResponseEntity.ok(ApiResponse.success("Lote processado", result)))
+                .onErrorResume(errors("entrega em lote", HttpStatus.CONFLICT));
+    }
+
+    /**
+     * Submete um job assíncrono; responde 202 com o ID do job
+     * Acima do limite de jobs retidos, responde 429
+     */
+    @PostMapping("/jobs")
+    public Mono<ResponseEntity<ApiResponse<OrderJobResponse>>> submitJob(
+            @Valid @RequestBody OrderJobRequest request) {
+        return reactiveOrderService.submitJob(request)
+                .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(ApiResponse.success("Job submetido", job)))
+                .onErrorResume(errors("submissão do job", HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    /**
+     * Progresso e falhas de um job
+     */
+    @GetMapping("/jobs/{id}")
+    public Mono<ResponseEntity<ApiResponse<OrderJobResponse>>> getJob(@PathVariable String id) {
+        return reactiveOrderService.findJob(id)
+                .map(job -> ResponseEntity.ok(ApiResponse.success(job)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cancela um job pendente ou em execução
+     */
+    @DeleteMapping("/jobs/{id}")
+    public Mono<ResponseEntity<ApiResponse<OrderJobResponse>>> cancelJob(@PathVariable String id) {
+        return reactiveOrderService.cancelJob(id)
+                .map(job -> ResponseEntity.ok(ApiResponse.success("Cancelamento solicitado", job)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Resposta NDJSON com os pedidos da consulta, ou 400 se o filtro for inválido
+     */
+    private ResponseEntity<?> streamOrders(OrderStatus status, String from, String to, String customer) {
+        OrderQuery query;
+        try {
+            query = toQuery(status, from, to, customer);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Filtro de exportação inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reactiveOrderService.streamOrders(query));
+    }
+
+    /**
+     * Converte falhas na mesma resposta da pilha servlet:
+     * argumento inválido → 400, estado inválido → stateStatus, demais → 500
+     */
+    private <T> Function<Throwable, Mono<ResponseEntity<ApiResponse<T>>>> errors(String operation,
+            HttpStatus stateStatus) {
+        return e -> {
+            if (e instanceof IllegalArgumentException) {
+                logger.warn("Erro na {}: {}", operation, e.getMessage());
+                return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage())));
+            }
+            if (e instanceof IllegalStateException) {
+                logger.warn("Conflito na {}: {}", operation, e.getMessage());
+                return Mono.just(ResponseEntity.status(stateStatus).body(ApiResponse.error(e.getMessage())));
+            }
+            logger.error("Erro interno na {}", operation, e);
+            return Mono.just(ResponseEntity.internalServerError().body(ApiResponse.error("Erro interno do servidor")));
+        };
+    }
+
+    /**
+     * Monta a consulta a partir dos parâmetros opcionais da requisição
+     */
+    private OrderQuery toQuery(OrderStatus status, String from, String to, String customer) {
+        LocalDate fromDate = from != null ? orderMapper.parseDate(from) : null;
+        LocalDate toDate = to != null ? orderMapper.parseDate(to) : null;
+        return new OrderQuery(status, fromDate, toDate, customer);
+    }
+}
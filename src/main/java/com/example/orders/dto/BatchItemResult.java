@@ -0,0 +1,72 @@
+package com.example.orders.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de um pedido em uma operação em lote
+ * status: OK, NOT_FOUND, CONFLICT (estado não permite a operação) ou ERROR;
+ * value traz o resultado em caso de sucesso e message o motivo da falha
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public static final String OK = "OK";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String CONFLICT = "CONFLICT";
+    public static final String ERROR = "ERROR";
+
+    private Long orderId;
+    private String status;
+    private String value;
+    private String message;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(Long orderId, String status, String value, String message) {
+        this.orderId = orderId;
+        this.status = status;
+        this.value = value;
+        this.message = message;
+    }
+
+    public static BatchItemResult ok(Long orderId, String value) {
+        return new BatchItemResult(orderId, OK, value, null);
+    }
+
+    public static BatchItemResult failure(Long orderId, String status, String message) {
+        return new BatchItemResult(orderId, status, null, message);
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
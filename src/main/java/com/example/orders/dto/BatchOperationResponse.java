@@ -0,0 +1,46 @@
+package com.example.orders.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta de uma operação em lote: contagens e resultado por pedido,
+ * na ordem em que os IDs foram enviados
+ */
+public class BatchOperationResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results;
+
+    public BatchOperationResponse() {
+    }
+
+    public BatchOperationResponse(int succeeded, int failed, List<BatchItemResult> results) {
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.orders.dto;
+
+/**
+ * Linha rejeitada em uma importação em lote
+ */
+public class BulkImportError {
+    private long line;
+    private String message;
+
+    public BulkImportError() {
+    }
+
+    public BulkImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.orders.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da importação em lote
+ * errors traz no máximo as primeiras linhas rejeitadas; failed conta todas
+ */
+public class BulkImportResponse {
+    private long received;
+    private long created;
+    private long failed;
+    private List<BulkImportError> errors;
+
+    public BulkImportResponse() {
+    }
+
+    public BulkImportResponse(long received, long created, long failed, List<BulkImportError> errors) {
+        this.received = received;
+        this.created = created;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkImportError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkImportError> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.orders.dto;
+
+import java.math.BigDecimal;
+
+import com.example.orders.model.OrderStatus;
+
+/**
+ * DTO de um evento de alteração de pedido enviado em GET /api/orders/stream
+ */
+public class OrderChangeResponse {
+    private long sequence;
+    private Long orderId;
+    private OrderStatus oldStatus;
+    private OrderStatus newStatus;
+    private BigDecimal total;
+    private long version;
+
+    public OrderChangeResponse() {
+    }
+
+    public OrderChangeResponse(long sequence, Long orderId, OrderStatus oldStatus, OrderStatus newStatus,
+            BigDecimal total, long version) {
+        this.sequence = sequence;
+        this.orderId = orderId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.total = total;
+        this.version = version;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderStatus getOldStatus() {
+        return oldStatus;
+    }
+
+    public void setOldStatus(OrderStatus oldStatus) {
+        this.oldStatus = oldStatus;
+    }
+
+    public OrderStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public void setNewStatus(OrderStatus newStatus) {
+        this.newStatus = newStatus;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
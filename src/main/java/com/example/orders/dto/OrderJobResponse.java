@@ -0,0 +1,121 @@
+package com.example.orders.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.example.orders.model.OrderJobStatus;
+import com.example.orders.model.OrderJobType;
+
+/**
+ * DTO de resposta com o progresso de um job assíncrono
+ * failures traz no máximo as primeiras falhas; failed conta todas
+ */
+public class OrderJobResponse {
+    private String id;
+    private OrderJobType type;
+    private OrderJobStatus status;
+    private int total;
+    private int processed;
+    private int succeeded;
+    private int failed;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private List<BatchItemResult> failures;
+
+    public OrderJobResponse() {
+    }
+
+    public OrderJobResponse(String id, OrderJobType type, OrderJobStatus status, int total, int processed,
+            int succeeded, int failed, Instant createdAt, Instant finishedAt, List<BatchItemResult> failures) {
+        this.id = id;
+        this.type = type;
+        this.status = status;
+        this.total = total;
+        this.processed = processed;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+        this.failures = failures;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public OrderJobType getType() {
+        return type;
+    }
+
+    public void setType(OrderJobType type) {
+        this.type = type;
+    }
+
+    public OrderJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderJobStatus status) {
+        this.status = status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public List<BatchItemResult> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<BatchItemResult> failures) {
+        this.failures = failures;
+    }
+}
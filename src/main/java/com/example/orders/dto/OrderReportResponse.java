@@ -0,0 +1,59 @@
+package com.example.orders.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import com.example.orders.model.OrderStatus;
+
+/**
+ * DTO de resposta do relatório agregado de pedidos
+ */
+public class OrderReportResponse {
+    private long count;
+    private BigDecimal total;
+    private Map<OrderStatus, Long> countByStatus;
+    private Map<OrderStatus, BigDecimal> totalByStatus;
+
+    public OrderReportResponse() {
+    }
+
+    public OrderReportResponse(long count, BigDecimal total, Map<OrderStatus, Long> countByStatus,
+            Map<OrderStatus, BigDecimal> totalByStatus) {
+        this.count = count;
+        this.total = total;
+        this.countByStatus = countByStatus;
+        this.totalByStatus = totalByStatus;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Map<OrderStatus, Long> getCountByStatus() {
+        return countByStatus;
+    }
+
+    public void setCountByStatus(Map<OrderStatus, Long> countByStatus) {
+        this.countByStatus = countByStatus;
+    }
+
+    public Map<OrderStatus, BigDecimal> getTotalByStatus() {
+        return totalByStatus;
+    }
+
+    public void setTotalByStatus(Map<OrderStatus, BigDecimal> totalByStatus) {
+        this.totalByStatus = totalByStatus;
+    }
+}
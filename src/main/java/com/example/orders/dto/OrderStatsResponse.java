@@ -0,0 +1,81 @@
+package com.example.orders.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.example.orders.model.OrderStatus;
+
+/**
+ * DTO de resposta das estatísticas correntes de pedidos (geral, por status e por dia)
+ */
+public class OrderStatsResponse {
+    private long count;
+    private BigDecimal total;
+    private Map<OrderStatus, Long> countByStatus;
+    private Map<OrderStatus, BigDecimal> totalByStatus;
+    private Map<LocalDate, Long> countByDay;
+    private Map<LocalDate, BigDecimal> totalByDay;
+
+    public OrderStatsResponse() {
+    }
+
+    public OrderStatsResponse(long count, BigDecimal total, Map<OrderStatus, Long> countByStatus,
+            Map<OrderStatus, BigDecimal> totalByStatus, Map<LocalDate, Long> countByDay,
+            Map<LocalDate, BigDecimal> totalByDay) {
+        this.count = count;
+        this.total = total;
+        this.countByStatus = countByStatus;
+        this.totalByStatus = totalByStatus;
+        this.countByDay = countByDay;
+        this.totalByDay = totalByDay;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Map<OrderStatus, Long> getCountByStatus() {
+        return countByStatus;
+    }
+
+    public void setCountByStatus(Map<OrderStatus, Long> countByStatus) {
+        this.countByStatus = countByStatus;
+    }
+
+    public Map<OrderStatus, BigDecimal> getTotalByStatus() {
+        return totalByStatus;
+    }
+
+    public void setTotalByStatus(Map<OrderStatus, BigDecimal> totalByStatus) {
+        this.totalByStatus = totalByStatus;
+    }
+
+    public Map<LocalDate, Long> getCountByDay() {
+        return countByDay;
+    }
+
+    public void setCountByDay(Map<LocalDate, Long> countByDay) {
+        this.countByDay = countByDay;
+    }
+
+    public Map<LocalDate, BigDecimal> getTotalByDay() {
+        return totalByDay;
+    }
+
+    public void setTotalByDay(Map<LocalDate, BigDecimal> totalByDay) {
+        this.totalByDay = totalByDay;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.orders.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta paginada por cursor
+ * nextCursor é o valor a enviar em ?after= para a próxima página (nulo na última)
+ */
+public class PageResponse<T> {
+    private List<T> items;
+    private Long nextCursor;
+
+    public PageResponse() {
+    }
+
+    public PageResponse(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,16 +1,18 @@
 package com.example.orders.mapper;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.Year;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderChangeResponse;
 import com.example.orders.dto.OrderResponse;
 import com.example.orders.model.Order;
+import com.example.orders.repository.OrderChangeEvent;
 
 /**
  * Mapper para conversão entre DTOs e entidades
@@ -19,23 +21,31 @@ import com.example.orders.model.Order;
 @Component
 public class OrderMapper {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final int DATE_LENGTH = 10;
+    private static final int[] DAYS_IN_MONTH = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
 
     /**
      * Converte CreateOrderRequest para Order
+     * O total passa a Money (unidades mínimas), preservando a escala recebida
      */
     public Order toEntity(CreateOrderRequest request) {
         if (request == null) {
             return null;
         }
 
-        LocalDate orderDate = parseDate(request.getOrderDate());
+        return toEntity(request, parseDate(request.getOrderDate()));
+    }
 
+    /**
+     * Converte CreateOrderRequest para Order com a data já convertida (ex.: por tryParseDate)
+     */
+    public Order toEntity(CreateOrderRequest request, LocalDate orderDate) {
         return new Order(null, request.getCustomerName(), request.getTotal(), orderDate);
     }
 
     /**
      * Converte Order para OrderResponse
+     * O total volta a BigDecimal com a escala original: o JSON não muda
      */
     public OrderResponse toResponse(Order order) {
         if (order == null) {
@@ -63,15 +73,76 @@ public class OrderMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Converte evento do feed de alterações para OrderChangeResponse
+     */
+    public OrderChangeResponse toChangeResponse(OrderChangeEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        return new OrderChangeResponse(
+                event.sequence(),
+                event.orderId(),
+                event.oldStatus(),
+                event.newStatus(),
+                event.total(),
+                event.version());
+    }
+
     /**
      * Converte string de data para LocalDate
      * Lança exceção com mensagem clara em caso de erro
      */
-    private LocalDate parseDate(String dateStr) {
-        try {
-            return LocalDate.parse(dateStr, DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Data inválida. Use o formato dd-MM-yyyy: " + dateStr, e);
+    public LocalDate parseDate(String dateStr) {
+        LocalDate date = tryParseDate(dateStr);
+        if (date == null) {
+            throw new IllegalArgumentException(invalidDateMessage(dateStr));
+        }
+        return date;
+    }
+
+    /**
+     * Converte data dd-MM-yyyy sem exceções nem Strings intermediárias
+     * - Exatamente 10 caracteres: dia e mês com 2 dígitos, ano de 0001 a 9999
+     * - Valida o calendário: 31-04 e 29-02 fora de ano bissexto são rejeitados
+     *
+     * @return a data, ou null se o texto for nulo ou inválido
+     */
+    @Nullable
+    public LocalDate tryParseDate(@Nullable CharSequence text) {
+        if (text == null || text.length() != DATE_LENGTH || text.charAt(2) != '-' || text.charAt(5) != '-') {
+            return null;
+        }
+        int day = digits(text, 0, 2);
+        int month = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        if (day < 1 || month < 1 || month > 12 || year < 1) {
+            return null;
+        }
+        int lastDay = month == 2 && Year.isLeap(year) ? 29 : DAYS_IN_MONTH[month - 1];
+        return day <= lastDay ? LocalDate.of(year, month, day) : null;
+    }
+
+    /**
+     * Mensagem de erro para datas rejeitadas por parseDate e tryParseDate
+     */
+    public static String invalidDateMessage(@Nullable CharSequence text) {
+        return "Data inválida. Use o formato dd-MM-yyyy: " + text;
+    }
+
+    /**
+     * Valor dos dígitos ASCII em [from, to), ou -1 se houver outro caractere
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
         }
+        return value;
     }
 }
@@ -0,0 +1,48 @@
+package com.example.orders.model;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para aplicar o mesmo cupom a vários pedidos
+ */
+public class BatchApplyCouponRequest {
+
+    public static final int MAX_ORDERS = 10_000;
+
+    @NotEmpty(message = "Lista de pedidos é obrigatória")
+    @Size(max = MAX_ORDERS, message = "Máximo de " + MAX_ORDERS + " pedidos por lote")
+    private List<@NotNull(message = "ID do pedido é obrigatório")
+            @Positive(message = "ID do pedido deve ser positivo") Long> orderIds;
+
+    @NotNull(message = "Cupom é obrigatório")
+    private String coupon;
+
+    public BatchApplyCouponRequest() {
+    }
+
+    public BatchApplyCouponRequest(List<Long> orderIds, String coupon) {
+        this.orderIds = orderIds;
+        this.coupon = coupon;
+    }
+
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public String getCoupon() {
+        return coupon;
+    }
+
+    public void setCoupon(String coupon) {
+        this.coupon = coupon;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.orders.model;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para processar a entrega de vários pedidos
+ */
+public class BatchFulfillRequest {
+
+    @NotEmpty(message = "Lista de pedidos é obrigatória")
+    @Size(max = BatchApplyCouponRequest.MAX_ORDERS,
+            message = "Máximo de " + BatchApplyCouponRequest.MAX_ORDERS + " pedidos por lote")
+    private List<@NotNull(message = "ID do pedido é obrigatório")
+            @Positive(message = "ID do pedido deve ser positivo") Long> orderIds;
+
+    public BatchFulfillRequest() {
+    }
+
+    public BatchFulfillRequest(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+}
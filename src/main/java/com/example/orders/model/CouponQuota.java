@@ -0,0 +1,16 @@
+package com.example.orders.model;
+
+/**
+ * Limites de resgate de um cupom nomeado; zero significa sem limite
+ *
+ * @param limit       resgates no total
+ * @param perCustomer resgates por cliente
+ */
+public record CouponQuota(long limit, int perCustomer) {
+
+    public CouponQuota {
+        if (limit < 0 || perCustomer < 0) {
+            throw new IllegalArgumentException("Cota de cupom inválida: " + limit + "/" + perCustomer);
+        }
+    }
+}
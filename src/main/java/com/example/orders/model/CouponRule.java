@@ -0,0 +1,70 @@
+package com.example.orders.model;
+
+import java.math.RoundingMode;
+
+/**
+ * Regra de desconto de um cupom, compilada uma única vez a partir da sua definição
+ * Imutável: pode ser compartilhada entre threads e entre versões do registro
+ */
+public sealed interface CouponRule {
+
+    /**
+     * Sem cupom: nenhum desconto
+     */
+    CouponRule NONE = new FixedAmount(Money.ZERO);
+
+    /**
+     * Desconto sobre o total informado (nunca maior que o total)
+     */
+    Money discount(Money total);
+
+    /**
+     * Novo total após o desconto, nunca negativo
+     */
+    default Money apply(Money total) {
+        Money result = total.minus(discount(total));
+        return result.signum() < 0 ? Money.ZERO : result;
+    }
+
+    /**
+     * Percentual do total (0 a 100), arredondado em centavos (ou na escala do total, se maior)
+     * Padrão: arredondamento bancário (HALF_EVEN)
+     */
+    record Percentage(int percent, RoundingMode rounding) implements CouponRule {
+
+        public Percentage {
+            if (percent < 0 || percent > 100) {
+                throw new IllegalArgumentException("Percentual de desconto inválido: " + percent);
+            }
+            if (rounding == null || rounding == RoundingMode.UNNECESSARY) {
+                throw new IllegalArgumentException("Modo de arredondamento inválido: " + rounding);
+            }
+        }
+
+        public Percentage(int percent) {
+            this(percent, RoundingMode.HALF_EVEN);
+        }
+
+        @Override
+        public Money discount(Money total) {
+            return total.percentage(percent, rounding);
+        }
+    }
+
+    /**
+     * Valor fixo, limitado ao total
+     */
+    record FixedAmount(Money amount) implements CouponRule {
+
+        public FixedAmount {
+            if (amount == null || amount.signum() < 0) {
+                throw new IllegalArgumentException("Valor de desconto inválido: " + amount);
+            }
+        }
+
+        @Override
+        public Money discount(Money total) {
+            return amount.min(total);
+        }
+    }
+}
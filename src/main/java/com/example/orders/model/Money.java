@@ -0,0 +1,215 @@
+package com.example.orders.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário imutável em unidades mínimas (long) com escala, ex.: 100.50 = 10050 na escala 2
+ * - Aritmética em long, sem BigInteger nem BigDecimal intermediários; o estouro é
+ *   detectado sem exceção e só então a operação recorre a BigDecimal
+ * - Valores que não cabem em long (ou com escala fora de 0 a 18) ficam em BigDecimal
+ * - Mantém a escala de origem: toBigDecimal devolve o mesmo valor recebido em of,
+ *   de modo que o JSON e a persistência continuam iguais
+ * - equals segue BigDecimal (valor e escala); compareTo compara só o valor
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * Escala mínima dos descontos percentuais (centavos)
+     */
+    public static final int CENTS_SCALE = 2;
+
+    private static final int MAX_SCALE = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    public static final Money ZERO = new Money(0, 0, null);
+
+    private final long units;
+    private final int scale;
+    // Valor fora do caminho rápido (não cabe em long); null no caminho rápido
+    private final BigDecimal big;
+
+    private Money(long units, int scale, BigDecimal big) {
+        this.units = units;
+        this.scale = scale;
+        this.big = big;
+    }
+
+    /**
+     * Valor a partir de unidades mínimas na escala informada (0 a 18)
+     */
+    public static Money ofUnits(long units, int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Escala monetária inválida: " + scale);
+        }
+        return new Money(units, scale, null);
+    }
+
+    /**
+     * Valor a partir de um BigDecimal, preservando a escala
+     */
+    public static Money of(BigDecimal value) {
+        if (value.scale() >= 0 && value.scale() <= MAX_SCALE && value.precision() <= MAX_SCALE) {
+            return new Money(value.unscaledValue().longValue(), value.scale(), null);
+        }
+        return new Money(0, 0, value);
+    }
+
+    /**
+     * Novo BigDecimal a cada chamada no caminho rápido: o valor de origem não é
+     * guardado, para que pedidos armazenados não retenham um BigDecimal (nem a
+     * String que BigDecimal.toString guarda em cache após a serialização)
+     */
+    public BigDecimal toBigDecimal() {
+        return big != null ? big : BigDecimal.valueOf(units, scale);
+    }
+
+    public int signum() {
+        return big != null ? big.signum() : Long.signum(units);
+    }
+
+    public int scale() {
+        return big != null ? big.scale() : scale;
+    }
+
+    /**
+     * Unidades mínimas na escala informada (0 a 18), arredondadas se ela for menor que a do valor,
+     * ou Long.MIN_VALUE se o resultado não couber em long
+     */
+    public long toUnits(int targetScale, RoundingMode rounding) {
+        if (big != null || targetScale < 0 || targetScale > MAX_SCALE) {
+            return Long.MIN_VALUE;
+        }
+        if (targetScale >= scale) {
+            return rescale(units, scale, targetScale);
+        }
+        return divide(units, POWERS_OF_TEN[scale - targetScale], rounding);
+    }
+
+    /**
+     * Diferença com a maior das escalas (como BigDecimal.subtract)
+     */
+    public Money minus(Money other) {
+        if (big == null && other.big == null) {
+            int resultScale = Math.max(scale, other.scale);
+            long left = rescale(units, scale, resultScale);
+            long right = rescale(other.units, other.scale, resultScale);
+            if (left != Long.MIN_VALUE && right != Long.MIN_VALUE) {
+                long result = left - right;
+                if (((left ^ right) & (left ^ result)) >= 0) {
+                    return new Money(result, resultScale, null);
+                }
+            }
+        }
+        return of(toBigDecimal().subtract(other.toBigDecimal()));
+    }
+
+    /**
+     * O menor dos dois valores (o próprio objeto em caso de empate, como BigDecimal.min)
+     */
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    /**
+     * percent% do valor, arredondado na escala do valor ou em centavos, a que for maior
+     */
+    public Money percentage(int percent, RoundingMode rounding) {
+        int resultScale = Math.max(scale(), CENTS_SCALE);
+        if (big == null) {
+            long aligned = rescale(units, scale, resultScale);
+            if (aligned != Long.MIN_VALUE && fitsProduct(aligned, percent)) {
+                return new Money(divide(aligned * percent, 100, rounding), resultScale, null);
+            }
+        }
+        return of(toBigDecimal().multiply(BigDecimal.valueOf(percent)).divide(HUNDRED, resultScale, rounding));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        if (big == null && other.big == null) {
+            int commonScale = Math.max(scale, other.scale);
+            long left = rescale(units, scale, commonScale);
+            long right = rescale(other.units, other.scale, commonScale);
+            if (left != Long.MIN_VALUE && right != Long.MIN_VALUE) {
+                return Long.compare(left, right);
+            }
+        }
+        return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Money money)) {
+            return false;
+        }
+        if (big == null && money.big == null) {
+            return units == money.units && scale == money.scale;
+        }
+        return toBigDecimal().equals(money.toBigDecimal());
+    }
+
+    @Override
+    public int hashCode() {
+        return toBigDecimal().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    /**
+     * Divisão inteira com o modo de arredondamento informado (divisor positivo)
+     */
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = dividend < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        // Compara o resto com a metade do divisor sem estourar
+        int half = Long.compare(absRemainder, divisor - absRemainder);
+        boolean increment = switch (rounding) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Arredondamento necessário");
+        };
+        return increment ? quotient + sign : quotient;
+    }
+
+    /**
+     * Unidades convertidas para uma escala maior, ou Long.MIN_VALUE se estourar
+     */
+    private static long rescale(long units, int from, int to) {
+        if (from == to) {
+            return units;
+        }
+        long factor = POWERS_OF_TEN[to - from];
+        return fitsProduct(units, factor) && units * factor != Long.MIN_VALUE ? units * factor : Long.MIN_VALUE;
+    }
+
+    private static boolean fitsProduct(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return (high == 0 && low >= 0) || (high == -1 && low < 0);
+    }
+}
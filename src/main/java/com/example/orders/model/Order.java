@@ -5,16 +5,19 @@ import java.time.LocalDate;
 
 /**
  * Entidade Order refatorada para usar tipos apropriados:
- * - BigDecimal para valores monetários (evita problemas de precisão com double)
+ * - Money para valores monetários (unidades mínimas em long, sem os problemas de precisão
+ *   do double); getTotal/setTotal convertem de e para BigDecimal nas bordas
  * - LocalDate para datas (type-safe e thread-safe)
  * - Enum para status (evita valores inválidos)
+ * - Versão incrementada pelo repositório a cada escrita (concorrência otimista)
  */
 public class Order {
     private Long id;
     private String customerName;
-    private BigDecimal total; // Corrigido: BigDecimal para dinheiro
+    private Money total; // Corrigido: Money (centavos em long) para dinheiro
     private LocalDate orderDate; // Corrigido: LocalDate para data
     private OrderStatus status = OrderStatus.NEW; // Corrigido: Enum para status
+    private long version;
 
     public Order() {
     }
@@ -22,10 +25,22 @@ public class Order {
     public Order(Long id, String customerName, BigDecimal total, LocalDate orderDate) {
         this.id = id;
         this.customerName = customerName;
-        this.total = total;
+        setTotal(total);
         this.orderDate = orderDate;
     }
 
+    /**
+     * Cópia independente do pedido
+     */
+    public Order(Order other) {
+        this.id = other.id;
+        this.customerName = other.customerName;
+        this.total = other.total;
+        this.orderDate = other.orderDate;
+        this.status = other.status;
+        this.version = other.version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -43,10 +58,18 @@ public class Order {
     }
 
     public BigDecimal getTotal() {
-        return total;
+        return total != null ? total.toBigDecimal() : null;
     }
 
     public void setTotal(BigDecimal total) {
+        this.total = total != null ? Money.of(total) : null;
+    }
+
+    public Money getMoney() {
+        return total;
+    }
+
+    public void setMoney(Money total) {
         this.total = total;
     }
 
@@ -66,9 +89,17 @@ public class Order {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Order{id=" + id + ", customer='" + customerName + "', total=" + total +
-                ", orderDate=" + orderDate + ", status=" + status + "}";
+                ", orderDate=" + orderDate + ", status=" + status + ", version=" + version + "}";
     }
 }
@@ -0,0 +1,56 @@
+package com.example.orders.model;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * DTO para submeter um job assíncrono sobre vários pedidos
+ * O cupom é obrigatório para APPLY_COUPON; o limite de pedidos vem de orders.jobs.max-orders
+ */
+public class OrderJobRequest {
+
+    @NotNull(message = "Tipo do job é obrigatório")
+    private OrderJobType type;
+
+    @NotEmpty(message = "Lista de pedidos é obrigatória")
+    private List<@NotNull(message = "ID do pedido é obrigatório")
+            @Positive(message = "ID do pedido deve ser positivo") Long> orderIds;
+
+    private String coupon;
+
+    public OrderJobRequest() {
+    }
+
+    public OrderJobRequest(OrderJobType type, List<Long> orderIds, String coupon) {
+        this.type = type;
+        this.orderIds = orderIds;
+        this.coupon = coupon;
+    }
+
+    public OrderJobType getType() {
+        return type;
+    }
+
+    public void setType(OrderJobType type) {
+        this.type = type;
+    }
+
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public String getCoupon() {
+        return coupon;
+    }
+
+    public void setCoupon(String coupon) {
+        this.coupon = coupon;
+    }
+}
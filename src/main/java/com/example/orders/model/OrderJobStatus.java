@@ -0,0 +1,25 @@
+package com.example.orders.model;
+
+/**
+ * Ciclo de vida de um job assíncrono em lote
+ */
+public enum OrderJobStatus {
+    PENDING("Aguardando execução"),
+    RUNNING("Em execução"),
+    COMPLETED("Concluído"),
+    CANCELLED("Cancelado");
+
+    private final String description;
+
+    OrderJobStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == CANCELLED;
+    }
+}
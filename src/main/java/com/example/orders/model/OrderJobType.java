@@ -0,0 +1,19 @@
+package com.example.orders.model;
+
+/**
+ * Operações disponíveis para jobs assíncronos em lote
+ */
+public enum OrderJobType {
+    APPLY_COUPON("Aplicação de cupom"),
+    FULFILL("Entrega");
+
+    private final String description;
+
+    OrderJobType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,628 @@
+package com.example.orders.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.orders.model.Order;
+
+/**
+ * Camada fria: pedidos arquivados em segmentos somente-anexação e compactados
+ * - Cada execução do arquivador grava um segmento com os pedidos em ordem de ID
+ * - O segmento é dividido em blocos de até BLOCK_ORDERS pedidos comprimidos com Deflate
+ * - Índice esparso em memória: apenas o intervalo de IDs e a posição de cada bloco
+ * - Busca por ID: segmentos do mais novo para o mais antigo (a versão mais recente
+ *   de um pedido rearquivado prevalece), lendo e descomprimindo um único bloco
+ * - Segmentos são gravados em arquivo temporário e publicados com move atômico
+ * - Compactação por camadas (compact): os segmentos mais novos são intercalados em um
+ *   só quando, somados, chegam a 1/MERGE_RATIO do seguinte; os tamanhos crescem em
+ *   progressão geométrica e a quantidade de segmentos fica logarítmica no total.
+ *   A intercalação descarta versões superadas e as cópias que o chamador indicar
+ * - Arquivos abertos sob demanda, no máximo MAX_OPEN_CHANNELS ao mesmo tempo (LRU)
+ */
+public class ColdOrderStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdOrderStore.class);
+
+    private static final int MAGIC = 0x4F434C44; // "OCLD"
+    private static final short FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    // [tamanho comprimido][tamanho original][quantidade][menor ID][maior ID][crc32]
+    private static final int BLOCK_HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES * 2 + Integer.BYTES;
+    static final int BLOCK_ORDERS = 256;
+    static final int MERGE_RATIO = 2;
+    static final int MAX_MERGE_SEGMENTS = 32;
+    static final int MAX_OPEN_CHANNELS = 16;
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final Path directory;
+    // Do mais novo para o mais antigo
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private long nextSegment = 1;
+    private volatile long maxId;
+    // Canais de leitura abertos, em ordem de acesso; protegido por synchronized no próprio mapa
+    private final LinkedHashMap<Long, FileChannel> channels = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Intervalo de IDs e posição de um bloco no arquivo
+     */
+    private record Block(long minId, long maxId, long offset, int compressedLength, int rawLength, int crc) {
+    }
+
+    /**
+     * Segmento com seu índice esparso (blocos por menor ID); o arquivo é aberto sob demanda
+     * Retirado quando é substituído por uma compactação
+     */
+    private static final class Segment {
+        final long number;
+        final Path file;
+        final long minId;
+        final long maxId;
+        final long orders;
+        final TreeMap<Long, Block> blocks;
+        volatile boolean retired;
+
+        Segment(long number, Path file, long orders, TreeMap<Long, Block> blocks) {
+            this.number = number;
+            this.file = file;
+            this.minId = blocks.firstKey();
+            this.maxId = blocks.lastEntry().getValue().maxId();
+            this.orders = orders;
+            this.blocks = blocks;
+        }
+    }
+
+    public ColdOrderStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "archive-*")) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.delete(file);
+                } else {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(Comparator.naturalOrder());
+        long blocks = 0;
+        for (Path file : files) {
+            Segment segment = openSegment(file);
+            segments.add(0, segment);
+            nextSegment = Math.max(nextSegment, segment.number + 1);
+            maxId = Math.max(maxId, segment.maxId);
+            blocks += segment.blocks.size();
+        }
+        if (!files.isEmpty()) {
+            logger.info("Camada fria aberta: {} segmentos, {} blocos", files.size(), blocks);
+        }
+    }
+
+    /**
+     * Grava os pedidos em um novo segmento (ordenados por ID) e o publica
+     * Só retorna depois que o segmento está sincronizado em disco
+     */
+    public synchronized void append(List<Order> orders) throws IOException {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<Order> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparingLong(Order::getId));
+
+        try (SegmentWriter writer = new SegmentWriter(nextSegment)) {
+            for (Order order : sorted) {
+                writer.add(order);
+            }
+            Segment segment = writer.publish();
+            segments.add(0, segment);
+            maxId = Math.max(maxId, segment.maxId);
+        }
+    }
+
+    /**
+     * Intercala os segmentos mais novos quando, somados, chegam a 1/MERGE_RATIO do
+     * seguinte (até MAX_MERGE_SEGMENTS por vez). O segmento resultante fica com a
+     * versão mais recente de cada pedido, sem os IDs que discard aceitar
+     * Leituras concorrentes continuam funcionando durante a compactação
+     *
+     * @param discard IDs cujas cópias frias não são mais necessárias (ex.: pedidos
+     *                reidratados, cuja versão quente já é durável)
+     * @return quantidade de segmentos intercalados (0 se nenhum)
+     */
+    public synchronized int compact(LongPredicate discard) throws IOException {
+        List<Segment> current = new ArrayList<>(segments);
+        if (current.size() < 2) {
+            return 0;
+        }
+        long total = current.get(0).orders;
+        int count = 1;
+        while (count < current.size() && count < MAX_MERGE_SEGMENTS
+                && total * MERGE_RATIO >= current.get(count).orders) {
+            total += current.get(count).orders;
+            count++;
+        }
+        if (count < 2) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        List<Segment> sources = current.subList(0, count);
+        Segment merged = merge(sources, discard);
+        // Publica o novo antes de retirar os antigos: leitores veem duplicatas, nunca lacunas
+        if (merged != null) {
+            segments.add(0, merged);
+        }
+        segments.removeAll(sources);
+        for (Segment source : sources) {
+            source.retired = true;
+            closeChannel(source);
+            Files.deleteIfExists(source.file);
+        }
+        logger.info("Camada fria compactada: {} segmentos ({} pedidos) em um com {} pedidos, em {} ms",
+                count, total, merged != null ? merged.orders : 0, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * Busca a versão arquivada mais recente do pedido
+     */
+    public Optional<Order> find(long id) {
+        search:
+        while (true) {
+            for (Segment segment : segments) {
+                if (id < segment.minId || id > segment.maxId) {
+                    continue;
+                }
+                Map.Entry<Long, Block> entry = segment.blocks.floorEntry(id);
+                if (entry == null || id > entry.getValue().maxId()) {
+                    continue;
+                }
+                byte[] raw = readBlock(segment, entry.getValue());
+                if (raw == null) {
+                    // Segmento substituído por uma compactação durante a busca
+                    continue search;
+                }
+                Optional<Order> order = findInBlock(raw, id);
+                if (order.isPresent()) {
+                    return order;
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public boolean contains(long id) {
+        return find(id).isPresent();
+    }
+
+    /**
+     * Maior ID já arquivado (0 se vazio); a sequência de IDs nunca deve reutilizá-lo
+     */
+    public long maxId() {
+        return maxId;
+    }
+
+    /**
+     * Entrega cada pedido arquivado (a versão mais recente), em ordem de ID, lendo
+     * um bloco de cada segmento por vez; a compactação espera o fim da leitura
+     */
+    public synchronized void forEach(Consumer<Order> action) throws IOException {
+        forEachNewest(new ArrayList<>(segments), action::accept);
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    int openChannelCount() {
+        synchronized (channels) {
+            return channels.size();
+        }
+    }
+
+    /**
+     * Remove todos os segmentos (útil para testes)
+     */
+    public synchronized void clear() throws IOException {
+        List<Segment> removed = new ArrayList<>(segments);
+        segments.clear();
+        for (Segment segment : removed) {
+            segment.retired = true;
+            closeChannel(segment);
+            Files.deleteIfExists(segment.file);
+        }
+        nextSegment = 1;
+        maxId = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        synchronized (channels) {
+            for (FileChannel channel : channels.values()) {
+                channel.close();
+            }
+            channels.clear();
+        }
+    }
+
+    private void writeBlock(FileChannel channel, Deflater deflater, List<Order> block) throws IOException {
+        List<byte[]> payloads = new ArrayList<>(block.size());
+        int rawLength = 0;
+        for (Order order : block) {
+            byte[] payload = OrderCodec.encode(order);
+            payloads.add(payload);
+            rawLength += Integer.BYTES + payload.length;
+        }
+        ByteBuffer raw = ByteBuffer.allocate(rawLength);
+        for (byte[] payload : payloads) {
+            raw.putInt(payload.length).put(payload);
+        }
+
+        deflater.reset();
+        deflater.setInput(raw.array());
+        deflater.finish();
+        byte[] compressed = new byte[Math.max(64, rawLength + rawLength / 1000 + 64)];
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(compressed, 0, compressedLength);
+
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE)
+                .putInt(compressedLength).putInt(rawLength).putInt(block.size())
+                .putLong(block.get(0).getId()).putLong(block.get(block.size() - 1).getId())
+                .putInt((int) crc.getValue());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        ByteBuffer body = ByteBuffer.wrap(compressed, 0, compressedLength);
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+
+    /**
+     * Lê e descomprime um bloco pelo canal em cache, reabrindo-o se o LRU o fechou
+     *
+     * @return conteúdo do bloco, ou null se o segmento foi retirado por uma compactação
+     */
+    private byte[] readBlock(Segment segment, Block block) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return readBlock(channel(segment), segment, block);
+            } catch (ClosedChannelException | NoSuchFileException e) {
+                if (segment.retired) {
+                    return null;
+                }
+                if (attempt >= MAX_READ_ATTEMPTS) {
+                    throw new UncheckedIOException("Falha ao ler a camada fria", e);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler a camada fria", e);
+            }
+        }
+    }
+
+    private static byte[] readBlock(FileChannel channel, Segment segment, Block block) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(block.compressedLength());
+        long position = block.offset() + BLOCK_HEADER_SIZE;
+        while (compressed.hasRemaining()) {
+            if (channel.read(compressed, position + compressed.position()) < 0) {
+                throw new IOException("Bloco truncado no segmento frio " + segment.number);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(compressed.array());
+        if ((int) crc.getValue() != block.crc()) {
+            throw new IllegalStateException("Bloco corrompido no segmento frio " + segment.number);
+        }
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array());
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bloco corrompido no segmento frio " + segment.number, e);
+        } finally {
+            inflater.end();
+        }
+        return raw;
+    }
+
+    private static Optional<Order> findInBlock(byte[] raw, long id) {
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        while (buffer.hasRemaining()) {
+            int length = buffer.getInt();
+            int next = buffer.position() + length;
+            if (buffer.getLong(buffer.position()) == id) {
+                return Optional.of(OrderCodec.decode(buffer));
+            }
+            buffer.position(next);
+        }
+        return Optional.empty();
+    }
+
+    private static List<Order> decodeBlock(byte[] raw) {
+        List<Order> orders = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        while (buffer.hasRemaining()) {
+            int length = buffer.getInt();
+            int next = buffer.position() + length;
+            orders.add(OrderCodec.decode(buffer));
+            buffer.position(next);
+        }
+        return orders;
+    }
+
+    /**
+     * Canal de leitura do segmento, aberto sob demanda; fecha o menos usado acima do limite
+     */
+    private FileChannel channel(Segment segment) throws IOException {
+        synchronized (channels) {
+            if (segment.retired) {
+                throw new ClosedChannelException();
+            }
+            FileChannel channel = channels.get(segment.number);
+            if (channel == null || !channel.isOpen()) {
+                channel = FileChannel.open(segment.file, StandardOpenOption.READ);
+                channels.put(segment.number, channel);
+                if (channels.size() > MAX_OPEN_CHANNELS) {
+                    Iterator<FileChannel> eldest = channels.values().iterator();
+                    FileChannel evicted = eldest.next();
+                    eldest.remove();
+                    evicted.close();
+                }
+            }
+            return channel;
+        }
+    }
+
+    private void closeChannel(Segment segment) throws IOException {
+        synchronized (channels) {
+            FileChannel channel = channels.remove(segment.number);
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Intercala os segmentos (do mais novo para o mais antigo) em um novo segmento
+     *
+     * @return segmento resultante, ou null se todas as cópias foram descartadas
+     */
+    private Segment merge(List<Segment> sources, LongPredicate discard) throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(nextSegment)) {
+            forEachNewest(sources, order -> {
+                if (!discard.test(order.getId())) {
+                    writer.add(order);
+                }
+            });
+            return writer.isEmpty() ? null : writer.publish();
+        }
+    }
+
+    /**
+     * Percorre os segmentos (do mais novo para o mais antigo) em ordem de ID, um bloco
+     * de cada por vez; em IDs repetidos só a cópia do segmento mais novo é entregue
+     */
+    private static void forEachNewest(List<Segment> sources, OrderSink sink) throws IOException {
+        List<SegmentCursor> cursors = new ArrayList<>(sources.size());
+        PriorityQueue<SegmentCursor> queue = new PriorityQueue<>(Comparator
+                .comparingLong((SegmentCursor cursor) -> cursor.current.getId())
+                .thenComparingInt(cursor -> cursor.rank));
+        try {
+            for (int rank = 0; rank < sources.size(); rank++) {
+                SegmentCursor cursor = new SegmentCursor(sources.get(rank), rank);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            while (!queue.isEmpty()) {
+                SegmentCursor newest = queue.poll();
+                Order order = newest.current;
+                if (newest.advance()) {
+                    queue.add(newest);
+                }
+                // Versões superadas do mesmo ID, em segmentos mais antigos
+                while (!queue.isEmpty() && queue.peek().current.getId().equals(order.getId())) {
+                    SegmentCursor older = queue.poll();
+                    if (older.advance()) {
+                        queue.add(older);
+                    }
+                }
+                sink.accept(order);
+            }
+        } finally {
+            for (SegmentCursor cursor : cursors) {
+                cursor.channel.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface OrderSink {
+        void accept(Order order) throws IOException;
+    }
+
+    /**
+     * Percorre os pedidos de um segmento em ordem de ID, com canal próprio
+     */
+    private static final class SegmentCursor {
+        final Segment segment;
+        final int rank;
+        final FileChannel channel;
+        final Iterator<Block> blocks;
+        List<Order> orders = List.of();
+        int index;
+        Order current;
+
+        SegmentCursor(Segment segment, int rank) throws IOException {
+            this.segment = segment;
+            this.rank = rank;
+            this.channel = FileChannel.open(segment.file, StandardOpenOption.READ);
+            this.blocks = segment.blocks.values().iterator();
+        }
+
+        boolean advance() throws IOException {
+            while (index >= orders.size()) {
+                if (!blocks.hasNext()) {
+                    current = null;
+                    return false;
+                }
+                orders = decodeBlock(readBlock(channel, segment, blocks.next()));
+                index = 0;
+            }
+            current = orders.get(index++);
+            return true;
+        }
+    }
+
+    /**
+     * Grava um novo segmento em arquivo temporário, em blocos de BLOCK_ORDERS pedidos
+     * (recebidos em ordem de ID), e o publica com move atômico
+     * Chamado com o lock da instância
+     */
+    private final class SegmentWriter implements Closeable {
+        private final long number;
+        private final Path file;
+        private final Path tempFile;
+        private final FileChannel channel;
+        private final Deflater deflater = new Deflater();
+        private final List<Order> pending = new ArrayList<>(BLOCK_ORDERS);
+        private long written;
+        private boolean published;
+
+        SegmentWriter(long number) throws IOException {
+            this.number = number;
+            this.file = segmentPath(number);
+            this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            this.channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            channel.write(ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putShort(FORMAT_VERSION).flip());
+        }
+
+        void add(Order order) throws IOException {
+            pending.add(order);
+            written++;
+            if (pending.size() == BLOCK_ORDERS) {
+                writeBlock(channel, deflater, pending);
+                pending.clear();
+            }
+        }
+
+        boolean isEmpty() {
+            return written == 0;
+        }
+
+        Segment publish() throws IOException {
+            if (!pending.isEmpty()) {
+                writeBlock(channel, deflater, pending);
+                pending.clear();
+            }
+            channel.force(true);
+            channel.close();
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            published = true;
+            nextSegment = number + 1;
+            return openSegment(file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            channel.close();
+            if (!published) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Reconstrói o índice esparso do segmento lendo apenas os cabeçalhos dos blocos
+     */
+    private Segment openSegment(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        long number = Long.parseLong(name.substring("archive-".length(), name.indexOf('.')));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            channel.read(fileHeader, 0);
+            fileHeader.flip();
+            if (fileHeader.remaining() < FILE_HEADER_SIZE || fileHeader.getInt() != MAGIC) {
+                throw new IOException("Arquivo não é um segmento frio de pedidos: " + file);
+            }
+            short version = fileHeader.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versão de segmento frio não suportada (" + version + "): " + file);
+            }
+
+            TreeMap<Long, Block> blocks = new TreeMap<>();
+            long orders = 0;
+            long position = FILE_HEADER_SIZE;
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            while (position < size) {
+                header.clear();
+                channel.read(header, position);
+                header.flip();
+                if (header.remaining() < BLOCK_HEADER_SIZE) {
+                    throw new IOException("Segmento frio truncado: " + file);
+                }
+                int compressedLength = header.getInt();
+                int rawLength = header.getInt();
+                orders += header.getInt();
+                long minId = header.getLong();
+                long maxId = header.getLong();
+                int crc = header.getInt();
+                blocks.put(minId, new Block(minId, maxId, position, compressedLength, rawLength, crc));
+                position += BLOCK_HEADER_SIZE + compressedLength;
+            }
+            if (blocks.isEmpty()) {
+                throw new IOException("Segmento frio vazio: " + file);
+            }
+            return new Segment(number, file, orders, blocks);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("archive-%010d.cold", number));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.orders.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+/**
+ * Conjunto concorrente e ordenado de longs não negativos (sem boxing por valor)
+ * - Bitmap paginado: cada página cobre PAGE_BITS valores consecutivos e só existe
+ *   enquanto tiver algum bit ligado; as páginas ficam num ConcurrentSkipListMap
+ * - Valores densos (IDs sequenciais) custam cerca de 1 bit cada; valores esparsos
+ *   custam até uma página cada, então o conjunto serve para IDs próximos entre si
+ * - Bits ligados e desligados com operações atômicas na palavra; leituras sem lock
+ * - Operações sobre um mesmo valor devem ser serializadas pelo chamador (o repositório
+ *   já serializa as notificações por ID); valores diferentes podem ser alterados em paralelo
+ * - Iteração em ordem crescente, fracamente consistente
+ */
+public class ConcurrentLongBitSet {
+
+    private static final int PAGE_SHIFT = 12;
+    static final int PAGE_BITS = 1 << PAGE_SHIFT;
+    private static final int PAGE_WORDS = PAGE_BITS / Long.SIZE;
+    private static final long PAGE_MASK = PAGE_BITS - 1;
+
+    // Contagem de uma página já removida do mapa: adições devem criar outra
+    private static final int RETIRED = -1;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle COUNT;
+
+    static {
+        try {
+            COUNT = MethodHandles.lookup().findVarHandle(Page.class, "count", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, Page> pages = new ConcurrentSkipListMap<>();
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * @return true se o valor não estava no conjunto
+     */
+    public boolean add(long value) {
+        long pageNumber = pageNumber(checkValue(value));
+        long mask = bitMask(value);
+        int word = wordIndex(value);
+        while (true) {
+            Page page = pages.computeIfAbsent(pageNumber, number -> new Page());
+            // Reserva a contagem antes de ligar o bit: uma página com bits ligados
+            // nunca chega a zero e, portanto, nunca é retirada
+            if (!page.reserve()) {
+                pages.remove(pageNumber, page);
+                continue;
+            }
+            long previous = (long) WORDS.getAndBitwiseOr(page.words, word, mask);
+            if ((previous & mask) != 0) {
+                page.release();
+                return false;
+            }
+            size.increment();
+            return true;
+        }
+    }
+
+    /**
+     * @return true se o valor estava no conjunto
+     */
+    public boolean remove(long value) {
+        long pageNumber = pageNumber(checkValue(value));
+        Page page = pages.get(pageNumber);
+        if (page == null) {
+            return false;
+        }
+        long mask = bitMask(value);
+        long previous = (long) WORDS.getAndBitwiseAnd(page.words, wordIndex(value), ~mask);
+        if ((previous & mask) == 0) {
+            return false;
+        }
+        size.decrement();
+        if (page.release()) {
+            pages.remove(pageNumber, page);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        Page page = pages.get(pageNumber(checkValue(value)));
+        return page != null && ((long) WORDS.getAcquire(page.words, wordIndex(value)) & bitMask(value)) != 0;
+    }
+
+    public long size() {
+        return size.sum();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        pages.clear();
+        size.reset();
+    }
+
+    /**
+     * Menor valor maior que after
+     *
+     * @return o valor, ou -1 se não houver
+     */
+    public long higher(long after) {
+        long[] found = {-1};
+        forEachAfter(after, value -> {
+            found[0] = value;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Entrega, em ordem crescente, os valores maiores que after até a ação devolver false
+     * Custo proporcional aos valores entregues (mais as palavras vazias das páginas visitadas)
+     *
+     * @return false se a ação interrompeu a iteração
+     */
+    public boolean forEachAfter(long after, LongPredicate action) {
+        long start = after < 0 ? 0 : after + 1;
+        if (start < 0) {
+            return true;
+        }
+        for (Map.Entry<Long, Page> entry : pages.tailMap(pageNumber(start), true).entrySet()) {
+            long base = entry.getKey() << PAGE_SHIFT;
+            long[] words = entry.getValue().words;
+            int firstWord = base < start ? wordIndex(start) : 0;
+            for (int word = firstWord; word < PAGE_WORDS; word++) {
+                long bits = (long) WORDS.getAcquire(words, word);
+                if (word == firstWord && base < start) {
+                    bits &= -1L << start;
+                }
+                while (bits != 0) {
+                    long value = base + ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+                    if (!action.test(value)) {
+                        return false;
+                    }
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long checkValue(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valor negativo: " + value);
+        }
+        return value;
+    }
+
+    private static long pageNumber(long value) {
+        return value >>> PAGE_SHIFT;
+    }
+
+    private static int wordIndex(long value) {
+        return (int) (value & PAGE_MASK) >>> 6;
+    }
+
+    private static long bitMask(long value) {
+        return 1L << value;
+    }
+
+    /**
+     * Página do bitmap; count é a quantidade de bits ligados (mais reservas em curso)
+     */
+    private static final class Page {
+        final long[] words = new long[PAGE_WORDS];
+        volatile int count;
+
+        /**
+         * @return false se a página já foi retirada
+         */
+        boolean reserve() {
+            while (true) {
+                int current = count;
+                if (current == RETIRED) {
+                    return false;
+                }
+                if (COUNT.compareAndSet(this, current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * @return true se a página ficou vazia e foi retirada (cabe ao chamador removê-la do mapa)
+         */
+        boolean release() {
+            int remaining = (int) COUNT.getAndAdd(this, -1) - 1;
+            return remaining == 0 && COUNT.compareAndSet(this, 0, RETIRED);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.orders.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Mapa concorrente especializado para chaves long (sem boxing)
+ * - Endereçamento aberto com sondagem linear em arrays primitivos (sem nós por entrada)
+ * - Escritas com lock por segmento (lock striping); leituras sem lock
+ * - Chave 0 é reservada como "slot vazio": IDs válidos são positivos
+ * - Remoção deixa a chave no slot (tombstone) com valor nulo; os tombstones são
+ *   descartados na próxima realocação da tabela
+ * - Iteração fracamente consistente, como no ConcurrentHashMap
+ */
+public class ConcurrentLongHashMap<V> {
+
+    private static final long EMPTY_KEY = 0L;
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int MIN_TABLE_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    public ConcurrentLongHashMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param concurrencyLevel quantidade aproximada de escritores simultâneos
+     */
+    public ConcurrentLongHashMap(int concurrencyLevel) {
+        int count = Integer.highestOneBit(Math.max(1, concurrencyLevel - 1) << 1);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment[] created = (Segment[]) new ConcurrentLongHashMap.Segment[count];
+        this.segments = created;
+        this.segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    public V get(long key) {
+        long hash = hash(checkKey(key));
+        return segmentFor(hash).get(key, hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return valor anterior, ou nulo se a chave não existia
+     */
+    public V put(long key, V value) {
+        requireValue(value);
+        long hash = hash(checkKey(key));
+        return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    /**
+     * @return valor atual se a chave já existia (sem alterar), ou nulo se inseriu
+     */
+    public V putIfAbsent(long key, V value) {
+        requireValue(value);
+        long hash = hash(checkKey(key));
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * Substitui o valor somente se o atual for (por identidade) o esperado
+     * Esperado nulo significa "chave ausente"; novo valor nulo remove a entrada
+     */
+    public boolean compareAndSet(long key, V expected, V update) {
+        long hash = hash(checkKey(key));
+        return segmentFor(hash).compareAndSet(key, hash, expected, update);
+    }
+
+    /**
+     * @return valor removido, ou nulo se a chave não existia
+     */
+    public V remove(long key) {
+        long hash = hash(checkKey(key));
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    public int size() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.size;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Percorre os valores sem lock (fracamente consistente)
+     */
+    public void forEach(Consumer<? super V> action) {
+        for (Segment segment : segments) {
+            Table table = segment.table;
+            for (int i = 0; i < table.keys.length; i++) {
+                @SuppressWarnings("unchecked")
+                V value = (V) VALUES.getAcquire(table.values, i);
+                if (value != null) {
+                    action.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterador fracamente consistente sobre os valores
+     */
+    public Iterator<V> values() {
+        return new ValueIterator();
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static long checkKey(long key) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Chave 0 é reservada");
+        }
+        return key;
+    }
+
+    private static void requireValue(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Valor não pode ser nulo");
+        }
+    }
+
+    /**
+     * Espalha os bits da chave (finalizador do MurmurHash3): IDs sequenciais
+     * caem em segmentos e slots diferentes
+     */
+    private static long hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Tabela imutável em tamanho: realocações publicam uma nova tabela
+     * Um slot só recebe uma chave uma vez, então leitores nunca confundem chaves
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private final class Segment extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        volatile Table table = new Table(MIN_TABLE_CAPACITY);
+        volatile int size;
+        // Slots com chave (vivos + tombstones); protegido pelo lock
+        int used;
+
+        @SuppressWarnings("unchecked")
+        V get(long key, long hash) {
+            Table current = table;
+            int index = (int) hash & current.mask;
+            while (true) {
+                long slotKey = (long) KEYS.getOpaque(current.keys, index);
+                if (slotKey == key) {
+                    return (V) VALUES.getAcquire(current.values, index);
+                }
+                if (slotKey == EMPTY_KEY) {
+                    return null;
+                }
+                index = (index + 1) & current.mask;
+            }
+        }
+
+        V put(long key, long hash, V value, boolean onlyIfAbsent) {
+            lock();
+            try {
+                int index = findSlot(key, hash);
+                @SuppressWarnings("unchecked")
+                V previous = (V) table.values[index];
+                if (previous != null && onlyIfAbsent) {
+                    return previous;
+                }
+                store(index, key, value, previous);
+                return previous;
+            } finally {
+                unlock();
+            }
+        }
+
+        boolean compareAndSet(long key, long hash, V expected, V update) {
+            lock();
+            try {
+                int index = findSlot(key, hash);
+                Object current = table.values[index];
+                if (current != expected) {
+                    return false;
+                }
+                if (update == null) {
+                    if (current != null) {
+                        VALUES.setRelease(table.values, index, null);
+                        size--;
+                    }
+                } else {
+                    store(index, key, update, current);
+                }
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        V remove(long key, long hash) {
+            lock();
+            try {
+                Table current = table;
+                int index = (int) hash & current.mask;
+                while (true) {
+                    long slotKey = current.keys[index];
+                    if (slotKey == key) {
+                        @SuppressWarnings("unchecked")
+                        V previous = (V) current.values[index];
+                        if (previous != null) {
+                            VALUES.setRelease(current.values, index, null);
+                            size--;
+                        }
+                        return previous;
+                    }
+                    if (slotKey == EMPTY_KEY) {
+                        return null;
+                    }
+                    index = (index + 1) & current.mask;
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                table = new Table(MIN_TABLE_CAPACITY);
+                size = 0;
+                used = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Localiza o slot da chave (existente ou livre), realocando a tabela se
+         * uma nova chave ultrapassar o fator de carga. Chamado com o lock adquirido
+         */
+        private int findSlot(long key, long hash) {
+            int index = probe(table, key, hash);
+            if (table.keys[index] == EMPTY_KEY && used + 1 > table.keys.length * LOAD_FACTOR) {
+                rehash();
+                index = probe(table, key, hash);
+            }
+            return index;
+        }
+
+        private void store(int index, long key, V value, Object previous) {
+            Table current = table;
+            if (current.keys[index] == EMPTY_KEY) {
+                KEYS.setOpaque(current.keys, index, key);
+                used++;
+            }
+            VALUES.setRelease(current.values, index, value);
+            if (previous == null) {
+                size++;
+            }
+        }
+
+        private int probe(Table current, long key, long hash) {
+            int index = (int) hash & current.mask;
+            while (true) {
+                long slotKey = current.keys[index];
+                if (slotKey == key || slotKey == EMPTY_KEY) {
+                    return index;
+                }
+                index = (index + 1) & current.mask;
+            }
+        }
+
+        /**
+         * Copia as entradas vivas para uma nova tabela (descartando tombstones)
+         * e a publica; leitores na tabela antiga continuam vendo dados válidos
+         */
+        private void rehash() {
+            Table old = table;
+            int capacity = MIN_TABLE_CAPACITY;
+            while ((size + 1) * 2L > (long) (capacity * LOAD_FACTOR)) {
+                capacity <<= 1;
+            }
+            Table resized = new Table(capacity);
+            int live = 0;
+            for (int i = 0; i < old.keys.length; i++) {
+                Object value = old.values[i];
+                if (value != null) {
+                    long key = old.keys[i];
+                    int index = probe(resized, key, hash(key));
+                    resized.keys[index] = key;
+                    resized.values[index] = value;
+                    live++;
+                }
+            }
+            used = live;
+            table = resized;
+        }
+    }
+
+    private final class ValueIterator implements Iterator<V> {
+
+        private int segmentIndex = -1;
+        private Table table;
+        private int slot;
+        private V next;
+
+        ValueIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            V current = next;
+            advance();
+            return current;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (true) {
+                if (table != null) {
+                    while (slot < table.keys.length) {
+                        V value = (V) VALUES.getAcquire(table.values, slot++);
+                        if (value != null) {
+                            next = value;
+                            return;
+                        }
+                    }
+                }
+                if (++segmentIndex >= segments.length) {
+                    return;
+                }
+                table = segments[segmentIndex].table;
+                slot = 0;
+            }
+        }
+    }
+}
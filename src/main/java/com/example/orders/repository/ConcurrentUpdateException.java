@@ -0,0 +1,14 @@
+package com.example.orders.repository;
+
+/**
+ * Lançada quando uma transição otimista perde a corrida em todas as tentativas
+ * Estende IllegalStateException: a API responde com 409 (conflito)
+ */
+public class ConcurrentUpdateException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.orders.repository;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log append-only dos contadores de resgate de cupons (coupon-redemptions.log)
+ * - Registros: [tamanho][crc32][tipo][cupom][valor], com o mesmo descarte de cauda
+ *   corrompida do WAL de pedidos
+ * - Cotas globais: grava o total de permissões já reservadas pelas faixas do contador,
+ *   com fsync antes de a reserva ser usada; após uma queda, as permissões reservadas e
+ *   não usadas são perdidas, nunca resgatadas duas vezes
+ * - Cotas por cliente: grava a contagem a cada resgate (sem fsync por registro;
+ *   sincronizado em sync() e no fechamento)
+ * - No replay vale o maior valor de cada chave; compact() reescreve o arquivo com os
+ *   valores exatos (na abertura e no encerramento)
+ */
+public class CouponRedemptionLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CouponRedemptionLog.class);
+
+    public static final String FILE_NAME = "coupon-redemptions.log";
+
+    private static final byte GRANTED = 'G';
+    private static final byte CUSTOMER = 'C';
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    /**
+     * Estado lido do log: reservas globais por cupom e resgates por cupom e cliente
+     */
+    public record State(Map<String, Long> granted, Map<String, Map<String, Integer>> customers) {
+    }
+
+    private final Path file;
+    private final State recovered;
+    private FileChannel channel;
+    private boolean closed;
+
+    private CouponRedemptionLog(Path file, State recovered) throws IOException {
+        this.file = file;
+        this.recovered = recovered;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Abre (ou cria) o log no diretório informado, recuperando e compactando o estado gravado
+     */
+    public static CouponRedemptionLog open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        State state = Files.exists(file) ? replay(file) : new State(new HashMap<>(), new HashMap<>());
+        writeCompacted(file, state);
+        logger.info("Contadores de cupons recuperados: {} cupons com cota global, {} com cota por cliente",
+                state.granted().size(), state.customers().size());
+        return new CouponRedemptionLog(file, state);
+    }
+
+    /**
+     * Estado recuperado na abertura
+     */
+    public State recovered() {
+        return recovered;
+    }
+
+    /**
+     * Grava, com fsync, o total de permissões reservadas do cupom
+     */
+    public synchronized void recordGranted(String code, long granted) {
+        write(encode(GRANTED, code, null, granted), true);
+    }
+
+    /**
+     * Grava a contagem de resgates do cliente no cupom
+     */
+    public synchronized void recordCustomer(String code, String customer, int count) {
+        write(encode(CUSTOMER, code, customer, count), false);
+    }
+
+    public synchronized void sync() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao sincronizar " + file, e);
+        }
+    }
+
+    /**
+     * Substitui o log pelos valores exatos do estado informado (troca atômica de arquivo)
+     */
+    public synchronized void compact(State state) throws IOException {
+        channel.close();
+        writeCompacted(file, state);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        channel.force(false);
+        channel.close();
+    }
+
+    private void write(byte[] record, boolean force) {
+        if (closed) {
+            throw new IllegalStateException("Log de cupons fechado: " + file);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (force) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new OrderStorageException("Falha ao gravar o log de cupons " + file, e);
+        }
+    }
+
+    private static byte[] encode(byte type, String code, String customer, long value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            out.writeUTF(code);
+            if (type == CUSTOMER) {
+                out.writeUTF(customer);
+            }
+            out.writeLong(value);
+            byte[] payload = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length)
+                    .putInt(payload.length).putInt((int) crc.getValue()).put(payload).array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static State replay(Path file) throws IOException {
+        Map<String, Long> granted = new HashMap<>();
+        Map<String, Map<String, Integer>> customers = new HashMap<>();
+        long size = Files.size(file);
+        long position = 0;
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (position < size) {
+                byte[] payload;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || position + RECORD_HEADER_SIZE + length > size) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte type = record.readByte();
+                String code = record.readUTF();
+                if (type == GRANTED) {
+                    granted.merge(code, record.readLong(), Math::max);
+                } else if (type == CUSTOMER) {
+                    String customer = record.readUTF();
+                    customers.computeIfAbsent(code, c -> new HashMap<>())
+                            .merge(customer, (int) record.readLong(), Math::max);
+                }
+                position += RECORD_HEADER_SIZE + payload.length;
+            }
+        }
+        if (position < size) {
+            logger.warn("Descartando {} bytes corrompidos no final do log de cupons {}", size - position, file);
+        }
+        return new State(granted, customers);
+    }
+
+    private static void writeCompacted(Path file, State state) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            state.granted().forEach((code, value) -> bytes.writeBytes(encode(GRANTED, code, null, value)));
+            state.customers().forEach((code, counts) -> counts.forEach(
+                    (customer, count) -> bytes.writeBytes(encode(CUSTOMER, code, customer, count))));
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.orders.repository;
+
+/**
+ * Modos de durabilidade do write-ahead log
+ */
+public enum DurabilityMode {
+    /**
+     * Cada escrita aguarda o fsync; escritores concorrentes compartilham o mesmo fsync (group commit)
+     */
+    SYNC,
+
+    /**
+     * Escritas aguardam o próximo flush periódico, acumulando lotes maiores por fsync
+     */
+    BATCHED,
+
+    /**
+     * Escritas retornam imediatamente; o flush periódico pode perder a última janela em caso de queda
+     */
+    ASYNC
+}
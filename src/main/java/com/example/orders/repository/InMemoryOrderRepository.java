@@ -0,0 +1,753 @@
+package com.example.orders.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Implementação em memória do OrderRepository (backend padrão, orders.repository.backend=memory)
+ * - ConcurrentLongHashMap (chaves long sem boxing) para thread-safety
+ * - AtomicLong para sequência thread-safe
+ * - Anotação @Repository para injeção de dependência
+ * - Write-ahead log opcional para sobreviver a reinícios
+ * - Snapshots opcionais para acelerar a recuperação (o WAL só é reaplicado
+ *   a partir do último snapshot)
+ * - Índices secundários por status, data e cliente (findBy)
+ * - IDs ordenados para paginação por cursor (findPage) sem copiar e ordenar tudo
+ * - Pedidos armazenados como versões imutáveis, trocadas por compare-and-set:
+ *   transições de estado usam update() em vez de alterar o objeto e chamar save()
+ * - Leituras e escritas trabalham com cópias; o objeto armazenado nunca é exposto
+ * - Modo particionado opcional (ShardWriters): N mapas, cada um com sua faixa de
+ *   IDs e uma única thread escritora; leituras continuam sem lock
+ * - Camada fria opcional (ColdOrderStore): pedidos finalizados antigos saem do mapa
+ *   (e de listagens, índices e relatórios) e continuam acessíveis por ID
+ */
+@Repository
+@ConditionalOnProperty(prefix = "orders.repository", name = "backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOrderRepository implements OrderRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryOrderRepository.class);
+
+    private static final int NOTIFY_STRIPES = 64;
+
+    // Mapas especializados em chaves long: sem boxing nem nó por entrada
+    // Um mapa por shard no modo particionado; um único mapa no modo padrão
+    private final ConcurrentLongHashMap<Order>[] shards;
+
+    // IDs em ordem crescente (bitmap paginado, cerca de 1 bit por ID sequencial);
+    // um ID entra aqui logo após ficar visível no mapa
+    private final ConcurrentLongBitSet orderedIds = new ConcurrentLongBitSet();
+
+    // Corrigido: AtomicLong para sequência thread-safe (modo padrão)
+    private final AtomicLong sequence = new AtomicLong(1);
+
+    // Modo particionado: nulo no modo padrão. O shard k gera os IDs k+1, k+1+N, ...
+    // e nextIds[k] só é lido e escrito pela thread escritora do shard
+    private final ShardWriters shardWriters;
+    private final long[] nextIds;
+
+    // Nulos quando a persistência está desabilitada (somente memória)
+    private final WriteAheadLog writeAheadLog;
+    private final SnapshotStore snapshotStore;
+
+    // Nulo quando o arquivamento está desabilitado
+    private final ColdOrderStore coldStore;
+    private final Object archiveLock = new Object();
+
+    // Estruturas derivadas mantidas em sincronia a cada save
+    private final List<OrderChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final OrderIndex index = new OrderIndex();
+    // Serializa as notificações de um mesmo ID (lock striping)
+    private final Object[] notifyLocks = new Object[NOTIFY_STRIPES];
+
+    // Garante um snapshot por vez, sem bloquear save/findById
+    private final Object snapshotLock = new Object();
+    private SnapshotStore.Snapshot lastSnapshot;
+
+    public InMemoryOrderRepository() {
+        this(null, null);
+    }
+
+    public InMemoryOrderRepository(@Nullable WriteAheadLog writeAheadLog) {
+        this(writeAheadLog, null);
+    }
+
+    public InMemoryOrderRepository(@Nullable WriteAheadLog writeAheadLog, @Nullable SnapshotStore snapshotStore) {
+        this(writeAheadLog, snapshotStore, null);
+    }
+
+    public InMemoryOrderRepository(@Nullable WriteAheadLog writeAheadLog, @Nullable SnapshotStore snapshotStore,
+            @Nullable ShardWriters shardWriters) {
+        this(writeAheadLog, snapshotStore, shardWriters, null);
+    }
+
+    @Autowired
+    public InMemoryOrderRepository(@Nullable WriteAheadLog writeAheadLog, @Nullable SnapshotStore snapshotStore,
+            @Nullable ShardWriters shardWriters, @Nullable ColdOrderStore coldStore) {
+        this.writeAheadLog = writeAheadLog;
+        this.snapshotStore = snapshotStore;
+        this.shardWriters = shardWriters;
+        this.coldStore = coldStore;
+        int count = shardWriters != null ? shardWriters.count() : 1;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ConcurrentLongHashMap<Order>[] maps = (ConcurrentLongHashMap<Order>[]) new ConcurrentLongHashMap[count];
+        this.shards = maps;
+        for (int i = 0; i < count; i++) {
+            shards[i] = new ConcurrentLongHashMap<>();
+        }
+        this.nextIds = new long[count];
+        for (int i = 0; i < NOTIFY_STRIPES; i++) {
+            notifyLocks[i] = new Object();
+        }
+        if (writeAheadLog != null) {
+            recover();
+        }
+        if (coldStore != null) {
+            // IDs arquivados nunca são reutilizados
+            sequence.accumulateAndGet(coldStore.maxId() + 1, Math::max);
+        }
+        resetShardSequences();
+        addListener(index);
+    }
+
+    /**
+     * Salva um pedido no repositório (a última escrita vence)
+     * Gera ID automaticamente se for um novo pedido
+     * Armazena uma cópia com a próxima versão; com WAL habilitado, só retorna
+     * quando o modo de durabilidade é satisfeito
+     */
+    @Override
+    public Order save(Order order) {
+        if (shardWriters != null) {
+            return saveOnShard(order);
+        }
+        if (order.getId() == null || order.getId() == 0L) {
+            order.setId(sequence.getAndIncrement());
+        }
+        long id = order.getId();
+        ConcurrentLongHashMap<Order> map = shardFor(id);
+        while (true) {
+            Order current = map.get(id);
+            Order next = new Order(order);
+            next.setVersion(current != null ? current.getVersion() + 1 : 1);
+            if (map.compareAndSet(id, current, next)) {
+                publish(next, current == null);
+                return new Order(next);
+            }
+        }
+    }
+
+    /**
+     * Salva os pedidos em lote: com WAL, os registros do lote são acrescentados
+     * juntos e aguardam uma única confirmação de durabilidade
+     * No modo particionado, cada pedido segue pela thread escritora do seu shard
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        if (shardWriters != null) {
+            for (Order order : orders) {
+                saved.add(saveOnShard(order));
+            }
+            return saved;
+        }
+        List<Order> stored = new ArrayList<>(orders.size());
+        boolean[] inserted = new boolean[orders.size()];
+        for (Order order : orders) {
+            if (order.getId() == null || order.getId() == 0L) {
+                order.setId(sequence.getAndIncrement());
+            }
+            long id = order.getId();
+            ConcurrentLongHashMap<Order> map = shardFor(id);
+            while (true) {
+                Order current = map.get(id);
+                Order next = new Order(order);
+                next.setVersion(current != null ? current.getVersion() + 1 : 1);
+                if (map.compareAndSet(id, current, next)) {
+                    inserted[stored.size()] = current == null;
+                    stored.add(next);
+                    break;
+                }
+            }
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.appendAll(stored);
+        }
+        for (int i = 0; i < stored.size(); i++) {
+            notifySaved(stored.get(i), inserted[i]);
+            saved.add(new Order(stored.get(i)));
+        }
+        return saved;
+    }
+
+    /**
+     * Com WAL, as escritas da ação aguardam o disco uma única vez, ao final
+     * No modo particionado as escritas rodam nas threads dos shards e aguardam individualmente
+     */
+    @Override
+    public void groupCommit(Runnable writes) {
+        if (writeAheadLog == null || shardWriters != null) {
+            writes.run();
+            return;
+        }
+        writeAheadLog.deferDurability(writes);
+    }
+
+    /**
+     * Aplica uma transição de estado com concorrência otimista, sem locks
+     * A transição recebe uma cópia da versão atual e devolve o novo estado; se outra
+     * escrita vencer a corrida, a transição é reaplicada sobre a nova versão
+     * (até MAX_UPDATE_ATTEMPTS tentativas). Exceções da transição não são repetidas
+     *
+     * @return nova versão do pedido, ou vazio se o pedido não existir
+     * @throws ConcurrentUpdateException se todas as tentativas perderem a corrida
+     */
+    @Override
+    public Optional<Order> update(Long id, UnaryOperator<Order> transition) {
+        if (id == null || id == 0L) {
+            return Optional.empty();
+        }
+        if (shardWriters != null) {
+            return updateOnShard(id, transition);
+        }
+        ConcurrentLongHashMap<Order> map = shardFor(id);
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Order current = map.get(id);
+            if (current == null) {
+                // Pedido arquivado volta para a camada quente antes da transição
+                Order archived = findArchived(id);
+                if (archived == null) {
+                    return Optional.empty();
+                }
+                if (map.compareAndSet(id, null, archived)) {
+                    publish(archived, true);
+                }
+                continue;
+            }
+            Order next = transition.apply(new Order(current));
+            next.setId(id);
+            next.setVersion(current.getVersion() + 1);
+            if (map.compareAndSet(id, current, next)) {
+                publish(next, false);
+                return Optional.of(new Order(next));
+            }
+            Thread.onSpinWait();
+        }
+        throw new ConcurrentUpdateException(
+                "Pedido " + id + " alterado concorrentemente, tente novamente");
+    }
+
+    /**
+     * Busca pedido por ID (na camada quente e, se não encontrar, na camada fria)
+     */
+    @Override
+    public Optional<Order> findById(Long id) {
+        if (id == null || id == 0L) {
+            return Optional.empty();
+        }
+        Order order = shardFor(id).get(id);
+        if (order == null) {
+            order = findArchived(id);
+        }
+        return Optional.ofNullable(order).map(Order::new);
+    }
+
+    /**
+     * Retorna todos os pedidos, ordenados por ID
+     */
+    @Override
+    public List<Order> findAll() {
+        List<Order> orders = new ArrayList<>(size());
+        orderedIds.forEachAfter(0L, id -> {
+            Order order = shardFor(id).get(id);
+            if (order != null) {
+                orders.add(new Order(order));
+            }
+            return true;
+        });
+        return orders;
+    }
+
+    /**
+     * Retorna até limit pedidos com ID maior que afterId, em ordem de ID
+     * Custo proporcional ao tamanho da página, não ao total de pedidos
+     */
+    @Override
+    public List<Order> findPage(long afterId, int limit) {
+        List<Order> orders = new ArrayList<>(Math.min(limit, 1024));
+        if (limit <= 0) {
+            return orders;
+        }
+        orderedIds.forEachAfter(afterId, id -> {
+            Order order = shardFor(id).get(id);
+            if (order != null) {
+                orders.add(new Order(order));
+            }
+            return orders.size() < limit;
+        });
+        return orders;
+    }
+
+    /**
+     * Retorna os pedidos que atendem à consulta, ordenados por ID
+     * Os candidatos vêm do índice mais seletivo e são conferidos contra o pedido atual
+     */
+    @Override
+    public List<Order> findBy(OrderQuery query) {
+        return findBy(query, 0L, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Página da consulta: até limit pedidos com ID maior que afterId, em ordem de ID
+     * Sem filtros, equivale a findPage. Com filtros, percorre o índice a partir do cursor
+     * e para no limit-ésimo pedido: o custo não depende dos pedidos de páginas anteriores
+     */
+    @Override
+    public List<Order> findBy(OrderQuery query, long afterId, int limit) {
+        if (query.isUnfiltered()) {
+            return limit == Integer.MAX_VALUE && afterId <= 0 ? findAll() : findPage(afterId, limit);
+        }
+        List<Order> page = new ArrayList<>(Math.min(limit, 1024));
+        if (limit <= 0) {
+            return page;
+        }
+        index.forEachCandidate(query, afterId, id -> {
+            Order order = shardFor(id).get(id);
+            if (order != null && query.matches(order)) {
+                page.add(new Order(order));
+            }
+            return page.size() < limit;
+        });
+        return page;
+    }
+
+    /**
+     * Limpa todos os pedidos (útil para testes)
+     */
+    @Override
+    public void clear() {
+        for (ConcurrentLongHashMap<Order> map : shards) {
+            map.clear();
+        }
+        orderedIds.clear();
+        listeners.forEach(OrderChangeListener::onClear);
+        synchronized (snapshotLock) {
+            lastSnapshot = null;
+        }
+        sequence.set(1);
+        resetShardSequences();
+        if (writeAheadLog != null) {
+            writeAheadLog.truncate();
+        }
+        try {
+            if (snapshotStore != null) {
+                snapshotStore.delete();
+            }
+            if (coldStore != null) {
+                coldStore.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao remover os arquivos do repositório", e);
+        }
+    }
+
+    /**
+     * Registra uma estrutura derivada e a alimenta com os pedidos já existentes
+     */
+    @Override
+    public void addListener(OrderChangeListener listener) {
+        listeners.add(listener);
+        for (ConcurrentLongHashMap<Order> map : shards) {
+            map.forEach(listener::onSave);
+        }
+        if (coldStore != null && listener.includesArchived()) {
+            try {
+                // Pedidos reidratados já vieram da camada quente, com a versão atual
+                coldStore.forEach(order -> {
+                    if (shardFor(order.getId()).get(order.getId()) == null) {
+                        listener.onSave(order);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler a camada fria", e);
+            }
+        }
+    }
+
+    /**
+     * Verifica se existe pedido com o ID
+     */
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && id != 0L && (shardFor(id).containsKey(id) || findArchived(id) != null);
+    }
+
+    /**
+     * Move para a camada fria os pedidos finalizados ou cancelados com data anterior
+     * ao corte. O segmento frio é gravado antes da remoção do mapa, e um pedido só
+     * sai do mapa se ainda estiver na versão arquivada (transições concorrentes vencem)
+     * Toda execução também compacta a camada fria (ver compactColdStore)
+     *
+     * @return quantidade de pedidos removidos da camada quente
+     */
+    public int archive(LocalDate cutoff) {
+        if (coldStore == null) {
+            return 0;
+        }
+        synchronized (archiveLock) {
+            long start = System.nanoTime();
+            List<Order> candidates = new ArrayList<>();
+            for (ConcurrentLongHashMap<Order> map : shards) {
+                map.forEach(order -> {
+                    if (isArchivable(order, cutoff)) {
+                        candidates.add(order);
+                    }
+                });
+            }
+            List<Order> evicted = candidates.isEmpty() ? List.of() : moveToColdStore(candidates);
+            if (!evicted.isEmpty()) {
+                logger.info("Arquivados {} pedidos anteriores a {} em {} ms", evicted.size(), cutoff,
+                        (System.nanoTime() - start) / 1_000_000);
+                // Um snapshot sem os arquivados evita que o WAL os traga de volta no boot
+                snapshot();
+            }
+            compactColdStore();
+            return evicted.size();
+        }
+    }
+
+    private List<Order> moveToColdStore(List<Order> candidates) {
+        try {
+            coldStore.append(candidates);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar a camada fria", e);
+        }
+        List<Order> evicted = evict(candidates);
+        for (Order order : evicted) {
+            long id = order.getId();
+            synchronized (notifyLocks[(int) (id & (NOTIFY_STRIPES - 1))]) {
+                // Uma reidratação concorrente mantém o pedido na camada quente
+                if (shardFor(id).get(id) == null) {
+                    orderedIds.remove(id);
+                    listeners.forEach(listener -> listener.onRemove(order));
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Intercala os segmentos frios pequenos. Com WAL e snapshot, a cópia fria de um
+     * pedido reidratado é descartada: a versão quente já está no WAL (sincronizado
+     * antes da compactação) e entra no próximo snapshot. Sem persistência, a cópia
+     * fria é a única durável e é mantida
+     */
+    private void compactColdStore() {
+        LongPredicate discard = id -> false;
+        if (writeAheadLog != null && snapshotStore != null) {
+            writeAheadLog.sync();
+            discard = id -> shardFor(id).get(id) != null;
+        }
+        try {
+            coldStore.compact(discard);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar a camada fria", e);
+        }
+    }
+
+    /**
+     * Quantidade de pedidos na camada quente (em memória)
+     */
+    @Override
+    public int size() {
+        long total = 0;
+        for (ConcurrentLongHashMap<Order> map : shards) {
+            total += map.size();
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Quantidade de shards (1 no modo padrão)
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Grava um snapshot do repositório e descarta os segmentos do WAL já cobertos
+     * O WAL é rotacionado antes da leitura do mapa: uma versão só entra no log depois
+     * de ficar visível no mapa, então tudo que está nos segmentos antigos entra no
+     * snapshot, e o que vier depois é reaplicado do novo segmento
+     *
+     * @return metadados do snapshot, ou vazio se a persistência estiver desabilitada
+     */
+    public Optional<SnapshotStore.Snapshot> snapshot() {
+        if (writeAheadLog == null || snapshotStore == null) {
+            return Optional.empty();
+        }
+        synchronized (snapshotLock) {
+            if (lastSnapshot != null && writeAheadLog.isCurrentSegmentEmpty()) {
+                return Optional.of(lastSnapshot);
+            }
+            long start = System.nanoTime();
+            long generation = writeAheadLog.rotate();
+            try {
+                SnapshotStore.Snapshot snapshot = snapshotStore.write(
+                        sequence.get(), generation, storedOrders());
+                writeAheadLog.deleteSegmentsBefore(generation);
+                lastSnapshot = snapshot;
+                logger.info("Snapshot gravado: {} pedidos em {} ms",
+                        snapshot.orders(), (System.nanoTime() - start) / 1_000_000);
+                return Optional.of(snapshot);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar o snapshot", e);
+            }
+        }
+    }
+
+    private static boolean isArchivable(Order order, LocalDate cutoff) {
+        return (order.getStatus() == OrderStatus.FULFILLED || order.getStatus() == OrderStatus.CANCELLED)
+                && order.getOrderDate() != null && order.getOrderDate().isBefore(cutoff);
+    }
+
+    /**
+     * Remove do mapa os pedidos que continuam na versão arquivada
+     * No modo particionado, a remoção roda na thread escritora de cada shard
+     */
+    private List<Order> evict(List<Order> archived) {
+        List<Order> evicted = new ArrayList<>(archived.size());
+        if (shardWriters == null) {
+            for (Order order : archived) {
+                if (shardFor(order.getId()).compareAndSet(order.getId(), order, null)) {
+                    evicted.add(order);
+                }
+            }
+            return evicted;
+        }
+        List<List<Order>> byShard = new ArrayList<>(shards.length);
+        for (int shard = 0; shard < shards.length; shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (Order order : archived) {
+            byShard.get(shardIndex(order.getId())).add(order);
+        }
+        for (int shard = 0; shard < shards.length; shard++) {
+            int index = shard;
+            List<Order> removed = shardWriters.execute(shard, () -> {
+                List<Order> result = new ArrayList<>();
+                for (Order order : byShard.get(index)) {
+                    if (shards[index].compareAndSet(order.getId(), order, null)) {
+                        result.add(order);
+                    }
+                }
+                return result;
+            });
+            evicted.addAll(removed);
+        }
+        return evicted;
+    }
+
+    private Order findArchived(long id) {
+        return coldStore != null ? coldStore.find(id).orElse(null) : null;
+    }
+
+    /**
+     * Grava no shard dono do ID, na thread escritora do shard (sem CAS: escritor único)
+     * Pedidos novos recebem um ID da faixa do shard escolhido ao acaso
+     */
+    private Order saveOnShard(Order order) {
+        boolean newOrder = order.getId() == null || order.getId() == 0L;
+        int shard = newOrder ? ThreadLocalRandom.current().nextInt(shards.length) : shardIndex(order.getId());
+        Order copy = new Order(order);
+        Order[] written = new Order[1];
+        boolean inserted = shardWriters.execute(shard, () -> {
+            ConcurrentLongHashMap<Order> map = shards[shard];
+            long id = newOrder ? allocateId(shard) : copy.getId();
+            Order current = map.get(id);
+            copy.setId(id);
+            copy.setVersion(current != null ? current.getVersion() + 1 : 1);
+            map.put(id, copy);
+            written[0] = copy;
+            return current == null;
+        });
+        order.setId(written[0].getId());
+        publish(written[0], inserted);
+        return new Order(written[0]);
+    }
+
+    /**
+     * Transição na thread escritora do shard: nunca perde corrida, sem novas tentativas
+     */
+    private Optional<Order> updateOnShard(long id, UnaryOperator<Order> transition) {
+        int shard = shardIndex(id);
+        Order written = shardWriters.execute(shard, () -> {
+            ConcurrentLongHashMap<Order> map = shards[shard];
+            Order current = map.get(id);
+            if (current == null) {
+                // Pedido arquivado volta para a camada quente antes da transição
+                current = findArchived(id);
+                if (current == null) {
+                    return null;
+                }
+            }
+            Order next = transition.apply(new Order(current));
+            next.setId(id);
+            next.setVersion(current.getVersion() + 1);
+            map.put(id, next);
+            return next;
+        });
+        if (written == null) {
+            return Optional.empty();
+        }
+        publish(written, true);
+        return Optional.of(new Order(written));
+    }
+
+    /**
+     * Próximo ID livre da faixa do shard. Chamado apenas pela thread escritora do shard
+     */
+    private long allocateId(int shard) {
+        long id = nextIds[shard];
+        while (shards[shard].containsKey(id)) {
+            id += shards.length;
+        }
+        nextIds[shard] = id + shards.length;
+        return id;
+    }
+
+    /**
+     * Posiciona a sequência de cada shard após o maior ID que ele já contém
+     */
+    private void resetShardSequences() {
+        if (shardWriters == null) {
+            return;
+        }
+        long archivedMax = coldStore != null ? coldStore.maxId() : 0;
+        for (int shard = 0; shard < shards.length; shard++) {
+            int index = shard;
+            long[] maxId = {0};
+            shards[shard].forEach(order -> maxId[0] = Math.max(maxId[0], order.getId()));
+            long next = maxId[0] > 0 ? maxId[0] + shards.length : shard + 1L;
+            // Primeiro ID da faixa do shard acima do maior ID arquivado
+            long afterArchived = archivedMax + 1 + Math.floorMod(shard - archivedMax, (long) shards.length);
+            long first = Math.max(next, afterArchived);
+            shardWriters.execute(shard, () -> nextIds[index] = first);
+        }
+    }
+
+    private int shardIndex(long id) {
+        return shards.length == 1 ? 0 : (int) Math.floorMod(id - 1, (long) shards.length);
+    }
+
+    private ConcurrentLongHashMap<Order> shardFor(long id) {
+        return shards[shardIndex(id)];
+    }
+
+    private Iterator<Order> storedOrders() {
+        if (shards.length == 1) {
+            return shards[0].values();
+        }
+        return Arrays.stream(shards)
+                .flatMap(map -> StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(map.values(), Spliterator.NONNULL), false))
+                .iterator();
+    }
+
+    /**
+     * Propaga uma versão recém-publicada no mapa: índice de IDs, WAL e listeners
+     * A versão entra no WAL depois de visível; na recuperação prevalece a maior versão
+     */
+    private void publish(Order stored, boolean inserted) {
+        if (writeAheadLog != null) {
+            writeAheadLog.append(stored);
+        }
+        notifySaved(stored, inserted);
+    }
+
+    private void notifySaved(Order stored, boolean inserted) {
+        long id = stored.getId();
+        // Notifica com a versão mais recente: mesmo que as notificações de escritas
+        // concorrentes cheguem fora de ordem, a última sempre reflete o mapa
+        // O ID entra na ordenação sob o mesmo lock usado pelo arquivamento para retirá-lo
+        synchronized (notifyLocks[(int) (id & (NOTIFY_STRIPES - 1))]) {
+            if (inserted) {
+                orderedIds.add(id);
+            }
+            Order latest = shardFor(id).get(id);
+            if (latest != null) {
+                for (OrderChangeListener listener : listeners) {
+                    listener.onSave(latest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Restaura uma versão lida do snapshot ou do WAL, mantendo a maior versão por ID
+     */
+    private void restore(Order order) {
+        ConcurrentLongHashMap<Order> map = shardFor(order.getId());
+        Order current = map.get(order.getId());
+        if (current != null && current.getVersion() > order.getVersion()) {
+            return;
+        }
+        map.put(order.getId(), order);
+        if (current == null) {
+            orderedIds.add(order.getId());
+        }
+    }
+
+    /**
+     * Reconstrói o mapa e a sequência a partir do último snapshot e do WAL
+     */
+    private void recover() {
+        long start = System.nanoTime();
+        AtomicLong maxId = new AtomicLong();
+        Consumer<Order> loader = order -> {
+            restore(order);
+            maxId.accumulateAndGet(order.getId(), Math::max);
+        };
+        try {
+            Optional<SnapshotStore.Snapshot> snapshot = snapshotStore != null
+                    ? snapshotStore.load(loader)
+                    : Optional.empty();
+            long fromGeneration = snapshot.map(SnapshotStore.Snapshot::walGeneration).orElse(0L);
+            long records = writeAheadLog.replay(fromGeneration, loader);
+            lastSnapshot = snapshot.orElse(null);
+
+            long snapshotSequence = snapshot.map(SnapshotStore.Snapshot::sequence).orElse(1L);
+            sequence.set(Math.max(snapshotSequence, maxId.get() + 1));
+            logger.info("Repositório recuperado em {} ms: snapshot com {} pedidos, {} registros do WAL, "
+                            + "próxima sequência {}",
+                    (System.nanoTime() - start) / 1_000_000,
+                    snapshot.map(SnapshotStore.Snapshot::orders).orElse(0L), records, sequence.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao recuperar o repositório", e);
+        }
+    }
+}
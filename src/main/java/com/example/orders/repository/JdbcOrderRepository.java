@@ -0,0 +1,541 @@
+package com.example.orders.repository;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Implementação do OrderRepository em banco embarcado via JDBC (orders.repository.backend=jdbc)
+ * - Pedidos novos são gravados por uma thread escritora que agrupa as inserções
+ *   pendentes em um único lote JDBC e uma única transação (group commit)
+ * - A thread escritora mantém sua conexão e o INSERT preparado abertos; os demais
+ *   comandos contam com o cache de comandos por sessão do banco (QUERY_CACHE_SIZE no H2)
+ * - IDs são gerados pela aplicação a partir do maior ID gravado, sem ida extra ao banco
+ * - Transições usam concorrência otimista: UPDATE ... WHERE version = ?
+ * - O total é gravado com a escala original, para devolver o mesmo BigDecimal
+ */
+public class JdbcOrderRepository implements OrderRepository, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcOrderRepository.class);
+
+    private static final int NOTIFY_STRIPES = 64;
+    private static final int QUEUE_CAPACITY = 16 * 1024;
+    private static final int BACKFILL_PAGE = 1_000;
+    private static final long RETRY_INITIAL_MILLIS = 50;
+    private static final long RETRY_MAX_MILLIS = 5_000;
+    // Falhas seguidas de conexão a partir das quais as inserções enfileiradas são recusadas
+    private static final int FAILURES_BEFORE_REJECT = 3;
+
+    private static final String COLUMNS = "id, customer_name, total, total_scale, order_date, status, version";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM orders";
+    private static final String INSERT = "INSERT INTO orders (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE orders SET customer_name = ?, total = ?, total_scale = ?, "
+            + "order_date = ?, status = ?, version = ? WHERE id = ? AND version = ?";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final BlockingQueue<PendingInsert> pendingInserts = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread batchWriter;
+    private volatile boolean closed;
+
+    private final List<OrderChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object[] notifyLocks = new Object[NOTIFY_STRIPES];
+
+    private record PendingInsert(Order order, CompletableFuture<Void> done) {
+    }
+
+    // Marca de encerramento da fila da thread escritora
+    private static final PendingInsert STOP = new PendingInsert(null, null);
+
+    /**
+     * @param batchSize máximo de inserções agrupadas em um lote
+     */
+    public JdbcOrderRepository(DataSource dataSource, int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = Math.max(1, batchSize);
+        for (int i = 0; i < NOTIFY_STRIPES; i++) {
+            notifyLocks[i] = new Object();
+        }
+        createSchema();
+        sequence.set(queryLong("SELECT COALESCE(MAX(id), 0) + 1 FROM orders"));
+        this.batchWriter = new Thread(this::runBatchWriter, "order-jdbc-writer");
+        batchWriter.setDaemon(true);
+        batchWriter.start();
+        logger.info("Backend JDBC pronto: próximo ID {}", sequence.get());
+    }
+
+    /**
+     * Pedidos novos entram no próximo lote da thread escritora; o método só
+     * retorna depois do commit do lote
+     */
+    @Override
+    public Order save(Order order) {
+        if (order.getId() == null || order.getId() == 0L) {
+            Order stored = new Order(order);
+            stored.setId(sequence.getAndIncrement());
+            stored.setVersion(1);
+            order.setId(stored.getId());
+            insertBatched(stored);
+            return new Order(stored);
+        }
+        long id = order.getId();
+        sequence.accumulateAndGet(id + 1, Math::max);
+        while (true) {
+            Optional<Order> current = findById(id);
+            Order next = new Order(order);
+            next.setVersion(current.map(Order::getVersion).orElse(0L) + 1);
+            if (current.isPresent() ? compareAndUpdate(next, current.get().getVersion()) : insertIfAbsent(next)) {
+                notifyLatest(id);
+                return new Order(next);
+            }
+        }
+    }
+
+    /**
+     * Pedidos novos entram todos na fila da thread escritora antes de aguardar,
+     * de modo que são gravados juntos em poucos lotes e transações
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        List<CompletableFuture<Void>> pending = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (order.getId() == null || order.getId() == 0L) {
+                Order stored = new Order(order);
+                stored.setId(sequence.getAndIncrement());
+                stored.setVersion(1);
+                order.setId(stored.getId());
+                pending.add(enqueueInsert(stored));
+                saved.add(stored);
+            } else {
+                saved.add(save(order));
+            }
+        }
+        pending.forEach(JdbcOrderRepository::await);
+        saved.replaceAll(Order::new);
+        return saved;
+    }
+
+    @Override
+    public Optional<Order> update(Long id, UnaryOperator<Order> transition) {
+        if (id == null || id == 0L) {
+            return Optional.empty();
+        }
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Optional<Order> current = findById(id);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            Order next = transition.apply(new Order(current.get()));
+            next.setId(id);
+            next.setVersion(current.get().getVersion() + 1);
+            if (compareAndUpdate(next, current.get().getVersion())) {
+                notifyLatest(id);
+                return Optional.of(new Order(next));
+            }
+            Thread.onSpinWait();
+        }
+        throw new ConcurrentUpdateException(
+                "Pedido " + id + " alterado concorrentemente, tente novamente");
+    }
+
+    @Override
+    public Optional<Order> findById(Long id) {
+        if (id == null || id == 0L) {
+            return Optional.empty();
+        }
+        List<Order> orders = query(SELECT + " WHERE id = ?", List.of(id));
+        return orders.isEmpty() ? Optional.empty() : Optional.of(orders.get(0));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return query(SELECT + " ORDER BY id", List.of());
+    }
+
+    @Override
+    public List<Order> findPage(long afterId, int limit) {
+        return query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", List.of(afterId, limit));
+    }
+
+    @Override
+    public List<Order> findBy(OrderQuery query) {
+        return findBy(query, 0L, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Filtros viram condições do WHERE, atendidas pelos índices por status, data e cliente
+     */
+    @Override
+    public List<Order> findBy(OrderQuery query, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT).append(" WHERE id > ?");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(afterId);
+        if (query.getStatus() != null) {
+            sql.append(" AND status = ?");
+            parameters.add(query.getStatus().name());
+        }
+        if (query.getFrom() != null) {
+            sql.append(" AND order_date >= ?");
+            parameters.add(Date.valueOf(query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            sql.append(" AND order_date <= ?");
+            parameters.add(Date.valueOf(query.getTo()));
+        }
+        if (query.getCustomerName() != null) {
+            sql.append(" AND customer_name = ?");
+            parameters.add(query.getCustomerName());
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        parameters.add(limit);
+        return query(sql.toString(), parameters);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && id != 0L && queryLong("SELECT COUNT(*) FROM orders WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(queryLong("SELECT COUNT(*) FROM orders"), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void clear() {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE orders");
+        } catch (SQLException e) {
+            throw new OrderStorageException("Falha ao limpar os pedidos", e);
+        }
+        sequence.set(1);
+        listeners.forEach(OrderChangeListener::onClear);
+    }
+
+    /**
+     * Registra o listener e entrega os pedidos já gravados em páginas por ID,
+     * sem carregar a tabela inteira de uma vez
+     */
+    @Override
+    public void addListener(OrderChangeListener listener) {
+        listeners.add(listener);
+        long afterId = 0;
+        List<Order> page;
+        do {
+            page = findPage(afterId, BACKFILL_PAGE);
+            page.forEach(listener::onSave);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == BACKFILL_PAGE);
+    }
+
+    /**
+     * Encerra a thread escritora depois de gravar os lotes pendentes
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            pendingInserts.put(STOP);
+            batchWriter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingInsert pending;
+        while ((pending = pendingInserts.poll()) != null) {
+            if (pending != STOP) {
+                pending.done().completeExceptionally(new IllegalStateException("Repositório JDBC encerrado"));
+            }
+        }
+    }
+
+    private void insertBatched(Order stored) {
+        await(enqueueInsert(stored));
+    }
+
+    private CompletableFuture<Void> enqueueInsert(Order stored) {
+        if (closed) {
+            throw new IllegalStateException("Repositório JDBC encerrado");
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            pendingInserts.put(new PendingInsert(stored, done));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a fila de inserções", e);
+        }
+        return done;
+    }
+
+    private static void await(CompletableFuture<Void> done) {
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Laço da thread escritora: espera a primeira inserção, junta as demais já
+     * enfileiradas (até batchSize) e grava tudo em um lote e uma transação
+     * Se a conexão falhar, tenta de novo com espera exponencial; depois de
+     * FAILURES_BEFORE_REJECT falhas seguidas, as inserções enfileiradas falham
+     * em vez de esperar pelo banco
+     */
+    private void runBatchWriter() {
+        List<PendingInsert> batch = new ArrayList<>(batchSize);
+        boolean running = true;
+        int failures = 0;
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                    PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                connection.setAutoCommit(false);
+                failures = 0;
+                while (running) {
+                    batch.add(pendingInserts.take());
+                    pendingInserts.drainTo(batch, batchSize - 1);
+                    running = !batch.removeIf(pending -> pending == STOP);
+                    if (!batch.isEmpty()) {
+                        writeBatch(connection, insert, batch);
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (SQLException | RuntimeException e) {
+                failures++;
+                logger.error("Falha na conexão da thread escritora JDBC (tentativa {})", failures, e);
+                OrderStorageException failure = new OrderStorageException("Falha ao gravar pedidos", e);
+                batch.forEach(pending -> pending.done().completeExceptionally(failure));
+                batch.clear();
+                if (failures >= FAILURES_BEFORE_REJECT) {
+                    running = rejectQueued(failure);
+                }
+                running = running && !closed && backOff(failures);
+            }
+        }
+    }
+
+    /**
+     * Falha as inserções enfileiradas
+     *
+     * @return false se a marca de encerramento estava na fila
+     */
+    private boolean rejectQueued(OrderStorageException failure) {
+        List<PendingInsert> queued = new ArrayList<>();
+        pendingInserts.drainTo(queued);
+        boolean stop = queued.removeIf(pending -> pending == STOP);
+        queued.forEach(pending -> pending.done().completeExceptionally(failure));
+        return !stop;
+    }
+
+    /**
+     * Espera antes de tentar uma nova conexão: RETRY_INITIAL_MILLIS dobrando a cada falha
+     *
+     * @return false se a thread foi interrompida
+     */
+    private static boolean backOff(int failures) {
+        long millis = Math.min(RETRY_MAX_MILLIS, RETRY_INITIAL_MILLIS << Math.min(failures - 1, 20));
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeBatch(Connection connection, PreparedStatement insert, List<PendingInsert> batch)
+            throws SQLException {
+        try {
+            for (PendingInsert pending : batch) {
+                bind(insert, pending.order());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            insert.clearBatch();
+            connection.rollback();
+            OrderStorageException failure = new OrderStorageException("Falha ao gravar lote de pedidos", e);
+            batch.forEach(pending -> pending.done().completeExceptionally(failure));
+            return;
+        }
+        for (PendingInsert pending : batch) {
+            notifySaved(pending.order());
+            pending.done().complete(null);
+        }
+    }
+
+    private boolean compareAndUpdate(Order next, long expectedVersion) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            setOrderColumns(statement, next, 1);
+            statement.setLong(6, next.getVersion());
+            statement.setLong(7, next.getId());
+            statement.setLong(8, expectedVersion);
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new OrderStorageException("Falha ao atualizar o pedido " + next.getId(), e);
+        }
+    }
+
+    private boolean insertIfAbsent(Order order) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            bind(statement, order);
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            // Chave duplicada (SQLState 23505): outra escrita inseriu o ID primeiro
+            if ("23505".equals(e.getSQLState())) {
+                return false;
+            }
+            throw new OrderStorageException("Falha ao inserir o pedido " + order.getId(), e);
+        }
+    }
+
+    /**
+     * Notifica os listeners com a versão mais recente do banco, sob o lock do ID,
+     * para que notificações concorrentes nunca deixem uma versão antiga por último
+     */
+    private void notifyLatest(long id) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        synchronized (notifyLocks[(int) (id & (NOTIFY_STRIPES - 1))]) {
+            findById(id).ifPresent(latest -> listeners.forEach(listener -> listener.onSave(latest)));
+        }
+    }
+
+    private void notifySaved(Order order) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        synchronized (notifyLocks[(int) (order.getId() & (NOTIFY_STRIPES - 1))]) {
+            listeners.forEach(listener -> listener.onSave(order));
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Order order) throws SQLException {
+        statement.setLong(1, order.getId());
+        setOrderColumns(statement, order, 2);
+        statement.setLong(7, order.getVersion());
+    }
+
+    /**
+     * Preenche cliente, total, escala, data e status a partir do parâmetro first
+     */
+    private static void setOrderColumns(PreparedStatement statement, Order order, int first)
+            throws SQLException {
+        statement.setString(first, order.getCustomerName());
+        statement.setBigDecimal(first + 1, order.getTotal());
+        statement.setInt(first + 2, order.getTotal() != null ? order.getTotal().scale() : 0);
+        if (order.getOrderDate() != null) {
+            statement.setDate(first + 3, Date.valueOf(order.getOrderDate()));
+        } else {
+            statement.setNull(first + 3, Types.DATE);
+        }
+        statement.setString(first + 4, order.getStatus() != null ? order.getStatus().name() : null);
+    }
+
+    private static Order read(ResultSet resultSet) throws SQLException {
+        Order order = new Order();
+        order.setId(resultSet.getLong(1));
+        order.setCustomerName(resultSet.getString(2));
+        BigDecimal total = resultSet.getBigDecimal(3);
+        order.setTotal(total != null ? total.setScale(resultSet.getInt(4)) : null);
+        Date orderDate = resultSet.getDate(5);
+        order.setOrderDate(orderDate != null ? orderDate.toLocalDate() : null);
+        String status = resultSet.getString(6);
+        order.setStatus(status != null ? OrderStatus.valueOf(status) : null);
+        order.setVersion(resultSet.getLong(7));
+        return order;
+    }
+
+    private List<Order> query(String sql, List<?> parameters) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            List<Order> orders = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    orders.add(read(resultSet));
+                }
+            }
+            return orders;
+        } catch (SQLException e) {
+            throw new OrderStorageException("Falha ao consultar pedidos", e);
+        }
+    }
+
+    private long queryLong(String sql, Object... parameters) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new OrderStorageException("Falha ao consultar pedidos", e);
+        }
+    }
+
+    private void createSchema() {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS orders ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "customer_name VARCHAR(1000), "
+                    + "total DECFLOAT, "
+                    + "total_scale INT NOT NULL, "
+                    + "order_date DATE, "
+                    + "status VARCHAR(16), "
+                    + "version BIGINT NOT NULL)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status, id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_orders_date ON orders (order_date, id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_orders_customer ON orders (customer_name, id)");
+        } catch (SQLException e) {
+            throw new OrderStorageException("Falha ao criar o esquema de pedidos", e);
+        }
+    }
+}
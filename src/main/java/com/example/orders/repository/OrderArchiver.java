@@ -0,0 +1,74 @@
+package com.example.orders.repository;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Agenda o arquivamento periódico de pedidos finalizados em uma thread de fundo
+ * A idade do pedido é medida pela data do pedido (orderDate)
+ */
+public class OrderArchiver implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final InMemoryOrderRepository orderRepository;
+    private final Duration minAge;
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+
+    public OrderArchiver(InMemoryOrderRepository orderRepository, Duration minAge, Duration interval) {
+        this(orderRepository, minAge, interval, Clock.systemDefaultZone());
+    }
+
+    OrderArchiver(InMemoryOrderRepository orderRepository, Duration minAge, Duration interval, Clock clock) {
+        this.orderRepository = orderRepository;
+        this.minAge = minAge;
+        this.clock = clock;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!interval.isZero() && !interval.isNegative()) {
+            long millis = interval.toMillis();
+            executor.scheduleWithFixedDelay(this::archiveSafely, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Arquiva imediatamente os pedidos mais antigos que a idade mínima
+     *
+     * @return quantidade de pedidos arquivados
+     */
+    public int archiveNow() {
+        return orderRepository.archive(LocalDate.now(clock).minusDays(minAge.toDays()));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Arquivamento em andamento não terminou a tempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void archiveSafely() {
+        try {
+            archiveNow();
+        } catch (RuntimeException e) {
+            logger.error("Falha no arquivamento periódico", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.orders.repository;
+
+import java.math.BigDecimal;
+
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Evento de alteração de um pedido publicado no OrderChangeFeed
+ *
+ * @param sequence  posição do evento no feed (crescente, começa em 1)
+ * @param orderId   ID do pedido
+ * @param oldStatus status anterior (nulo para pedidos novos)
+ * @param newStatus status após a alteração
+ * @param total     total após a alteração
+ * @param version   versão do pedido após a alteração
+ */
+public record OrderChangeEvent(long sequence, long orderId, OrderStatus oldStatus, OrderStatus newStatus,
+        BigDecimal total, long version) {
+}
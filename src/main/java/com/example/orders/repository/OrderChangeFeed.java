@@ -0,0 +1,213 @@
+package com.example.orders.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.lang.Nullable;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Captura de alterações (CDC) em memória: cada gravação publica um evento em um
+ * buffer circular limitado e sem lock
+ * - Escritores nunca bloqueiam: quando o buffer enche, o evento mais antigo é sobrescrito
+ * - A publicação num slot só avança a sequência (CAS): um escritor atrasado nunca
+ *   sobrescreve um evento mais novo; o seu evento conta como perdido para os leitores
+ * - Leitores consomem no próprio ritmo a partir de um cursor (última sequência lida);
+ *   quem fica para trás recebe a quantidade de eventos perdidos em vez de travar escritores
+ * - O status anterior vem da última versão vista de cada pedido, guardada só como
+ *   (versão, status): no backend JDBC o pedido inteiro ficaria no heap só por isso
+ * - Ao ser registrado, os pedidos já existentes entram como eventos iniciais
+ * - As sequências recomeçam a cada boot: o ID externo de um evento leva a época do
+ *   feed ("época-sequência"), e um ID de outra época não é usado como cursor
+ */
+public class OrderChangeFeed implements OrderChangeListener {
+
+    private final AtomicReferenceArray<OrderChangeEvent> ring;
+    private final int mask;
+    // Próxima sequência a ser reservada por um escritor
+    private final AtomicLong nextSequence = new AtomicLong(1);
+    private final ConcurrentLongHashMap<Seen> lastSeen = new ConcurrentLongHashMap<>();
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+
+    /**
+     * @param capacity quantidade de eventos retidos (arredondada para potência de 2)
+     */
+    public OrderChangeFeed(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade do feed deve ser positiva: " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Lote de eventos lidos a partir de um cursor
+     *
+     * @param events       eventos em ordem de sequência
+     * @param lastSequence cursor para a próxima leitura
+     * @param missed       eventos sobrescritos antes de serem lidos
+     */
+    public record Batch(List<OrderChangeEvent> events, long lastSequence, long missed) {
+    }
+
+    /**
+     * Última versão publicada de um pedido
+     */
+    private record Seen(long version, OrderStatus status) {
+    }
+
+    /**
+     * Ponto de retomada de um assinante
+     *
+     * @param cursor última sequência já entregue
+     * @param reset  o ID informado é de outro boot ou posterior ao feed: o assinante
+     *               recomeça do momento atual e deve recarregar o estado
+     */
+    public record Resume(long cursor, boolean reset) {
+    }
+
+    @Override
+    public void onSave(Order order) {
+        // Chamadas do mesmo ID são serializadas pelo repositório
+        Seen previous = lastSeen.get(order.getId());
+        if (previous != null && previous.version() >= order.getVersion()) {
+            return;
+        }
+        lastSeen.put(order.getId(), new Seen(order.getVersion(), order.getStatus()));
+        long sequence = nextSequence.getAndIncrement();
+        publish(new OrderChangeEvent(sequence, order.getId(),
+                previous != null ? previous.status() : null, order.getStatus(),
+                order.getTotal(), order.getVersion()));
+    }
+
+    /**
+     * Grava o evento no seu slot, a menos que o slot já guarde uma sequência mais nova
+     */
+    void publish(OrderChangeEvent event) {
+        int slot = slot(event.sequence());
+        while (true) {
+            OrderChangeEvent current = ring.get(slot);
+            if (current != null && current.sequence() > event.sequence()) {
+                return;
+            }
+            if (ring.compareAndSet(slot, current, event)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reserva a próxima sequência sem publicar (simula um escritor atrasado nos testes)
+     */
+    long reserveSequence() {
+        return nextSequence.getAndIncrement();
+    }
+
+    @Override
+    public void onRemove(Order order) {
+        lastSeen.remove(order.getId());
+    }
+
+    @Override
+    public void onClear() {
+        lastSeen.clear();
+    }
+
+    /**
+     * Sequência do último evento publicado (cursor para começar do "agora")
+     */
+    public long latestSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    /**
+     * ID externo do evento (SSE "id"), válido apenas para este boot
+     */
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Cursor a partir do Last-Event-ID; sem ele, começa do momento atual
+     * IDs de outra época (ou sem época) e sequências ainda não publicadas viram reset
+     *
+     * @throws IllegalArgumentException se a sequência do ID não for numérica
+     */
+    public Resume resume(@Nullable String lastEventId) {
+        long latest = latestSequence();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return new Resume(latest, false);
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Last-Event-ID inválido: " + lastEventId);
+        }
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch) || sequence > latest) {
+            return new Resume(latest, true);
+        }
+        return new Resume(sequence, false);
+    }
+
+    /**
+     * Quantidade de eventos retidos no buffer
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Lê até max eventos com sequência maior que after
+     * Se parte deles já foi sobrescrita, a leitura salta para o mais antigo retido
+     */
+    public Batch poll(long after, int max) {
+        long next = Math.max(after, 0) + 1;
+        long missed = 0;
+        long oldest = oldestRetained();
+        if (next < oldest) {
+            missed = oldest - next;
+            next = oldest;
+        }
+        List<OrderChangeEvent> events = new ArrayList<>(Math.min(max, 256));
+        while (events.size() < max && next < nextSequence.get()) {
+            OrderChangeEvent event = ring.get(slot(next));
+            if (event == null || event.sequence() < next) {
+                oldest = oldestRetained();
+                if (next >= oldest) {
+                    // Sequência reservada mas ainda não publicada pelo escritor
+                    break;
+                }
+                // O buffer deu a volta antes de o escritor publicar: o evento foi perdido
+                missed += oldest - next;
+                next = oldest;
+                continue;
+            }
+            if (event.sequence() > next) {
+                // Sobrescrito durante a leitura
+                oldest = oldestRetained();
+                missed += oldest - next;
+                next = oldest;
+                continue;
+            }
+            events.add(event);
+            next++;
+        }
+        return new Batch(events, next - 1, missed);
+    }
+
+    private long oldestRetained() {
+        return Math.max(1, nextSequence.get() - capacity());
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+
+/**
+ * Ponto de extensão para estruturas derivadas do repositório
+ * (índices, visões colunares, agregados) mantidas em sincronia a cada save
+ */
+public interface OrderChangeListener {
+
+    /**
+     * Chamado após o pedido ficar visível no repositório
+     * Chamadas para o mesmo ID são serializadas e recebem a versão mais recente;
+     * o pedido recebido é a versão armazenada e não deve ser alterado
+     */
+    void onSave(Order order);
+
+    /**
+     * Chamado quando o pedido sai da camada quente (arquivamento)
+     */
+    default void onRemove(Order order) {
+    }
+
+    /**
+     * Se o listener também acompanha pedidos arquivados: ao ser registrado, recebe
+     * em onSave os pedidos da camada fria além dos da camada quente
+     */
+    default boolean includesArchived() {
+        return false;
+    }
+
+    /**
+     * Chamado quando o repositório é limpo
+     */
+    default void onClear() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.orders.repository;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Codificação binária de pedidos usada pelos arquivos de persistência
+ * Campos nulos são representados por marcadores (-1 ou Long.MIN_VALUE)
+ */
+final class OrderCodec {
+
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderCodec() {
+    }
+
+    /**
+     * Serializa o pedido em um array de bytes
+     */
+    static byte[] encode(Order order) {
+        byte[] name = order.getCustomerName() != null
+                ? order.getCustomerName().getBytes(StandardCharsets.UTF_8)
+                : null;
+        byte[] unscaled = order.getTotal() != null
+                ? order.getTotal().unscaledValue().toByteArray()
+                : null;
+
+        int size = Long.BYTES
+                + Integer.BYTES + (name != null ? name.length : 0)
+                + Integer.BYTES + Integer.BYTES + (unscaled != null ? unscaled.length : 0)
+                + Long.BYTES
+                + Byte.BYTES
+                + Long.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(order.getId() != null ? order.getId() : 0L);
+        putBytes(buffer, name);
+        buffer.putInt(order.getTotal() != null ? order.getTotal().scale() : 0);
+        putBytes(buffer, unscaled);
+        buffer.putLong(order.getOrderDate() != null ? order.getOrderDate().toEpochDay() : NULL_DATE);
+        buffer.put(order.getStatus() != null ? (byte) order.getStatus().ordinal() : (byte) -1);
+        buffer.putLong(order.getVersion());
+        return buffer.array();
+    }
+
+    /**
+     * Lê um pedido a partir da posição atual do buffer
+     */
+    static Order decode(ByteBuffer buffer) {
+        Order order = new Order();
+        order.setId(buffer.getLong());
+
+        byte[] name = getBytes(buffer);
+        order.setCustomerName(name != null ? new String(name, StandardCharsets.UTF_8) : null);
+
+        int scale = buffer.getInt();
+        byte[] unscaled = getBytes(buffer);
+        order.setTotal(unscaled != null ? new BigDecimal(new BigInteger(unscaled), scale) : null);
+
+        long epochDay = buffer.getLong();
+        order.setOrderDate(epochDay != NULL_DATE ? LocalDate.ofEpochDay(epochDay) : null);
+
+        byte status = buffer.get();
+        order.setStatus(status >= 0 ? STATUSES[status] : null);
+        order.setVersion(buffer.getLong());
+        return order;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
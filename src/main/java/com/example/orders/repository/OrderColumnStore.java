@@ -0,0 +1,262 @@
+package com.example.orders.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Representação colunar off-heap dos pedidos para varreduras analíticas
+ * - Blocos de 64K linhas alocados com ByteBuffer.allocateDirect (fora do heap)
+ * - Colunas: id (long), total em centavos (long), data (int, epoch-day),
+ *   cliente (int, código de dicionário) e status (byte, ordinal + 1; 0 = linha vazia)
+ * - Linha endereçada pelo ID (ID - 1), já que a sequência gera IDs densos
+ * - Consultas varrem as colunas sem materializar Order/OrderResponse
+ * - Mantida em sincronia pelo repositório a cada save; o mapa em heap continua
+ *   sendo a fonte para buscas por ID
+ * - Leituras são fracamente consistentes: uma varredura concorrente com um save
+ *   pode ver a linha parcialmente atualizada
+ */
+public class OrderColumnStore implements OrderChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderColumnStore.class);
+
+    static final int CHUNK_ROWS = 1 << 16;
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_ROWS);
+    private static final int ID_OFFSET = 0;
+    private static final int TOTAL_OFFSET = ID_OFFSET + CHUNK_ROWS * Long.BYTES;
+    private static final int DAY_OFFSET = TOTAL_OFFSET + CHUNK_ROWS * Long.BYTES;
+    private static final int CUSTOMER_OFFSET = DAY_OFFSET + CHUNK_ROWS * Integer.BYTES;
+    private static final int STATUS_OFFSET = CUSTOMER_OFFSET + CHUNK_ROWS * Integer.BYTES;
+    private static final int CHUNK_BYTES = STATUS_OFFSET + CHUNK_ROWS;
+    private static final long MAX_ID = (long) Integer.MAX_VALUE << CHUNK_SHIFT;
+
+    private static final byte EMPTY_ROW = 0;
+    private static final long NULL_TOTAL = Long.MIN_VALUE;
+    private static final int NULL_DAY = Integer.MIN_VALUE;
+    private static final int NULL_CUSTOMER = -1;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private final Object growLock = new Object();
+    private final AtomicLong highestRow = new AtomicLong(-1);
+
+    private final Map<String, Integer> customerCodes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCustomerCode = new AtomicInteger();
+
+    /**
+     * Resultado agregado de uma varredura
+     *
+     * @param count      quantidade de pedidos
+     * @param totalCents soma dos totais em centavos
+     */
+    public record Summary(long count, long totalCents) {
+
+        public static final Summary EMPTY = new Summary(0, 0);
+
+        public BigDecimal total() {
+            return BigDecimal.valueOf(totalCents, 2);
+        }
+    }
+
+    @Override
+    public void onSave(Order order) {
+        Long id = order.getId();
+        if (id == null || id <= 0 || id > MAX_ID) {
+            logger.warn("Pedido com ID {} fora da faixa da visão colunar, ignorado", id);
+            return;
+        }
+        long row = id - 1;
+        ByteBuffer chunk = chunkFor((int) (row >>> CHUNK_SHIFT));
+        int slot = (int) (row & (CHUNK_ROWS - 1));
+
+        chunk.putLong(ID_OFFSET + slot * Long.BYTES, id);
+        chunk.putLong(TOTAL_OFFSET + slot * Long.BYTES, toCents(order.getTotal()));
+        chunk.putInt(DAY_OFFSET + slot * Integer.BYTES,
+                order.getOrderDate() != null ? (int) order.getOrderDate().toEpochDay() : NULL_DAY);
+        chunk.putInt(CUSTOMER_OFFSET + slot * Integer.BYTES, customerCode(order.getCustomerName()));
+        chunk.put(STATUS_OFFSET + slot, order.getStatus() != null ? (byte) (order.getStatus().ordinal() + 1) : EMPTY_ROW);
+        highestRow.accumulateAndGet(row, Math::max);
+    }
+
+    @Override
+    public void onRemove(Order order) {
+        long row = order.getId() - 1;
+        ByteBuffer[] current = chunks;
+        int index = (int) (row >>> CHUNK_SHIFT);
+        if (row >= 0 && index < current.length) {
+            current[index].put(STATUS_OFFSET + (int) (row & (CHUNK_ROWS - 1)), EMPTY_ROW);
+        }
+    }
+
+    @Override
+    public void onClear() {
+        synchronized (growLock) {
+            chunks = new ByteBuffer[0];
+            highestRow.set(-1);
+            customerCodes.clear();
+            nextCustomerCode.set(0);
+        }
+    }
+
+    /**
+     * Conta e soma os pedidos que atendem à consulta
+     */
+    public Summary summarize(OrderQuery query) {
+        long[] counts = new long[STATUSES.length + 1];
+        long[] cents = new long[STATUSES.length + 1];
+        scan(query, (chunk, slot, status) -> {
+            counts[status]++;
+            long total = chunk.getLong(TOTAL_OFFSET + slot * Long.BYTES);
+            if (total != NULL_TOTAL) {
+                cents[status] += total;
+            }
+        });
+        return new Summary(Arrays.stream(counts).sum(), Arrays.stream(cents).sum());
+    }
+
+    /**
+     * Conta e soma os pedidos que atendem à consulta, agrupados por status
+     */
+    public Map<OrderStatus, Summary> summarizeByStatus(OrderQuery query) {
+        long[] counts = new long[STATUSES.length + 1];
+        long[] cents = new long[STATUSES.length + 1];
+        scan(query, (chunk, slot, status) -> {
+            counts[status]++;
+            long total = chunk.getLong(TOTAL_OFFSET + slot * Long.BYTES);
+            if (total != NULL_TOTAL) {
+                cents[status] += total;
+            }
+        });
+        Map<OrderStatus, Summary> summaries = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            int code = status.ordinal() + 1;
+            summaries.put(status, counts[code] == 0 ? Summary.EMPTY : new Summary(counts[code], cents[code]));
+        }
+        return summaries;
+    }
+
+    /**
+     * Entrega os IDs dos pedidos que atendem à consulta, em ordem crescente
+     */
+    public void forEachId(OrderQuery query, LongConsumer consumer) {
+        scan(query, (chunk, slot, status) -> consumer.accept(chunk.getLong(ID_OFFSET + slot * Long.BYTES)));
+    }
+
+    /**
+     * Quantidade de linhas endereçadas (inclui linhas vazias entre IDs)
+     */
+    public long rows() {
+        return highestRow.get() + 1;
+    }
+
+    /**
+     * Memória off-heap reservada pelos blocos
+     */
+    public long offHeapBytes() {
+        return (long) chunks.length * CHUNK_BYTES;
+    }
+
+    @FunctionalInterface
+    private interface RowVisitor {
+        void visit(ByteBuffer chunk, int slot, int status);
+    }
+
+    private void scan(OrderQuery query, RowVisitor visitor) {
+        int statusFilter = query.getStatus() != null ? query.getStatus().ordinal() + 1 : -1;
+        int fromDay = query.getFrom() != null ? (int) query.getFrom().toEpochDay() : Integer.MIN_VALUE + 1;
+        int toDay = query.getTo() != null ? (int) query.getTo().toEpochDay() : Integer.MAX_VALUE;
+        boolean filterDay = query.hasDateRange();
+        int customerFilter = NULL_CUSTOMER;
+        if (query.getCustomerName() != null) {
+            Integer code = customerCodes.get(query.getCustomerName());
+            if (code == null) {
+                return;
+            }
+            customerFilter = code;
+        }
+
+        ByteBuffer[] snapshot = chunks;
+        long limit = Math.min(highestRow.get() + 1, (long) snapshot.length << CHUNK_SHIFT);
+        for (int c = 0; (long) c << CHUNK_SHIFT < limit; c++) {
+            ByteBuffer chunk = snapshot[c];
+            if (chunk == null) {
+                continue;
+            }
+            int rows = (int) Math.min(CHUNK_ROWS, limit - ((long) c << CHUNK_SHIFT));
+            for (int slot = 0; slot < rows; slot++) {
+                int status = chunk.get(STATUS_OFFSET + slot);
+                if (status == EMPTY_ROW || (statusFilter >= 0 && status != statusFilter)) {
+                    continue;
+                }
+                if (filterDay) {
+                    int day = chunk.getInt(DAY_OFFSET + slot * Integer.BYTES);
+                    if (day == NULL_DAY || day < fromDay || day > toDay) {
+                        continue;
+                    }
+                }
+                if (customerFilter != NULL_CUSTOMER
+                        && chunk.getInt(CUSTOMER_OFFSET + slot * Integer.BYTES) != customerFilter) {
+                    continue;
+                }
+                visitor.visit(chunk, slot, status);
+            }
+        }
+    }
+
+    private ByteBuffer chunkFor(int index) {
+        ByteBuffer[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        synchronized (growLock) {
+            current = chunks;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+            } else {
+                current = current.clone();
+            }
+            if (current[index] == null) {
+                current[index] = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.nativeOrder());
+            }
+            chunks = current;
+            return current[index];
+        }
+    }
+
+    private int customerCode(String customerName) {
+        if (customerName == null) {
+            return NULL_CUSTOMER;
+        }
+        Integer code = customerCodes.get(customerName);
+        if (code != null) {
+            return code;
+        }
+        return customerCodes.computeIfAbsent(customerName, name -> nextCustomerCode.getAndIncrement());
+    }
+
+    private static long toCents(BigDecimal total) {
+        if (total == null) {
+            return NULL_TOTAL;
+        }
+        try {
+            return total.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            logger.warn("Total {} excede a faixa da visão colunar", total);
+            return NULL_TOTAL;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.orders.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongPredicate;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Índices secundários dos pedidos por status, data e cliente, com IDs em ordem crescente
+ * - Status: EnumMap de bitmaps de IDs (ConcurrentLongBitSet)
+ * - Data: ConcurrentSkipListMap (consultas por intervalo) de bitmaps de IDs
+ * - Cliente: hash de ConcurrentSkipListSet de IDs. Os pedidos de um cliente ficam
+ *   espalhados entre os IDs, e um bitmap gastaria uma página por pedido; o conjunto
+ *   ordenado custa cerca de 50 bytes por pedido, o mesmo do hash set que substituiu
+ * - Como as listas de IDs são ordenadas, uma página começa no cursor e para no limite,
+ *   sem percorrer os candidatos anteriores
+ * - Guarda as chaves com que cada pedido foi indexado, para remover as antigas
+ *   quando uma nova versão muda status, data ou cliente
+ * - O repositório serializa as notificações de um mesmo ID e sempre entrega a
+ *   versão mais recente
+ * - Os candidatos podem estar desatualizados: devem ser conferidos contra o
+ *   pedido atual (ver OrderRepository.findBy)
+ */
+class OrderIndex implements OrderChangeListener {
+
+    private final Map<OrderStatus, ConcurrentLongBitSet> byStatus = new EnumMap<>(OrderStatus.class);
+    // Datas vazias não são removidas: a cardinalidade é baixa e a remoção
+    // concorreria com inserções de outros IDs na mesma data
+    private final ConcurrentSkipListMap<LocalDate, ConcurrentLongBitSet> byDate = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, CustomerIds> byCustomer = new ConcurrentHashMap<>();
+    private final ConcurrentLongHashMap<IndexedKeys> indexed = new ConcurrentLongHashMap<>();
+
+    /**
+     * Chaves com que o pedido está indexado no momento
+     */
+    private record IndexedKeys(OrderStatus status, LocalDate orderDate, String customerName) {
+    }
+
+    /**
+     * IDs de um cliente; o tamanho é mantido à parte porque size() do
+     * ConcurrentSkipListSet percorre o conjunto inteiro
+     * Alterado apenas dentro de compute() no byCustomer
+     */
+    private static final class CustomerIds {
+        final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+        volatile int size;
+    }
+
+    OrderIndex() {
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new ConcurrentLongBitSet());
+        }
+    }
+
+    @Override
+    public void onSave(Order order) {
+        long id = order.getId();
+        IndexedKeys current = new IndexedKeys(order.getStatus(), order.getOrderDate(), order.getCustomerName());
+        IndexedKeys previous = indexed.put(id, current);
+        if (current.equals(previous)) {
+            return;
+        }
+        // Insere antes de remover: uma leitura concorrente pode ver o ID
+        // sob as duas chaves, mas nunca deixa de vê-lo
+        index(id, current, previous);
+        if (previous != null) {
+            unindex(id, previous, current);
+        }
+    }
+
+    @Override
+    public void onRemove(Order order) {
+        IndexedKeys previous = indexed.remove(order.getId());
+        if (previous != null) {
+            unindex(order.getId(), previous, new IndexedKeys(null, null, null));
+        }
+    }
+
+    @Override
+    public void onClear() {
+        byStatus.values().forEach(ConcurrentLongBitSet::clear);
+        byDate.clear();
+        byCustomer.clear();
+        indexed.clear();
+    }
+
+    /**
+     * Entrega, em ordem crescente e sem repetição, os IDs candidatos maiores que
+     * afterId, até o consumidor devolver false. Usa o índice mais seletivo
+     * disponível (cliente, depois intervalo de datas, depois status)
+     *
+     * @return false se nenhum índice se aplica (consulta sem filtros)
+     */
+    boolean forEachCandidate(OrderQuery query, long afterId, LongPredicate consumer) {
+        if (query.getCustomerName() != null) {
+            CustomerIds customer = byCustomer.get(query.getCustomerName());
+            if (customer == null) {
+                return true;
+            }
+            ConcurrentLongBitSet status = query.getStatus() != null ? byStatus.get(query.getStatus()) : null;
+            if (status != null && status.size() < customer.size) {
+                status.forEachAfter(afterId, consumer);
+                return true;
+            }
+            for (Long id : customer.ids.tailSet(afterId, false)) {
+                if (!consumer.test(id)) {
+                    break;
+                }
+            }
+            return true;
+        }
+        if (query.hasDateRange()) {
+            merge(dateRange(query).values(), afterId, consumer);
+            return true;
+        }
+        if (query.getStatus() != null) {
+            byStatus.get(query.getStatus()).forEachAfter(afterId, consumer);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Intercala as listas de IDs em ordem crescente (merge de k vias), a partir de afterId
+     * Um pedido que mudou de data durante a leitura pode estar em duas listas: é entregue uma vez
+     */
+    private static void merge(Collection<ConcurrentLongBitSet> postings, long afterId, LongPredicate consumer) {
+        List<ConcurrentLongBitSet> sets = new ArrayList<>(postings);
+        if (sets.size() == 1) {
+            sets.get(0).forEachAfter(afterId, consumer);
+            return;
+        }
+        // Cabeça de cada lista: {próximo ID, índice da lista}
+        PriorityQueue<long[]> heads = new PriorityQueue<>(Comparator.comparingLong(head -> head[0]));
+        for (int i = 0; i < sets.size(); i++) {
+            long next = sets.get(i).higher(afterId);
+            if (next >= 0) {
+                heads.add(new long[] {next, i});
+            }
+        }
+        long last = afterId;
+        while (!heads.isEmpty()) {
+            long[] head = heads.poll();
+            long id = head[0];
+            if (id > last) {
+                if (!consumer.test(id)) {
+                    return;
+                }
+                last = id;
+            }
+            head[0] = sets.get((int) head[1]).higher(id);
+            if (head[0] >= 0) {
+                heads.add(head);
+            }
+        }
+    }
+
+    private NavigableMap<LocalDate, ConcurrentLongBitSet> dateRange(OrderQuery query) {
+        if (query.getFrom() != null && query.getTo() != null) {
+            return query.getFrom().isAfter(query.getTo())
+                    ? new ConcurrentSkipListMap<>()
+                    : byDate.subMap(query.getFrom(), true, query.getTo(), true);
+        }
+        return query.getFrom() != null
+                ? byDate.tailMap(query.getFrom(), true)
+                : byDate.headMap(query.getTo(), true);
+    }
+
+    private void index(long id, IndexedKeys keys, IndexedKeys previous) {
+        if (keys.status() != null && (previous == null || previous.status() != keys.status())) {
+            byStatus.get(keys.status()).add(id);
+        }
+        if (keys.orderDate() != null && (previous == null || !keys.orderDate().equals(previous.orderDate()))) {
+            byDate.computeIfAbsent(keys.orderDate(), date -> new ConcurrentLongBitSet()).add(id);
+        }
+        if (keys.customerName() != null
+                && (previous == null || !keys.customerName().equals(previous.customerName()))) {
+            byCustomer.compute(keys.customerName(), (name, customer) -> {
+                CustomerIds target = customer != null ? customer : new CustomerIds();
+                if (target.ids.add(id)) {
+                    target.size++;
+                }
+                return target;
+            });
+        }
+    }
+
+    private void unindex(long id, IndexedKeys previous, IndexedKeys current) {
+        if (previous.status() != null && previous.status() != current.status()) {
+            byStatus.get(previous.status()).remove(id);
+        }
+        if (previous.orderDate() != null && !previous.orderDate().equals(current.orderDate())) {
+            ConcurrentLongBitSet ids = byDate.get(previous.orderDate());
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+        if (previous.customerName() != null && !previous.customerName().equals(current.customerName())) {
+            byCustomer.computeIfPresent(previous.customerName(), (name, customer) -> {
+                if (customer.ids.remove(id)) {
+                    customer.size--;
+                }
+                return customer.size == 0 ? null : customer;
+            });
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.orders.repository;
+
+import java.time.LocalDate;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Critérios de consulta de pedidos; campos nulos não filtram
+ * O intervalo de datas é inclusivo nas duas pontas
+ */
+public class OrderQuery {
+
+    private static final OrderQuery ALL = new OrderQuery(null, null, null, null);
+
+    private final OrderStatus status;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String customerName;
+
+    public OrderQuery(OrderStatus status, LocalDate from, LocalDate to, String customerName) {
+        this.status = status;
+        this.from = from;
+        this.to = to;
+        this.customerName = customerName;
+    }
+
+    public static OrderQuery all() {
+        return ALL;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public boolean hasDateRange() {
+        return from != null || to != null;
+    }
+
+    public boolean isUnfiltered() {
+        return status == null && !hasDateRange() && customerName == null;
+    }
+
+    /**
+     * Verifica o pedido contra todos os critérios
+     */
+    public boolean matches(Order order) {
+        if (status != null && order.getStatus() != status) {
+            return false;
+        }
+        if (customerName != null && !customerName.equals(order.getCustomerName())) {
+            return false;
+        }
+        if (hasDateRange()) {
+            LocalDate date = order.getOrderDate();
+            if (date == null) {
+                return false;
+            }
+            if (from != null && date.isBefore(from)) {
+                return false;
+            }
+            if (to != null && date.isAfter(to)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,69 +1,96 @@
 package com.example.orders.repository;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-
-import org.springframework.stereotype.Repository;
+import java.util.function.UnaryOperator;
 
 import com.example.orders.model.Order;
 
 /**
- * Repository refatorado para ser thread-safe e usar Spring
- * - ConcurrentHashMap para thread-safety
- * - AtomicLong para sequência thread-safe
- * - Anotação @Repository para injeção de dependência
+ * Armazenamento de pedidos, com o backend escolhido por orders.repository.backend
+ * - memory: InMemoryOrderRepository (padrão), com WAL, snapshots, shards e camada fria opcionais
+ * - jdbc: JdbcOrderRepository, banco embarcado em arquivo
+ * Pedidos são versionados: cada escrita grava a próxima versão, e leituras e
+ * escritas trabalham com cópias
  */
-@Repository
-public class OrderRepository {
+public interface OrderRepository {
 
-    // Corrigido: ConcurrentHashMap para thread-safety
-    private final Map<Long, Order> database = new ConcurrentHashMap<>();
+    /**
+     * Tentativas de uma transição em update() antes de desistir por concorrência
+     */
+    int MAX_UPDATE_ATTEMPTS = 64;
 
-    // Corrigido: AtomicLong para sequência thread-safe
-    private final AtomicLong sequence = new AtomicLong(1);
+    /**
+     * Salva um pedido (a última escrita vence), gerando o ID de pedidos novos
+     *
+     * @return cópia da versão gravada
+     */
+    Order save(Order order);
 
     /**
-     * Salva um pedido no repositório
-     * Gera ID automaticamente se for um novo pedido
+     * Salva os pedidos como save(), mas em lote: a espera de durabilidade (ou a
+     * transação) é uma só para o lote inteiro
+     *
+     * @return cópias das versões gravadas, na ordem recebida
      */
-    public Order save(Order order) {
-        if (order.getId() == null || order.getId() == 0L) {
-            order.setId(sequence.getAndIncrement());
-        }
-        database.put(order.getId(), order);
-        return order;
-    }
+    List<Order> saveAll(List<Order> orders);
 
     /**
-     * Busca pedido por ID
+     * Executa as escritas da ação com uma única espera de durabilidade ao final (group commit)
+     * As escritas ficam visíveis assim que feitas; só a confirmação é agrupada, então o
+     * chamador deve responder por elas apenas depois do retorno
+     * Padrão: executa a ação sem agrupar
      */
-    public Optional<Order> findById(Long id) {
-        return Optional.ofNullable(database.get(id));
+    default void groupCommit(Runnable writes) {
+        writes.run();
     }
 
     /**
-     * Retorna todos os pedidos
+     * Aplica uma transição de estado com concorrência otimista
+     * A transição recebe uma cópia da versão atual e devolve o novo estado; se outra
+     * escrita vencer a corrida, a transição é reaplicada sobre a nova versão
+     *
+     * @return nova versão do pedido, ou vazio se o pedido não existir
+     * @throws ConcurrentUpdateException se todas as tentativas perderem a corrida
      */
-    public List<Order> findAll() {
-        return new ArrayList<>(database.values());
-    }
+    Optional<Order> update(Long id, UnaryOperator<Order> transition);
+
+    Optional<Order> findById(Long id);
+
+    /**
+     * Retorna todos os pedidos, ordenados por ID
+     */
+    List<Order> findAll();
+
+    /**
+     * Retorna até limit pedidos com ID maior que afterId, em ordem de ID
+     */
+    List<Order> findPage(long afterId, int limit);
+
+    /**
+     * Retorna os pedidos que atendem à consulta, ordenados por ID
+     */
+    List<Order> findBy(OrderQuery query);
+
+    /**
+     * Página da consulta: até limit pedidos com ID maior que afterId, em ordem de ID
+     */
+    List<Order> findBy(OrderQuery query, long afterId, int limit);
+
+    boolean existsById(Long id);
+
+    /**
+     * Quantidade de pedidos listáveis
+     */
+    int size();
 
     /**
      * Limpa todos os pedidos (útil para testes)
      */
-    public void clear() {
-        database.clear();
-        sequence.set(1);
-    }
+    void clear();
 
     /**
-     * Verifica se existe pedido com o ID
+     * Registra uma estrutura derivada e a alimenta com os pedidos já existentes
      */
-    public boolean existsById(Long id) {
-        return database.containsKey(id);
-    }
+    void addListener(OrderChangeListener listener);
 }
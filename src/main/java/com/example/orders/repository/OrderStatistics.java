@@ -0,0 +1,178 @@
+package com.example.orders.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Agregados de pedidos mantidos incrementalmente a cada gravação
+ * - Quantidade e total (em centavos) no geral, por status e por dia (data do pedido)
+ * - Cada gravação aplica só a diferença entre a versão anterior e a nova: a versão
+ *   anterior sai dos seus grupos e a nova entra nos dela
+ * - Contadores LongAdder, sem contenção entre escritores; a leitura soma as células
+ *   e custa o mesmo qualquer que seja a quantidade de pedidos
+ * - A leitura não é atômica entre contadores: durante gravações concorrentes um
+ *   pedido em transição pode aparecer momentaneamente em um só dos seus grupos
+ * - Como no relatório, totais são arredondados para centavos pedido a pedido
+ * - Arquivar não é uma alteração de negócio: pedidos arquivados continuam nos
+ *   agregados (inclusive após reinícios, lidos da camada fria no registro), e um
+ *   pedido reidratado segue a partir do que já foi contabilizado
+ */
+public class OrderStatistics implements OrderChangeListener {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Counter overall = new Counter();
+    private final Counter[] byStatus = new Counter[STATUSES.length];
+    private final ConcurrentHashMap<LocalDate, Counter> byDay = new ConcurrentHashMap<>();
+    // O que foi contabilizado de cada pedido (sem guardar o pedido)
+    private final ConcurrentLongHashMap<Counted> lastSeen = new ConcurrentLongHashMap<>();
+
+    public OrderStatistics() {
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new Counter();
+        }
+    }
+
+    /**
+     * Quantidade e soma dos totais de um grupo
+     */
+    public record Summary(long count, long totalCents) {
+
+        public BigDecimal total() {
+            return BigDecimal.valueOf(totalCents, 2);
+        }
+    }
+
+    /**
+     * Leitura dos agregados; dias sem pedidos são omitidos
+     */
+    public record Snapshot(Summary overall, Map<OrderStatus, Summary> byStatus, Map<LocalDate, Summary> byDay) {
+    }
+
+    /**
+     * Versão, status, total e dia contabilizados de um pedido
+     *
+     * @param status   ordinal do status, ou -1 se nulo
+     * @param epochDay dia do pedido, ou NO_DAY se sem data
+     */
+    private record Counted(long version, byte status, long cents, long epochDay) {
+
+        static final long NO_DAY = Long.MIN_VALUE;
+
+        static Counted of(Order order) {
+            return new Counted(order.getVersion(),
+                    (byte) (order.getStatus() != null ? order.getStatus().ordinal() : -1),
+                    toCents(order.getTotal()),
+                    order.getOrderDate() != null ? order.getOrderDate().toEpochDay() : NO_DAY);
+        }
+    }
+
+    private static final class Counter {
+        final LongAdder count = new LongAdder();
+        final LongAdder cents = new LongAdder();
+
+        void add(int sign, long totalCents) {
+            count.add(sign);
+            cents.add(sign * totalCents);
+        }
+
+        Summary summary() {
+            return new Summary(count.sum(), cents.sum());
+        }
+
+        void reset() {
+            count.reset();
+            cents.reset();
+        }
+    }
+
+    @Override
+    public void onSave(Order order) {
+        // Chamadas do mesmo ID são serializadas pelo repositório
+        Counted previous = lastSeen.get(order.getId());
+        if (previous != null && previous.version() >= order.getVersion()) {
+            return;
+        }
+        Counted current = Counted.of(order);
+        lastSeen.put(order.getId(), current);
+        if (previous == null) {
+            move(null, overall, 0, current.cents());
+            move(null, statusCounter(current), 0, current.cents());
+            move(null, dayCounter(current), 0, current.cents());
+            return;
+        }
+        move(overall, overall, previous.cents(), current.cents());
+        move(statusCounter(previous), statusCounter(current), previous.cents(), current.cents());
+        move(dayCounter(previous), dayCounter(current), previous.cents(), current.cents());
+    }
+
+    @Override
+    public boolean includesArchived() {
+        return true;
+    }
+
+    @Override
+    public void onClear() {
+        lastSeen.clear();
+        overall.reset();
+        for (Counter counter : byStatus) {
+            counter.reset();
+        }
+        byDay.clear();
+    }
+
+    public Snapshot snapshot() {
+        Map<OrderStatus, Summary> statuses = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            statuses.put(status, byStatus[status.ordinal()].summary());
+        }
+        Map<LocalDate, Summary> days = new TreeMap<>();
+        byDay.forEach((day, counter) -> {
+            Summary summary = counter.summary();
+            if (summary.count() > 0) {
+                days.put(day, summary);
+            }
+        });
+        return new Snapshot(overall.summary(), statuses, days);
+    }
+
+    /**
+     * Tira a versão anterior do grupo de origem e põe a nova no de destino;
+     * no mesmo grupo só o total muda, sem oscilar a quantidade
+     */
+    private static void move(Counter from, Counter to, long oldCents, long newCents) {
+        if (from != null && from == to) {
+            to.cents.add(newCents - oldCents);
+            return;
+        }
+        if (from != null) {
+            from.add(-1, oldCents);
+        }
+        if (to != null) {
+            to.add(1, newCents);
+        }
+    }
+
+    private Counter statusCounter(Counted counted) {
+        return counted.status() >= 0 ? byStatus[counted.status()] : null;
+    }
+
+    private Counter dayCounter(Counted counted) {
+        return counted.epochDay() != Counted.NO_DAY
+                ? byDay.computeIfAbsent(LocalDate.ofEpochDay(counted.epochDay()), day -> new Counter())
+                : null;
+    }
+
+    private static long toCents(BigDecimal total) {
+        return total != null ? total.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValue() : 0L;
+    }
+}
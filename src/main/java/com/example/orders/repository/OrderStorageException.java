@@ -0,0 +1,14 @@
+package com.example.orders.repository;
+
+/**
+ * Lançada quando o backend de armazenamento falha (por exemplo, erro de JDBC)
+ * A API responde com 500: não é um erro do cliente
+ */
+public class OrderStorageException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OrderStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.orders.repository;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+import com.example.orders.model.Order;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Adaptador reativo sobre o OrderRepository para a pilha WebFlux
+ * - As chamadas ao repositório (que podem bloquear: fsync do WAL, fila dos shards,
+ *   JDBC) rodam no scheduler informado, nunca na thread de I/O do servidor
+ * - findBy produz um Flux paginado sob demanda: cada página de IDs é lida só quando
+ *   o assinante pede mais elementos, de modo que um cliente lento não acumula a
+ *   consulta inteira em memória (backpressure)
+ */
+public class ReactiveOrderRepository {
+
+    private final OrderRepository delegate;
+    private final Scheduler scheduler;
+    private final int pageSize;
+
+    public ReactiveOrderRepository(OrderRepository delegate, Scheduler scheduler, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Tamanho de página deve ser positivo: " + pageSize);
+        }
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.pageSize = pageSize;
+    }
+
+    public Mono<Order> save(Order order) {
+        return call(() -> delegate.save(order));
+    }
+
+    /**
+     * Transição otimista (ver OrderRepository.update); vazio se o pedido não existir
+     */
+    public Mono<Order> update(Long id, UnaryOperator<Order> transition) {
+        return call(() -> delegate.update(id, transition).orElse(null));
+    }
+
+    public Mono<Order> findById(Long id) {
+        return call(() -> delegate.findById(id).orElse(null));
+    }
+
+    /**
+     * Página da consulta: até limit pedidos com ID maior que afterId
+     */
+    public Mono<List<Order>> findPage(OrderQuery query, long afterId, int limit) {
+        return call(() -> delegate.findBy(query, afterId, limit));
+    }
+
+    /**
+     * Todos os pedidos da consulta em ordem de ID, lidos página a página conforme a demanda
+     * Fracamente consistente: cada página reflete o momento da sua leitura
+     */
+    public Flux<Order> findBy(OrderQuery query) {
+        return Flux.<List<Order>, Long>generate(() -> 0L, (after, sink) -> {
+            List<Order> page = delegate.findBy(query, after, pageSize);
+            if (page.isEmpty()) {
+                sink.complete();
+                return after;
+            }
+            sink.next(page);
+            if (page.size() < pageSize) {
+                sink.complete();
+            }
+            return page.get(page.size() - 1).getId();
+        })
+                .subscribeOn(scheduler)
+                // Uma página por vez: a próxima só é lida quando a anterior foi consumida
+                .concatMapIterable(page -> page, 1);
+    }
+
+    private <T> Mono<T> call(Callable<T> action) {
+        return Mono.fromCallable(action).subscribeOn(scheduler);
+    }
+}
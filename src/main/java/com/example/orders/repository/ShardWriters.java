@@ -0,0 +1,125 @@
+package com.example.orders.repository;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Uma thread escritora dedicada por shard, alimentada por uma fila limitada
+ * - Todas as mutações de um shard rodam na sua thread: o shard tem um único escritor
+ * - O chamador aguarda o resultado (ou a exceção) da tarefa
+ * - Fila cheia bloqueia o chamador (contrapressão)
+ * - Chamadas feitas da própria thread do shard rodam diretamente (sem deadlock)
+ */
+public class ShardWriters implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardWriters.class);
+
+    static final int QUEUE_CAPACITY = 16 * 1024;
+
+    private final BlockingQueue<Runnable>[] queues;
+    private final Thread[] threads;
+    private volatile boolean closed;
+
+    /**
+     * @param shards quantidade de shards; zero ou negativo usa um por processador
+     */
+    public ShardWriters(int shards) {
+        int count = shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        BlockingQueue<Runnable>[] created = (BlockingQueue<Runnable>[]) new BlockingQueue[count];
+        this.queues = created;
+        this.threads = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            queues[i] = queue;
+            threads[i] = new Thread(() -> drain(queue), "order-shard-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        logger.info("Repositório particionado em {} shards com escritor único", count);
+    }
+
+    public int count() {
+        return queues.length;
+    }
+
+    /**
+     * Executa a tarefa na thread escritora do shard e aguarda o resultado
+     * Exceções da tarefa são relançadas no chamador
+     */
+    public <T> T execute(int shard, Supplier<T> task) {
+        if (Thread.currentThread() == threads[shard]) {
+            return task.get();
+        }
+        if (closed) {
+            throw new IllegalStateException("Escritores dos shards encerrados");
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            queues[shard].put(() -> {
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a fila do shard " + shard, e);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Encerra as threads após processar as tarefas já enfileiradas
+     * Tarefas que chegarem durante o encerramento rodam na thread que fecha
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (BlockingQueue<Runnable> queue : queues) {
+            queue.offer(() -> Thread.currentThread().interrupt());
+        }
+        for (int i = 0; i < threads.length; i++) {
+            try {
+                threads[i].join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Runnable leftover;
+            while ((leftover = queues[i].poll()) != null) {
+                leftover.run();
+            }
+        }
+    }
+
+    private void drain(BlockingQueue<Runnable> queue) {
+        while (!Thread.currentThread().isInterrupted()) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.orders.repository;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Agenda snapshots periódicos do repositório em uma thread de fundo
+ * Um último snapshot é gravado no encerramento para acelerar o próximo boot
+ */
+public class SnapshotScheduler implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotScheduler.class);
+
+    private final InMemoryOrderRepository orderRepository;
+    private final ScheduledExecutorService executor;
+
+    public SnapshotScheduler(InMemoryOrderRepository orderRepository, Duration interval) {
+        this.orderRepository = orderRepository;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!interval.isZero() && !interval.isNegative()) {
+            long millis = interval.toMillis();
+            executor.scheduleWithFixedDelay(this::snapshotSafely, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Snapshot em andamento não terminou a tempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotSafely();
+    }
+
+    private void snapshotSafely() {
+        try {
+            orderRepository.snapshot();
+        } catch (RuntimeException e) {
+            logger.error("Falha ao gravar snapshot periódico", e);
+        }
+    }
+}
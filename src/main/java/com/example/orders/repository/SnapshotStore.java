@@ -0,0 +1,145 @@
+package com.example.orders.repository;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.example.orders.model.Order;
+
+/**
+ * Snapshots binários do repositório em arquivo mapeado em memória
+ * - Cabeçalho: magic, versão, sequência, geração do WAL e quantidade de pedidos
+ * - Corpo: registros [tamanho][pedido codificado], escritos por regiões mapeadas
+ * - Gravado em arquivo temporário e publicado com move atômico, de modo que
+ *   um snapshot incompleto nunca substitui o anterior
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x4F534E50; // "OSNP"
+    private static final short FORMAT_VERSION = 2; // 2: pedidos com versão
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES * 3;
+    private static final long WRITE_REGION_SIZE = 64L * 1024 * 1024;
+    private static final long READ_WINDOW_SIZE = 1024L * 1024 * 1024;
+
+    private final Path file;
+    private final Path tempFile;
+
+    public SnapshotStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve("orders.snapshot");
+        this.tempFile = directory.resolve("orders.snapshot.tmp");
+    }
+
+    /**
+     * Metadados de um snapshot gravado
+     *
+     * @param sequence      valor da sequência de IDs no momento do snapshot
+     * @param walGeneration primeiro segmento do WAL que deve ser reaplicado após o snapshot
+     * @param orders        quantidade de pedidos no snapshot
+     */
+    public record Snapshot(long sequence, long walGeneration, long orders) {
+    }
+
+    /**
+     * Grava um novo snapshot com os pedidos do iterador e substitui o anterior
+     */
+    public Snapshot write(long sequence, long walGeneration, Iterator<Order> orders) throws IOException {
+        long count = 0;
+        long position = HEADER_SIZE;
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, position, WRITE_REGION_SIZE);
+            while (orders.hasNext()) {
+                byte[] payload = OrderCodec.encode(orders.next());
+                int required = Integer.BYTES + payload.length;
+                if (region.remaining() < required) {
+                    region.force();
+                    position += region.position();
+                    region = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                            Math.max(WRITE_REGION_SIZE, required));
+                }
+                region.putInt(payload.length).put(payload);
+                count++;
+            }
+            region.force();
+            position += region.position();
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(MAGIC).putShort(FORMAT_VERSION)
+                    .putLong(sequence).putLong(walGeneration).putLong(count);
+            header.force();
+
+            channel.truncate(position);
+            channel.force(true);
+        }
+
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new Snapshot(sequence, walGeneration, count);
+    }
+
+    /**
+     * Carrega o snapshot mais recente, entregando cada pedido ao consumidor
+     * O arquivo é lido por janelas mapeadas em memória (leitura em bloco)
+     */
+    public Optional<Snapshot> load(Consumer<Order> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Snapshot truncado: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Arquivo não é um snapshot de pedidos: " + file);
+            }
+            short version = header.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versão de snapshot não suportada (" + version + "): " + file);
+            }
+            long sequence = header.getLong();
+            long walGeneration = header.getLong();
+            long count = header.getLong();
+
+            long position = HEADER_SIZE;
+            long loaded = 0;
+            while (loaded < count) {
+                long window = Math.min(size - position, READ_WINDOW_SIZE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+                buffer.load();
+                while (loaded < count && buffer.remaining() >= Integer.BYTES) {
+                    int length = buffer.getInt(buffer.position());
+                    if (buffer.remaining() < Integer.BYTES + length) {
+                        break;
+                    }
+                    buffer.position(buffer.position() + Integer.BYTES);
+                    consumer.accept(OrderCodec.decode(buffer));
+                    loaded++;
+                }
+                if (buffer.position() == 0) {
+                    throw new IOException("Snapshot corrompido após " + loaded + " pedidos: " + file);
+                }
+                position += buffer.position();
+            }
+            return Optional.of(new Snapshot(sequence, walGeneration, count));
+        }
+    }
+
+    /**
+     * Remove o snapshot atual (útil para testes)
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(tempFile);
+        Files.deleteIfExists(file);
+    }
+}
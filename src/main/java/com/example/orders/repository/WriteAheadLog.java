@@ -0,0 +1,562 @@
+package com.example.orders.repository;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.orders.model.Order;
+
+/**
+ * Write-ahead log append-only para os pedidos, baseado em FileChannel
+ * - Registros: [tamanho][crc32][pedido codificado]
+ * - Group commit: escritores acumulam registros em memória e um único
+ *   write + fsync grava o lote inteiro
+ * - Segmentos por geração (orders-NNNNNNNNNN.wal): um snapshot rotaciona o log
+ *   e os segmentos anteriores a ele podem ser apagados
+ * - Cauda corrompida (queda no meio de uma escrita) é descartada no replay
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int MAGIC = 0x4F57414C; // "OWAL"
+    private static final short FORMAT_VERSION = 2; // 2: pedidos com versão
+    private static final int FILE_HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("orders-(\\d+)\\.wal");
+
+    private final Path directory;
+    private final DurabilityMode mode;
+    private final long flushIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition durableCondition = lock.newCondition();
+    // Threads dentro de deferDurability: seus appends não aguardam o disco
+    private final ThreadLocal<Boolean> deferred = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    // Protegidos por lock. Posições são lógicas (bytes acrescentados desde a abertura)
+    private FileChannel channel;
+    private long generation;
+    private long segmentBase;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appendedPosition;
+    private long durablePosition;
+    private boolean flushing;
+    private IOException failure;
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    private WriteAheadLog(Path directory, DurabilityMode mode, Duration flushInterval) {
+        this.directory = directory;
+        this.mode = mode;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flusher = mode == DurabilityMode.SYNC ? null : new Thread(this::runFlusher, "wal-flusher");
+    }
+
+    /**
+     * Abre (ou cria) o log no diretório informado, acrescentando ao segmento mais recente
+     */
+    public static WriteAheadLog open(Path directory, DurabilityMode mode, Duration flushInterval) throws IOException {
+        Files.createDirectories(directory);
+        WriteAheadLog log = new WriteAheadLog(directory, mode, flushInterval);
+
+        List<Long> generations = log.listGenerations();
+        long current = generations.isEmpty() ? 1L : generations.get(generations.size() - 1);
+        log.openSegment(current);
+
+        if (log.flusher != null) {
+            log.flusher.setDaemon(true);
+            log.flusher.start();
+        }
+        return log;
+    }
+
+    /**
+     * Reaplica os registros válidos de todos os segmentos, em ordem de escrita
+     * Deve ser chamado antes de qualquer append
+     *
+     * @return quantidade de registros reaplicados
+     */
+    public long replay(Consumer<Order> consumer) throws IOException {
+        return replay(0L, consumer);
+    }
+
+    /**
+     * Reaplica os registros dos segmentos a partir da geração informada
+     * (normalmente a geração gravada no último snapshot)
+     */
+    public long replay(long fromGeneration, Consumer<Order> consumer) throws IOException {
+        long records = 0;
+        for (long segment : listGenerations()) {
+            if (segment < fromGeneration) {
+                continue;
+            }
+            records += replaySegment(segment, consumer);
+        }
+        return records;
+    }
+
+    /**
+     * Acrescenta o pedido ao log respeitando o modo de durabilidade configurado
+     */
+    public void append(Order order) {
+        append(order, () -> {
+        });
+    }
+
+    /**
+     * Acrescenta o pedido ao log respeitando o modo de durabilidade configurado
+     * A ação {@code apply} roda sob o mesmo lock do append, de modo que a ordem
+     * do log é exatamente a ordem em que as escritas ficam visíveis
+     */
+    public void append(Order order, Runnable apply) {
+        byte[] payload = OrderCodec.encode(order);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        lock.lock();
+        try {
+            ensureWritable();
+            pending = ensureCapacity(pending, RECORD_HEADER_SIZE + payload.length);
+            pending.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            appendedPosition += RECORD_HEADER_SIZE + payload.length;
+            apply.run();
+
+            if (mode != DurabilityMode.ASYNC && !deferred.get()) {
+                awaitDurable(appendedPosition);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acrescenta os pedidos em sequência, com uma única espera de durabilidade
+     * para o lote inteiro
+     */
+    public void appendAll(List<Order> orders) {
+        List<byte[]> payloads = new ArrayList<>(orders.size());
+        int[] checksums = new int[orders.size()];
+        int size = 0;
+        for (Order order : orders) {
+            byte[] payload = OrderCodec.encode(order);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            checksums[payloads.size()] = (int) crc.getValue();
+            payloads.add(payload);
+            size += RECORD_HEADER_SIZE + payload.length;
+        }
+
+        lock.lock();
+        try {
+            ensureWritable();
+            pending = ensureCapacity(pending, size);
+            for (int i = 0; i < payloads.size(); i++) {
+                byte[] payload = payloads.get(i);
+                pending.putInt(payload.length).putInt(checksums[i]).put(payload);
+            }
+            appendedPosition += size;
+
+            if (mode != DurabilityMode.ASYNC && !deferred.get()) {
+                awaitDurable(appendedPosition);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Executa a ação sem que os appends da thread atual aguardem o disco, e aguarda
+     * uma única vez ao final (também se a ação falhar)
+     */
+    public void deferDurability(Runnable action) {
+        if (mode == DurabilityMode.ASYNC || deferred.get()) {
+            action.run();
+            return;
+        }
+        deferred.set(true);
+        try {
+            action.run();
+        } finally {
+            deferred.set(false);
+            sync();
+        }
+    }
+
+    /**
+     * Força a gravação de tudo que já foi acrescentado
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            awaitDurable(appendedPosition);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava o lote pendente e passa a escrever em um novo segmento
+     * Tudo que foi aplicado antes da rotação está nos segmentos anteriores
+     *
+     * @return geração do novo segmento
+     */
+    public long rotate() {
+        lock.lock();
+        try {
+            ensureWritable();
+            while (flushing) {
+                durableCondition.awaitUninterruptibly();
+            }
+            ByteBuffer batch = pending;
+            batch.flip();
+            long writePosition = fileOffset(durablePosition);
+            while (batch.hasRemaining()) {
+                writePosition += channel.write(batch, writePosition);
+            }
+            batch.clear();
+            channel.force(false);
+            durablePosition = appendedPosition;
+            durableCondition.signalAll();
+
+            channel.close();
+            openSegment(generation + 1);
+            return generation;
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException("Falha ao rotacionar o WAL em " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apaga os segmentos anteriores à geração informada (já cobertos por um snapshot)
+     */
+    public void deleteSegmentsBefore(long generation) throws IOException {
+        for (long segment : listGenerations()) {
+            if (segment < generation) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+    }
+
+    /**
+     * Descarta todo o conteúdo do log (útil para testes)
+     */
+    public void truncate() {
+        lock.lock();
+        try {
+            while (flushing) {
+                durableCondition.awaitUninterruptibly();
+            }
+            pending.clear();
+            durablePosition = appendedPosition;
+            durableCondition.signalAll();
+
+            deleteSegmentsBefore(generation);
+            channel.truncate(FILE_HEADER_SIZE);
+            channel.force(true);
+            segmentBase = appendedPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao truncar o WAL em " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public DurabilityMode getMode() {
+        return mode;
+    }
+
+    public long getGeneration() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica se nada foi acrescentado desde a última rotação
+     */
+    public boolean isCurrentSegmentEmpty() {
+        lock.lock();
+        try {
+            return appendedPosition == segmentBase;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(Duration.ofSeconds(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            sync();
+        } finally {
+            lock.lock();
+            try {
+                channel.close();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long replaySegment(long segment, Consumer<Order> consumer) throws IOException {
+        Path file = segmentPath(segment);
+        long size = Files.size(file);
+        long position = FILE_HEADER_SIZE;
+        long records = 0;
+        CRC32 crc = new CRC32();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(file), INITIAL_BUFFER_SIZE))) {
+            in.skipNBytes(FILE_HEADER_SIZE);
+            while (position < size) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || position + RECORD_HEADER_SIZE + length > size) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                consumer.accept(OrderCodec.decode(ByteBuffer.wrap(payload)));
+                position += RECORD_HEADER_SIZE + length;
+                records++;
+            }
+        }
+
+        if (position < size) {
+            logger.warn("Descartando {} bytes corrompidos no final do WAL {}", size - position, file);
+            truncateSegment(segment, position);
+        }
+        return records;
+    }
+
+    private void truncateSegment(long segment, long size) throws IOException {
+        lock.lock();
+        try {
+            if (segment == generation) {
+                channel.truncate(size);
+                channel.force(true);
+                appendedPosition = segmentBase + size - FILE_HEADER_SIZE;
+                durablePosition = appendedPosition;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        try (FileChannel old = FileChannel.open(segmentPath(segment), StandardOpenOption.WRITE)) {
+            old.truncate(size);
+            old.force(true);
+        }
+    }
+
+    /**
+     * Abre o segmento da geração informada, criando o cabeçalho se necessário
+     * Deve ser chamado com o lock adquirido (ou antes da publicação do log)
+     */
+    private void openSegment(long segment) throws IOException {
+        Path file = segmentPath(segment);
+        FileChannel opened = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (opened.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putShort(FORMAT_VERSION);
+                header.flip();
+                opened.write(header, 0);
+                opened.force(true);
+            } else {
+                validateHeader(opened, file);
+            }
+        } catch (IOException | RuntimeException e) {
+            opened.close();
+            throw e;
+        }
+
+        channel = opened;
+        generation = segment;
+        segmentBase = appendedPosition;
+        appendedPosition = segmentBase + opened.size() - FILE_HEADER_SIZE;
+        durablePosition = appendedPosition;
+    }
+
+    /**
+     * Aguarda até que a posição informada esteja em disco
+     * Se ninguém estiver gravando (modo SYNC), a thread atual assume o flush do lote
+     * Deve ser chamado com o lock adquirido
+     */
+    private void awaitDurable(long position) {
+        while (durablePosition < position) {
+            if (failure != null) {
+                throw new UncheckedIOException("Falha ao gravar o WAL em " + directory, failure);
+            }
+            if (!flushing && (mode == DurabilityMode.SYNC || closed)) {
+                flushLocked();
+            } else {
+                durableCondition.awaitUninterruptibly();
+            }
+        }
+    }
+
+    /**
+     * Grava e sincroniza o lote pendente fora do lock, permitindo que novos
+     * registros sejam acumulados para o próximo lote enquanto o fsync acontece
+     */
+    private void flushLocked() {
+        flushing = true;
+        ByteBuffer batch = pending;
+        pending = spare;
+        spare = batch;
+        long target = appendedPosition;
+        long writePosition = fileOffset(durablePosition);
+        FileChannel segmentChannel = channel;
+
+        lock.unlock();
+        IOException error = null;
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                writePosition += segmentChannel.write(batch, writePosition);
+            }
+            segmentChannel.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            batch.clear();
+            lock.lock();
+        }
+
+        flushing = false;
+        if (error != null) {
+            failure = error;
+            logger.error("Falha ao gravar o WAL em {}", directory, error);
+        } else {
+            durablePosition = target;
+        }
+        durableCondition.signalAll();
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            lock.lock();
+            try {
+                if (!flushing && failure == null && appendedPosition > durablePosition) {
+                    flushLocked();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long fileOffset(long logicalPosition) {
+        return FILE_HEADER_SIZE + logicalPosition - segmentBase;
+    }
+
+    private void ensureWritable() {
+        if (closed) {
+            throw new IllegalStateException("WAL fechado: " + directory);
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Falha ao gravar o WAL em " + directory, failure);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("orders-%010d.wal", segment));
+    }
+
+    private List<Long> listGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "orders-*.wal")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int required) {
+        if (buffer.remaining() >= required) {
+            return buffer;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + required);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    private static void validateHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < FILE_HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Arquivo não é um WAL de pedidos: " + file);
+        }
+        short version = header.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Versão de WAL não suportada (" + version + "): " + file);
+        }
+    }
+}
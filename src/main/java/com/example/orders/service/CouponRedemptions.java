@@ -0,0 +1,289 @@
+package com.example.orders.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.lang.Nullable;
+
+import com.example.orders.model.CouponQuota;
+import com.example.orders.repository.CouponRedemptionLog;
+
+/**
+ * Contadores de resgate das cotas de cupons, sem serializar os resgates de um cupom quente
+ * - Cota global: as permissões ficam em um estoque central e são reservadas em blocos
+ *   por faixas (uma por grupo de threads, em linhas de cache separadas); o resgate
+ *   consome da própria faixa, recorre ao estoque e, esgotado, às faixas vizinhas.
+ *   Permissões só mudam de lugar, nunca são criadas: a cota nunca é excedida
+ * - Cota por cliente: um contador por cupom e cliente (a disputa é só do próprio cliente)
+ * - Com log, cada bloco reservado é gravado antes do uso e as contagens por cliente a
+ *   cada resgate; no encerramento o log é compactado com as contagens exatas
+ */
+public class CouponRedemptions implements Closeable {
+
+    private static final int STRIPES =
+            Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    // 16 longs (128 bytes) por faixa: faixas vizinhas nunca dividem uma linha de cache
+    private static final int PADDING = 16;
+    private static final int MAX_CHUNK = 64;
+
+    /**
+     * Contador da cota global de um cupom; granted = permissões fora do estoque central,
+     * resgatadas ou reservadas nas faixas
+     */
+    private static final class GlobalCounter {
+        final AtomicLong pool;
+        final AtomicLong granted;
+        final AtomicLongArray stripes = new AtomicLongArray(STRIPES * PADDING);
+        volatile long limit;
+
+        GlobalCounter(long limit, long alreadyRedeemed) {
+            this.limit = limit;
+            this.pool = new AtomicLong(limit - alreadyRedeemed);
+            this.granted = new AtomicLong(alreadyRedeemed);
+        }
+
+        /**
+         * Resgates = permissões fora do estoque menos as ainda reservadas nas faixas
+         * (exato quando não há resgates em andamento)
+         */
+        long redeemed() {
+            long reserved = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                reserved += stripes.get(i * PADDING);
+            }
+            return granted.get() - reserved;
+        }
+
+        /**
+         * Ajusta o estoque quando a cota do cupom muda na recarga das definições
+         * As faixas devolvem suas reservas, para que uma cota reduzida valha de imediato
+         */
+        synchronized void resize(long newLimit) {
+            if (limit == newLimit) {
+                return;
+            }
+            long drained = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                drained += stripes.getAndSet(i * PADDING, 0);
+            }
+            granted.addAndGet(-drained);
+            pool.addAndGet(drained + newLimit - limit);
+            limit = newLimit;
+        }
+    }
+
+    private final Map<String, GlobalCounter> global = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> perCustomer = new ConcurrentHashMap<>();
+    private final Map<String, Long> recoveredGranted;
+    @Nullable
+    private final CouponRedemptionLog log;
+
+    /**
+     * Contadores apenas em memória
+     */
+    public CouponRedemptions() {
+        this(null);
+    }
+
+    /**
+     * Contadores gravados no log informado, a partir do estado já recuperado por ele
+     */
+    public CouponRedemptions(@Nullable CouponRedemptionLog log) {
+        this.log = log;
+        this.recoveredGranted = new ConcurrentHashMap<>();
+        if (log != null) {
+            recoveredGranted.putAll(log.recovered().granted());
+            log.recovered().customers().forEach((code, counts) -> counts.forEach(
+                    (customer, count) -> perCustomer.put(customerKey(code, customer), new AtomicInteger(count))));
+        }
+    }
+
+    /**
+     * Reserva um resgate do cupom para o cliente, respeitando as duas cotas
+     *
+     * @return false se alguma das cotas estiver esgotada (nada é reservado)
+     */
+    public boolean tryRedeem(String code, CouponQuota quota, String customer) {
+        if (quota.perCustomer() > 0 && !tryIncrementCustomer(code, customer, quota.perCustomer())) {
+            return false;
+        }
+        if (quota.limit() > 0 && !tryAcquire(counter(code, quota.limit()), code)) {
+            if (quota.perCustomer() > 0) {
+                decrementCustomer(code, customer);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devolve um resgate reservado por tryRedeem que não chegou a ser aplicado
+     */
+    public void release(String code, CouponQuota quota, String customer) {
+        if (quota.limit() > 0) {
+            GlobalCounter counter = counter(code, quota.limit());
+            counter.stripes.incrementAndGet(stripe());
+        }
+        if (quota.perCustomer() > 0) {
+            decrementCustomer(code, customer);
+        }
+    }
+
+    /**
+     * Resgates do cupom na cota global (0 se o cupom não tiver cota global)
+     */
+    public long redeemed(String code) {
+        GlobalCounter counter = global.get(code);
+        return counter != null ? counter.redeemed() : recoveredGranted.getOrDefault(code, 0L);
+    }
+
+    /**
+     * Resgates do cupom pelo cliente
+     */
+    public int redeemed(String code, String customer) {
+        AtomicInteger count = perCustomer.get(customerKey(code, customer));
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Compacta o log com as contagens exatas; as reservas não usadas voltam à cota
+     */
+    @Override
+    public void close() throws IOException {
+        if (log == null) {
+            return;
+        }
+        Map<String, Long> granted = new HashMap<>(recoveredGranted);
+        global.forEach((code, counter) -> granted.put(code, counter.redeemed()));
+        Map<String, Map<String, Integer>> customers = new HashMap<>();
+        perCustomer.forEach((key, count) -> {
+            if (count.get() > 0) {
+                int separator = key.indexOf('\n');
+                customers.computeIfAbsent(key.substring(0, separator), code -> new HashMap<>())
+                        .put(key.substring(separator + 1), count.get());
+            }
+        });
+        log.compact(new CouponRedemptionLog.State(granted, customers));
+        log.close();
+    }
+
+    private GlobalCounter counter(String code, long limit) {
+        GlobalCounter counter = global.get(code);
+        if (counter == null) {
+            counter = global.computeIfAbsent(code,
+                    c -> new GlobalCounter(limit, recoveredGranted.getOrDefault(c, 0L)));
+        }
+        if (counter.limit != limit) {
+            counter.resize(limit);
+        }
+        return counter;
+    }
+
+    private boolean tryAcquire(GlobalCounter counter, String code) {
+        int own = stripe();
+        while (true) {
+            if (tryDecrement(counter.stripes, own)) {
+                return true;
+            }
+            long chunk = reserve(counter, code);
+            if (chunk > 0) {
+                // Uma permissão do bloco é este resgate; as demais ficam na faixa
+                if (chunk > 1) {
+                    counter.stripes.addAndGet(own, chunk - 1);
+                }
+                return true;
+            }
+            for (int i = 1; i < STRIPES; i++) {
+                if (tryDecrement(counter.stripes, (own + i * PADDING) % (STRIPES * PADDING))) {
+                    return true;
+                }
+            }
+            if (counter.pool.get() <= 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Retira do estoque central um bloco proporcional ao que resta (menor perto do fim,
+     * para não deixar permissões presas em faixas ociosas) e o grava no log antes do uso
+     */
+    private long reserve(GlobalCounter counter, String code) {
+        while (true) {
+            long available = counter.pool.get();
+            if (available <= 0) {
+                return 0;
+            }
+            long chunk = Math.max(1, Math.min(MAX_CHUNK, available / (STRIPES * 2L)));
+            if (counter.pool.compareAndSet(available, available - chunk)) {
+                long granted = counter.granted.addAndGet(chunk);
+                if (log != null) {
+                    try {
+                        log.recordGranted(code, granted);
+                    } catch (RuntimeException e) {
+                        counter.granted.addAndGet(-chunk);
+                        counter.pool.addAndGet(chunk);
+                        throw e;
+                    }
+                }
+                return chunk;
+            }
+        }
+    }
+
+    private static boolean tryDecrement(AtomicLongArray stripes, int index) {
+        long current;
+        while ((current = stripes.get(index)) > 0) {
+            if (stripes.compareAndSet(index, current, current - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryIncrementCustomer(String code, String customer, int cap) {
+        AtomicInteger count = perCustomer.computeIfAbsent(customerKey(code, customer), key -> new AtomicInteger());
+        while (true) {
+            int current = count.get();
+            if (current >= cap) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                if (log != null) {
+                    try {
+                        log.recordCustomer(code, nullToEmpty(customer), current + 1);
+                    } catch (RuntimeException e) {
+                        count.decrementAndGet();
+                        throw e;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+    private void decrementCustomer(String code, String customer) {
+        int count = perCustomer.get(customerKey(code, customer)).decrementAndGet();
+        if (log != null) {
+            log.recordCustomer(code, nullToEmpty(customer), count);
+        }
+    }
+
+    private static int stripe() {
+        return (int) (Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+    }
+
+    private static String customerKey(String code, String customer) {
+        return code + '\n' + nullToEmpty(customer);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.orders.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import com.example.orders.model.CouponQuota;
+import com.example.orders.model.CouponRule;
+import com.example.orders.model.Money;
+
+/**
+ * Registro de cupons compilados, com busca O(1) por código
+ * - Cupons embutidos: OFF&lt;n&gt; (percentual de 0 a 100, pré-compilados) e VALOR&lt;valor&gt;
+ *   (valor fixo, compilado na primeira vez que cada código aparece)
+ * - Cupons nomeados vêm de um arquivo local (código=definição, ex.: BEMVINDO=OFF15),
+ *   opcionalmente com cotas de resgate (BLACKFRIDAY=OFF30;limit=1000;per-customer=1) e
+ *   arredondamento do percentual (rounding=HALF_UP; padrão HALF_EVEN),
+ *   compilado por inteiro e publicado com uma troca atômica de referência: requisições
+ *   em andamento continuam com a versão que já leram, sem bloqueio
+ * - Com watch habilitado, uma thread observa o diretório e recarrega o arquivo a cada
+ *   alteração; um arquivo inválido é rejeitado e a versão anterior continua valendo
+ * - Códigos desconhecidos devolvem vazio: a busca nunca lança exceção
+ */
+public class CouponRegistry implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CouponRegistry.class);
+
+    private static final String PERCENT_PREFIX = "OFF";
+    private static final String AMOUNT_PREFIX = "VALOR";
+    private static final String LIMIT_OPTION = "limit=";
+    private static final String PER_CUSTOMER_OPTION = "per-customer=";
+    private static final String ROUNDING_OPTION = "rounding=";
+    // Modos aceitos em rounding=; UNNECESSARY não serve para descontos
+    private static final Map<String, RoundingMode> ROUNDING_MODES = Arrays.stream(RoundingMode.values())
+            .filter(mode -> mode != RoundingMode.UNNECESSARY)
+            .collect(Collectors.toUnmodifiableMap(RoundingMode::name, mode -> mode));
+    private static final int MAX_PERCENT_LENGTH = 3;
+    private static final int MAX_AMOUNT_LENGTH = 18;
+    static final int MAX_CACHED_CODES = 10_000;
+    private static final Map<String, CouponRule> BUILT_IN = builtIn();
+
+    @Nullable
+    private final Path file;
+    private final Map<String, CouponRule> compiledCodes = new ConcurrentHashMap<>();
+    @Nullable
+    private final WatchService watchService;
+    @Nullable
+    private final Thread watcher;
+    // Substituído por inteiro a cada recarga; nunca alterado depois de publicado
+    private volatile Definitions named = Definitions.EMPTY;
+
+    /**
+     * Versão publicada dos cupons nomeados: regras e cotas trocadas juntas
+     */
+    private record Options(CouponQuota quota, @Nullable RoundingMode rounding) {
+    }
+
+    private record Definitions(Map<String, CouponRule> rules, Map<String, CouponQuota> quotas) {
+        static final Definitions EMPTY = new Definitions(Map.of(), Map.of());
+    }
+
+    /**
+     * Registro apenas com os cupons embutidos
+     */
+    public CouponRegistry() {
+        this.file = null;
+        this.watchService = null;
+        this.watcher = null;
+    }
+
+    /**
+     * Registro com os cupons nomeados do arquivo, opcionalmente recarregado a cada alteração
+     *
+     * @throws IllegalArgumentException se o arquivo existir e tiver definições inválidas
+     */
+    public CouponRegistry(Path file, boolean watch) throws IOException {
+        this.file = file.toAbsolutePath();
+        if (Files.exists(this.file) && !reload()) {
+            throw new IllegalArgumentException("Definições de cupons inválidas em " + this.file);
+        }
+        if (watch) {
+            Files.createDirectories(this.file.getParent());
+            this.watchService = this.file.getFileSystem().newWatchService();
+            this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            this.watcher = new Thread(this::watch, "coupon-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } else {
+            this.watchService = null;
+            this.watcher = null;
+        }
+    }
+
+    /**
+     * Regra do cupom, ou vazio se o código não for reconhecido
+     */
+    public Optional<CouponRule> find(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        CouponRule rule = named.rules().get(code);
+        if (rule == null) {
+            rule = BUILT_IN.get(code);
+        }
+        if (rule == null) {
+            rule = compiledCodes.get(code);
+            if (rule == null) {
+                rule = compile(code);
+                if (rule != null && compiledCodes.size() < MAX_CACHED_CODES) {
+                    compiledCodes.putIfAbsent(code, rule);
+                }
+            }
+        }
+        return Optional.ofNullable(rule);
+    }
+
+    /**
+     * Quantidade de cupons nomeados carregados do arquivo
+     */
+    public int namedCount() {
+        return named.rules().size();
+    }
+
+    /**
+     * Cota de resgate do cupom, ou null se o cupom não tiver cota
+     */
+    @Nullable
+    public CouponQuota quota(String code) {
+        return code != null ? named.quotas().get(code) : null;
+    }
+
+    /**
+     * Relê o arquivo e publica as novas definições se todas forem válidas
+     * Arquivo ausente remove os cupons nomeados
+     *
+     * @return false se o arquivo foi rejeitado (a versão anterior continua valendo)
+     */
+    public boolean reload() {
+        if (file == null) {
+            return true;
+        }
+        if (!Files.exists(file)) {
+            named = Definitions.EMPTY;
+            logger.info("Arquivo de cupons ausente, apenas cupons embutidos: {}", file);
+            return true;
+        }
+        Properties definitions = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            definitions.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Falha ao ler o arquivo de cupons {}: {}", file, e.getMessage());
+            return false;
+        }
+
+        Map<String, CouponRule> compiled = new HashMap<>();
+        Map<String, CouponQuota> quotas = new HashMap<>();
+        for (String code : definitions.stringPropertyNames()) {
+            String definition = definitions.getProperty(code).trim();
+            String[] parts = definition.split(";");
+            CouponRule rule = compile(parts[0].trim());
+            Options options = compileOptions(parts);
+            if (rule != null && options != null && options.rounding() != null) {
+                rule = rule instanceof CouponRule.Percentage percentage
+                        ? new CouponRule.Percentage(percentage.percent(), options.rounding())
+                        : null;
+            }
+            if (code.isBlank() || rule == null || options == null) {
+                logger.error("Definição de cupom inválida em {}: {}={}", file, code, definition);
+                return false;
+            }
+            compiled.put(code.trim(), rule);
+            CouponQuota quota = options.quota();
+            if (quota.limit() > 0 || quota.perCustomer() > 0) {
+                quotas.put(code.trim(), quota);
+            }
+        }
+        named = new Definitions(Map.copyOf(compiled), Map.copyOf(quotas));
+        logger.info("{} cupons nomeados carregados de {} ({} com cota)", compiled.size(), file, quotas.size());
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Compila uma definição no formato dos cupons embutidos (OFF&lt;n&gt; ou VALOR&lt;valor&gt;)
+     *
+     * @return regra, ou null se a definição for inválida
+     */
+    @Nullable
+    static CouponRule compile(String definition) {
+        CouponRule rule = BUILT_IN.get(definition);
+        if (rule != null) {
+            return rule;
+        }
+        if (definition.startsWith(PERCENT_PREFIX)) {
+            return compilePercent(definition, PERCENT_PREFIX.length());
+        }
+        if (definition.startsWith(AMOUNT_PREFIX)) {
+            return compileAmount(definition, AMOUNT_PREFIX.length());
+        }
+        return null;
+    }
+
+    /**
+     * Opções após a regra: cotas (limit=N, per-customer=N) e arredondamento dos
+     * percentuais (rounding=HALF_UP etc.)
+     *
+     * @return opções (cota zero onde a opção não aparece), ou null se alguma for inválida
+     */
+    @Nullable
+    private static Options compileOptions(String[] parts) {
+        long limit = 0;
+        long perCustomer = 0;
+        RoundingMode rounding = null;
+        for (int i = 1; i < parts.length; i++) {
+            String option = parts[i].trim();
+            if (option.startsWith(LIMIT_OPTION)) {
+                limit = parseCount(option, LIMIT_OPTION.length());
+            } else if (option.startsWith(PER_CUSTOMER_OPTION)) {
+                perCustomer = parseCount(option, PER_CUSTOMER_OPTION.length());
+            } else if (option.startsWith(ROUNDING_OPTION)) {
+                rounding = ROUNDING_MODES.get(option.substring(ROUNDING_OPTION.length()));
+                if (rounding == null) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+            if (limit < 0 || perCustomer < 0 || perCustomer > Integer.MAX_VALUE) {
+                return null;
+            }
+        }
+        return new Options(new CouponQuota(limit, (int) perCustomer), rounding);
+    }
+
+    /**
+     * Inteiro positivo de até 18 dígitos, ou -1 se inválido
+     */
+    private static long parseCount(String text, int start) {
+        int length = text.length() - start;
+        if (length == 0 || length > MAX_AMOUNT_LENGTH) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > 0 ? value : -1;
+    }
+
+    /**
+     * Percentual com zeros à esquerda (ex.: OFF05); as formas canônicas já estão pré-compiladas
+     */
+    @Nullable
+    private static CouponRule compilePercent(String code, int start) {
+        int i = start;
+        while (i < code.length() - 1 && code.charAt(i) == '0') {
+            i++;
+        }
+        int length = code.length() - i;
+        if (length == 0 || length > MAX_PERCENT_LENGTH) {
+            return null;
+        }
+        int percent = 0;
+        for (; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            percent = percent * 10 + (c - '0');
+        }
+        return BUILT_IN.get(PERCENT_PREFIX + percent);
+    }
+
+    /**
+     * Valor fixo a partir de dígitos com no máximo um ponto decimal, convertido direto
+     * em unidades mínimas (até 18 caracteres cabem em long), sem exceção para nenhuma entrada
+     */
+    @Nullable
+    private static CouponRule compileAmount(String code, int start) {
+        int length = code.length() - start;
+        if (length == 0 || length > MAX_AMOUNT_LENGTH) {
+            return null;
+        }
+        boolean dot = false;
+        long units = 0;
+        int scale = 0;
+        for (int i = start; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c >= '0' && c <= '9') {
+                units = units * 10 + (c - '0');
+                if (dot) {
+                    scale++;
+                }
+            } else if (c == '.' && !dot && i > start && i < code.length() - 1) {
+                dot = true;
+            } else {
+                return null;
+            }
+        }
+        return new CouponRule.FixedAmount(Money.ofUnits(units, scale));
+    }
+
+    private static Map<String, CouponRule> builtIn() {
+        Map<String, CouponRule> rules = new HashMap<>();
+        for (int percent = 0; percent <= 100; percent++) {
+            rules.put(PERCENT_PREFIX + percent, new CouponRule.Percentage(percent));
+        }
+        return Map.copyOf(rules);
+    }
+
+    private void watch() {
+        Path name = file.getFileName();
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                    changed = true;
+                }
+            }
+            if (changed) {
+                reload();
+            }
+            if (!key.reset()) {
+                logger.warn("Diretório do arquivo de cupons não pode mais ser observado: {}", file.getParent());
+                return;
+            }
+        }
+    }
+}
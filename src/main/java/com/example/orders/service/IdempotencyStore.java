@@ -0,0 +1,143 @@
+package com.example.orders.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Resultados de operações indexados por chave de idempotência (cabeçalho Idempotency-Key)
+ * - Requisições concorrentes com a mesma chave aguardam a mesma execução em andamento
+ * - Limitado por quantidade e por TTL; como o TTL é igual para todas as chaves, a
+ *   ordem de inserção é a ordem de expiração: uma fila FIFO permite despejar do início
+ *   em O(1) amortizado a cada inserção, sem timers por chave
+ * - Execuções que falham não ficam registradas: a próxima tentativa executa de novo
+ * - Acima do limite de quantidade, as chaves mais antigas saem mesmo antes do TTL
+ * - Chaves com execução em andamento nunca saem (voltam para o fim da fila): o limite
+ *   pode ser excedido pela quantidade de execuções simultâneas
+ */
+public class IdempotencyStore<V> {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier ticker;
+
+    public IdempotencyStore(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyStore(Duration ttl, int maxEntries, LongSupplier ticker) {
+        if (ttl.isNegative() || ttl.isZero() || maxEntries <= 0) {
+            throw new IllegalArgumentException("TTL e quantidade máxima de chaves devem ser positivos");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.ticker = ticker;
+    }
+
+    private static final class Entry<V> {
+        final String key;
+        final long createdAt;
+        final CompletableFuture<V> result = new CompletableFuture<>();
+
+        Entry(String key, long createdAt) {
+            this.key = key;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * Executa a ação uma única vez por chave dentro do TTL; repetições devolvem o
+     * resultado original (ou aguardam a execução em andamento)
+     */
+    public V execute(String key, Supplier<V> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        long now = ticker.getAsLong();
+        evict(now);
+
+        Entry<V> created = new Entry<>(key, now);
+        while (true) {
+            Entry<V> existing = entries.putIfAbsent(key, created);
+            if (existing == null) {
+                break;
+            }
+            if (!isExpired(existing, now) || !existing.result.isDone()) {
+                return await(existing);
+            }
+            if (entries.replace(key, existing, created)) {
+                break;
+            }
+        }
+        insertionOrder.add(created);
+        queued.incrementAndGet();
+
+        try {
+            V value = action.get();
+            created.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Quantidade de chaves registradas
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove do início da fila as chaves expiradas e as que excedem o limite
+     * Chaves em andamento voltam para o fim; cada chamada dá no máximo uma volta na fila
+     */
+    private void evict(long now) {
+        int remaining = queued.get();
+        Entry<V> oldest;
+        while (remaining-- > 0 && (oldest = insertionOrder.peek()) != null
+                && (isExpired(oldest, now) || queued.get() >= maxEntries)) {
+            Entry<V> removed = insertionOrder.poll();
+            if (removed == null) {
+                return;
+            }
+            if (!removed.result.isDone()) {
+                insertionOrder.add(removed);
+                continue;
+            }
+            queued.decrementAndGet();
+            entries.remove(removed.key, removed);
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.createdAt >= ttlNanos;
+    }
+
+    private static <V> V await(Entry<V> entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.orders.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.orders.dto.BatchItemResult;
+import com.example.orders.dto.BatchOperationResponse;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Operações em lote sobre OrderService (cupom e entrega de vários pedidos)
+ * - Cada pedido é processado como na operação individual, em um pool de tamanho
+ *   fixo compartilhado entre as requisições: o paralelismo total é limitado
+ * - Falhas são registradas por pedido (não encontrado, estado inválido, conflito)
+ *   e não interrompem o lote
+ * - IDs repetidos são processados uma única vez
+ * - Um único log por lote, em vez de um por pedido
+ */
+@Service
+public class OrderBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBatchService.class);
+
+    static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final OrderService orderService;
+    private final ExecutorService executor;
+
+    public OrderBatchService(OrderService orderService) {
+        this.orderService = orderService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "order-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Aplica o mesmo cupom a cada pedido; value é o novo total
+     *
+     * @throws IllegalArgumentException se o cupom for inválido (nenhum pedido é alterado)
+     */
+    public BatchOperationResponse applyCoupon(List<Long> orderIds, String coupon) {
+        orderService.validateCoupon(coupon);
+        BatchOperationResponse response = run(orderIds,
+                orderId -> orderService.discount(orderId, coupon).map(total -> total.toPlainString()));
+        logger.info("Cupom '{}' aplicado em lote: {} pedidos, {} falhas",
+                coupon, response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * Processa a entrega de cada pedido; value é o total formatado e o status
+     */
+    public BatchOperationResponse fulfill(List<Long> orderIds) {
+        BatchOperationResponse response = run(orderIds, orderService::fulfill);
+        logger.info("Entrega em lote processada: {} pedidos, {} falhas",
+                response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private BatchOperationResponse run(List<Long> orderIds, Function<Long, Optional<String>> operation) {
+        List<CompletableFuture<BatchItemResult>> futures = new ArrayList<>();
+        for (Long orderId : new LinkedHashSet<>(orderIds)) {
+            futures.add(CompletableFuture.supplyAsync(() -> execute(orderId, operation), executor));
+        }
+        List<BatchItemResult> results = new ArrayList<>(futures.size());
+        int succeeded = 0;
+        for (CompletableFuture<BatchItemResult> future : futures) {
+            BatchItemResult result = future.join();
+            if (BatchItemResult.OK.equals(result.getStatus())) {
+                succeeded++;
+            }
+            results.add(result);
+        }
+        return new BatchOperationResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    /**
+     * Executa a operação de um pedido, convertendo o desfecho em resultado por pedido
+     */
+    static BatchItemResult execute(Long orderId, Function<Long, Optional<String>> operation) {
+        try {
+            return operation.apply(orderId)
+                    .map(value -> BatchItemResult.ok(orderId, value))
+                    .orElseGet(() -> BatchItemResult.failure(orderId, BatchItemResult.NOT_FOUND,
+                            "Pedido não encontrado"));
+        } catch (IllegalStateException e) {
+            return BatchItemResult.failure(orderId, BatchItemResult.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Erro no processamento em lote do pedido ID: {}", orderId, e);
+            return BatchItemResult.failure(orderId, BatchItemResult.ERROR, "Erro interno do servidor");
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.orders.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.orders.dto.BulkImportError;
+import com.example.orders.dto.BulkImportResponse;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importação em lote de pedidos a partir de NDJSON ou CSV
+ * - O corpo é lido linha a linha; a cada CHUNK_SIZE linhas o bloco segue para um
+ *   pool de threads, que converte, valida (mesmas regras de CreateOrderRequest),
+ *   mapeia (OrderMapper.toEntity) e grava o bloco com saveAll; datas inválidas são
+ *   rejeitadas por OrderMapper.tryParseDate, sem exceção por linha
+ * - No máximo MAX_IN_FLIGHT blocos ficam pendentes: a leitura espera o mais antigo,
+ *   de modo que a memória não depende do tamanho do arquivo
+ * - Linhas inválidas não interrompem a importação: entram no relatório de erros
+ *   (limitado às primeiras MAX_REPORTED_ERRORS) e as demais são gravadas
+ * - Linhas acima de MAX_LINE_LENGTH caracteres são descartadas durante a leitura,
+ *   sem acumular o conteúdo, e reportadas como erro da própria linha
+ * - Blocos são gravados em paralelo: os IDs não seguem a ordem das linhas
+ */
+@Service
+public class OrderBulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBulkImportService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_IN_FLIGHT = THREADS * 2;
+    private static final String CSV_HEADER = "customerName";
+
+    /**
+     * Formatos aceitos no corpo da importação
+     */
+    public enum Format {
+        /** Um objeto CreateOrderRequest em JSON por linha */
+        NDJSON,
+        /** Colunas customerName,total,orderDate, com cabeçalho opcional */
+        CSV
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final ExecutorService executor;
+
+    public OrderBulkImportService(OrderRepository orderRepository, OrderMapper orderMapper,
+            ObjectMapper objectMapper, Validator validator) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.requestReader = objectMapper.readerFor(CreateOrderRequest.class);
+        this.validator = validator;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "order-bulk-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Bloco de linhas lidas, com o número da primeira
+     * Uma linha null marca uma linha descartada por exceder MAX_LINE_LENGTH
+     */
+    private record Chunk(long firstLine, List<String> lines) {
+    }
+
+    /**
+     * Resultado de um bloco: pedidos criados e linhas rejeitadas
+     */
+    private record ChunkResult(int received, int created, List<BulkImportError> errors) {
+    }
+
+    /**
+     * Importa os pedidos do stream até o fim
+     *
+     * @throws IOException se a leitura do corpo falhar (ex.: cliente desconectado)
+     */
+    public BulkImportResponse importOrders(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        Deque<CompletableFuture<ChunkResult>> inFlight = new ArrayDeque<>();
+        Totals totals = new Totals();
+
+        try (BoundedLineReader reader = new BoundedLineReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8), MAX_LINE_LENGTH)) {
+            long lineNumber = 0;
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            long firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && !reader.isOversized()) {
+                    line = stripBom(line);
+                    if (format == Format.CSV && isCsvHeader(line)) {
+                        firstLine = 2;
+                        continue;
+                    }
+                }
+                lines.add(reader.isOversized() ? null : line);
+                if (lines.size() == CHUNK_SIZE) {
+                    submit(new Chunk(firstLine, lines), format, inFlight, totals);
+                    firstLine = lineNumber + 1;
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(new Chunk(firstLine, lines), format, inFlight, totals);
+            }
+        } finally {
+            while (!inFlight.isEmpty()) {
+                totals.add(inFlight.poll().join());
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Importação em lote concluída: {} linhas, {} pedidos criados, {} rejeitadas em {} ms",
+                totals.received, totals.created, totals.failed, millis);
+        return new BulkImportResponse(totals.received, totals.created, totals.failed, totals.errors);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Chunk chunk, Format format, Deque<CompletableFuture<ChunkResult>> inFlight, Totals totals) {
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            totals.add(inFlight.poll().join());
+        }
+        inFlight.add(CompletableFuture.supplyAsync(() -> process(chunk, format), executor));
+    }
+
+    private ChunkResult process(Chunk chunk, Format format) {
+        List<Order> orders = new ArrayList<>(chunk.lines().size());
+        List<Long> orderLines = new ArrayList<>(chunk.lines().size());
+        List<BulkImportError> errors = new ArrayList<>();
+        int received = 0;
+        for (int i = 0; i < chunk.lines().size(); i++) {
+            String line = chunk.lines().get(i);
+            long lineNumber = chunk.firstLine() + i;
+            if (line == null) {
+                received++;
+                errors.add(new BulkImportError(lineNumber,
+                        "Linha excede o limite de " + MAX_LINE_LENGTH + " caracteres"));
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            received++;
+            try {
+                CreateOrderRequest request = format == Format.CSV ? parseCsv(line) : parseJson(line);
+                validate(request);
+                // Data inválida é comum em cargas sujas: rejeitada sem lançar exceção
+                LocalDate orderDate = orderMapper.tryParseDate(request.getOrderDate());
+                if (orderDate == null) {
+                    errors.add(new BulkImportError(lineNumber, OrderMapper.invalidDateMessage(request.getOrderDate())));
+                    continue;
+                }
+                orders.add(orderMapper.toEntity(request, orderDate));
+                orderLines.add(lineNumber);
+            } catch (IllegalArgumentException e) {
+                errors.add(new BulkImportError(lineNumber, e.getMessage()));
+            }
+        }
+
+        if (!orders.isEmpty()) {
+            try {
+                orderRepository.saveAll(orders);
+            } catch (RuntimeException e) {
+                logger.error("Falha ao gravar bloco da importação a partir da linha {}", chunk.firstLine(), e);
+                orderLines.forEach(lineNumber -> errors.add(new BulkImportError(lineNumber,
+                        "Falha ao gravar o pedido")));
+                errors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+                return new ChunkResult(received, 0, errors);
+            }
+        }
+        return new ChunkResult(received, orders.size(), errors);
+    }
+
+    private CreateOrderRequest parseJson(String line) {
+        try {
+            CreateOrderRequest request = requestReader.readValue(line);
+            if (request == null) {
+                throw new IllegalArgumentException("Linha não contém um pedido");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Converte uma linha CSV (customerName,total,orderDate); campos entre aspas
+     * podem conter vírgulas, e aspas são escapadas dobradas
+     */
+    static CreateOrderRequest parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException(
+                    "Esperadas 3 colunas (customerName,total,orderDate), encontradas " + fields.size());
+        }
+        BigDecimal total = null;
+        String rawTotal = fields.get(1).trim();
+        if (!rawTotal.isEmpty()) {
+            try {
+                total = new BigDecimal(rawTotal);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Total inválido: " + rawTotal);
+            }
+        }
+        return new CreateOrderRequest(fields.get(0), total, fields.get(2).trim());
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void validate(CreateOrderRequest request) {
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.regionMatches(true, 0, CSV_HEADER, 0, CSV_HEADER.length());
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * Lê linhas como BufferedReader.readLine (terminadas em \n, \r ou \r\n), mas guarda
+     * no máximo maxLength caracteres: o restante de uma linha longa é lido e descartado
+     */
+    static final class BoundedLineReader implements Closeable {
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean skipLineFeed;
+        private boolean oversized;
+
+        BoundedLineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return a próxima linha (vazia se descartada, ver isOversized), ou null no fim
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            oversized = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? finish() : null;
+                    }
+                }
+                char c = buffer[position++];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                read = true;
+                if (c == '\n' || c == '\r') {
+                    skipLineFeed = c == '\r';
+                    return finish();
+                }
+                if (line.length() < maxLength) {
+                    line.append(c);
+                } else {
+                    oversized = true;
+                }
+            }
+        }
+
+        /**
+         * Se a última linha lida excedeu o limite
+         */
+        boolean isOversized() {
+            return oversized;
+        }
+
+        private String finish() {
+            return oversized ? "" : line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Totais acumulados pela thread que lê o corpo, na ordem dos blocos
+     */
+    private static final class Totals {
+        long received;
+        long created;
+        long failed;
+        final List<BulkImportError> errors = new ArrayList<>();
+
+        void add(ChunkResult result) {
+            received += result.received();
+            created += result.created();
+            failed += result.errors().size();
+            for (BulkImportError error : result.errors()) {
+                if (errors.size() == MAX_REPORTED_ERRORS) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+    }
+}
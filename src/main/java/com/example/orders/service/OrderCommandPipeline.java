@@ -0,0 +1,333 @@
+package com.example.orders.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.repository.OrderRepository;
+
+/**
+ * Pipeline de comandos de escritor único para as mutações de pedidos (estilo Disruptor)
+ * - As requisições publicam comandos em um buffer circular pré-alocado; uma única thread
+ *   de negócio os aplica na ordem de sequência, de modo que as transições de estado
+ *   são determinísticas e nunca disputam a mesma versão de um pedido
+ * - A thread consome tudo o que já foi publicado de uma vez: sob carga os lotes crescem
+ *   sozinhos; cada lote aguarda a durabilidade uma única vez (OrderRepository.groupCommit)
+ *   e criações consecutivas são gravadas juntas
+ * - O resultado volta ao chamador por um CompletableFuture; exceções de negócio
+ *   (IllegalArgumentException, IllegalStateException) são relançadas no chamador
+ * - Buffer cheio faz o produtor esperar (contrapressão)
+ */
+public class OrderCommandPipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCommandPipeline.class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private enum CommandType {
+        CREATE, APPLY_COUPON, FULFILL
+    }
+
+    /**
+     * Posição do buffer, reaproveitada a cada volta; published é escrito por último
+     * pelo produtor e marca o comando como pronto para o consumidor
+     */
+    private static final class Slot {
+        volatile long published = -1;
+        CommandType type;
+        CreateOrderRequest request;
+        Long orderId;
+        String coupon;
+        CompletableFuture<Object> result;
+        Object value;
+        Throwable error;
+
+        void clear() {
+            request = null;
+            coupon = null;
+            orderId = null;
+            result = null;
+            value = null;
+            error = null;
+        }
+    }
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final Thread consumer;
+    private final AtomicLong batches = new AtomicLong();
+    // Comandos aplicados, atualizado antes de os chamadores receberem os resultados
+    private volatile long processed;
+    // Última sequência processada; libera as posições para os produtores
+    private volatile long consumed = -1;
+    private volatile boolean consumerWaiting;
+    private volatile boolean closed;
+
+    /**
+     * @param bufferSize posições do buffer circular (potência de dois)
+     */
+    public OrderCommandPipeline(OrderService orderService, OrderRepository orderRepository, int bufferSize) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Tamanho do buffer deve ser potência de dois: " + bufferSize);
+        }
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.ring = new Slot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = bufferSize - 1;
+        this.consumer = new Thread(this::run, "order-pipeline");
+        consumer.setDaemon(true);
+        consumer.start();
+        logger.info("Pipeline de comandos com escritor único iniciado ({} posições)", bufferSize);
+    }
+
+    /**
+     * Cria um pedido pelo pipeline (mesma semântica de OrderService.createOrder)
+     */
+    public OrderResponse createOrder(CreateOrderRequest request) {
+        return (OrderResponse) submit(CommandType.CREATE, request, null, null);
+    }
+
+    /**
+     * Aplica um cupom pelo pipeline (mesma semântica de OrderService.applyCoupon)
+     */
+    public BigDecimal applyCoupon(Long orderId, String coupon) {
+        return (BigDecimal) submit(CommandType.APPLY_COUPON, null, orderId, coupon);
+    }
+
+    /**
+     * Processa a entrega pelo pipeline (mesma semântica de OrderService.fulfillOrder)
+     */
+    public String fulfillOrder(Long orderId) {
+        return (String) submit(CommandType.FULFILL, null, orderId, null);
+    }
+
+    /**
+     * Comandos aplicados desde o início
+     */
+    public long processedCount() {
+        return processed;
+    }
+
+    /**
+     * Lotes consumidos desde o início; processedCount / batchCount é o tamanho médio do lote
+     */
+    public long batchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Encerra a thread de negócio após aplicar os comandos já publicados
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object submit(CommandType type, CreateOrderRequest request, Long orderId, String coupon) {
+        if (closed) {
+            throw new IllegalStateException("Pipeline de comandos encerrado");
+        }
+        long sequence = claimed.incrementAndGet();
+        // Espera a posição ser liberada pela volta anterior do consumidor
+        while (sequence - ring.length > consumed) {
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Slot slot = ring[(int) (sequence & mask)];
+        slot.type = type;
+        slot.request = request;
+        slot.orderId = orderId;
+        slot.coupon = coupon;
+        slot.result = result;
+        slot.published = sequence;
+        if (consumerWaiting) {
+            LockSupport.unpark(consumer);
+        }
+        if (closed) {
+            // Publicado durante o encerramento: o consumidor pode já ter saído
+            awaitConsumer();
+            result.completeExceptionally(new IllegalStateException("Pipeline de comandos encerrado"));
+        }
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        long next = 0;
+        while (true) {
+            long available = highestPublished(next);
+            if (available < next) {
+                if (closed && claimed.get() < next) {
+                    return;
+                }
+                waitForPublication(next);
+                continue;
+            }
+            process(next, available);
+            batches.incrementAndGet();
+            consumed = available;
+            next = available + 1;
+        }
+    }
+
+    /**
+     * Maior sequência publicada sem lacunas a partir de next (next - 1 se nenhuma)
+     */
+    private long highestPublished(long next) {
+        long sequence = next;
+        long limit = next + ring.length;
+        while (sequence < limit && ring[(int) (sequence & mask)].published == sequence) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    private void waitForPublication(long next) {
+        Slot slot = ring[(int) (next & mask)];
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            if (slot.published == next) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        consumerWaiting = true;
+        // Reverifica após anunciar a espera: o produtor que publicar depois verá a flag
+        if (slot.published != next && !closed) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        consumerWaiting = false;
+    }
+
+    /**
+     * Aplica os comandos de from a to em ordem, com uma única espera de durabilidade
+     * para o lote; os chamadores só recebem os resultados depois dela
+     */
+    private void process(long from, long to) {
+        try {
+            orderRepository.groupCommit(() -> applyAll(from, to));
+        } catch (Throwable e) {
+            // Durabilidade do lote não confirmada: nenhuma escrita do lote é confirmada
+            logger.error("Falha ao confirmar lote de comandos {}..{}", from, to, e);
+            for (long sequence = from; sequence <= to; sequence++) {
+                Slot slot = ring[(int) (sequence & mask)];
+                if (slot.error == null) {
+                    slot.error = e;
+                }
+            }
+        }
+        processed = to + 1;
+        for (long sequence = from; sequence <= to; sequence++) {
+            complete(ring[(int) (sequence & mask)]);
+        }
+    }
+
+    /**
+     * Aplica os comandos registrando o resultado de cada um; criações consecutivas
+     * são gravadas juntas
+     */
+    private void applyAll(long from, long to) {
+        List<Slot> creates = new ArrayList<>();
+        for (long sequence = from; sequence <= to; sequence++) {
+            Slot slot = ring[(int) (sequence & mask)];
+            if (slot.type == CommandType.CREATE) {
+                creates.add(slot);
+                continue;
+            }
+            flushCreates(creates);
+            apply(slot);
+        }
+        flushCreates(creates);
+    }
+
+    private void flushCreates(List<Slot> creates) {
+        if (creates.isEmpty()) {
+            return;
+        }
+        List<CreateOrderRequest> requests = new ArrayList<>(creates.size());
+        for (Slot slot : creates) {
+            requests.add(slot.request);
+        }
+        try {
+            List<OrderResponse> created = orderService.createAll(requests);
+            for (int i = 0; i < creates.size(); i++) {
+                creates.get(i).value = created.get(i);
+            }
+        } catch (Throwable e) {
+            logger.error("Falha ao gravar lote de {} pedidos", creates.size(), e);
+            for (Slot slot : creates) {
+                slot.error = e;
+            }
+        }
+        creates.clear();
+    }
+
+    private void apply(Slot slot) {
+        Long orderId = slot.orderId;
+        try {
+            slot.value = switch (slot.type) {
+                case APPLY_COUPON -> orderService.discount(orderId, slot.coupon)
+                        .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado com ID: " + orderId));
+                case FULFILL -> orderService.fulfill(orderId)
+                        .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado com ID: " + orderId));
+                case CREATE -> throw new IllegalStateException("Criação fora do lote");
+            };
+        } catch (Throwable e) {
+            slot.error = e;
+        }
+    }
+
+    private static void complete(Slot slot) {
+        CompletableFuture<Object> result = slot.result;
+        Object value = slot.value;
+        Throwable error = slot.error;
+        slot.clear();
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(value);
+        }
+    }
+
+    private void awaitConsumer() {
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
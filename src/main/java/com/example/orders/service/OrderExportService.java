@@ -0,0 +1,79 @@
+package com.example.orders.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Exportação de pedidos em NDJSON (um OrderResponse por linha), em memória constante
+ * - Percorre o repositório por páginas de ID crescente: só uma página fica em memória,
+ *   e cada pedido vai para o stream assim que é serializado
+ * - Fracamente consistente: cada página reflete o estado no momento da sua leitura;
+ *   pedidos gravados durante a exportação aparecem se o cursor ainda não passou pelo ID
+ * - O stream é descarregado (flush) a cada FLUSH_EVERY pedidos, não a cada linha
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+    static final int PAGE_SIZE = 1000;
+    static final int FLUSH_EVERY = 1000;
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectWriter writer;
+
+    public OrderExportService(OrderRepository orderRepository, OrderMapper orderMapper, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        // O flush é controlado aqui, em lotes
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Escreve os pedidos que atendem à consulta, em ordem de ID
+     * Não fecha o stream; uma IOException (ex.: cliente desconectado) interrompe a exportação
+     *
+     * @return quantidade de pedidos escritos
+     */
+    public long exportNdjson(OrderQuery query, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Sem separador entre valores raiz: cada linha termina em '\n'
+            generator.setRootValueSeparator(null);
+
+            long after = 0;
+            while (true) {
+                List<Order> page = orderRepository.findBy(query, after, PAGE_SIZE);
+                for (Order order : page) {
+                    writer.writeValue(generator, orderMapper.toResponse(order));
+                    generator.writeRaw('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+                if (page.size() < PAGE_SIZE) {
+                    break;
+                }
+                after = page.get(page.size() - 1).getId();
+            }
+        }
+        logger.info("Exportação concluída: {} pedidos", written);
+        return written;
+    }
+}
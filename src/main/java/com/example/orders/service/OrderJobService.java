@@ -0,0 +1,272 @@
+package com.example.orders.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.orders.config.OrderJobProperties;
+import com.example.orders.dto.BatchItemResult;
+import com.example.orders.dto.OrderJobResponse;
+import com.example.orders.model.OrderJobRequest;
+import com.example.orders.model.OrderJobStatus;
+import com.example.orders.model.OrderJobType;
+
+/**
+ * Jobs assíncronos em lote sobre OrderService (cupom ou entrega de muitos pedidos)
+ * - A submissão só registra o job: a requisição HTTP não espera a execução
+ * - Até maxRunningJobs jobs executam ao mesmo tempo, cada um em uma thread
+ *   coordenadora que despacha os pedidos para um pool de trabalhadores
+ * - Um semáforo compartilhado limita os pedidos em processamento (concurrency):
+ *   a coordenadora bloqueia até haver vaga, de modo que a memória não cresce
+ *   com o tamanho do job
+ * - Cancelar interrompe o despacho; os pedidos já em processamento terminam
+ * - Estado limitado: no máximo maxJobs jobs em memória, e os concluídos expiram
+ *   após o TTL; a lista de IDs é descartada ao fim da execução
+ */
+public class OrderJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderJobService.class);
+
+    static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final OrderService orderService;
+    private final int maxJobs;
+    private final int maxOrders;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Semaphore permits;
+    private final ExecutorService coordinators;
+    private final ExecutorService workers;
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public OrderJobService(OrderService orderService, OrderJobProperties properties) {
+        this(orderService, properties, Clock.systemUTC());
+    }
+
+    OrderJobService(OrderService orderService, OrderJobProperties properties, Clock clock) {
+        if (properties.getConcurrency() <= 0 || properties.getMaxRunningJobs() <= 0
+                || properties.getMaxJobs() <= 0 || properties.getMaxOrders() <= 0) {
+            throw new IllegalArgumentException("Limites de jobs devem ser positivos");
+        }
+        this.orderService = orderService;
+        this.maxJobs = properties.getMaxJobs();
+        this.maxOrders = properties.getMaxOrders();
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.clock = clock;
+        this.permits = new Semaphore(properties.getConcurrency());
+        this.coordinators = Executors.newFixedThreadPool(properties.getMaxRunningJobs(),
+                daemonThreads("order-job-"));
+        this.workers = Executors.newFixedThreadPool(properties.getConcurrency(), daemonThreads("order-job-worker-"));
+    }
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final OrderJobType type;
+        final int total;
+        final Instant createdAt;
+        final AtomicReference<OrderJobStatus> status = new AtomicReference<>(OrderJobStatus.PENDING);
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final List<BatchItemResult> failures = new ArrayList<>();
+        volatile boolean cancelRequested;
+        volatile Instant finishedAt;
+
+        Job(OrderJobType type, int total, Instant createdAt) {
+            this.type = type;
+            this.total = total;
+            this.createdAt = createdAt;
+        }
+
+        void record(BatchItemResult result) {
+            if (BatchItemResult.OK.equals(result.getStatus())) {
+                succeeded.incrementAndGet();
+                return;
+            }
+            failed.incrementAndGet();
+            synchronized (failures) {
+                if (failures.size() < MAX_REPORTED_FAILURES) {
+                    failures.add(result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Registra o job e agenda sua execução
+     *
+     * @throws IllegalArgumentException se o pedido for inválido (cupom, quantidade de pedidos)
+     * @throws IllegalStateException    se o limite de jobs em memória for atingido
+     */
+    public OrderJobResponse submit(OrderJobRequest request) {
+        List<Long> orderIds = new ArrayList<>(new LinkedHashSet<>(request.getOrderIds()));
+        if (orderIds.size() > maxOrders) {
+            throw new IllegalArgumentException("Máximo de " + maxOrders + " pedidos por job");
+        }
+        Function<Long, Optional<String>> operation = operationFor(request);
+
+        purgeExpired();
+        if (jobs.size() >= maxJobs) {
+            throw new IllegalStateException("Limite de " + maxJobs + " jobs em memória atingido");
+        }
+        Job job = new Job(request.getType(), orderIds.size(), clock.instant());
+        jobs.put(job.id, job);
+        try {
+            coordinators.execute(() -> run(job, orderIds, operation));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new IllegalStateException("Serviço de jobs encerrado", e);
+        }
+        logger.info("Job {} ({}) submetido com {} pedidos", job.id, job.type, job.total);
+        return toResponse(job);
+    }
+
+    /**
+     * Progresso do job, ou vazio se não existir (ou já tiver expirado)
+     */
+    public Optional<OrderJobResponse> find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (isExpired(job, clock.millis())) {
+            jobs.remove(id, job);
+            return Optional.empty();
+        }
+        return Optional.of(toResponse(job));
+    }
+
+    /**
+     * Pede o cancelamento do job; um job pendente é cancelado na hora, e um em
+     * execução para de despachar pedidos e fica CANCELLED ao terminar os em andamento
+     *
+     * @return estado atual do job, ou vazio se não existir
+     */
+    public Optional<OrderJobResponse> cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelRequested = true;
+        if (job.status.compareAndSet(OrderJobStatus.PENDING, OrderJobStatus.CANCELLED)) {
+            job.finishedAt = clock.instant();
+            logger.info("Job {} cancelado antes de iniciar", id);
+        }
+        return Optional.of(toResponse(job));
+    }
+
+    public void close() {
+        jobs.values().forEach(job -> job.cancelRequested = true);
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private Function<Long, Optional<String>> operationFor(OrderJobRequest request) {
+        if (request.getType() == OrderJobType.APPLY_COUPON) {
+            String coupon = request.getCoupon();
+            if (coupon == null) {
+                throw new IllegalArgumentException("Cupom é obrigatório para jobs APPLY_COUPON");
+            }
+            orderService.validateCoupon(coupon);
+            return orderId -> orderService.discount(orderId, coupon).map(total -> total.toPlainString());
+        }
+        return orderService::fulfill;
+    }
+
+    /**
+     * Laço da thread coordenadora: despacha cada pedido quando há vaga no semáforo
+     * e espera os despachados terminarem
+     */
+    private void run(Job job, List<Long> orderIds, Function<Long, Optional<String>> operation) {
+        if (!job.status.compareAndSet(OrderJobStatus.PENDING, OrderJobStatus.RUNNING)) {
+            return;
+        }
+        Phaser inFlight = new Phaser(1);
+        try {
+            for (Long orderId : orderIds) {
+                permits.acquire();
+                // Cancelamento pode chegar enquanto espera a vaga
+                if (job.cancelRequested) {
+                    permits.release();
+                    break;
+                }
+                inFlight.register();
+                try {
+                    workers.execute(() -> {
+                        try {
+                            job.record(OrderBatchService.execute(orderId, operation));
+                        } finally {
+                            permits.release();
+                            inFlight.arriveAndDeregister();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    inFlight.arriveAndDeregister();
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelRequested = true;
+        }
+        inFlight.arriveAndAwaitAdvance();
+
+        job.finishedAt = clock.instant();
+        job.status.set(job.cancelRequested ? OrderJobStatus.CANCELLED : OrderJobStatus.COMPLETED);
+        logger.info("Job {} ({}) {}: {} pedidos, {} falhas", job.id, job.type,
+                job.status.get().getDescription().toLowerCase(), job.succeeded.get(), job.failed.get());
+    }
+
+    private void purgeExpired() {
+        long now = clock.millis();
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean isExpired(Job job, long now) {
+        Instant finishedAt = job.finishedAt;
+        return finishedAt != null && job.status.get().isFinished() && finishedAt.toEpochMilli() + ttlMillis <= now;
+    }
+
+    private static OrderJobResponse toResponse(Job job) {
+        List<BatchItemResult> failures;
+        synchronized (job.failures) {
+            failures = new ArrayList<>(job.failures);
+        }
+        int succeeded = job.succeeded.get();
+        int failed = job.failed.get();
+        return new OrderJobResponse(job.id, job.type, job.status.get(), job.total, succeeded + failed,
+                succeeded, failed, job.createdAt, job.finishedAt, failures);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
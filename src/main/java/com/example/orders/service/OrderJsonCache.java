@@ -0,0 +1,180 @@
+package com.example.orders.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.orders.dto.ApiResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.repository.OrderChangeListener;
+import com.example.orders.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cache da resposta JSON já serializada de GET /api/orders/{id}
+ * - Guarda os bytes do ApiResponse completo por ID, com a versão do pedido;
+ *   o controller os escreve direto na resposta, sem mapear nem serializar de novo
+ * - Invalidado pelo repositório (OrderChangeListener) a cada gravação do pedido
+ * - Limitado em bytes: segmentos com lock próprio, cada um com um LRU
+ *   (LinkedHashMap em ordem de acesso) e uma fração do orçamento total
+ * - Cada segmento tem uma época incrementada a cada invalidação: uma carga só entra
+ *   no cache se nenhuma invalidação ocorreu no segmento desde antes da leitura do
+ *   repositório, evitando guardar uma versão que acabou de ser substituída
+ */
+public class OrderJsonCache implements OrderChangeListener {
+
+    private static final int SEGMENTS = 16;
+    // Custo aproximado de entrada, nó do LinkedHashMap e cabeçalho do array
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long segmentBudget;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxBytes orçamento total do cache; zero desabilita o armazenamento
+     */
+    public OrderJsonCache(OrderRepository orderRepository, OrderMapper orderMapper, ObjectMapper objectMapper,
+            long maxBytes) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
+        this.segmentBudget = Math.max(0, maxBytes) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    private record Entry(long version, byte[] json) {
+
+        long weight() {
+            return json.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    private static final class Segment {
+        final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+        long bytes;
+        long epoch;
+    }
+
+    /**
+     * JSON do ApiResponse de sucesso com o pedido, ou vazio se o pedido não existir
+     */
+    public Optional<byte[]> getOrderJson(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Segment segment = segmentFor(id);
+        long epoch;
+        synchronized (segment) {
+            Entry entry = segment.entries.get(id);
+            if (entry != null) {
+                hits.increment();
+                return Optional.of(entry.json());
+            }
+            epoch = segment.epoch;
+        }
+        misses.increment();
+
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isEmpty()) {
+            return Optional.empty();
+        }
+        byte[] json = serialize(order.get());
+        store(segment, id, new Entry(order.get().getVersion(), json), epoch);
+        return Optional.of(json);
+    }
+
+    @Override
+    public void onSave(Order order) {
+        invalidate(order.getId(), order.getVersion());
+    }
+
+    @Override
+    public void onRemove(Order order) {
+        invalidate(order.getId(), Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onClear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.bytes = 0;
+                segment.epoch++;
+            }
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Bytes ocupados pelas entradas (estimativa)
+     */
+    public long sizeInBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                total += segment.bytes;
+            }
+        }
+        return total;
+    }
+
+    private byte[] serialize(Order order) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(orderMapper.toResponse(order)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o pedido " + order.getId(), e);
+        }
+    }
+
+    private void store(Segment segment, long id, Entry entry, long epoch) {
+        if (entry.weight() > segmentBudget) {
+            return;
+        }
+        synchronized (segment) {
+            if (segment.epoch != epoch) {
+                return;
+            }
+            Entry previous = segment.entries.put(id, entry);
+            segment.bytes += entry.weight() - (previous != null ? previous.weight() : 0);
+            Iterator<Map.Entry<Long, Entry>> eldest = segment.entries.entrySet().iterator();
+            while (segment.bytes > segmentBudget && eldest.hasNext()) {
+                segment.bytes -= eldest.next().getValue().weight();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void invalidate(long id, long version) {
+        Segment segment = segmentFor(id);
+        synchronized (segment) {
+            segment.epoch++;
+            Entry entry = segment.entries.get(id);
+            if (entry != null && entry.version() < version) {
+                segment.entries.remove(id);
+                segment.bytes -= entry.weight();
+            }
+        }
+    }
+
+    private Segment segmentFor(long id) {
+        return segments[(int) (id ^ (id >>> 32)) & (SEGMENTS - 1)];
+    }
+}
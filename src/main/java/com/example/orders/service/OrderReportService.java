@@ -0,0 +1,98 @@
+package com.example.orders.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import com.example.orders.dto.OrderReportResponse;
+import com.example.orders.dto.OrderStatsResponse;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderColumnStore;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.OrderStatistics;
+
+/**
+ * Relatórios agregados de pedidos
+ * Usa a visão colunar off-heap quando habilitada (orders.columnar.enabled=true);
+ * caso contrário, percorre os pedidos selecionados pelos índices do repositório
+ * As estatísticas correntes (sem filtros) vêm dos agregados incrementais
+ */
+@Service
+public class OrderReportService {
+
+    private final OrderRepository orderRepository;
+    private final OrderColumnStore columnStore;
+    private final OrderStatistics statistics;
+
+    public OrderReportService(OrderRepository orderRepository, @Nullable OrderColumnStore columnStore,
+            OrderStatistics statistics) {
+        this.orderRepository = orderRepository;
+        this.columnStore = columnStore;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Quantidade e total de todos os pedidos: no geral, por status e por dia
+     * Lê contadores mantidos a cada gravação, sem percorrer pedidos
+     */
+    public OrderStatsResponse stats() {
+        OrderStatistics.Snapshot snapshot = statistics.snapshot();
+        Map<OrderStatus, Long> countByStatus = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, BigDecimal> totalByStatus = new EnumMap<>(OrderStatus.class);
+        snapshot.byStatus().forEach((status, summary) -> {
+            countByStatus.put(status, summary.count());
+            totalByStatus.put(status, summary.total());
+        });
+        Map<LocalDate, Long> countByDay = new LinkedHashMap<>();
+        Map<LocalDate, BigDecimal> totalByDay = new LinkedHashMap<>();
+        snapshot.byDay().forEach((day, summary) -> {
+            countByDay.put(day, summary.count());
+            totalByDay.put(day, summary.total());
+        });
+        return new OrderStatsResponse(snapshot.overall().count(), snapshot.overall().total(),
+                countByStatus, totalByStatus, countByDay, totalByDay);
+    }
+
+    /**
+     * Conta e soma os pedidos que atendem à consulta, no total e por status
+     * Totais são arredondados para centavos pedido a pedido
+     */
+    public OrderReportResponse report(OrderQuery query) {
+        Map<OrderStatus, Long> countByStatus = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, BigDecimal> totalByStatus = new EnumMap<>(OrderStatus.class);
+
+        if (columnStore != null) {
+            columnStore.summarizeByStatus(query).forEach((status, summary) -> {
+                countByStatus.put(status, summary.count());
+                totalByStatus.put(status, summary.total());
+            });
+        } else {
+            for (OrderStatus status : OrderStatus.values()) {
+                countByStatus.put(status, 0L);
+                totalByStatus.put(status, BigDecimal.ZERO.setScale(2));
+            }
+            for (Order order : orderRepository.findBy(query)) {
+                if (order.getStatus() == null) {
+                    continue;
+                }
+                countByStatus.merge(order.getStatus(), 1L, Long::sum);
+                if (order.getTotal() != null) {
+                    totalByStatus.merge(order.getStatus(),
+                            order.getTotal().setScale(2, RoundingMode.HALF_EVEN), BigDecimal::add);
+                }
+            }
+        }
+
+        long count = countByStatus.values().stream().mapToLong(Long::longValue).sum();
+        BigDecimal total = totalByStatus.values().stream().reduce(BigDecimal.ZERO.setScale(2), BigDecimal::add);
+        return new OrderReportResponse(count, total, countByStatus, totalByStatus);
+    }
+}
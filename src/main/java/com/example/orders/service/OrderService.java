@@ -1,18 +1,24 @@
 package com.example.orders.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.example.orders.dto.CreateOrderRequest;
 import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.PageResponse;
 import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.CouponQuota;
+import com.example.orders.model.CouponRule;
 import com.example.orders.model.Order;
 import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderQuery;
 import com.example.orders.repository.OrderRepository;
 import com.example.orders.util.LegacyFormat;
 
@@ -29,14 +35,30 @@ public class OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final LegacyFormat legacyFormat;
+    private final CouponRegistry couponRegistry;
+    private final CouponRedemptions couponRedemptions;
 
+    /**
+     * Serviço apenas com os cupons embutidos
+     */
     public OrderService(OrderRepository orderRepository, OrderMapper orderMapper, LegacyFormat legacyFormat) {
+        this(orderRepository, orderMapper, legacyFormat, new CouponRegistry(), new CouponRedemptions());
+    }
+
+    @Autowired
+    public OrderService(OrderRepository orderRepository, OrderMapper orderMapper, LegacyFormat legacyFormat,
+            CouponRegistry couponRegistry, CouponRedemptions couponRedemptions) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
         this.legacyFormat = legacyFormat;
+        this.couponRegistry = couponRegistry;
+        this.couponRedemptions = couponRedemptions;
     }
 
     /**
@@ -54,88 +76,139 @@ public class OrderService {
         return orderMapper.toResponse(savedOrder);
     }
 
+    /**
+     * Grava os pedidos das requisições em lote (uma única espera de durabilidade), sem log por pedido
+     *
+     * @return pedidos criados, na ordem recebida
+     */
+    List<OrderResponse> createAll(List<CreateOrderRequest> requests) {
+        List<Order> orders = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            orders.add(orderMapper.toEntity(request));
+        }
+        return orderMapper.toResponseList(orderRepository.saveAll(orders));
+    }
+
     /**
      * Aplica cupom de desconto ao pedido
+     * O desconto é calculado sobre a versão atual e gravado com compare-and-set:
+     * aplicações concorrentes não perdem atualizações
      */
     public BigDecimal applyCoupon(Long orderId, String coupon) {
         logger.info("Aplicando cupom '{}' ao pedido ID: {}", coupon, orderId);
 
-        Order order = orderRepository.findById(orderId)
+        BigDecimal newTotal = discount(orderId, coupon)
                 .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado com ID: " + orderId));
 
-        BigDecimal discount = calculateDiscount(order.getTotal(), coupon);
-        BigDecimal newTotal = order.getTotal().subtract(discount);
-
-        // Garante que o total não seja negativo
-        if (newTotal.compareTo(BigDecimal.ZERO) < 0) {
-            newTotal = BigDecimal.ZERO;
-        }
-
-        order.setTotal(newTotal);
-        orderRepository.save(order);
-
         logger.info("Cupom aplicado. Novo total: {}", newTotal);
         return newTotal;
     }
 
     /**
-     * Calcula desconto baseado no cupom
-     * Refatorado para ser mais flexível e testável
+     * Grava o desconto do cupom sobre a versão atual do pedido, sem log por pedido
+     * Cupons com cota reservam o resgate antes da gravação e o devolvem se ela não acontecer
+     *
+     * @return novo total, ou vazio se o pedido não existir
+     * @throws IllegalStateException se a cota do cupom estiver esgotada
      */
-    private BigDecimal calculateDiscount(BigDecimal total, String coupon) {
-        if (coupon == null || coupon.trim().isEmpty()) {
-            return BigDecimal.ZERO;
+    Optional<BigDecimal> discount(Long orderId, String coupon) {
+        CouponRule rule = resolveCoupon(coupon);
+        CouponQuota quota = coupon != null ? couponRegistry.quota(coupon) : null;
+        if (quota == null) {
+            return applyDiscount(orderId, rule);
         }
 
+        Optional<Order> current = orderRepository.findById(orderId);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        String customer = current.get().getCustomerName();
+        if (!couponRedemptions.tryRedeem(coupon, quota, customer)) {
+            logger.warn("Cota do cupom '{}' esgotada para o pedido ID: {}", coupon, orderId);
+            throw new IllegalStateException("Cota do cupom esgotada: " + coupon);
+        }
+        Optional<BigDecimal> newTotal = Optional.empty();
         try {
-            if (coupon.startsWith("OFF")) {
-                int percentage = Integer.parseInt(coupon.replace("OFF", ""));
-                if (percentage < 0 || percentage > 100) {
-                    throw new IllegalArgumentException("Percentual de desconto inválido: " + percentage);
-                }
-                return total.multiply(BigDecimal.valueOf(percentage)).divide(BigDecimal.valueOf(100));
-            } else if (coupon.startsWith("VALOR")) {
-                BigDecimal fixedDiscount = new BigDecimal(coupon.replace("VALOR", ""));
-                return fixedDiscount.min(total); // Não pode ser maior que o total
+            newTotal = applyDiscount(orderId, rule);
+            return newTotal;
+        } finally {
+            if (newTotal.isEmpty()) {
+                couponRedemptions.release(coupon, quota, customer);
             }
-        } catch (NumberFormatException e) {
-            logger.warn("Cupom inválido: {}", coupon);
-            throw new IllegalArgumentException("Formato de cupom inválido: " + coupon);
         }
+    }
+
+    private Optional<BigDecimal> applyDiscount(Long orderId, CouponRule rule) {
+        // Aritmética em unidades mínimas (Money); BigDecimal só na resposta
+        return orderRepository.update(orderId, order -> {
+            order.setMoney(rule.apply(order.getMoney()));
+            return order;
+        }).map(Order::getTotal);
+    }
+
+    /**
+     * Valida o cupom sem aplicá-lo
+     *
+     * @throws IllegalArgumentException se o cupom não for reconhecido
+     */
+    void validateCoupon(String coupon) {
+        resolveCoupon(coupon);
+    }
 
-        throw new IllegalArgumentException("Tipo de cupom não reconhecido: " + coupon);
+    /**
+     * Regra compilada do cupom; cupom vazio não dá desconto
+     * A busca no registro não lança exceção: só o código desconhecido vira erro de negócio
+     */
+    private CouponRule resolveCoupon(String coupon) {
+        if (coupon == null || coupon.isBlank()) {
+            return CouponRule.NONE;
+        }
+        Optional<CouponRule> rule = couponRegistry.find(coupon);
+        if (rule.isEmpty()) {
+            logger.warn("Cupom não reconhecido: {}", coupon);
+            throw new IllegalArgumentException("Cupom não reconhecido: " + coupon);
+        }
+        return rule.get();
     }
 
     /**
      * Processa entrega do pedido
+     * A transição é gravada com compare-and-set sobre a versão lida
      */
     public String fulfillOrder(Long orderId) {
         logger.info("Processando entrega do pedido ID: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
+        String result = fulfill(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado com ID: " + orderId));
 
-        // Validação de negócio: só entrega se estiver pago ou grátis
-        if (order.getTotal().compareTo(BigDecimal.ZERO) <= 0) {
-            logger.info("Pedido gratuito, liberando entrega diretamente");
-            order.setStatus(OrderStatus.FULFILLED);
-        } else if (order.getStatus() == OrderStatus.PAID) {
-            logger.info("Pedido pago, processando entrega");
-            order.setStatus(OrderStatus.FULFILLED);
-        } else {
-            throw new IllegalStateException(
-                    "Pedido deve estar pago antes da entrega. Status atual: " + order.getStatus());
-        }
-
-        orderRepository.save(order);
-
-        String formattedTotal = legacyFormat.formatMoney(order.getTotal());
-        String result = formattedTotal + " | " + order.getStatus().getDescription();
-
         logger.info("Entrega processada para pedido {}: {}", orderId, result);
         return result;
     }
 
+    /**
+     * Grava a entrega do pedido, sem log por pedido
+     *
+     * @return total formatado e status, ou vazio se o pedido não existir
+     * @throws IllegalStateException se o pedido não estiver pago
+     */
+    Optional<String> fulfill(Long orderId) {
+        return orderRepository.update(orderId, current -> {
+            // Validação de negócio: só entrega se estiver pago ou grátis
+            if (current.getMoney().signum() <= 0) {
+                logger.debug("Pedido {} gratuito, liberando entrega diretamente", orderId);
+                current.setStatus(OrderStatus.FULFILLED);
+            } else if (current.getStatus() == OrderStatus.PAID) {
+                logger.debug("Pedido {} pago, processando entrega", orderId);
+                current.setStatus(OrderStatus.FULFILLED);
+            } else {
+                throw new IllegalStateException(
+                        "Pedido deve estar pago antes da entrega. Status atual: " + current.getStatus());
+            }
+            return current;
+        }).map(order -> legacyFormat.appendMoney(new StringBuilder(48), order.getMoney())
+                .append(" | ").append(order.getStatus().getDescription()).toString());
+    }
+
     /**
      * Retorna todos os pedidos
      */
@@ -144,6 +217,31 @@ public class OrderService {
         return orderMapper.toResponseList(orders);
     }
 
+    /**
+     * Retorna uma página dos pedidos que atendem aos filtros, em ordem de ID
+     *
+     * @param after último ID da página anterior (nulo na primeira página)
+     * @param limit tamanho da página (nulo usa DEFAULT_PAGE_SIZE)
+     */
+    public PageResponse<OrderResponse> findOrders(OrderQuery query, Long after, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + MAX_PAGE_SIZE + ": " + pageSize);
+        }
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + after);
+        }
+
+        // Busca um item a mais para saber se existe próxima página
+        List<Order> orders = orderRepository.findBy(query, after != null ? after : 0L, pageSize + 1);
+        Long nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = orders.get(pageSize - 1).getId();
+        }
+        return new PageResponse<>(orderMapper.toResponseList(orders), nextCursor);
+    }
+
     /**
      * Busca pedido por ID
      */
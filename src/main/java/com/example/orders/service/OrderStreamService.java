@@ -0,0 +1,188 @@
+package com.example.orders.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.orders.config.OrderStreamProperties;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.repository.OrderChangeEvent;
+import com.example.orders.repository.OrderChangeFeed;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Entrega o feed de alterações para assinantes Server-Sent Events
+ * Uma thread de fundo lê o feed a partir do cursor de cada assinante e entrega o lote
+ * a uma thread de envio; as gravações nunca esperam pelos assinantes
+ * - Cada assinante tem no máximo um envio em curso; enquanto ele não termina, o cursor
+ *   não avança e o assinante só perde eventos quando o buffer do feed dá a volta
+ * - Um envio bloqueado além de sendTimeout encerra a conexão daquele assinante,
+ *   sem atrasar os demais
+ * - Evento "order": uma alteração, com id = época do feed e sequência (permite retomar
+ *   via Last-Event-ID enquanto o processo não reiniciar)
+ * - Evento "overflow": quantidade de alterações perdidas por atraso do assinante
+ * - Evento "reset": o Last-Event-ID é de outro boot; o assinante recomeça do momento
+ *   atual e deve recarregar o estado
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class OrderStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStreamService.class);
+
+    private final OrderChangeFeed changeFeed;
+    private final OrderMapper orderMapper;
+    private final OrderStreamProperties properties;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor;
+    private final ExecutorService senders;
+    private final long sendTimeoutNanos;
+
+    public OrderStreamService(OrderChangeFeed changeFeed, OrderMapper orderMapper,
+            OrderStreamProperties properties) {
+        this.changeFeed = changeFeed;
+        this.orderMapper = orderMapper;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Threads só existem enquanto há envios em curso: um assinante travado não ocupa a vez dos outros
+        this.senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "order-stream-send");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sendTimeoutNanos = properties.getSendTimeout().toNanos();
+        long millis = Math.max(1, properties.getPollInterval().toMillis());
+        executor.scheduleWithFixedDelay(this::dispatchSafely, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra um assinante a partir do evento informado ou, sem ele, do momento atual
+     */
+    public SseEmitter subscribe(@Nullable String lastEventId) {
+        OrderChangeFeed.Resume resume = changeFeed.resume(lastEventId);
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscription subscription = new Subscription(emitter, resume.cursor(), resume.reset());
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        logger.debug("Novo assinante do feed a partir da sequência {}", subscription.cursor);
+        return emitter;
+    }
+
+    /**
+     * Quantidade de assinantes conectados
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Lê os eventos pendentes de cada assinante ocioso e agenda o envio
+     * Assinantes com envio em curso há mais de sendTimeout são desconectados
+     */
+    void dispatch() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            long started = subscription.sendStartedAt;
+            if (started != 0) {
+                if (now - started > sendTimeoutNanos) {
+                    logger.warn("Assinante sem consumir o envio há mais de {}; desconectando",
+                            properties.getSendTimeout());
+                    disconnect(subscription, new TimeoutException("Envio ao assinante excedeu o tempo limite"));
+                }
+                continue;
+            }
+            OrderChangeFeed.Batch batch = changeFeed.poll(subscription.cursor, properties.getBatchSize());
+            if (batch.events().isEmpty() && batch.missed() == 0 && !subscription.reset) {
+                continue;
+            }
+            subscription.sendStartedAt = now == 0 ? 1 : now;
+            senders.execute(() -> send(subscription, batch));
+        }
+    }
+
+    private void send(Subscription subscription, OrderChangeFeed.Batch batch) {
+        try {
+            if (subscription.reset) {
+                subscription.emitter.send(SseEmitter.event()
+                        .id(changeFeed.eventId(subscription.cursor))
+                        .name("reset")
+                        .data(subscription.cursor, MediaType.APPLICATION_JSON));
+                subscription.reset = false;
+            }
+            if (batch.missed() > 0) {
+                logger.warn("Assinante atrasado perdeu {} alterações", batch.missed());
+                subscription.emitter.send(SseEmitter.event().name("overflow")
+                        .data(batch.missed(), MediaType.APPLICATION_JSON));
+            }
+            for (OrderChangeEvent event : batch.events()) {
+                subscription.emitter.send(SseEmitter.event()
+                        .id(changeFeed.eventId(event.sequence()))
+                        .name("order")
+                        .data(orderMapper.toChangeResponse(event), MediaType.APPLICATION_JSON));
+            }
+            subscription.cursor = batch.lastSequence();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Assinante desconectado: {}", e.getMessage());
+            disconnect(subscription, e);
+        } finally {
+            subscription.sendStartedAt = 0;
+        }
+    }
+
+    private void disconnect(Subscription subscription, Throwable cause) {
+        if (subscriptions.remove(subscription)) {
+            subscription.emitter.completeWithError(cause);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            logger.error("Falha ao enviar alterações aos assinantes", e);
+        }
+    }
+
+    private static final class Subscription {
+        final SseEmitter emitter;
+        // Alterados apenas pelo envio em curso; a thread de leitura só os lê com o assinante ocioso
+        volatile long cursor;
+        volatile boolean reset;
+        // Início do envio em curso (System.nanoTime), ou 0 se ocioso
+        volatile long sendStartedAt;
+
+        Subscription(SseEmitter emitter, long cursor, boolean reset) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.reset = reset;
+        }
+    }
+}
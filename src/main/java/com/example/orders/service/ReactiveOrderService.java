@@ -0,0 +1,351 @@
+package com.example.orders.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import com.example.orders.config.OrderStreamProperties;
+import com.example.orders.dto.BatchOperationResponse;
+import com.example.orders.dto.BulkImportResponse;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderJobResponse;
+import com.example.orders.dto.OrderReportResponse;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.OrderStatsResponse;
+import com.example.orders.dto.PageResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.OrderJobRequest;
+import com.example.orders.repository.OrderChangeEvent;
+import com.example.orders.repository.OrderChangeFeed;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.repository.ReactiveOrderRepository;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Caminho reativo dos serviços de pedidos, usado pelo ReactiveOrderController
+ * - Leituras de pedidos passam pelo ReactiveOrderRepository (paginação sob demanda)
+ * - Os serviços bloqueantes (gravação, cupons, lotes, relatórios) são reaproveitados
+ *   e executados no scheduler de bloqueio, fora das threads de I/O do Netty
+ * - Com orders.pipeline.enabled, criação, cupom e entrega passam pelo OrderCommandPipeline
+ * - O feed de alterações é lido por um Flux por assinante, sem thread dedicada
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOrderService {
+
+    /**
+     * Buffers do corpo da importação em lote pedidos antecipadamente ao Netty
+     */
+    private static final int BULK_DEMAND = 16;
+
+    private final ReactiveOrderRepository reactiveOrderRepository;
+    private final OrderService orderService;
+    private final OrderCommandPipeline orderCommandPipeline;
+    private final OrderBulkImportService orderBulkImportService;
+    private final OrderBatchService orderBatchService;
+    private final OrderJobService orderJobService;
+    private final OrderReportService orderReportService;
+    private final OrderChangeFeed changeFeed;
+    private final OrderStreamProperties streamProperties;
+    private final IdempotencyStore<OrderResponse> idempotencyStore;
+    private final OrderJsonCache orderJsonCache;
+    private final OrderMapper orderMapper;
+    private final Scheduler scheduler;
+
+    public ReactiveOrderService(ReactiveOrderRepository reactiveOrderRepository, OrderService orderService,
+            @Nullable OrderCommandPipeline orderCommandPipeline,
+            OrderBulkImportService orderBulkImportService, OrderBatchService orderBatchService,
+            OrderJobService orderJobService, OrderReportService orderReportService, OrderChangeFeed changeFeed,
+            OrderStreamProperties streamProperties, IdempotencyStore<OrderResponse> idempotencyStore,
+            OrderJsonCache orderJsonCache, OrderMapper orderMapper, Scheduler orderBlockingScheduler) {
+        this.reactiveOrderRepository = reactiveOrderRepository;
+        this.orderService = orderService;
+        this.orderCommandPipeline = orderCommandPipeline;
+        this.orderBulkImportService = orderBulkImportService;
+        this.orderBatchService = orderBatchService;
+        this.orderJobService = orderJobService;
+        this.orderReportService = orderReportService;
+        this.changeFeed = changeFeed;
+        this.streamProperties = streamProperties;
+        this.idempotencyStore = idempotencyStore;
+        this.orderJsonCache = orderJsonCache;
+        this.orderMapper = orderMapper;
+        this.scheduler = orderBlockingScheduler;
+    }
+
+    /**
+     * Cria um pedido; com chave de idempotência, repetições devolvem o pedido original
+     */
+    public Mono<OrderResponse> createOrder(CreateOrderRequest request, @Nullable String idempotencyKey) {
+        return call(() -> idempotencyKey != null
+                ? idempotencyStore.execute(idempotencyKey, () -> create(request))
+                : create(request));
+    }
+
+    /**
+     * JSON serializado do pedido, a partir do cache de respostas
+     */
+    public Mono<byte[]> getOrderJson(Long id) {
+        return call(() -> orderJsonCache.getOrderJson(id).orElse(null));
+    }
+
+    public Mono<PageResponse<OrderResponse>> findOrders(OrderQuery query, @Nullable Long after,
+            @Nullable Integer limit) {
+        return call(() -> orderService.findOrders(query, after, limit));
+    }
+
+    /**
+     * Todos os pedidos da consulta, em ordem de ID, lidos conforme a demanda do cliente
+     */
+    public Flux<OrderResponse> streamOrders(OrderQuery query) {
+        return reactiveOrderRepository.findBy(query).map(orderMapper::toResponse);
+    }
+
+    /**
+     * Importa pedidos em lote; o corpo é consumido em streaming, com demanda limitada
+     */
+    public Mono<BulkImportResponse> importOrders(Publisher<DataBuffer> body, OrderBulkImportService.Format format) {
+        return call(() -> {
+            // Leitura bloqueante com demanda limitada: roda no scheduler de bloqueio
+            BodyBuffers buffers = new BodyBuffers(BULK_DEMAND);
+            Flux.from(body).subscribe(buffers);
+            InputStream in = new SequenceInputStream(buffers) {
+                @Override
+                public void close() throws IOException {
+                    // Cancela antes de fechar: o fechamento não espera o resto do upload
+                    buffers.close();
+                    super.close();
+                }
+            };
+            try {
+                return orderBulkImportService.importOrders(in, format);
+            } finally {
+                in.close();
+            }
+        });
+    }
+
+    public Mono<OrderReportResponse> report(OrderQuery query) {
+        return call(() -> orderReportService.report(query));
+    }
+
+    public Mono<OrderStatsResponse> stats() {
+        // Agregados incrementais: leitura em memória, sem bloqueio
+        return Mono.fromSupplier(orderReportService::stats);
+    }
+
+    public Mono<BigDecimal> applyCoupon(Long orderId, String coupon) {
+        return call(() -> orderCommandPipeline != null
+                ? orderCommandPipeline.applyCoupon(orderId, coupon)
+                : orderService.applyCoupon(orderId, coupon));
+    }
+
+    public Mono<String> fulfillOrder(Long orderId) {
+        return call(() -> orderCommandPipeline != null
+                ? orderCommandPipeline.fulfillOrder(orderId)
+                : orderService.fulfillOrder(orderId));
+    }
+
+    public Mono<BatchOperationResponse> applyCouponBatch(List<Long> orderIds, String coupon) {
+        return call(() -> orderBatchService.applyCoupon(orderIds, coupon));
+    }
+
+    public Mono<BatchOperationResponse> fulfillBatch(List<Long> orderIds) {
+        return call(() -> orderBatchService.fulfill(orderIds));
+    }
+
+    public Mono<OrderJobResponse> submitJob(OrderJobRequest request) {
+        return call(() -> orderJobService.submit(request));
+    }
+
+    public Mono<OrderJobResponse> findJob(String id) {
+        return Mono.justOrEmpty(orderJobService.find(id));
+    }
+
+    public Mono<OrderJobResponse> cancelJob(String id) {
+        return Mono.justOrEmpty(orderJobService.cancel(id));
+    }
+
+    /**
+     * Alterações de pedidos a partir do evento informado ou, sem ele, do momento atual
+     * (um Last-Event-ID de outro boot recomeça do momento atual com o evento "reset")
+     * O feed é lido a cada pollInterval; leituras que chegam com o cliente ainda ocupado
+     * são descartadas (o cursor não avança), de modo que um cliente lento só perde
+     * eventos quando o buffer do feed dá a volta, sinalizado pelo evento "overflow"
+     */
+    public Flux<ServerSentEvent<Object>> streamChanges(@Nullable String lastEventId) {
+        OrderChangeFeed.Resume resume = changeFeed.resume(lastEventId);
+        long start = resume.cursor();
+        Duration pollInterval = streamProperties.getPollInterval().isZero()
+                ? Duration.ofMillis(1)
+                : streamProperties.getPollInterval();
+
+        Flux<ServerSentEvent<Object>> events = Flux.defer(() -> {
+            AtomicLong cursor = new AtomicLong(start);
+            return Flux.interval(pollInterval)
+                    .onBackpressureDrop()
+                    .concatMapIterable(tick -> poll(cursor), 1);
+        });
+        if (resume.reset()) {
+            // Last-Event-ID de outro boot: o cliente recomeça do momento atual
+            events = Flux.concat(Mono.just(ServerSentEvent.builder()
+                    .id(changeFeed.eventId(start))
+                    .event("reset")
+                    .data((Object) start)
+                    .build()), events);
+        }
+        Duration timeout = streamProperties.getTimeout();
+        return timeout.isZero() ? events : events.take(timeout);
+    }
+
+    private List<ServerSentEvent<Object>> poll(AtomicLong cursor) {
+        OrderChangeFeed.Batch batch = changeFeed.poll(cursor.get(), streamProperties.getBatchSize());
+        List<ServerSentEvent<Object>> events = new ArrayList<>(batch.events().size() + 1);
+        if (batch.missed() > 0) {
+            events.add(ServerSentEvent.builder()
+                    .event("overflow")
+                    .data((Object) batch.missed())
+                    .build());
+        }
+        for (OrderChangeEvent event : batch.events()) {
+            events.add(ServerSentEvent.builder()
+                    .id(changeFeed.eventId(event.sequence()))
+                    .event("order")
+                    .data((Object) orderMapper.toChangeResponse(event))
+                    .build());
+        }
+        cursor.set(batch.lastSequence());
+        return events;
+    }
+
+    private OrderResponse create(CreateOrderRequest request) {
+        return orderCommandPipeline != null
+                ? orderCommandPipeline.createOrder(request)
+                : orderService.createOrder(request);
+    }
+
+    private <T> Mono<T> call(Callable<T> action) {
+        return Mono.fromCallable(action).subscribeOn(scheduler);
+    }
+
+    /**
+     * Ponte entre o corpo reativo e a leitura bloqueante da importação
+     * - Pede demand buffers antecipadamente e repõe um a cada buffer entregue
+     * - close() cancela o corpo e devolve ao pool os buffers recebidos e não lidos,
+     *   inclusive os que chegarem depois do cancelamento
+     */
+    private static final class BodyBuffers extends BaseSubscriber<DataBuffer>
+            implements Enumeration<InputStream>, Closeable {
+
+        private static final Object COMPLETE = new Object();
+
+        private final int demand;
+        // Buffers, COMPLETE ou o erro do corpo; limitado pela demanda pedida
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private volatile boolean closed;
+        private Object next;
+
+        BodyBuffers(int demand) {
+            this.demand = demand;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(demand);
+        }
+
+        @Override
+        protected void hookOnNext(DataBuffer buffer) {
+            queue.add(buffer);
+            if (closed) {
+                releaseQueued();
+            }
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            queue.add(COMPLETE);
+        }
+
+        @Override
+        protected void hookOnError(Throwable error) {
+            queue.add(error);
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            if (closed) {
+                return false;
+            }
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw Exceptions.propagate(e);
+                }
+            }
+            if (next instanceof Throwable error) {
+                throw Exceptions.propagate(error);
+            }
+            return next != COMPLETE;
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (!hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+            DataBuffer buffer = (DataBuffer) next;
+            next = null;
+            request(1);
+            // Devolve o buffer ao pool quando o trecho é consumido
+            return buffer.asInputStream(true);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            cancel();
+            if (next instanceof DataBuffer buffer) {
+                DataBufferUtils.release(buffer);
+            }
+            next = null;
+            releaseQueued();
+        }
+
+        private void releaseQueued() {
+            Object item;
+            while ((item = queue.poll()) != null) {
+                if (item instanceof DataBuffer buffer) {
+                    DataBufferUtils.release(buffer);
+                }
+            }
+        }
+    }
+}
@@ -1,30 +1,116 @@
 package com.example.orders.util;
 
+import com.example.orders.model.Money;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utilitário refatorado para formatação de valores
  * - Usa BigDecimal ao invés de double
  * - Configurável por locale
- * - Thread-safe usando NumberFormat local
+ * - Símbolos e padrão de cada locale são extraídos uma única vez do NumberFormat de moeda;
+ *   os valores são escritos dígito a dígito direto no StringBuilder, com saída idêntica
+ *   à de NumberFormat.getCurrencyInstance
+ * - Valores que não cabem em long (ou padrões fora do comum) usam uma cópia do NumberFormat
+ * - Thread-safe: estilos imutáveis e buffers por thread
  */
 @Component
 public class LegacyFormat {
-    
+
     private static final Locale DEFAULT_LOCALE = new Locale("pt", "BR");
-    
+    private static final int MAX_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final Map<Locale, CurrencyStyle> STYLES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+    private static final ThreadLocal<DecimalFormat> LEGACY_FORMAT =
+            ThreadLocal.withInitial(() -> new DecimalFormat("#0.00"));
+
+    /**
+     * Padrão de moeda de um locale, extraído do DecimalFormat correspondente
+     * fast = false quando o padrão usa algo que a escrita direta não reproduz
+     * (multiplicador, arredondamento UNNECESSARY, limites de dígitos fora do comum)
+     */
+    private static final class CurrencyStyle {
+        final NumberFormat prototype;
+        final boolean fast;
+        final String positivePrefix;
+        final String positiveSuffix;
+        final String negativePrefix;
+        final String negativeSuffix;
+        final char zeroDigit;
+        final char groupingSeparator;
+        final char decimalSeparator;
+        final int groupingSize;
+        final int minIntegerDigits;
+        final int minFractionDigits;
+        final int maxFractionDigits;
+        final boolean decimalSeparatorAlwaysShown;
+        final RoundingMode rounding;
+
+        CurrencyStyle(Locale locale) {
+            this.prototype = NumberFormat.getCurrencyInstance(locale);
+            if (prototype instanceof DecimalFormat format) {
+                DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+                this.positivePrefix = format.getPositivePrefix();
+                this.positiveSuffix = format.getPositiveSuffix();
+                this.negativePrefix = format.getNegativePrefix();
+                this.negativeSuffix = format.getNegativeSuffix();
+                this.zeroDigit = symbols.getZeroDigit();
+                this.groupingSeparator = symbols.getMonetaryGroupingSeparator();
+                this.decimalSeparator = symbols.getMonetaryDecimalSeparator();
+                this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+                this.minIntegerDigits = format.getMinimumIntegerDigits();
+                this.minFractionDigits = format.getMinimumFractionDigits();
+                this.maxFractionDigits = format.getMaximumFractionDigits();
+                this.decimalSeparatorAlwaysShown = format.isDecimalSeparatorAlwaysShown();
+                this.rounding = format.getRoundingMode();
+                this.fast = format.getMultiplier() == 1
+                        && rounding != RoundingMode.UNNECESSARY
+                        && format.getMaximumIntegerDigits() > MAX_DIGITS
+                        && minIntegerDigits <= MAX_DIGITS
+                        && maxFractionDigits <= MAX_DIGITS;
+            } else {
+                this.positivePrefix = "";
+                this.positiveSuffix = "";
+                this.negativePrefix = "";
+                this.negativeSuffix = "";
+                this.zeroDigit = '0';
+                this.groupingSeparator = ',';
+                this.decimalSeparator = '.';
+                this.groupingSize = 0;
+                this.minIntegerDigits = 1;
+                this.minFractionDigits = 0;
+                this.maxFractionDigits = 0;
+                this.decimalSeparatorAlwaysShown = false;
+                this.rounding = RoundingMode.HALF_EVEN;
+                this.fast = false;
+            }
+        }
+    }
+
     /**
      * Formata valor monetário usando locale brasileiro
      */
     public String formatMoney(BigDecimal value) {
         return formatMoney(value, DEFAULT_LOCALE);
     }
-    
+
     /**
      * Formata valor monetário usando locale específico
      */
@@ -32,17 +118,97 @@ public class LegacyFormat {
         if (value == null) {
             return "R$ 0,00";
         }
-        
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(locale);
-        return currencyFormat.format(value);
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        return appendMoney(out, Money.of(value), locale).toString();
+    }
+
+    /**
+     * Acrescenta o valor formatado com o locale brasileiro ao final de out
+     */
+    public StringBuilder appendMoney(StringBuilder out, Money value) {
+        return appendMoney(out, value, DEFAULT_LOCALE);
+    }
+
+    /**
+     * Acrescenta o valor formatado ao final de out, sem objetos intermediários
+     * no caminho rápido (valores que cabem em long na escala da moeda)
+     */
+    public StringBuilder appendMoney(StringBuilder out, Money value, Locale locale) {
+        if (value == null) {
+            return out.append("R$ 0,00");
+        }
+        CurrencyStyle style = style(locale);
+        long units = style.fast ? value.toUnits(style.maxFractionDigits, style.rounding) : Long.MIN_VALUE;
+        if (units == Long.MIN_VALUE) {
+            NumberFormat format = (NumberFormat) style.prototype.clone();
+            return out.append(format.format(value.toBigDecimal()));
+        }
+
+        // O sinal vem do valor original: como no NumberFormat, -0,001 vira "-R$ 0,00"
+        boolean negative = value.signum() < 0;
+        long magnitude = Math.abs(units);
+        long divisor = POWERS_OF_TEN[style.maxFractionDigits];
+        out.append(negative ? style.negativePrefix : style.positivePrefix);
+        appendInteger(out, style, magnitude / divisor);
+        appendFraction(out, style, magnitude % divisor);
+        return out.append(negative ? style.negativeSuffix : style.positiveSuffix);
     }
-    
+
     /**
      * Método mantido para compatibilidade, mas usando BigDecimal internamente
      * @deprecated Use formatMoney(BigDecimal) ao invés
      */
     @Deprecated
     public static String money(double v) {
-        return "R$ " + new DecimalFormat("#0.00").format(v);
+        return "R$ " + LEGACY_FORMAT.get().format(v);
+    }
+
+    private static CurrencyStyle style(Locale locale) {
+        CurrencyStyle style = STYLES.get(locale);
+        if (style == null) {
+            style = STYLES.computeIfAbsent(locale, CurrencyStyle::new);
+        }
+        return style;
+    }
+
+    private static void appendInteger(StringBuilder out, CurrencyStyle style, long value) {
+        int digits = Math.max(style.minIntegerDigits, digitCount(value));
+        for (int position = digits - 1; position >= 0; position--) {
+            out.append((char) (style.zeroDigit + (value / POWERS_OF_TEN[position]) % 10));
+            if (style.groupingSize > 0 && position > 0 && position % style.groupingSize == 0) {
+                out.append(style.groupingSeparator);
+            }
+        }
+    }
+
+    /**
+     * Casas decimais entre o mínimo e o máximo do padrão; zeros à direita além do mínimo
+     * são omitidos, como no DecimalFormat
+     */
+    private static void appendFraction(StringBuilder out, CurrencyStyle style, long fraction) {
+        int digits = style.maxFractionDigits;
+        while (digits > style.minFractionDigits && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        if (digits == 0) {
+            if (style.decimalSeparatorAlwaysShown) {
+                out.append(style.decimalSeparator);
+            }
+            return;
+        }
+        out.append(style.decimalSeparator);
+        for (int position = digits - 1; position >= 0; position--) {
+            out.append((char) (style.zeroDigit + (fraction / POWERS_OF_TEN[position]) % 10));
+        }
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits <= MAX_DIGITS && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
     }
 }
@@ -0,0 +1,65 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.ColdOrderStore;
+import com.example.orders.repository.InMemoryOrderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Heap ocupado antes e depois de arquivar os pedidos finalizados antigos,
+ * tamanho dos segmentos frios e latência de busca por ID na camada fria
+ */
+@Tag("benchmark")
+class ArchiveBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 1_000_000);
+    private static final int LOOKUPS = 100_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void archiveHeapAndLookup() throws Exception {
+        try (ColdOrderStore coldStore = new ColdOrderStore(tempDir)) {
+            InMemoryOrderRepository repository = new InMemoryOrderRepository(null, null, null, coldStore);
+            LocalDate start = LocalDate.of(2024, 1, 1);
+            for (int i = 0; i < ORDERS; i++) {
+                Order order = new Order(null, "Cliente " + (i % 10_000),
+                        BigDecimal.valueOf(1_000 + i % 50_000, 2), start.plusDays(i % 365));
+                // 80% dos pedidos já finalizados
+                order.setStatus(i % 5 == 0 ? OrderStatus.PAID : OrderStatus.FULFILLED);
+                repository.save(order);
+            }
+            long before = BenchmarkSupport.usedHeap();
+
+            long begin = System.nanoTime();
+            int archived = repository.archive(start.plusYears(1));
+            long archiveMillis = (System.nanoTime() - begin) / 1_000_000;
+            long after = BenchmarkSupport.usedHeap();
+
+            long diskBytes;
+            try (Stream<Path> files = Files.list(tempDir)) {
+                diskBytes = files.mapToLong(file -> file.toFile().length()).sum();
+            }
+            BenchmarkSupport.report("arquivados %,d pedidos em %d ms; heap %,d -> %,d bytes; disco %,d bytes",
+                    archived, archiveMillis, before, after, diskBytes);
+
+            begin = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                long id = 2 + (long) (i * 7919L % ORDERS);
+                repository.findById(id);
+            }
+            long lookupNanos = (System.nanoTime() - begin) / LOOKUPS;
+            BenchmarkSupport.report("busca por ID (mistura quente/fria): %,d ns por busca", lookupNanos);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.orders.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Utilitários simples para os benchmarks (executados com mvn test -Pbenchmark)
+ * Não substitui o JMH: serve para comparar ordens de grandeza entre implementações
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Executa a operação em paralelo e retorna a vazão em operações por segundo
+     *
+     * @param operation recebe o índice da thread e executa uma operação
+     */
+    static double throughput(int threads, int operationsPerThread, IntConsumer operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        operation.accept(thread);
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+            return (double) threads * operationsPerThread / (elapsed / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Vazão e latências (p50 e p99) de uma operação executada em paralelo
+     */
+    record Latency(double throughput, long p50Nanos, long p99Nanos) {
+    }
+
+    /**
+     * Como throughput, medindo também a duração de cada operação
+     */
+    static Latency latency(int threads, int operationsPerThread, IntConsumer operation) throws Exception {
+        long[][] samples = new long[threads][operationsPerThread];
+        int[] counts = new int[threads];
+        double throughput = throughput(threads, operationsPerThread, thread -> {
+            long begin = System.nanoTime();
+            operation.accept(thread);
+            samples[thread][counts[thread]++] = System.nanoTime() - begin;
+        });
+        long[] all = new long[threads * operationsPerThread];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(samples[t], 0, all, t * operationsPerThread, operationsPerThread);
+        }
+        Arrays.sort(all);
+        return new Latency(throughput, all[(int) (all.length * 0.50)], all[(int) (all.length * 0.99)]);
+    }
+
+    /**
+     * Memória de heap usada após forçar coleta (aproximação)
+     */
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Bytes alocados pela thread atual desde o início da JVM (HotSpot)
+     */
+    static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static void report(String format, Object... args) {
+        System.out.printf("[benchmark] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.dto.BulkImportResponse;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.service.OrderBulkImportService;
+import com.example.orders.service.OrderService;
+import com.example.orders.util.LegacyFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importação de pedidos: um por vez (conversão, validação e createOrder por linha,
+ * como N chamadas a POST /api/orders sem o custo HTTP) versus POST /api/orders/bulk
+ */
+@Tag("benchmark")
+class BulkImportBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 500_000);
+
+    @Test
+    void oneByOneVersusBulk() throws Exception {
+        byte[] ndjson = ndjson(ORDERS);
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = validatorFactory.getValidator();
+
+            OrderService orderService = new OrderService(new InMemoryOrderRepository(), new OrderMapper(),
+                    new LegacyFormat());
+            ObjectReader reader = objectMapper.readerFor(CreateOrderRequest.class);
+            String[] lines = new String(ndjson, StandardCharsets.UTF_8).split("\n");
+            long begin = System.nanoTime();
+            for (String line : lines) {
+                CreateOrderRequest request = reader.readValue(line);
+                assertThat(validator.validate(request)).isEmpty();
+                orderService.createOrder(request);
+            }
+            double oneByOne = ORDERS / ((System.nanoTime() - begin) / 1_000_000_000.0);
+
+            InMemoryOrderRepository repository = new InMemoryOrderRepository();
+            OrderBulkImportService importService = new OrderBulkImportService(repository, new OrderMapper(),
+                    objectMapper, validator);
+            try {
+                begin = System.nanoTime();
+                BulkImportResponse result = importService.importOrders(new ByteArrayInputStream(ndjson),
+                        OrderBulkImportService.Format.NDJSON);
+                double bulk = ORDERS / ((System.nanoTime() - begin) / 1_000_000_000.0);
+                assertThat(result.getCreated()).isEqualTo(ORDERS);
+
+                BenchmarkSupport.report("%,d pedidos (%d CPUs): um por vez %,.0f pedidos/s; bulk %,.0f pedidos/s",
+                        ORDERS, Runtime.getRuntime().availableProcessors(), oneByOne, bulk);
+            } finally {
+                importService.close();
+            }
+        }
+    }
+
+    private static byte[] ndjson(int orders) {
+        StringBuilder body = new StringBuilder(orders * 70);
+        for (int i = 0; i < orders; i++) {
+            body.append("{\"customerName\":\"Cliente ").append(i % 10_000)
+                    .append("\",\"total\":").append(10 + i % 500).append(".50")
+                    .append(",\"orderDate\":\"").append(String.format("%02d-12-2024", 1 + i % 28)).append("\"}\n");
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
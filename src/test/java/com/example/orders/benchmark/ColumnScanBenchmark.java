@@ -0,0 +1,62 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderColumnStore;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Relatório filtrado por status e período: findAll() + filtro em objetos
+ * versus varredura da visão colunar off-heap
+ */
+@Tag("benchmark")
+class ColumnScanBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 2_000_000);
+    private static final int ROUNDS = 5;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Test
+    void reportScan() {
+        OrderRepository repository = new InMemoryOrderRepository();
+        OrderColumnStore columnStore = new OrderColumnStore();
+        repository.addListener(columnStore);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(null, "Cliente " + (i % 10_000),
+                    BigDecimal.valueOf(1_000 + i % 50_000, 2), start.plusDays(i % 365));
+            order.setStatus(STATUSES[i % STATUSES.length]);
+            repository.save(order);
+        }
+        OrderQuery query = new OrderQuery(OrderStatus.PAID, start.plusDays(30), start.plusDays(120), null);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long begin = System.nanoTime();
+            long count = 0;
+            BigDecimal total = BigDecimal.ZERO;
+            for (Order order : repository.findAll()) {
+                if (query.matches(order)) {
+                    count++;
+                    total = total.add(order.getTotal().setScale(2, RoundingMode.HALF_EVEN));
+                }
+            }
+            long heapMillis = (System.nanoTime() - begin) / 1_000_000;
+
+            begin = System.nanoTime();
+            OrderColumnStore.Summary summary = columnStore.summarize(query);
+            long columnarMillis = (System.nanoTime() - begin) / 1_000_000;
+
+            BenchmarkSupport.report("rodada %d: findAll %d ms (%d, %s) | colunar %d ms (%d, %s)", round,
+                    heapMillis, count, total, columnarMillis, summary.count(), summary.total());
+        }
+        BenchmarkSupport.report("memória off-heap da visão colunar: %,d bytes", columnStore.offHeapBytes());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.orders.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.repository.DurabilityMode;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.WriteAheadLog;
+import com.example.orders.service.OrderCommandPipeline;
+import com.example.orders.service.OrderService;
+import com.example.orders.util.LegacyFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutações de 64 clientes: cada requisição gravando na própria thread versus o
+ * pipeline de escritor único (OrderCommandPipeline)
+ * Mistura: 1 criação para 3 cupons sobre 16 pedidos quentes; sem persistência e
+ * com WAL em modo BATCHED (onde criações agrupadas dividem a espera do fsync)
+ */
+@Tag("benchmark")
+class CommandPipelineBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final int OPERATIONS_PER_CLIENT = 2_000;
+    private static final int HOT_ORDERS = 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void directVersusPipeline() throws Exception {
+        // Sem os logs por requisição do caminho direto, que o pipeline não emite
+        Logger serviceLogger = (Logger) LoggerFactory.getLogger(OrderService.class);
+        Level level = serviceLogger.getLevel();
+        serviceLogger.setLevel(Level.WARN);
+        try {
+            run("memória", null);
+            run("WAL BATCHED", DurabilityMode.BATCHED);
+        } finally {
+            serviceLogger.setLevel(level);
+        }
+    }
+
+    private void run(String scenario, DurabilityMode mode) throws Exception {
+        try (Setup direct = new Setup(mode != null ? directory.resolve("direct") : null, mode);
+                Setup pipelined = new Setup(mode != null ? directory.resolve("pipeline") : null, mode);
+                OrderCommandPipeline pipeline = new OrderCommandPipeline(pipelined.service, pipelined.repository, 4_096)) {
+            BenchmarkSupport.Latency directLatency = BenchmarkSupport.latency(CLIENTS, OPERATIONS_PER_CLIENT,
+                    new Mix(direct)::direct);
+            BenchmarkSupport.Latency pipelineLatency = BenchmarkSupport.latency(CLIENTS, OPERATIONS_PER_CLIENT,
+                    thread -> new Mix(pipelined).pipeline(pipeline));
+
+            BenchmarkSupport.report("%-11s direto   %,8.0f ops/s, p50 %,7d µs, p99 %,7d µs",
+                    scenario, directLatency.throughput(), directLatency.p50Nanos() / 1_000,
+                    directLatency.p99Nanos() / 1_000);
+            BenchmarkSupport.report("%-11s pipeline %,8.0f ops/s, p50 %,7d µs, p99 %,7d µs "
+                            + "(%.1f comandos por lote)",
+                    scenario, pipelineLatency.throughput(), pipelineLatency.p50Nanos() / 1_000,
+                    pipelineLatency.p99Nanos() / 1_000,
+                    pipeline.processedCount() / (double) pipeline.batchCount());
+        }
+    }
+
+    /**
+     * Repositório e serviço de um cenário, com os pedidos quentes já criados
+     */
+    private static final class Setup implements AutoCloseable {
+        final OrderRepository repository;
+        final OrderService service;
+        final AtomicLong sequence = new AtomicLong();
+        private final WriteAheadLog log;
+
+        Setup(Path walDirectory, DurabilityMode mode) throws Exception {
+            this.log = mode != null ? WriteAheadLog.open(walDirectory, mode, Duration.ofMillis(2)) : null;
+            this.repository = new InMemoryOrderRepository(log);
+            this.service = new OrderService(repository, new OrderMapper(), new LegacyFormat());
+            for (int i = 0; i < HOT_ORDERS; i++) {
+                service.createOrder(new CreateOrderRequest("Quente " + i, new BigDecimal("1000000.00"), "15-01-2024"));
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (log != null) {
+                log.close();
+            }
+        }
+    }
+
+    private record Mix(Setup setup) {
+
+        void direct(int thread) {
+            long n = setup.sequence.incrementAndGet();
+            if (n % 4 == 0) {
+                setup.service.createOrder(request(n));
+            } else {
+                setup.service.applyCoupon(n % HOT_ORDERS + 1, "VALOR0.01");
+            }
+        }
+
+        void pipeline(OrderCommandPipeline pipeline) {
+            long n = setup.sequence.incrementAndGet();
+            if (n % 4 == 0) {
+                pipeline.createOrder(request(n));
+            } else {
+                pipeline.applyCoupon(n % HOT_ORDERS + 1, "VALOR0.01");
+            }
+        }
+
+        private static CreateOrderRequest request(long n) {
+            return new CreateOrderRequest("Cliente " + n, new BigDecimal("10.00"), "15-01-2024");
+        }
+    }
+}
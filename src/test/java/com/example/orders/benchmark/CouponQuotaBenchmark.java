@@ -0,0 +1,111 @@
+package com.example.orders.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.CouponQuota;
+import com.example.orders.model.Order;
+import com.example.orders.repository.CouponRedemptionLog;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.service.CouponRedemptions;
+import com.example.orders.service.CouponRegistry;
+import com.example.orders.service.OrderService;
+import com.example.orders.util.LegacyFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Venda relâmpago: 128 threads aplicando o mesmo cupom com cota global
+ * - Contadores: CouponRedemptions (faixas com reserva em blocos) versus um contador
+ *   único sincronizado, com a cota maior que as tentativas (só o caminho de sucesso)
+ * - Ponta a ponta: OrderService.applyCoupon com a cota menor que as tentativas, em
+ *   memória e com os contadores gravados em log; confere que a cota é exata
+ */
+@Tag("benchmark")
+class CouponQuotaBenchmark {
+
+    private static final int THREADS = 128;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+    private static final long LIMIT = THREADS * OPERATIONS_PER_THREAD / 2;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void stripedVersusSynchronizedCounter() throws Exception {
+        CouponQuota quota = new CouponQuota(Long.MAX_VALUE / 2, 0);
+        CouponRedemptions striped = new CouponRedemptions();
+        Object lock = new Object();
+        long[] single = new long[1];
+
+        double synchronizedRate = BenchmarkSupport.throughput(THREADS, OPERATIONS_PER_THREAD, thread -> {
+            synchronized (lock) {
+                if (single[0] < quota.limit()) {
+                    single[0]++;
+                }
+            }
+        });
+        double stripedRate = BenchmarkSupport.throughput(THREADS, OPERATIONS_PER_THREAD,
+                thread -> striped.tryRedeem("FLASH", quota, "Cliente"));
+
+        assertThat(striped.redeemed("FLASH")).isEqualTo((long) THREADS * OPERATIONS_PER_THREAD);
+        BenchmarkSupport.report("contador sincronizado %,12.0f resgates/s", synchronizedRate);
+        BenchmarkSupport.report("contador em faixas    %,12.0f resgates/s", stripedRate);
+    }
+
+    @Test
+    void flashSaleThroughOrderService() throws Exception {
+        // Sem os logs por requisição, que dominariam a medição
+        Logger serviceLogger = (Logger) LoggerFactory.getLogger(OrderService.class);
+        Level level = serviceLogger.getLevel();
+        serviceLogger.setLevel(Level.ERROR);
+        try {
+            run("memória", new CouponRedemptions());
+            run("log", new CouponRedemptions(CouponRedemptionLog.open(directory.resolve("quota"))));
+        } finally {
+            serviceLogger.setLevel(level);
+        }
+    }
+
+    private void run(String scenario, CouponRedemptions redemptions) throws Exception {
+        Path file = Files.createTempFile(directory, "coupons", ".properties");
+        Files.writeString(file, "FLASH=VALOR0.01;limit=" + LIMIT + "\n");
+        OrderRepository repository = new InMemoryOrderRepository();
+        try (CouponRegistry registry = new CouponRegistry(file, false); redemptions) {
+            OrderService service = new OrderService(repository, new OrderMapper(), new LegacyFormat(),
+                    registry, redemptions);
+            long[] orderIds = new long[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                orderIds[t] = repository.save(new Order(null, "Cliente " + t, new BigDecimal("1000000.00"),
+                        LocalDate.now())).getId();
+            }
+            AtomicLong accepted = new AtomicLong();
+            AtomicLong rejected = new AtomicLong();
+
+            double rate = BenchmarkSupport.throughput(THREADS, OPERATIONS_PER_THREAD, thread -> {
+                try {
+                    service.applyCoupon(orderIds[thread], "FLASH");
+                    accepted.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+
+            assertThat(accepted.get()).isEqualTo(LIMIT);
+            assertThat(redemptions.redeemed("FLASH")).isEqualTo(LIMIT);
+            BenchmarkSupport.report("applyCoupon (%s) %,10.0f chamadas/s: %,d aceitas, %,d recusadas por cota",
+                    scenario, rate, accepted.get(), rejected.get());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Money;
+import com.example.orders.util.LegacyFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Formatação monetária: implementação original (NumberFormat.getCurrencyInstance e
+ * new DecimalFormat a cada chamada) versus estilos por locale em cache escritos
+ * direto no StringBuilder
+ * Mede bytes alocados por operação e latência em uma thread, em pt-BR
+ */
+@Tag("benchmark")
+class CurrencyFormatBenchmark {
+
+    private static final int OPERATIONS = 1_000_000;
+    private static final int WARMUP = 1_000_000;
+    private static final int TOTALS = 1_024;
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    private final BigDecimal[] decimals = new BigDecimal[TOTALS];
+    private final Money[] monies = new Money[TOTALS];
+    private final double[] doubles = new double[TOTALS];
+    private final LegacyFormat legacyFormat = new LegacyFormat();
+    private final StringBuilder reused = new StringBuilder(64);
+    private long sink;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void numberFormatVersusCachedStyles() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < TOTALS; i++) {
+            decimals[i] = BigDecimal.valueOf(random.nextInt(100_000_000), 2);
+            monies[i] = Money.of(decimals[i]);
+            doubles[i] = decimals[i].doubleValue();
+        }
+
+        measure("BigDecimal getCurrencyInstance", i -> NumberFormat.getCurrencyInstance(PT_BR).format(decimals[i]).length());
+        measure("BigDecimal formatMoney        ", i -> legacyFormat.formatMoney(decimals[i], PT_BR).length());
+        measure("Money      appendMoney        ", i -> {
+            reused.setLength(0);
+            return legacyFormat.appendMoney(reused, monies[i], PT_BR).length();
+        });
+        measure("double     new DecimalFormat  ", i -> ("R$ " + new DecimalFormat("#0.00").format(doubles[i])).length());
+        measure("double     money              ", i -> LegacyFormat.money(doubles[i]).length());
+    }
+
+    private void measure(String label, IntUnaryOperator operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operation.applyAsInt(i & (TOTALS - 1));
+        }
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += operation.applyAsInt(i & (TOTALS - 1));
+        }
+        long elapsed = System.nanoTime() - begin;
+        long allocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+
+        int[] next = new int[1];
+        BenchmarkSupport.Latency latency = BenchmarkSupport.latency(1, OPERATIONS,
+                thread -> sink += operation.applyAsInt(next[0]++ & (TOTALS - 1)));
+
+        BenchmarkSupport.report("%s %7.1f ns/op, %6.1f bytes/op, p50 %,6d ns, p99 %,7d ns",
+                label, elapsed / (double) OPERATIONS, allocated / (double) OPERATIONS,
+                latency.p50Nanos(), latency.p99Nanos());
+    }
+}
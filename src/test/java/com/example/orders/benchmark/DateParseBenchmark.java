@@ -0,0 +1,90 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.mapper.OrderMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Conversão de datas dd-MM-yyyy: implementação original (LocalDate.parse com
+ * DateTimeFormatter, exceção capturada e relançada) versus OrderMapper.tryParseDate
+ * Mede bytes alocados por operação e latência em uma thread, com datas válidas,
+ * com formato inválido e com data inexistente no calendário
+ */
+@Tag("benchmark")
+class DateParseBenchmark {
+
+    private static final int OPERATIONS = 500_000;
+    private static final int WARMUP = 500_000;
+    private static final int INPUTS = 1_024;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private final OrderMapper orderMapper = new OrderMapper();
+    private long sink;
+
+    @Test
+    void dateTimeFormatterVersusHandRolledParser() throws Exception {
+        String[] valid = new String[INPUTS];
+        String[] badFormat = new String[INPUTS];
+        String[] badCalendar = new String[INPUTS];
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < INPUTS; i++, date = date.plusDays(1)) {
+            valid[i] = date.format(DATE_FORMATTER);
+            badFormat[i] = date.toString();
+            badCalendar[i] = String.format("%02d-%02d-%d", 30 + i % 2, 2 + (i % 2) * 2, 2020 + i % 10);
+        }
+
+        measure("válida        DateTimeFormatter", i -> legacy(valid[i]));
+        measure("válida        tryParseDate     ", i -> fast(valid[i]));
+        measure("formato ruim  DateTimeFormatter", i -> legacy(badFormat[i]));
+        measure("formato ruim  tryParseDate     ", i -> fast(badFormat[i]));
+        measure("fora do mês   DateTimeFormatter", i -> legacy(badCalendar[i]));
+        measure("fora do mês   tryParseDate     ", i -> fast(badCalendar[i]));
+    }
+
+    /**
+     * Caminho original: parseDate relança como IllegalArgumentException e a importação
+     * captura para registrar o erro da linha
+     */
+    private static int legacy(String text) {
+        try {
+            try {
+                return LocalDate.parse(text, DATE_FORMATTER).getDayOfYear();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Data inválida. Use o formato dd-MM-yyyy: " + text, e);
+            }
+        } catch (IllegalArgumentException e) {
+            return e.getMessage().length();
+        }
+    }
+
+    private int fast(String text) {
+        LocalDate parsed = orderMapper.tryParseDate(text);
+        return parsed != null ? parsed.getDayOfYear() : -1;
+    }
+
+    private void measure(String label, IntUnaryOperator operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operation.applyAsInt(i & (INPUTS - 1));
+        }
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += operation.applyAsInt(i & (INPUTS - 1));
+        }
+        long elapsed = System.nanoTime() - begin;
+        long allocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+
+        int[] next = new int[1];
+        BenchmarkSupport.Latency latency = BenchmarkSupport.latency(1, OPERATIONS,
+                thread -> sink += operation.applyAsInt(next[0]++ & (INPUTS - 1)));
+
+        BenchmarkSupport.report("%s %8.1f ns/op, %7.1f bytes/op, p50 %,6d ns, p99 %,7d ns",
+                label, elapsed / (double) OPERATIONS, allocated / (double) OPERATIONS,
+                latency.p50Nanos(), latency.p99Nanos());
+    }
+}
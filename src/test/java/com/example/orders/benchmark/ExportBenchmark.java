@@ -0,0 +1,125 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.service.OrderExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap durante a exportação NDJSON de pedidos reais do InMemoryOrderRepository
+ * Os pedidos são carregados antes da medição; o heap de referência já os inclui, de
+ * modo que qualquer crescimento medido seria da própria exportação (paginação do
+ * repositório, índices e serialização). Mede a exportação completa e exportações
+ * filtradas por status e por intervalo de datas, que percorrem os índices secundários
+ * Com -Dbenchmark.orders=5000000 os pedidos carregados ocupam cerca de 1,6 GB de heap
+ */
+@Tag("benchmark")
+class ExportBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 2_000_000);
+    private static final int CUSTOMERS = 10_000;
+    private static final int SAMPLES = 10;
+    private static final long MAX_GROWTH = 32L * 1024 * 1024;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void exportKeepsHeapFlat() throws Exception {
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        String[] customers = new String[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers[i] = "Cliente " + i;
+        }
+        OrderQuery paid = new OrderQuery(OrderStatus.PAID, null, null, null);
+        OrderQuery quarter = new OrderQuery(null, START.plusDays(90), START.plusDays(180), null);
+        long expectedPaid = 0;
+        long expectedQuarter = 0;
+        List<Order> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(null, customers[i % CUSTOMERS],
+                    BigDecimal.valueOf(1_000 + i % 50_000, 2), START.plusDays(i % 365));
+            order.setStatus(STATUSES[i % STATUSES.length]);
+            expectedPaid += paid.matches(order) ? 1 : 0;
+            expectedQuarter += quarter.matches(order) ? 1 : 0;
+            batch.add(order);
+            if (batch.size() == 10_000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+        batch = null;
+
+        OrderExportService exportService = new OrderExportService(repository, new OrderMapper(),
+                new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        export(exportService, "todos", OrderQuery.all(), ORDERS);
+        export(exportService, "status PAID", paid, expectedPaid);
+        export(exportService, "intervalo de datas", quarter, expectedQuarter);
+    }
+
+    private static void export(OrderExportService exportService, String label, OrderQuery query, long expected)
+            throws Exception {
+        HeapSamplingStream out = new HeapSamplingStream(Math.max(1, expected * 80 / SAMPLES));
+
+        long baseline = BenchmarkSupport.usedHeap();
+        long begin = System.nanoTime();
+        long exported = exportService.exportNdjson(query, out);
+        // As amostras de heap forçam GCs completos: ficam fora do tempo da exportação
+        long elapsed = System.nanoTime() - begin - out.samplingNanos;
+
+        long peak = out.samples.stream().mapToLong(Long::longValue).max().orElse(baseline);
+        BenchmarkSupport.report("%s: exportados %,d pedidos (%,d bytes) em %d ms: %,.0f pedidos/s",
+                label, exported, out.bytes, elapsed / 1_000_000, exported / (elapsed / 1_000_000_000.0));
+        BenchmarkSupport.report("%s: heap base %,d bytes; amostras durante a exportação %s",
+                label, baseline, out.samples);
+        assertThat(exported).isEqualTo(expected);
+        assertThat(out.samples).isNotEmpty();
+        assertThat(peak - baseline).isLessThan(MAX_GROWTH);
+    }
+
+    /**
+     * Descarta a saída e mede o heap (após GC) a cada intervalo de bytes escritos
+     */
+    private static final class HeapSamplingStream extends OutputStream {
+        private final long interval;
+        private long nextSample;
+        final List<Long> samples = new ArrayList<>();
+        long bytes;
+        long samplingNanos;
+
+        HeapSamplingStream(long interval) {
+            this.interval = interval;
+            this.nextSample = interval;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            if (bytes >= nextSample) {
+                long begin = System.nanoTime();
+                samples.add(BenchmarkSupport.usedHeap());
+                samplingNanos += System.nanoTime() - begin;
+                nextSample += interval;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.repository.ConcurrentUpdateException;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Um pedido "quente" atualizado por muitas threads: transição otimista (update com
+ * compare-and-set) versus leitura-alteração-save sob um lock global
+ */
+@Tag("benchmark")
+class HotOrderContentionBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    @Test
+    void hotOrder() throws Exception {
+        for (int threads : THREADS) {
+            OrderRepository optimistic = new InMemoryOrderRepository();
+            long optimisticId = optimistic.save(new Order(null, "Hot", BigDecimal.ZERO, LocalDate.now())).getId();
+            LongAdder transitions = new LongAdder();
+            LongAdder conflicts = new LongAdder();
+            double optimisticOps = BenchmarkSupport.throughput(threads, OPERATIONS_PER_THREAD, thread -> {
+                while (true) {
+                    try {
+                        optimistic.update(optimisticId, current -> {
+                            transitions.increment();
+                            current.setTotal(current.getTotal().add(CENT));
+                            return current;
+                        });
+                        return;
+                    } catch (ConcurrentUpdateException e) {
+                        conflicts.increment();
+                    }
+                }
+            });
+            verify(optimistic, optimisticId, threads);
+
+            OrderRepository locked = new InMemoryOrderRepository();
+            long lockedId = locked.save(new Order(null, "Hot", BigDecimal.ZERO, LocalDate.now())).getId();
+            Object lock = new Object();
+            double lockedOps = BenchmarkSupport.throughput(threads, OPERATIONS_PER_THREAD, thread -> {
+                synchronized (lock) {
+                    Order order = locked.findById(lockedId).orElseThrow();
+                    order.setTotal(order.getTotal().add(CENT));
+                    locked.save(order);
+                }
+            });
+            verify(locked, lockedId, threads);
+
+            long operations = (long) threads * OPERATIONS_PER_THREAD;
+            BenchmarkSupport.report("%2d threads: otimista %,.0f ops/s (%.2f transições/op, %d conflitos 409) | "
+                            + "lock global %,.0f ops/s", threads, optimisticOps,
+                    transitions.sum() / (double) operations, conflicts.sum(), lockedOps);
+        }
+    }
+
+    private static void verify(OrderRepository repository, long id, int threads) {
+        BigDecimal expected = CENT.multiply(BigDecimal.valueOf((long) threads * OPERATIONS_PER_THREAD));
+        BigDecimal total = repository.findById(id).orElseThrow().getTotal();
+        if (total.compareTo(expected) != 0) {
+            throw new AssertionError("Atualizações perdidas: " + total + " != " + expected);
+        }
+    }
+}
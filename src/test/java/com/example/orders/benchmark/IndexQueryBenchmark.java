@@ -0,0 +1,62 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Pedidos de um cliente na última semana: findAll() + filtro versus findBy (índices)
+ */
+@Tag("benchmark")
+class IndexQueryBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 1_000_000);
+    private static final int CUSTOMERS = 50_000;
+    private static final int QUERIES = 50;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Test
+    void customerLastWeek() {
+        OrderRepository repository = new InMemoryOrderRepository();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(null, "Cliente " + (i % CUSTOMERS), BigDecimal.TEN, start.plusDays(i % 365));
+            order.setStatus(STATUSES[i % STATUSES.length]);
+            repository.save(order);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long scanned = 0;
+            long indexed = 0;
+            for (int q = 0; q < QUERIES; q++) {
+                String customer = "Cliente " + ThreadLocalRandom.current().nextInt(CUSTOMERS);
+                LocalDate to = start.plusDays(ThreadLocalRandom.current().nextInt(7, 365));
+                OrderQuery query = new OrderQuery(null, to.minusDays(7), to, customer);
+
+                long begin = System.nanoTime();
+                List<Order> filtered = repository.findAll().stream().filter(query::matches).collect(Collectors.toList());
+                scanned += System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                List<Order> found = repository.findBy(query);
+                indexed += System.nanoTime() - begin;
+
+                if (filtered.size() != found.size()) {
+                    throw new AssertionError("Resultados divergentes para " + customer);
+                }
+            }
+            BenchmarkSupport.report("rodada %d: findAll + filtro %.2f ms/consulta | findBy %.3f ms/consulta", round,
+                    scanned / 1_000_000.0 / QUERIES, indexed / 1_000_000.0 / QUERIES);
+        }
+    }
+}
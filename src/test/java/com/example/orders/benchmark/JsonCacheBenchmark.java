@@ -0,0 +1,71 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.dto.ApiResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.service.OrderJsonCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.LongFunction;
+
+/**
+ * GET por ID: mapear e serializar a cada requisição versus servir o JSON do cache
+ * Mede vazão e bytes alocados por operação (leituras concentradas em pedidos quentes)
+ */
+@Tag("benchmark")
+class JsonCacheBenchmark {
+
+    private static final int ORDERS = 100_000;
+    private static final int HOT_ORDERS = 10_000;
+    private static final int OPERATIONS = 1_000_000;
+
+    @Test
+    void serializeVersusCache() throws Exception {
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        for (int i = 0; i < ORDERS; i++) {
+            repository.save(new Order(null, "Cliente " + (i % 10_000),
+                    BigDecimal.valueOf(1_000 + i % 50_000, 2), LocalDate.of(2024, 1, 1).plusDays(i % 365)));
+        }
+        OrderMapper mapper = new OrderMapper();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        OrderJsonCache cache = new OrderJsonCache(repository, mapper, objectMapper, 64L * 1024 * 1024);
+        repository.addListener(cache);
+
+        LongFunction<byte[]> serialize = id -> {
+            try {
+                Order order = repository.findById(id).orElseThrow();
+                return objectMapper.writeValueAsBytes(ApiResponse.success(mapper.toResponse(order)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        LongFunction<byte[]> cached = id -> cache.getOrderJson(id).orElseThrow();
+
+        measure("serializando", serialize);
+        measure("cache", cached);
+        BenchmarkSupport.report("cache: %,d acertos, %,d faltas, %,d bytes",
+                cache.hitCount(), cache.missCount(), cache.sizeInBytes());
+    }
+
+    private static void measure(String label, LongFunction<byte[]> operation) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < OPERATIONS / 10; i++) {
+            sink += operation.apply(1 + i % HOT_ORDERS).length;
+        }
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += operation.apply(1 + (i * 7919L) % HOT_ORDERS).length;
+        }
+        long elapsed = System.nanoTime() - begin;
+        long allocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+        BenchmarkSupport.report("%-12s %,12.0f ops/s  %,6d bytes alocados/op  (%d)",
+                label, OPERATIONS / (elapsed / 1_000_000_000.0), allocated / OPERATIONS, sink % 10);
+    }
+}
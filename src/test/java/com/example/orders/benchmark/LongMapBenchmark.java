@@ -0,0 +1,98 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.repository.ConcurrentLongBitSet;
+import com.example.orders.repository.ConcurrentLongHashMap;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ConcurrentLongHashMap versus ConcurrentHashMap&lt;Long, Order&gt;:
+ * memória por entrada (excluindo o próprio Order, compartilhado) e vazão de get/put
+ * Também compara a ordenação de IDs do repositório: ConcurrentSkipListSet&lt;Long&gt; versus ConcurrentLongBitSet
+ */
+@Tag("benchmark")
+class LongMapBenchmark {
+
+    private static final int ENTRIES = Integer.getInteger("benchmark.orders", 2_000_000);
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 2_000_000;
+
+    private static final Order ORDER = new Order(1L, "Cliente", new BigDecimal("100.50"), LocalDate.of(2024, 12, 15));
+
+    @Test
+    void memoryPerEntry() {
+        long before = BenchmarkSupport.usedHeap();
+        ConcurrentHashMap<Long, Order> boxed = new ConcurrentHashMap<>();
+        for (long id = 1; id <= ENTRIES; id++) {
+            boxed.put(id, ORDER);
+        }
+        long boxedBytes = BenchmarkSupport.usedHeap() - before;
+        BenchmarkSupport.report("ConcurrentHashMap<Long, Order>: %.1f bytes/entrada", (double) boxedBytes / boxed.size());
+        boxed = null;
+
+        before = BenchmarkSupport.usedHeap();
+        ConcurrentLongHashMap<Order> primitive = new ConcurrentLongHashMap<>();
+        for (long id = 1; id <= ENTRIES; id++) {
+            primitive.put(id, ORDER);
+        }
+        long primitiveBytes = BenchmarkSupport.usedHeap() - before;
+        BenchmarkSupport.report("ConcurrentLongHashMap<Order>:   %.1f bytes/entrada",
+                (double) primitiveBytes / primitive.size());
+    }
+
+    @Test
+    void orderedIdsMemoryPerEntry() {
+        long before = BenchmarkSupport.usedHeap();
+        ConcurrentSkipListSet<Long> boxed = new ConcurrentSkipListSet<>();
+        for (long id = 1; id <= ENTRIES; id++) {
+            boxed.add(id);
+        }
+        long boxedBytes = BenchmarkSupport.usedHeap() - before;
+        BenchmarkSupport.report("ConcurrentSkipListSet<Long>: %.2f bytes/ID", (double) boxedBytes / ENTRIES);
+        boxed = null;
+
+        before = BenchmarkSupport.usedHeap();
+        ConcurrentLongBitSet bitSet = new ConcurrentLongBitSet();
+        for (long id = 1; id <= ENTRIES; id++) {
+            bitSet.add(id);
+        }
+        long bitSetBytes = BenchmarkSupport.usedHeap() - before;
+        BenchmarkSupport.report("ConcurrentLongBitSet:        %.2f bytes/ID", (double) bitSetBytes / bitSet.size());
+    }
+
+    @Test
+    void throughput() throws Exception {
+        ConcurrentHashMap<Long, Order> boxed = new ConcurrentHashMap<>();
+        ConcurrentLongHashMap<Order> primitive = new ConcurrentLongHashMap<>();
+        for (long id = 1; id <= ENTRIES; id++) {
+            boxed.put(id, ORDER);
+            primitive.put(id, ORDER);
+        }
+
+        for (int round = 0; round < 2; round++) {
+            double boxedGets = BenchmarkSupport.throughput(THREADS, OPERATIONS_PER_THREAD,
+                    thread -> boxed.get(randomId()));
+            double primitiveGets = BenchmarkSupport.throughput(THREADS, OPERATIONS_PER_THREAD,
+                    thread -> primitive.get(randomId()));
+            double boxedPuts = BenchmarkSupport.throughput(THREADS, OPERATIONS_PER_THREAD,
+                    thread -> boxed.put(randomId(), ORDER));
+            double primitivePuts = BenchmarkSupport.throughput(THREADS, OPERATIONS_PER_THREAD,
+                    thread -> primitive.put(randomId(), ORDER));
+            BenchmarkSupport.report("rodada %d get: CHM %,.0f ops/s | long map %,.0f ops/s", round, boxedGets,
+                    primitiveGets);
+            BenchmarkSupport.report("rodada %d put: CHM %,.0f ops/s | long map %,.0f ops/s", round, boxedPuts,
+                    primitivePuts);
+        }
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, ENTRIES + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.CouponRule;
+import com.example.orders.model.Money;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Desconto de cupom no caminho quente: aritmética original em BigDecimal
+ * (multiply/divide/subtract/compareTo) versus CouponRule sobre Money (long)
+ * Mede bytes alocados por operação e latência em uma thread, com cupom
+ * percentual (OFF15) e de valor fixo (VALOR15)
+ */
+@Tag("benchmark")
+class MoneyArithmeticBenchmark {
+
+    private static final int OPERATIONS = 2_000_000;
+    private static final int WARMUP = 2_000_000;
+    private static final int TOTALS = 1_024;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal PERCENT = BigDecimal.valueOf(15);
+    private static final BigDecimal FIXED = new BigDecimal("15");
+
+    private final BigDecimal[] decimals = new BigDecimal[TOTALS];
+    private final Money[] monies = new Money[TOTALS];
+    private long sink;
+
+    @Test
+    void bigDecimalVersusMoney() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < TOTALS; i++) {
+            decimals[i] = BigDecimal.valueOf(1_000 + random.nextInt(1_000_000), 2);
+            monies[i] = Money.of(decimals[i]);
+        }
+        CouponRule percentage = new CouponRule.Percentage(15);
+        CouponRule fixed = new CouponRule.FixedAmount(Money.of(FIXED));
+
+        measure("OFF15   BigDecimal", i -> legacy(decimals[i], true).scale());
+        measure("OFF15   Money     ", i -> percentage.apply(monies[i]).signum());
+        measure("VALOR15 BigDecimal", i -> legacy(decimals[i], false).scale());
+        measure("VALOR15 Money     ", i -> fixed.apply(monies[i]).signum());
+    }
+
+    /**
+     * Cálculo original de OrderService.calculateDiscount, com o piso em zero
+     */
+    private static BigDecimal legacy(BigDecimal total, boolean percentage) {
+        BigDecimal discount = percentage
+                ? total.multiply(PERCENT).divide(HUNDRED)
+                : FIXED.min(total);
+        BigDecimal newTotal = total.subtract(discount);
+        return newTotal.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : newTotal;
+    }
+
+    private void measure(String label, java.util.function.IntUnaryOperator operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operation.applyAsInt(i & (TOTALS - 1));
+        }
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += operation.applyAsInt(i & (TOTALS - 1));
+        }
+        long elapsed = System.nanoTime() - begin;
+        long allocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+
+        int[] next = new int[1];
+        BenchmarkSupport.Latency latency = BenchmarkSupport.latency(1, OPERATIONS,
+                thread -> sink += operation.applyAsInt(next[0]++ & (TOTALS - 1)));
+
+        BenchmarkSupport.report("%s %6.1f ns/op, %5.1f bytes/op, p50 %,5d ns, p99 %,6d ns",
+                label, elapsed / (double) OPERATIONS, allocated / (double) OPERATIONS,
+                latency.p50Nanos(), latency.p99Nanos());
+    }
+}
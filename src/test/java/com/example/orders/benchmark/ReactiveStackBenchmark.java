@@ -0,0 +1,125 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.OrdersSmellyApplication;
+import com.example.orders.model.Order;
+import com.example.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pilha servlet (Tomcat) versus reativa (WebFlux sobre Netty) com muitas conexões
+ * simultâneas em GET /api/orders/{id}
+ * Cada requisição abre a sua conexão; mede vazão, latências, falhas e as threads do
+ * servidor (Tomcat, Netty e scheduler de bloqueio) ao final da carga
+ * - Cliente e servidor dividem a mesma JVM e as mesmas CPUs: as latências medidas são
+ *   dominadas pelo cliente e só servem para comparar as duas pilhas entre si
+ * - Não mede a capacidade do servidor com 10 mil conexões; para isso, rode a aplicação
+ *   sozinha e gere a carga de fora (wrk, k6 ou similar)
+ */
+@Tag("benchmark")
+class ReactiveStackBenchmark {
+
+    private static final int ORDERS = 10_000;
+    private static final int CONNECTIONS = 10_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    @Test
+    void servletVersusReactive() throws Exception {
+        run("servlet");
+        run("reactive");
+    }
+
+    private void run(String stack) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrdersSmellyApplication.class)
+                .properties("server.port=0",
+                        "orders.persistence.enabled=false",
+                        "spring.main.web-application-type=" + stack,
+                        "logging.level.com.example.orders=WARN")
+                .run()) {
+            OrderRepository repository = context.getBean(OrderRepository.class);
+            for (int i = 0; i < ORDERS; i++) {
+                repository.save(new Order(null, "Cliente " + i,
+                        BigDecimal.valueOf(1_000 + i, 2), LocalDate.of(2024, 1, 1).plusDays(i % 365)));
+            }
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/orders/";
+
+            // Aquecimento com poucas conexões reaproveitadas
+            HttpClient warmup = HttpClient.newHttpClient();
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                warmup.send(request(base, i), HttpResponse.BodyHandlers.discarding());
+            }
+
+            int threadsBefore = serverThreads();
+
+            // Sem conexões livres no pool, o cliente abre uma conexão por requisição em andamento
+            ExecutorService clientExecutor = Executors.newCachedThreadPool();
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(60))
+                    .executor(clientExecutor)
+                    .build();
+            long[] latencies = new long[CONNECTIONS];
+            AtomicInteger failures = new AtomicInteger();
+            List<CompletableFuture<?>> futures = new ArrayList<>(CONNECTIONS);
+            long begin = System.nanoTime();
+            for (int i = 0; i < CONNECTIONS; i++) {
+                final int index = i;
+                long start = System.nanoTime();
+                futures.add(client.sendAsync(request(base, i), HttpResponse.BodyHandlers.ofByteArray())
+                        .handle((response, error) -> {
+                            latencies[index] = System.nanoTime() - start;
+                            if (error != null || response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                            return null;
+                        }));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            long elapsed = System.nanoTime() - begin;
+            int threadsAfter = serverThreads();
+            clientExecutor.shutdownNow();
+
+            Arrays.sort(latencies);
+            BenchmarkSupport.report("%-8s %,d conexões: %,.0f req/s, p50 %,d ms, p99 %,d ms, falhas %d, "
+                    + "threads do servidor %d -> %d",
+                    stack, CONNECTIONS, CONNECTIONS / (elapsed / 1_000_000_000.0),
+                    latencies[CONNECTIONS / 2] / 1_000_000, latencies[(int) (CONNECTIONS * 0.99)] / 1_000_000,
+                    failures.get(), threadsBefore, threadsAfter);
+        }
+    }
+
+    /**
+     * Threads que atendem requisições: Tomcat, Netty e o scheduler de bloqueio da pilha reativa
+     */
+    private static int serverThreads() {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+                .map(Thread::getName)
+                .filter(name -> name.startsWith("http-nio-") || name.startsWith("reactor-http-")
+                        || name.startsWith("order-reactive"))
+                .count();
+    }
+
+    private static HttpRequest request(String base, int i) {
+        return HttpRequest.newBuilder(URI.create(base + (i % ORDERS + 1)))
+                .timeout(Duration.ofSeconds(120))
+                .GET()
+                .build();
+    }
+}
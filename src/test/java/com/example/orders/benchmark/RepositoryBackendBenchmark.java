@@ -0,0 +1,61 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.JdbcOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * createOrder (save de pedido novo) e findById nos dois backends do repositório,
+ * com o mesmo roteiro: vazão e latências p50/p99 por quantidade de threads
+ */
+@Tag("benchmark")
+class RepositoryBackendBenchmark {
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 20_000);
+    private static final int[] THREADS = {1, 4, 16};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareBackends() throws Exception {
+        for (int threads : THREADS) {
+            run("memory", new InMemoryOrderRepository(), threads);
+
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:file:" + tempDir.resolve("orders-" + threads).toAbsolutePath()
+                    + ";QUERY_CACHE_SIZE=64");
+            config.setMaximumPoolSize(Math.max(2, threads + 1));
+            config.setMinimumIdle(Math.max(2, threads + 1));
+            try (HikariDataSource dataSource = new HikariDataSource(config);
+                    JdbcOrderRepository jdbc = new JdbcOrderRepository(dataSource, 256)) {
+                run("jdbc", jdbc, threads);
+            }
+        }
+    }
+
+    private static void run(String backend, OrderRepository repository, int threads) throws Exception {
+        int perThread = OPERATIONS / threads;
+        BenchmarkSupport.Latency create = BenchmarkSupport.latency(threads, perThread, thread ->
+                repository.save(new Order(null, "Cliente " + thread, new BigDecimal("100.50"), LocalDate.now())));
+        int stored = perThread * threads;
+        BenchmarkSupport.Latency find = BenchmarkSupport.latency(threads, perThread, thread ->
+                repository.findById(1L + ThreadLocalRandom.current().nextInt(stored)));
+
+        BenchmarkSupport.report("%-6s %2d threads | createOrder %,10.0f ops/s p50 %,7d us p99 %,7d us"
+                + " | findById %,10.0f ops/s p50 %,7d us p99 %,7d us", backend, threads,
+                create.throughput(), create.p50Nanos() / 1_000, create.p99Nanos() / 1_000,
+                find.throughput(), find.p50Nanos() / 1_000, find.p99Nanos() / 1_000);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.ShardWriters;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Curva de vazão por quantidade de threads: repositório padrão (mapa único com CAS
+ * e AtomicLong) versus modo particionado (um escritor por shard)
+ * Carga: 50% criações, 50% transições em pedidos existentes
+ */
+@Tag("benchmark")
+class ShardScalingBenchmark {
+
+    private static final int PRELOADED = 100_000;
+    private static final int OPERATIONS_PER_THREAD = 50_000;
+    private static final int SHARDS = Integer.getInteger("benchmark.shards",
+            Runtime.getRuntime().availableProcessors());
+
+    @Test
+    void scalingCurve() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        BenchmarkSupport.report("processadores disponíveis: %d, shards: %d", cores, SHARDS);
+        for (int threads = 1; threads <= Math.max(2, cores * 2); threads *= 2) {
+            double classic = run(new InMemoryOrderRepository(), threads);
+            ShardWriters writers = new ShardWriters(SHARDS);
+            try {
+                double sharded = run(new InMemoryOrderRepository(null, null, writers), threads);
+                BenchmarkSupport.report("%3d threads: padrão %,.0f ops/s | particionado %,.0f ops/s",
+                        threads, classic, sharded);
+            } finally {
+                writers.close();
+            }
+        }
+    }
+
+    private static double run(OrderRepository repository, int threads) throws Exception {
+        for (int i = 0; i < PRELOADED; i++) {
+            repository.save(new Order(null, "Cliente", BigDecimal.TEN, LocalDate.now()));
+        }
+        long maxId = repository.findPage(0, Integer.MAX_VALUE).stream().mapToLong(Order::getId).max().orElse(1);
+        return BenchmarkSupport.throughput(threads, OPERATIONS_PER_THREAD, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextBoolean()) {
+                repository.save(new Order(null, "Cliente", BigDecimal.ONE, LocalDate.now()));
+            } else {
+                repository.update(random.nextLong(1, maxId + 1), current -> {
+                    current.setTotal(current.getTotal().add(BigDecimal.ONE));
+                    return current;
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.DurabilityMode;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.SnapshotStore;
+import com.example.orders.repository.WriteAheadLog;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tempo de boot do repositório: replay completo do WAL versus snapshot mapeado
+ * Quantidade configurável com -Dbenchmark.orders (padrão 1.000.000)
+ */
+@Tag("benchmark")
+class SnapshotRecoveryBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 1_000_000);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void startupTimeSnapshotVersusReplay() throws Exception {
+        Path replayDir = tempDir.resolve("replay");
+        Path snapshotDir = tempDir.resolve("snapshot");
+        populate(replayDir, false);
+        populate(snapshotDir, true);
+
+        long replayMillis = recover(replayDir, false);
+        long snapshotMillis = recover(snapshotDir, true);
+
+        BenchmarkSupport.report("boot com %,d pedidos: replay do WAL %,d ms | snapshot %,d ms", ORDERS,
+                replayMillis, snapshotMillis);
+    }
+
+    private static void populate(Path directory, boolean snapshot) throws Exception {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.ASYNC, Duration.ofMillis(10))) {
+            InMemoryOrderRepository repository = new InMemoryOrderRepository(log, new SnapshotStore(directory));
+            LocalDate date = LocalDate.of(2024, 12, 15);
+            for (int i = 0; i < ORDERS; i++) {
+                Order order = new Order(null, "Cliente " + (i % 10_000), new BigDecimal("100.50"), date);
+                order.setStatus(OrderStatus.values()[i % 4]);
+                repository.save(order);
+            }
+            if (snapshot) {
+                repository.snapshot();
+            }
+        }
+    }
+
+    private static long recover(Path directory, boolean snapshot) throws Exception {
+        System.gc();
+        long start = System.nanoTime();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.ASYNC, Duration.ofMillis(10))) {
+            InMemoryOrderRepository repository = new InMemoryOrderRepository(log, snapshot ? new SnapshotStore(directory) : null);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            assertThat(repository.existsById((long) ORDERS)).isTrue();
+            return elapsed;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.Order;
+import com.example.orders.repository.DurabilityMode;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.WriteAheadLog;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Vazão de OrderRepository.save com WAL em cada modo de durabilidade
+ * para 1, 8 e 64 escritores concorrentes
+ */
+@Tag("benchmark")
+class WriteAheadLogBenchmark {
+
+    private static final int[] WRITERS = {1, 8, 64};
+    private static final int TOTAL_OPERATIONS = 8_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void saveThroughputPerDurabilityMode() throws Exception {
+        report("MEMORY", null);
+        for (DurabilityMode mode : DurabilityMode.values()) {
+            report(mode.name(), mode);
+        }
+    }
+
+    private void report(String label, DurabilityMode mode) throws Exception {
+        for (int writers : WRITERS) {
+            Path file = tempDir.resolve(label + "-" + writers + ".wal");
+            WriteAheadLog log = mode != null ? WriteAheadLog.open(file, mode, Duration.ofMillis(2)) : null;
+            try {
+                OrderRepository repository = new InMemoryOrderRepository(log);
+                double opsPerSecond = BenchmarkSupport.throughput(writers, TOTAL_OPERATIONS / writers,
+                        thread -> repository.save(new Order(null, "Cliente " + thread, new BigDecimal("100.50"),
+                                LocalDate.of(2024, 12, 15))));
+                BenchmarkSupport.report("WAL %-8s writers=%-3d %,12.0f saves/s", label, writers, opsPerSecond);
+            } finally {
+                if (log != null) {
+                    log.close();
+                }
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 
@@ -200,4 +201,37 @@ class OrderMapperTest {
         assertThat(order2.getOrderDate()).isEqualTo(LocalDate.of(2024, 12, 31));
         assertThat(order3.getOrderDate()).isEqualTo(LocalDate.of(2024, 2, 29));
     }
+
+    @Test
+    void shouldParseEveryCalendarDateLikeDateTimeFormatter() {
+        // Given
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+        for (LocalDate date = LocalDate.of(1899, 1, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            // When
+            LocalDate parsed = orderMapper.tryParseDate(date.format(formatter));
+
+            // Then
+            assertThat(parsed).isEqualTo(date);
+        }
+        assertThat(orderMapper.tryParseDate(new StringBuilder("01-01-0001"))).isEqualTo(LocalDate.of(1, 1, 1));
+        assertThat(orderMapper.tryParseDate("31-12-9999")).isEqualTo(LocalDate.of(9999, 12, 31));
+    }
+
+    @Test
+    void shouldRejectInvalidDatesWithoutException() {
+        // Given
+        String[] invalid = { null, "", "15-12-24", "1-12-2024", "15-12-2024 ", "15/12/2024", "2024-12-15",
+                "00-01-2024", "32-01-2024", "15-00-2024", "15-13-2024", "15-12-0000", "15-12-+2024", "+5-12-2024",
+                "31-04-2024", "30-02-2024", "29-02-2023", "29-02-1900", "1a-12-2024", "15-12-2O24" };
+
+        for (String text : invalid) {
+            // When / Then
+            assertThat(orderMapper.tryParseDate(text)).as(text).isNull();
+        }
+        assertThat(orderMapper.tryParseDate("29-02-2000")).isEqualTo(LocalDate.of(2000, 2, 29));
+        assertThatThrownBy(() -> orderMapper.parseDate("31-04-2024"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Data inválida. Use o formato dd-MM-yyyy: 31-04-2024");
+    }
 }
@@ -0,0 +1,103 @@
+package com.example.orders.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para Money (unidades mínimas em long com recurso a BigDecimal)
+ */
+class MoneyTest {
+
+    @Test
+    void shouldRoundTripBigDecimalPreservingScale() {
+        // Given
+        BigDecimal[] values = { new BigDecimal("100.50"), new BigDecimal("7"), new BigDecimal("0.001"),
+                new BigDecimal("1E+3"), new BigDecimal("123456789012345678901234.56") };
+
+        for (BigDecimal value : values) {
+            // When
+            Money money = Money.of(value);
+
+            // Then
+            assertThat(money.toBigDecimal()).isEqualTo(value);
+            assertThat(Money.ofUnits(10050, 2).toBigDecimal()).isEqualTo(new BigDecimal("100.50"));
+        }
+    }
+
+    @Test
+    void shouldSubtractWithLargestScaleLikeBigDecimal() {
+        // When
+        Money result = Money.of(new BigDecimal("100.5")).minus(Money.of(new BigDecimal("0.25")));
+
+        // Then
+        assertThat(result.toBigDecimal()).isEqualTo(new BigDecimal("100.25"));
+        assertThat(Money.of(new BigDecimal("10.00")).compareTo(Money.of(new BigDecimal("10")))).isZero();
+        assertThat(Money.of(new BigDecimal("10.00"))).isNotEqualTo(Money.of(new BigDecimal("10")));
+    }
+
+    @Test
+    void shouldRoundPercentageInCentsWithExplicitMode() {
+        // Given: 15% de 33,33 = 4,9995
+        Money total = Money.of(new BigDecimal("33.33"));
+
+        // When / Then
+        assertThat(total.percentage(15, RoundingMode.HALF_EVEN).toBigDecimal()).isEqualTo(new BigDecimal("5.00"));
+        assertThat(total.percentage(15, RoundingMode.DOWN).toBigDecimal()).isEqualTo(new BigDecimal("4.99"));
+        assertThat(Money.of(new BigDecimal("99")).percentage(15, RoundingMode.HALF_EVEN).toBigDecimal())
+                .isEqualTo(new BigDecimal("14.85"));
+        assertThat(Money.of(new BigDecimal("0.125")).percentage(50, RoundingMode.HALF_EVEN).toBigDecimal())
+                .isEqualTo(new BigDecimal("0.062"));
+    }
+
+    @Test
+    void shouldMatchBigDecimalRoundingForEveryMode() {
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (long dividend : new long[] { 5, 15, 25, -5, -15, -25, 7, -7, 149, -151, 0 }) {
+                // When
+                long result = Money.divide(dividend, 10, mode);
+
+                // Then
+                assertThat(result).as("%d / 10 %s", dividend, mode)
+                        .isEqualTo(BigDecimal.valueOf(dividend).divide(BigDecimal.TEN, 0, mode).longValueExact());
+            }
+        }
+    }
+
+    @Test
+    void shouldFallBackToBigDecimalOnOverflow() {
+        // Given
+        Money huge = Money.ofUnits(Long.MAX_VALUE - 1, 0);
+
+        // When
+        Money difference = huge.minus(Money.ofUnits(-10, 0));
+        Money rescaled = huge.minus(Money.of(new BigDecimal("0.01")));
+        Money percentage = huge.percentage(100, RoundingMode.HALF_EVEN);
+
+        // Then
+        BigDecimal exact = BigDecimal.valueOf(Long.MAX_VALUE - 1);
+        assertThat(difference.toBigDecimal()).isEqualTo(exact.add(BigDecimal.TEN));
+        assertThat(rescaled.toBigDecimal()).isEqualTo(exact.subtract(new BigDecimal("0.01")));
+        assertThat(percentage.toBigDecimal()).isEqualByComparingTo(exact);
+        assertThat(difference.compareTo(huge)).isPositive();
+    }
+
+    @Test
+    void shouldConvertToUnitsAtTargetScale() {
+        // Given
+        Money value = Money.of(new BigDecimal("-123.455"));
+
+        // When / Then
+        assertThat(value.toUnits(2, RoundingMode.HALF_EVEN)).isEqualTo(-12346);
+        assertThat(value.toUnits(2, RoundingMode.DOWN)).isEqualTo(-12345);
+        assertThat(value.toUnits(5, RoundingMode.HALF_EVEN)).isEqualTo(-12345500);
+        assertThat(Money.ofUnits(Long.MAX_VALUE, 0).toUnits(2, RoundingMode.HALF_EVEN)).isEqualTo(Long.MIN_VALUE);
+        assertThat(Money.of(new BigDecimal("1E+30")).toUnits(0, RoundingMode.HALF_EVEN)).isEqualTo(Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do OrderRepository com camada fria (arquivamento)
+ */
+class ArchivedOrderRepositoryTest {
+
+    private static final LocalDate OLD = LocalDate.of(2024, 1, 10);
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 6, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private ColdOrderStore coldStore;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (coldStore != null) {
+            coldStore.close();
+        }
+    }
+
+    @Test
+    void shouldArchiveOnlyOldTerminalOrders() throws IOException {
+        // Given
+        InMemoryOrderRepository repository = newRepository(null);
+        Order fulfilled = repository.save(order("João Silva", OLD, OrderStatus.FULFILLED));
+        Order cancelled = repository.save(order("Maria Santos", OLD, OrderStatus.CANCELLED));
+        Order newOrder = repository.save(order("Pedro Costa", OLD, OrderStatus.NEW));
+        Order recent = repository.save(order("Ana Souza", CUTOFF, OrderStatus.FULFILLED));
+
+        // When
+        int archived = repository.archive(CUTOFF);
+
+        // Then
+        assertThat(archived).isEqualTo(2);
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.findAll()).extracting(Order::getId)
+                .containsExactly(newOrder.getId(), recent.getId());
+        assertThat(repository.findById(fulfilled.getId())).get()
+                .extracting(Order::getCustomerName).isEqualTo("João Silva");
+        assertThat(repository.existsById(cancelled.getId())).isTrue();
+        assertThat(repository.findBy(new OrderQuery(OrderStatus.FULFILLED, null, null, null)))
+                .extracting(Order::getId).containsExactly(recent.getId());
+    }
+
+    @Test
+    void shouldRehydrateArchivedOrderOnUpdate() throws IOException {
+        // Given
+        InMemoryOrderRepository repository = newRepository(null);
+        Order fulfilled = repository.save(order("João Silva", OLD, OrderStatus.FULFILLED));
+        repository.archive(CUTOFF);
+
+        // When
+        Order updated = repository.update(fulfilled.getId(), order -> {
+            order.setCustomerName("João da Silva");
+            return order;
+        }).orElseThrow();
+
+        // Then
+        assertThat(updated.getVersion()).isEqualTo(fulfilled.getVersion() + 1);
+        assertThat(repository.size()).isEqualTo(1);
+        assertThat(repository.findById(fulfilled.getId())).get()
+                .extracting(Order::getCustomerName).isEqualTo("João da Silva");
+        assertThat(repository.findAll()).extracting(Order::getId).containsExactly(fulfilled.getId());
+    }
+
+    @Test
+    void shouldNotReuseArchivedIdsAfterRestart() throws IOException {
+        // Given
+        InMemoryOrderRepository repository = newRepository(null);
+        repository.save(order("João Silva", OLD, OrderStatus.FULFILLED));
+        Order last = repository.save(order("Maria Santos", OLD, OrderStatus.FULFILLED));
+        repository.archive(CUTOFF);
+        coldStore.close();
+
+        // When
+        InMemoryOrderRepository restarted = newRepository(null);
+        Order created = restarted.save(order("Pedro Costa", CUTOFF, OrderStatus.NEW));
+
+        // Then
+        assertThat(created.getId()).isGreaterThan(last.getId());
+        assertThat(restarted.findById(last.getId())).get()
+                .extracting(Order::getCustomerName).isEqualTo("Maria Santos");
+    }
+
+    @Test
+    void shouldArchiveInShardedMode() throws IOException {
+        // Given
+        try (ShardWriters writers = new ShardWriters(4)) {
+            InMemoryOrderRepository repository = newRepository(writers);
+            List<Order> terminal = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                OrderStatus status = i % 2 == 0 ? OrderStatus.FULFILLED : OrderStatus.PAID;
+                Order saved = repository.save(order("Cliente " + i, OLD, status));
+                if (status == OrderStatus.FULFILLED) {
+                    terminal.add(saved);
+                }
+            }
+
+            // When
+            int archived = repository.archive(CUTOFF);
+            Order created = repository.save(order("Novo", CUTOFF, OrderStatus.NEW));
+
+            // Then
+            assertThat(archived).isEqualTo(10);
+            assertThat(repository.size()).isEqualTo(11);
+            assertThat(terminal).extracting(Order::getId).doesNotContain(created.getId());
+            for (Order order : terminal) {
+                assertThat(repository.findById(order.getId())).get()
+                        .extracting(Order::getCustomerName).isEqualTo(order.getCustomerName());
+            }
+        }
+    }
+
+    @Test
+    void shouldArchiveByAgeFromClock() throws IOException {
+        // Given
+        InMemoryOrderRepository repository = newRepository(null);
+        repository.save(order("João Silva", OLD, OrderStatus.FULFILLED));
+        Clock clock = Clock.fixed(Instant.parse("2024-02-15T12:00:00Z"), ZoneOffset.UTC);
+
+        // When
+        try (OrderArchiver tooYoung = new OrderArchiver(repository, Duration.ofDays(60), Duration.ZERO, clock);
+                OrderArchiver oldEnough = new OrderArchiver(repository, Duration.ofDays(30), Duration.ZERO, clock)) {
+
+            // Then
+            assertThat(tooYoung.archiveNow()).isZero();
+            assertThat(oldEnough.archiveNow()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldKeepArchivedOrdersInStatistics() throws IOException {
+        // Given
+        InMemoryOrderRepository repository = newRepository(null);
+        OrderStatistics statistics = new OrderStatistics();
+        repository.addListener(statistics);
+        Order fulfilled = repository.save(order("João Silva", OLD, OrderStatus.FULFILLED));
+        repository.save(order("Maria Santos", CUTOFF, OrderStatus.NEW));
+
+        // When
+        repository.archive(CUTOFF);
+        OrderStatistics.Snapshot afterArchive = statistics.snapshot();
+        repository.update(fulfilled.getId(), order -> {
+            order.setStatus(OrderStatus.CANCELLED);
+            return order;
+        });
+        OrderStatistics.Snapshot afterRehydration = statistics.snapshot();
+
+        // Then
+        assertThat(afterArchive.overall()).isEqualTo(new OrderStatistics.Summary(2, 20_100));
+        assertThat(afterArchive.byStatus().get(OrderStatus.FULFILLED).count()).isEqualTo(1);
+        assertThat(afterArchive.byDay()).containsOnlyKeys(OLD, CUTOFF);
+        assertThat(afterRehydration.overall()).isEqualTo(new OrderStatistics.Summary(2, 20_100));
+        assertThat(afterRehydration.byStatus().get(OrderStatus.FULFILLED).count()).isZero();
+        assertThat(afterRehydration.byStatus().get(OrderStatus.CANCELLED).count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountArchivedOrdersInStatisticsAfterRestart() throws IOException {
+        // Given
+        InMemoryOrderRepository repository = newRepository(null);
+        repository.save(order("João Silva", OLD, OrderStatus.FULFILLED));
+        repository.save(order("Maria Santos", OLD, OrderStatus.CANCELLED));
+        repository.archive(CUTOFF);
+        coldStore.close();
+
+        // When
+        InMemoryOrderRepository restarted = newRepository(null);
+        OrderStatistics statistics = new OrderStatistics();
+        restarted.addListener(statistics);
+
+        // Then
+        assertThat(restarted.size()).isZero();
+        assertThat(statistics.snapshot().overall()).isEqualTo(new OrderStatistics.Summary(2, 20_100));
+    }
+
+    @Test
+    void shouldDoNothingWithoutColdStore() {
+        // Given
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        repository.save(order("João Silva", OLD, OrderStatus.FULFILLED));
+
+        // When / Then
+        assertThat(repository.archive(CUTOFF)).isZero();
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    private InMemoryOrderRepository newRepository(ShardWriters writers) throws IOException {
+        coldStore = new ColdOrderStore(tempDir);
+        return new InMemoryOrderRepository(null, null, writers, coldStore);
+    }
+
+    private static Order order(String customerName, LocalDate date, OrderStatus status) {
+        Order order = new Order(null, customerName, new BigDecimal("100.50"), date);
+        order.setStatus(status);
+        return order;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para ColdOrderStore
+ */
+class ColdOrderStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFindAppendedOrders() throws IOException {
+        // Given
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            Order fulfilled = order(7L, "Maria Santos", OrderStatus.FULFILLED);
+            fulfilled.setVersion(3);
+
+            // When
+            store.append(List.of(order(2L, "João Silva", OrderStatus.CANCELLED), fulfilled));
+
+            // Then
+            assertThat(store.find(7L)).get().satisfies(found -> {
+                assertThat(found.getCustomerName()).isEqualTo("Maria Santos");
+                assertThat(found.getTotal()).isEqualTo(new BigDecimal("250.75"));
+                assertThat(found.getStatus()).isEqualTo(OrderStatus.FULFILLED);
+                assertThat(found.getVersion()).isEqualTo(3);
+            });
+            assertThat(store.contains(2L)).isTrue();
+            assertThat(store.find(3L)).isEmpty();
+            assertThat(store.maxId()).isEqualTo(7L);
+        }
+    }
+
+    @Test
+    void shouldSpreadManyOrdersAcrossBlocks() throws IOException {
+        // Given
+        int count = ColdOrderStore.BLOCK_ORDERS * 5 + 17;
+        List<Order> orders = LongStream.rangeClosed(1, count)
+                .mapToObj(id -> order(id, "Cliente " + id, OrderStatus.FULFILLED))
+                .collect(Collectors.toList());
+
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            // When
+            store.append(orders);
+
+            // Then
+            for (long id = 1; id <= count; id++) {
+                assertThat(store.find(id)).get().extracting(Order::getCustomerName).isEqualTo("Cliente " + id);
+            }
+            assertThat(store.find(count + 1L)).isEmpty();
+            assertThat(store.segmentCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldPreferNewestSegment() throws IOException {
+        // Given
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            store.append(List.of(order(1L, "Versão antiga", OrderStatus.CANCELLED)));
+
+            // When
+            store.append(List.of(order(1L, "Versão nova", OrderStatus.FULFILLED)));
+
+            // Then
+            assertThat(store.segmentCount()).isEqualTo(2);
+            assertThat(store.find(1L)).get().extracting(Order::getCustomerName).isEqualTo("Versão nova");
+        }
+    }
+
+    @Test
+    void shouldRebuildIndexOnReopen() throws IOException {
+        // Given
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            store.append(List.of(order(5L, "João Silva", OrderStatus.FULFILLED)));
+            store.append(List.of(order(9L, "Maria Santos", OrderStatus.CANCELLED)));
+        }
+        Files.writeString(tempDir.resolve("archive-0000000099.cold.tmp"), "incompleto");
+
+        // When
+        try (ColdOrderStore reopened = new ColdOrderStore(tempDir)) {
+
+            // Then
+            assertThat(reopened.segmentCount()).isEqualTo(2);
+            assertThat(reopened.maxId()).isEqualTo(9L);
+            assertThat(reopened.find(5L)).get().extracting(Order::getCustomerName).isEqualTo("João Silva");
+            assertThat(reopened.find(9L)).get().extracting(Order::getStatus).isEqualTo(OrderStatus.CANCELLED);
+        }
+        assertThat(tempDir.resolve("archive-0000000099.cold.tmp")).doesNotExist();
+    }
+
+    @Test
+    void shouldRemoveSegmentsOnClear() throws IOException {
+        // Given
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            store.append(List.of(order(1L, "João Silva", OrderStatus.FULFILLED)));
+
+            // When
+            store.clear();
+
+            // Then
+            assertThat(store.find(1L)).isEmpty();
+            assertThat(store.maxId()).isZero();
+            assertThat(store.segmentCount()).isZero();
+        }
+    }
+
+    @Test
+    void shouldMergeSegmentsKeepingNewestVersion() throws IOException {
+        // Given
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            store.append(List.of(order(1L, "Versão antiga", OrderStatus.CANCELLED),
+                    order(2L, "João Silva", OrderStatus.FULFILLED)));
+            store.append(List.of(order(1L, "Versão nova", OrderStatus.FULFILLED),
+                    order(3L, "Maria Santos", OrderStatus.CANCELLED)));
+
+            // When
+            int merged = store.compact(id -> false);
+
+            // Then
+            assertThat(merged).isEqualTo(2);
+            assertThat(store.segmentCount()).isEqualTo(1);
+            assertThat(store.find(1L)).get().extracting(Order::getCustomerName).isEqualTo("Versão nova");
+            assertThat(store.find(2L)).isPresent();
+            assertThat(store.find(3L)).isPresent();
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertThat(files).hasSize(1);
+            }
+        }
+    }
+
+    @Test
+    void shouldDropDiscardedCopiesOnCompaction() throws IOException {
+        // Given
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            store.append(List.of(order(1L, "João Silva", OrderStatus.FULFILLED)));
+            store.append(List.of(order(2L, "Maria Santos", OrderStatus.CANCELLED)));
+
+            // When
+            store.compact(id -> id == 1L);
+
+            // Then
+            assertThat(store.find(1L)).isEmpty();
+            assertThat(store.find(2L)).isPresent();
+            assertThat(store.maxId()).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    void shouldKeepSegmentCountLogarithmicAcrossRuns() throws IOException {
+        // Given
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+
+            // When - um segmento pequeno por execução, compactando a cada uma
+            for (long id = 1; id <= 200; id++) {
+                store.append(List.of(order(id, "Cliente " + id, OrderStatus.FULFILLED)));
+                store.compact(value -> false);
+            }
+
+            // Then
+            assertThat(store.segmentCount()).isLessThanOrEqualTo(8);
+            for (long id = 1; id <= 200; id++) {
+                assertThat(store.find(id)).get().extracting(Order::getCustomerName).isEqualTo("Cliente " + id);
+            }
+        }
+        try (ColdOrderStore reopened = new ColdOrderStore(tempDir)) {
+            assertThat(reopened.segmentCount()).isLessThanOrEqualTo(8);
+            assertThat(reopened.find(137L)).isPresent();
+        }
+    }
+
+    @Test
+    void shouldBoundOpenChannels() throws IOException {
+        // Given
+        int segments = ColdOrderStore.MAX_OPEN_CHANNELS * 2;
+        try (ColdOrderStore store = new ColdOrderStore(tempDir)) {
+            for (long id = 1; id <= segments; id++) {
+                store.append(List.of(order(id, "Cliente " + id, OrderStatus.FULFILLED)));
+            }
+
+            // When
+            for (long id = 1; id <= segments; id++) {
+                assertThat(store.find(id)).isPresent();
+            }
+
+            // Then
+            assertThat(store.segmentCount()).isEqualTo(segments);
+            assertThat(store.openChannelCount()).isEqualTo(ColdOrderStore.MAX_OPEN_CHANNELS);
+        }
+    }
+
+    private static Order order(long id, String customerName, OrderStatus status) {
+        Order order = new Order(id, customerName, new BigDecimal("250.75"), LocalDate.of(2024, 1, 10));
+        order.setStatus(status);
+        return order;
+    }
+}
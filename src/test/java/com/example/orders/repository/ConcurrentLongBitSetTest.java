@@ -0,0 +1,165 @@
+package com.example.orders.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para ConcurrentLongBitSet
+ */
+class ConcurrentLongBitSetTest {
+
+    @Test
+    void shouldAddRemoveAndContainValues() {
+        // Given
+        ConcurrentLongBitSet set = new ConcurrentLongBitSet();
+
+        // When
+        boolean added = set.add(5L);
+        boolean addedAgain = set.add(5L);
+        set.add(70L);
+        boolean removed = set.remove(70L);
+        boolean removedAgain = set.remove(70L);
+
+        // Then
+        assertThat(added).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(removed).isTrue();
+        assertThat(removedAgain).isFalse();
+        assertThat(set.contains(5L)).isTrue();
+        assertThat(set.contains(70L)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIterateInAscendingOrderAcrossPages() {
+        // Given
+        ConcurrentLongBitSet set = new ConcurrentLongBitSet();
+        long[] values = {3 * ConcurrentLongBitSet.PAGE_BITS + 1L, 63L, 1L, 64L, ConcurrentLongBitSet.PAGE_BITS};
+        for (long value : values) {
+            set.add(value);
+        }
+
+        // When
+        List<Long> all = collectAfter(set, 0L);
+        List<Long> afterFirstWord = collectAfter(set, 63L);
+
+        // Then
+        assertThat(all).containsExactly(1L, 63L, 64L, (long) ConcurrentLongBitSet.PAGE_BITS,
+                3 * ConcurrentLongBitSet.PAGE_BITS + 1L);
+        assertThat(afterFirstWord).containsExactly(64L, (long) ConcurrentLongBitSet.PAGE_BITS,
+                3 * ConcurrentLongBitSet.PAGE_BITS + 1L);
+        assertThat(set.higher(64L)).isEqualTo(ConcurrentLongBitSet.PAGE_BITS);
+        assertThat(set.higher(3 * ConcurrentLongBitSet.PAGE_BITS + 1L)).isEqualTo(-1L);
+    }
+
+    @Test
+    void shouldStopWhenActionDeclines() {
+        // Given
+        ConcurrentLongBitSet set = new ConcurrentLongBitSet();
+        for (long value = 1; value <= 100; value++) {
+            set.add(value);
+        }
+        List<Long> visited = new ArrayList<>();
+
+        // When
+        boolean completed = set.forEachAfter(10L, value -> {
+            visited.add(value);
+            return visited.size() < 5;
+        });
+
+        // Then
+        assertThat(completed).isFalse();
+        assertThat(visited).containsExactly(11L, 12L, 13L, 14L, 15L);
+    }
+
+    @Test
+    void shouldDropEmptyPagesAndReuseTheirRange() {
+        // Given
+        ConcurrentLongBitSet set = new ConcurrentLongBitSet();
+        set.add(10L);
+        set.remove(10L);
+
+        // When
+        set.add(11L);
+
+        // Then
+        assertThat(set.contains(10L)).isFalse();
+        assertThat(set.contains(11L)).isTrue();
+        assertThat(collectAfter(set, 0L)).containsExactly(11L);
+    }
+
+    @Test
+    void shouldClear() {
+        // Given
+        ConcurrentLongBitSet set = new ConcurrentLongBitSet();
+        set.add(1L);
+        set.add(1_000_000L);
+
+        // When
+        set.clear();
+
+        // Then
+        assertThat(set.isEmpty()).isTrue();
+        assertThat(collectAfter(set, 0L)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectNegativeValues() {
+        ConcurrentLongBitSet set = new ConcurrentLongBitSet();
+
+        assertThatThrownBy(() -> set.add(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldKeepAllValuesUnderConcurrentAddsAndRemovesInSamePages() throws Exception {
+        // Given
+        ConcurrentLongBitSet set = new ConcurrentLongBitSet();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When - cada thread cuida dos valores congruentes a ela, intercalados nas mesmas páginas,
+        // e remove os ímpares depois de inseri-los
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    long value = (long) i * threads + thread;
+                    set.add(value);
+                    if (i % 2 == 1) {
+                        set.remove(value);
+                    }
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(set.size()).isEqualTo((long) threads * perThread / 2);
+        for (int i = 0; i < perThread; i++) {
+            for (int thread = 0; thread < threads; thread++) {
+                assertThat(set.contains((long) i * threads + thread)).isEqualTo(i % 2 == 0);
+            }
+        }
+        assertThat(collectAfter(set, -1L)).hasSize(threads * perThread / 2).isSorted();
+    }
+
+    private static List<Long> collectAfter(ConcurrentLongBitSet set, long after) {
+        List<Long> values = new ArrayList<>();
+        set.forEachAfter(after, values::add);
+        return values;
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.orders.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para ConcurrentLongHashMap
+ */
+class ConcurrentLongHashMapTest {
+
+    @Test
+    void shouldPutAndGetValues() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+
+        // When
+        String previous = map.put(1L, "um");
+        map.put(2L, "dois");
+
+        // Then
+        assertThat(previous).isNull();
+        assertThat(map.get(1L)).isEqualTo("um");
+        assertThat(map.get(2L)).isEqualTo("dois");
+        assertThat(map.get(3L)).isNull();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReplaceExistingValue() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+        map.put(1L, "um");
+
+        // When
+        String previous = map.put(1L, "UM");
+
+        // Then
+        assertThat(previous).isEqualTo("um");
+        assertThat(map.get(1L)).isEqualTo("UM");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOnlyPutIfAbsent() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+        map.put(1L, "um");
+
+        // When/Then
+        assertThat(map.putIfAbsent(1L, "outro")).isEqualTo("um");
+        assertThat(map.putIfAbsent(2L, "dois")).isNull();
+        assertThat(map.get(1L)).isEqualTo("um");
+        assertThat(map.get(2L)).isEqualTo("dois");
+    }
+
+    @Test
+    void shouldRemoveAndReinsertKeys() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+        map.put(1L, "um");
+
+        // When
+        String removed = map.remove(1L);
+
+        // Then
+        assertThat(removed).isEqualTo("um");
+        assertThat(map.containsKey(1L)).isFalse();
+        assertThat(map.remove(1L)).isNull();
+        assertThat(map.size()).isZero();
+
+        map.put(1L, "de novo");
+        assertThat(map.get(1L)).isEqualTo("de novo");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCompareAndSetByIdentity() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+        String original = new String("v1");
+        map.put(1L, original);
+
+        // When/Then
+        assertThat(map.compareAndSet(1L, new String("v1"), "v2")).isFalse();
+        assertThat(map.compareAndSet(1L, original, "v2")).isTrue();
+        assertThat(map.get(1L)).isEqualTo("v2");
+
+        assertThat(map.compareAndSet(2L, null, "novo")).isTrue();
+        assertThat(map.compareAndSet(2L, null, "outro")).isFalse();
+        assertThat(map.compareAndSet(2L, map.get(2L), null)).isTrue();
+        assertThat(map.containsKey(2L)).isFalse();
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() {
+        // Given
+        ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>(4);
+
+        // When
+        for (long key = 1; key <= 100_000; key++) {
+            map.put(key, key * 10);
+        }
+        for (long key = 1; key <= 100_000; key += 2) {
+            map.remove(key);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(50_000);
+        for (long key = 1; key <= 100_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? key * 10 : null);
+        }
+    }
+
+    @Test
+    void shouldSupportNegativeKeys() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+
+        // When
+        map.put(-1L, "negativo");
+        map.put(Long.MAX_VALUE, "máximo");
+
+        // Then
+        assertThat(map.get(-1L)).isEqualTo("negativo");
+        assertThat(map.get(Long.MAX_VALUE)).isEqualTo("máximo");
+    }
+
+    @Test
+    void shouldRejectReservedKeyAndNullValues() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+
+        // When/Then
+        assertThatThrownBy(() -> map.put(0L, "zero")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.get(0L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.put(1L, null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void shouldIterateOverAllValues() {
+        // Given
+        ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>();
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, key);
+        }
+
+        // When
+        Set<Long> fromIterator = new HashSet<>();
+        Iterator<Long> values = map.values();
+        while (values.hasNext()) {
+            fromIterator.add(values.next());
+        }
+        List<Long> fromForEach = new ArrayList<>();
+        map.forEach(fromForEach::add);
+
+        // Then
+        assertThat(fromIterator).hasSize(1_000);
+        assertThat(fromForEach).hasSize(1_000).containsExactlyInAnyOrderElementsOf(fromIterator);
+    }
+
+    @Test
+    void shouldClearAllEntries() {
+        // Given
+        ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>();
+        map.put(1L, "um");
+        map.put(2L, "dois");
+
+        // When
+        map.clear();
+
+        // Then
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.values().hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldBeThreadSafeWithConcurrentWritersAndReaders() throws Exception {
+        // Given
+        ConcurrentLongHashMap<Long> map = new ConcurrentLongHashMap<>();
+        final int numberOfThreads = 8;
+        final int keysPerThread = 20_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads * 2);
+        AtomicInteger inconsistentReads = new AtomicInteger();
+
+        // When - escritores em faixas disjuntas e leitores concorrentes
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < numberOfThreads; t++) {
+            final long base = (long) t * keysPerThread;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (long key = base + 1; key <= base + keysPerThread; key++) {
+                    map.put(key, key);
+                }
+            }, executorService));
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (long key = base + 1; key <= base + keysPerThread; key++) {
+                    Long value = map.get(key);
+                    if (value != null && value != key) {
+                        inconsistentReads.incrementAndGet();
+                    }
+                }
+            }, executorService));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        executorService.shutdown();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(inconsistentReads.get()).isZero();
+        assertThat(map.size()).isEqualTo(numberOfThreads * keysPerThread);
+        for (long key = 1; key <= (long) numberOfThreads * keysPerThread; key++) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.orders.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para CouponRedemptionLog
+ */
+class CouponRedemptionLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverHighestValuePerKey() throws Exception {
+        // Given: gravações concorrentes podem chegar fora de ordem
+        try (CouponRedemptionLog log = CouponRedemptionLog.open(directory)) {
+            log.recordGranted("FLASH", 128);
+            log.recordGranted("FLASH", 64);
+            log.recordCustomer("FLASH", "Ana", 2);
+            log.recordCustomer("FLASH", "Ana", 1);
+        }
+
+        // When
+        try (CouponRedemptionLog reopened = CouponRedemptionLog.open(directory)) {
+
+            // Then
+            assertThat(reopened.recovered().granted()).containsEntry("FLASH", 128L);
+            assertThat(reopened.recovered().customers().get("FLASH")).containsEntry("Ana", 2);
+        }
+    }
+
+    @Test
+    void shouldDiscardTornTail() throws Exception {
+        // Given
+        try (CouponRedemptionLog log = CouponRedemptionLog.open(directory)) {
+            log.recordGranted("FLASH", 64);
+        }
+        Files.write(directory.resolve(CouponRedemptionLog.FILE_NAME), new byte[] { 0, 0, 0, 40, 1, 2 },
+                StandardOpenOption.APPEND);
+
+        // When
+        try (CouponRedemptionLog reopened = CouponRedemptionLog.open(directory)) {
+            reopened.recordGranted("FLASH", 128);
+        }
+
+        // Then
+        try (CouponRedemptionLog reopened = CouponRedemptionLog.open(directory)) {
+            assertThat(reopened.recovered().granted()).containsEntry("FLASH", 128L);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do JdbcOrderRepository sobre um banco H2 em arquivo temporário
+ */
+class JdbcOrderRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcDataSource dataSource;
+    private JdbcOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:file:" + tempDir.resolve("orders").toAbsolutePath() + ";DB_CLOSE_DELAY=-1");
+        repository = new JdbcOrderRepository(dataSource, 64);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void shouldSaveAndFindOrderPreservingTotalScale() {
+        // Given
+        Order order = new Order(null, "João Silva", new BigDecimal("100.50"), LocalDate.of(2024, 12, 15));
+
+        // When
+        Order saved = repository.save(order);
+
+        // Then
+        assertThat(saved.getId()).isEqualTo(1L);
+        assertThat(saved.getVersion()).isEqualTo(1L);
+        assertThat(order.getId()).isEqualTo(1L);
+        Order found = repository.findById(1L).orElseThrow();
+        assertThat(found.getCustomerName()).isEqualTo("João Silva");
+        assertThat(found.getTotal()).isEqualTo(new BigDecimal("100.50"));
+        assertThat(found.getOrderDate()).isEqualTo(LocalDate.of(2024, 12, 15));
+        assertThat(found.getStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(repository.existsById(1L)).isTrue();
+        assertThat(repository.existsById(2L)).isFalse();
+    }
+
+    @Test
+    void shouldBatchConcurrentInsertsWithUniqueIds() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    repository.save(new Order(null, "Cliente", BigDecimal.TEN, LocalDate.now()));
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        executor.shutdown();
+
+        // Then
+        assertThat(repository.size()).isEqualTo(threads * perThread);
+        assertThat(repository.findAll()).extracting(Order::getId)
+                .isSorted().doesNotHaveDuplicates().hasSize(threads * perThread);
+    }
+
+    @Test
+    void shouldApplyTransitionWithNextVersion() {
+        // Given
+        Order saved = repository.save(new Order(null, "João Silva", new BigDecimal("100.00"), LocalDate.now()));
+
+        // When
+        Order updated = repository.update(saved.getId(), order -> {
+            order.setStatus(OrderStatus.PAID);
+            return order;
+        }).orElseThrow();
+
+        // Then
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThat(repository.findById(saved.getId())).get()
+                .extracting(Order::getStatus).isEqualTo(OrderStatus.PAID);
+        assertThat(repository.update(99L, order -> order)).isEmpty();
+    }
+
+    @Test
+    void shouldNotLoseConcurrentTransitions() throws Exception {
+        // Given
+        Order saved = repository.save(new Order(null, "João Silva", BigDecimal.ZERO, LocalDate.now()));
+        int threads = 4;
+        int perThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    repository.update(saved.getId(), order -> {
+                        order.setTotal(order.getTotal().add(BigDecimal.ONE));
+                        return order;
+                    });
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        executor.shutdown();
+
+        // Then
+        Order result = repository.findById(saved.getId()).orElseThrow();
+        assertThat(result.getTotal()).isEqualByComparingTo(BigDecimal.valueOf(threads * perThread));
+        assertThat(result.getVersion()).isEqualTo(1L + threads * perThread);
+    }
+
+    @Test
+    void shouldFilterAndPageWithSql() {
+        // Given
+        for (int i = 1; i <= 6; i++) {
+            Order order = new Order(null, i % 2 == 0 ? "Maria Santos" : "João Silva",
+                    BigDecimal.TEN, LocalDate.of(2024, 1, i));
+            order.setStatus(i <= 3 ? OrderStatus.PAID : OrderStatus.NEW);
+            repository.save(order);
+        }
+
+        // When
+        List<Order> paidInRange = repository.findBy(
+                new OrderQuery(OrderStatus.PAID, LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 5), null));
+        List<Order> mariaPage = repository.findBy(new OrderQuery(null, null, null, "Maria Santos"), 2L, 2);
+
+        // Then
+        assertThat(paidInRange).extracting(Order::getId).containsExactly(2L, 3L);
+        assertThat(mariaPage).extracting(Order::getId).containsExactly(4L, 6L);
+        assertThat(repository.findPage(4L, 10)).extracting(Order::getId).containsExactly(5L, 6L);
+    }
+
+    @Test
+    void shouldContinueSequenceAfterReopen() {
+        // Given
+        repository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+        repository.save(new Order(null, "Maria Santos", BigDecimal.TEN, LocalDate.now()));
+        repository.close();
+
+        // When
+        repository = new JdbcOrderRepository(dataSource, 64);
+        Order created = repository.save(new Order(null, "Pedro Costa", BigDecimal.TEN, LocalDate.now()));
+
+        // Then
+        assertThat(created.getId()).isEqualTo(3L);
+        assertThat(repository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void shouldNotifyListenersAndClear() {
+        // Given
+        OrderChangeFeed feed = new OrderChangeFeed(16);
+        repository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+        repository.addListener(feed);
+
+        // When
+        Order created = repository.save(new Order(null, "Maria Santos", BigDecimal.TEN, LocalDate.now()));
+        repository.update(created.getId(), order -> {
+            order.setStatus(OrderStatus.PAID);
+            return order;
+        });
+        repository.clear();
+
+        // Then
+        assertThat(feed.poll(0, 10).events()).extracting(OrderChangeEvent::version).containsExactly(1L, 1L, 2L);
+        assertThat(repository.size()).isZero();
+        assertThat(repository.save(new Order(null, "Ana", BigDecimal.TEN, LocalDate.now())).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldBackfillListenerAcrossPages() {
+        // Given
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            orders.add(new Order(null, "Cliente " + i, new BigDecimal("10.00"), LocalDate.of(2024, 1, 10)));
+        }
+        repository.saveAll(orders);
+        OrderStatistics statistics = new OrderStatistics();
+
+        // When
+        repository.addListener(statistics);
+
+        // Then
+        assertThat(statistics.snapshot().overall())
+                .isEqualTo(new OrderStatistics.Summary(2_500, 2_500_000));
+    }
+
+    @Test
+    void shouldBackOffAndFailQueuedInsertsWhileDatabaseIsDown() throws Exception {
+        // Given - o banco cai com a conexão da thread escritora aberta e recusa novas conexões
+        AtomicBoolean failing = new AtomicBoolean();
+        AtomicInteger attempts = new AtomicInteger();
+        repository.close();
+        repository = new JdbcOrderRepository(flaky(failing, attempts), 64);
+        repository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            failing.set(true);
+            statement.execute("SHUTDOWN");
+        }
+        int attemptsBefore = attempts.get();
+
+        // When
+        assertThatThrownBy(() -> repository.save(new Order(null, "Maria Santos", BigDecimal.TEN, LocalDate.now())))
+                .isInstanceOf(OrderStorageException.class);
+        Thread.sleep(300);
+        assertThatThrownBy(() -> repository.save(new Order(null, "Pedro Costa", BigDecimal.TEN, LocalDate.now())))
+                .isInstanceOf(OrderStorageException.class);
+        int attemptsWhileDown = attempts.get() - attemptsBefore;
+        failing.set(false);
+        Order recovered = repository.save(new Order(null, "Ana Souza", BigDecimal.TEN, LocalDate.now()));
+
+        // Then - poucas tentativas com espera exponencial, sem laço ocupado
+        assertThat(attemptsWhileDown).isBetween(3, 10);
+        assertThat(repository.findById(recovered.getId())).isPresent();
+    }
+
+    /**
+     * Fonte de dados que recusa conexões enquanto failing estiver ligado, contando as tentativas
+     */
+    private DataSource flaky(AtomicBoolean failing, AtomicInteger attempts) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getConnection")) {
+                        attempts.incrementAndGet();
+                        if (failing.get()) {
+                            throw new SQLException("Banco indisponível");
+                        }
+                    }
+                    try {
+                        return method.invoke(dataSource, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
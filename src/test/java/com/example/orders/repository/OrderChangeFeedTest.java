@@ -0,0 +1,200 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para OrderChangeFeed (CDC em buffer circular)
+ */
+class OrderChangeFeedTest {
+
+    private OrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+    }
+
+    @Test
+    void shouldPublishStatusTransitions() {
+        // Given
+        OrderChangeFeed feed = new OrderChangeFeed(16);
+        repository.addListener(feed);
+        Order saved = repository.save(order("João Silva"));
+
+        // When
+        repository.update(saved.getId(), order -> {
+            order.setStatus(OrderStatus.PAID);
+            return order;
+        });
+        OrderChangeFeed.Batch batch = feed.poll(0, 10);
+
+        // Then
+        assertThat(batch.missed()).isZero();
+        assertThat(batch.lastSequence()).isEqualTo(2);
+        assertThat(batch.events()).extracting(OrderChangeEvent::sequence).containsExactly(1L, 2L);
+        OrderChangeEvent paid = batch.events().get(1);
+        assertThat(paid.orderId()).isEqualTo(saved.getId());
+        assertThat(paid.oldStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(paid.newStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(paid.total()).isEqualTo(new BigDecimal("100.50"));
+        assertThat(paid.version()).isEqualTo(2);
+        assertThat(batch.events().get(0).oldStatus()).isNull();
+    }
+
+    @Test
+    void shouldResumeFromCursor() {
+        // Given
+        OrderChangeFeed feed = new OrderChangeFeed(16);
+        repository.addListener(feed);
+        for (int i = 0; i < 5; i++) {
+            repository.save(order("Cliente " + i));
+        }
+
+        // When
+        OrderChangeFeed.Batch first = feed.poll(0, 3);
+        OrderChangeFeed.Batch second = feed.poll(first.lastSequence(), 3);
+        OrderChangeFeed.Batch empty = feed.poll(second.lastSequence(), 3);
+
+        // Then
+        assertThat(first.events()).extracting(OrderChangeEvent::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(second.events()).extracting(OrderChangeEvent::sequence).containsExactly(4L, 5L);
+        assertThat(empty.events()).isEmpty();
+        assertThat(empty.lastSequence()).isEqualTo(5L);
+        assertThat(feed.latestSequence()).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldSignalOverflowInsteadOfBlockingWriters() {
+        // Given
+        OrderChangeFeed feed = new OrderChangeFeed(8);
+        repository.addListener(feed);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            repository.save(order("Cliente " + i));
+        }
+        OrderChangeFeed.Batch batch = feed.poll(0, 100);
+
+        // Then
+        assertThat(feed.capacity()).isEqualTo(8);
+        assertThat(batch.missed()).isEqualTo(12);
+        assertThat(batch.events()).extracting(OrderChangeEvent::sequence)
+                .containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+    }
+
+    @Test
+    void shouldNotLetSlowWriterOverwriteNewerEvent() {
+        // Given - um escritor reserva a sequência 1 e atrasa enquanto os demais dão a volta no buffer
+        OrderChangeFeed feed = new OrderChangeFeed(8);
+        repository.addListener(feed);
+        long slow = feed.reserveSequence();
+        for (int i = 0; i < 10; i++) {
+            repository.save(order("Cliente " + i));
+        }
+
+        // When
+        feed.publish(new OrderChangeEvent(slow, 99L, null, OrderStatus.NEW, BigDecimal.ONE, 1));
+        OrderChangeFeed.Batch batch = feed.poll(0, 100);
+        OrderChangeFeed.Batch caughtUp = feed.poll(8, 100);
+
+        // Then - o slot continua com a sequência 9, e quem lê a partir de 8 não trava
+        assertThat(batch.missed()).isEqualTo(3);
+        assertThat(batch.events()).extracting(OrderChangeEvent::sequence)
+                .containsExactly(4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L);
+        assertThat(caughtUp.events()).extracting(OrderChangeEvent::sequence).containsExactly(9L, 10L, 11L);
+    }
+
+    @Test
+    void shouldResumeOnlyFromEventIdsOfTheSameBoot() {
+        // Given
+        OrderChangeFeed feed = new OrderChangeFeed(16);
+        repository.addListener(feed);
+        for (int i = 0; i < 3; i++) {
+            repository.save(order("Cliente " + i));
+        }
+        OrderChangeFeed restarted = new OrderChangeFeed(16);
+
+        // When
+        OrderChangeFeed.Resume sameBoot = feed.resume(feed.eventId(2));
+        OrderChangeFeed.Resume otherBoot = feed.resume(restarted.eventId(2));
+        OrderChangeFeed.Resume ahead = feed.resume(feed.eventId(50));
+        OrderChangeFeed.Resume legacy = feed.resume("2");
+        OrderChangeFeed.Resume fresh = feed.resume(null);
+
+        // Then
+        assertThat(sameBoot).isEqualTo(new OrderChangeFeed.Resume(2, false));
+        assertThat(otherBoot).isEqualTo(new OrderChangeFeed.Resume(3, true));
+        assertThat(ahead).isEqualTo(new OrderChangeFeed.Resume(3, true));
+        assertThat(legacy).isEqualTo(new OrderChangeFeed.Resume(3, true));
+        assertThat(fresh).isEqualTo(new OrderChangeFeed.Resume(3, false));
+        assertThatThrownBy(() -> feed.resume(feed.eventId(1) + "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldBackfillExistingOrdersOnRegistration() {
+        // Given
+        repository.save(order("João Silva"));
+        repository.save(order("Maria Santos"));
+
+        // When
+        OrderChangeFeed feed = new OrderChangeFeed(16);
+        repository.addListener(feed);
+
+        // Then
+        assertThat(feed.poll(0, 10).events()).hasSize(2);
+    }
+
+    @Test
+    void shouldDeliverEveryConcurrentWriteInOrder() throws Exception {
+        // Given
+        OrderChangeFeed feed = new OrderChangeFeed(1 << 16);
+        repository.addListener(feed);
+        int threads = 4;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    repository.save(order("Cliente"));
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        executor.shutdown();
+        OrderChangeFeed.Batch batch = feed.poll(0, Integer.MAX_VALUE);
+
+        // Then
+        assertThat(batch.missed()).isZero();
+        assertThat(batch.events()).hasSize(threads * perThread);
+        assertThat(batch.events()).extracting(OrderChangeEvent::sequence).isSorted();
+        assertThat(batch.events()).extracting(OrderChangeEvent::orderId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldRejectInvalidCapacity() {
+        assertThatThrownBy(() -> new OrderChangeFeed(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Order order(String customerName) {
+        return new Order(null, customerName, new BigDecimal("100.50"), LocalDate.of(2024, 12, 15));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para OrderColumnStore
+ */
+class OrderColumnStoreTest {
+
+    private OrderRepository repository;
+    private OrderColumnStore columnStore;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+        columnStore = new OrderColumnStore();
+        repository.addListener(columnStore);
+    }
+
+    @Test
+    void shouldSummarizeAllOrders() {
+        // Given
+        save("João Silva", "100.50", LocalDate.of(2024, 12, 15), OrderStatus.NEW);
+        save("Maria Santos", "250.75", LocalDate.of(2024, 12, 16), OrderStatus.PAID);
+
+        // When
+        OrderColumnStore.Summary summary = columnStore.summarize(OrderQuery.all());
+
+        // Then
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.total()).isEqualByComparingTo("351.25");
+    }
+
+    @Test
+    void shouldFilterByStatusDateAndCustomer() {
+        // Given
+        save("João Silva", "100.00", LocalDate.of(2024, 12, 1), OrderStatus.PAID);
+        save("João Silva", "200.00", LocalDate.of(2024, 12, 10), OrderStatus.PAID);
+        save("Maria Santos", "300.00", LocalDate.of(2024, 12, 10), OrderStatus.PAID);
+        save("João Silva", "400.00", LocalDate.of(2024, 12, 20), OrderStatus.NEW);
+
+        // When
+        OrderQuery query = new OrderQuery(OrderStatus.PAID,
+                LocalDate.of(2024, 12, 5), LocalDate.of(2024, 12, 31), "João Silva");
+        List<Long> ids = new ArrayList<>();
+        columnStore.forEachId(query, ids::add);
+
+        // Then
+        assertThat(ids).containsExactly(2L);
+        assertThat(columnStore.summarize(query).total()).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void shouldReturnNothingForUnknownCustomer() {
+        // Given
+        save("João Silva", "100.00", LocalDate.of(2024, 12, 1), OrderStatus.NEW);
+
+        // When
+        OrderColumnStore.Summary summary = columnStore.summarize(
+                new OrderQuery(null, null, null, "Desconhecido"));
+
+        // Then
+        assertThat(summary).isEqualTo(OrderColumnStore.Summary.EMPTY);
+    }
+
+    @Test
+    void shouldReflectUpdatesOnSave() {
+        // Given
+        Order order = save("João Silva", "100.00", LocalDate.of(2024, 12, 1), OrderStatus.NEW);
+
+        // When
+        order.setStatus(OrderStatus.PAID);
+        order.setTotal(new BigDecimal("90.00"));
+        repository.save(order);
+
+        // Then
+        Map<OrderStatus, OrderColumnStore.Summary> byStatus = columnStore.summarizeByStatus(OrderQuery.all());
+        assertThat(byStatus.get(OrderStatus.NEW)).isEqualTo(OrderColumnStore.Summary.EMPTY);
+        assertThat(byStatus.get(OrderStatus.PAID)).isEqualTo(new OrderColumnStore.Summary(1, 9000));
+    }
+
+    @Test
+    void shouldBackfillExistingOrdersWhenRegistered() {
+        // Given
+        OrderRepository populated = new InMemoryOrderRepository();
+        populated.save(new Order(null, "João Silva", new BigDecimal("10.00"), LocalDate.of(2024, 12, 1)));
+        populated.save(new Order(null, "Maria Santos", new BigDecimal("20.00"), LocalDate.of(2024, 12, 2)));
+
+        // When
+        OrderColumnStore store = new OrderColumnStore();
+        populated.addListener(store);
+
+        // Then
+        assertThat(store.summarize(OrderQuery.all())).isEqualTo(new OrderColumnStore.Summary(2, 3000));
+    }
+
+    @Test
+    void shouldSpanMultipleChunks() {
+        // Given
+        int orders = OrderColumnStore.CHUNK_ROWS + 10;
+        for (int i = 0; i < orders; i++) {
+            save("Cliente " + (i % 100), "1.00", LocalDate.of(2024, 1, 1).plusDays(i % 365), OrderStatus.NEW);
+        }
+
+        // When
+        OrderColumnStore.Summary summary = columnStore.summarize(OrderQuery.all());
+
+        // Then
+        assertThat(summary.count()).isEqualTo(orders);
+        assertThat(summary.totalCents()).isEqualTo(orders * 100L);
+        assertThat(columnStore.rows()).isEqualTo(orders);
+    }
+
+    @Test
+    void shouldClearWithRepository() {
+        // Given
+        save("João Silva", "100.00", LocalDate.of(2024, 12, 1), OrderStatus.NEW);
+
+        // When
+        repository.clear();
+
+        // Then
+        assertThat(columnStore.summarize(OrderQuery.all())).isEqualTo(OrderColumnStore.Summary.EMPTY);
+        assertThat(columnStore.offHeapBytes()).isZero();
+    }
+
+    @Test
+    void shouldRoundTotalsToCents() {
+        // Given
+        save("João Silva", "90.455", LocalDate.of(2024, 12, 1), OrderStatus.NEW);
+
+        // When
+        OrderColumnStore.Summary summary = columnStore.summarize(OrderQuery.all());
+
+        // Then
+        assertThat(summary.totalCents()).isEqualTo(9046);
+    }
+
+    private Order save(String customer, String total, LocalDate date, OrderStatus status) {
+        Order order = new Order(null, customer, new BigDecimal(total), date);
+        order.setStatus(status);
+        return repository.save(order);
+    }
+}
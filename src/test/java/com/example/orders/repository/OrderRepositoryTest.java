@@ -7,14 +7,17 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Testes unitários para OrderRepository incluindo testes de thread-safety
@@ -25,7 +28,7 @@ class OrderRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        orderRepository = new OrderRepository();
+        orderRepository = new InMemoryOrderRepository();
         orderRepository.clear(); // Limpa estado entre testes
     }
 
@@ -262,4 +265,274 @@ class OrderRepositoryTest {
         assertThat(found3).isNotNull();
         assertThat(found3.getCustomerName()).isEqualTo("Terceiro");
     }
+
+    @Test
+    void shouldFindByStatusDateAndCustomer() {
+        // Given
+        Order paid = orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.of(2024, 12, 10)));
+        paid.setStatus(OrderStatus.PAID);
+        orderRepository.save(paid);
+        orderRepository.save(new Order(null, "João Silva", BigDecimal.ONE, LocalDate.of(2024, 12, 20)));
+        orderRepository.save(new Order(null, "Maria Santos", BigDecimal.ONE, LocalDate.of(2024, 12, 10)));
+
+        // When / Then
+        assertThat(orderRepository.findBy(new OrderQuery(OrderStatus.PAID, null, null, null)))
+                .extracting(Order::getId).containsExactly(1L);
+        assertThat(orderRepository.findBy(new OrderQuery(null, null, null, "João Silva")))
+                .extracting(Order::getId).containsExactly(1L, 2L);
+        assertThat(orderRepository.findBy(new OrderQuery(null,
+                LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 15), null)))
+                .extracting(Order::getId).containsExactly(1L, 3L);
+        assertThat(orderRepository.findBy(new OrderQuery(OrderStatus.NEW,
+                LocalDate.of(2024, 12, 15), null, "João Silva")))
+                .extracting(Order::getId).containsExactly(2L);
+    }
+
+    @Test
+    void shouldReindexOrderChangedInPlace() {
+        // Given
+        Order order = orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.of(2024, 12, 10)));
+
+        // When - o serviço altera o próprio objeto antes do save
+        order.setStatus(OrderStatus.FULFILLED);
+        order.setCustomerName("João Silva Santos");
+        order.setOrderDate(LocalDate.of(2024, 12, 11));
+        orderRepository.save(order);
+
+        // Then
+        assertThat(orderRepository.findBy(new OrderQuery(OrderStatus.NEW, null, null, null))).isEmpty();
+        assertThat(orderRepository.findBy(new OrderQuery(OrderStatus.FULFILLED, null, null, null)))
+                .extracting(Order::getId).containsExactly(order.getId());
+        assertThat(orderRepository.findBy(new OrderQuery(null, null, null, "João Silva"))).isEmpty();
+        assertThat(orderRepository.findBy(new OrderQuery(null,
+                LocalDate.of(2024, 12, 10), LocalDate.of(2024, 12, 10), null))).isEmpty();
+        assertThat(orderRepository.findBy(new OrderQuery(null,
+                LocalDate.of(2024, 12, 11), null, "João Silva Santos"))).hasSize(1);
+    }
+
+    @Test
+    void shouldReturnAllOrdersForUnfilteredQuery() {
+        // Given
+        orderRepository.save(new Order(null, "Primeiro", BigDecimal.TEN, LocalDate.now()));
+        orderRepository.save(new Order(null, "Segundo", BigDecimal.ONE, LocalDate.now()));
+
+        // When / Then
+        assertThat(orderRepository.findBy(OrderQuery.all())).extracting(Order::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldClearIndexes() {
+        // Given
+        orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+
+        // When
+        orderRepository.clear();
+
+        // Then
+        assertThat(orderRepository.findBy(new OrderQuery(null, null, null, "João Silva"))).isEmpty();
+    }
+
+    @Test
+    void shouldPageByCursorInIdOrder() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            orderRepository.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.now()));
+        }
+
+        // When
+        List<Order> first = orderRepository.findPage(0L, 2);
+        List<Order> second = orderRepository.findPage(first.get(1).getId(), 2);
+        List<Order> last = orderRepository.findPage(second.get(1).getId(), 2);
+
+        // Then
+        assertThat(first).extracting(Order::getId).containsExactly(1L, 2L);
+        assertThat(second).extracting(Order::getId).containsExactly(3L, 4L);
+        assertThat(last).extracting(Order::getId).containsExactly(5L);
+        assertThat(orderRepository.findPage(5L, 2)).isEmpty();
+    }
+
+    @Test
+    void shouldPageFilteredQuery() {
+        // Given
+        for (int i = 1; i <= 6; i++) {
+            Order order = orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+            if (i % 2 == 0) {
+                order.setStatus(OrderStatus.PAID);
+                orderRepository.save(order);
+            }
+        }
+        OrderQuery paid = new OrderQuery(OrderStatus.PAID, null, null, null);
+
+        // When / Then
+        assertThat(orderRepository.findBy(paid, 0L, 2)).extracting(Order::getId).containsExactly(2L, 4L);
+        assertThat(orderRepository.findBy(paid, 4L, 2)).extracting(Order::getId).containsExactly(6L);
+    }
+
+    @Test
+    void shouldStartFilteredPageAtCursorWithoutVisitingEarlierMatches() {
+        // Given - 1000 pedidos, todos PAID, do mesmo cliente, em 10 datas intercaladas
+        OrderIndex index = new OrderIndex();
+        for (long id = 1; id <= 1000; id++) {
+            Order order = new Order(id, "João Silva", BigDecimal.TEN, LocalDate.of(2024, 12, 1).plusDays(id % 10));
+            order.setStatus(OrderStatus.PAID);
+            index.onSave(order);
+        }
+        List<OrderQuery> queries = List.of(
+                new OrderQuery(OrderStatus.PAID, null, null, null),
+                new OrderQuery(null, null, null, "João Silva"),
+                new OrderQuery(null, LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 10), null));
+
+        for (OrderQuery query : queries) {
+            // When - página profunda: cursor em 900, limite 5
+            List<Long> visited = new ArrayList<>();
+            index.forEachCandidate(query, 900L, id -> {
+                visited.add(id);
+                return visited.size() < 5;
+            });
+
+            // Then - só os candidatos da página são visitados, em ordem de ID
+            assertThat(visited).containsExactly(901L, 902L, 903L, 904L, 905L);
+        }
+    }
+
+    @Test
+    void shouldPageFilteredQueryAcrossDatesInIdOrder() {
+        // Given
+        for (int i = 0; i < 9; i++) {
+            orderRepository.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.of(2024, 12, 1 + i % 3)));
+        }
+        OrderQuery range = new OrderQuery(null, LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 2), null);
+
+        // When
+        List<Order> first = orderRepository.findBy(range, 0L, 3);
+        List<Order> second = orderRepository.findBy(range, first.get(2).getId(), 3);
+
+        // Then
+        assertThat(first).extracting(Order::getId).containsExactly(1L, 2L, 4L);
+        assertThat(second).extracting(Order::getId).containsExactly(5L, 7L, 8L);
+        assertThat(orderRepository.findBy(range, 8L, 3)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepIdOrderForExplicitIds() {
+        // Given
+        orderRepository.save(new Order(30L, "C", BigDecimal.TEN, LocalDate.now()));
+        orderRepository.save(new Order(10L, "A", BigDecimal.TEN, LocalDate.now()));
+        orderRepository.save(new Order(20L, "B", BigDecimal.TEN, LocalDate.now()));
+        orderRepository.save(new Order(10L, "A2", BigDecimal.ONE, LocalDate.now()));
+
+        // When / Then
+        assertThat(orderRepository.findAll()).extracting(Order::getId).containsExactly(10L, 20L, 30L);
+        assertThat(orderRepository.findPage(10L, 10)).extracting(Order::getId).containsExactly(20L, 30L);
+    }
+
+    @Test
+    void shouldIncrementVersionOnEveryWrite() {
+        // Given
+        Order order = orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+
+        // When
+        order.setTotal(BigDecimal.ONE);
+        Order saved = orderRepository.save(order);
+        Order updated = orderRepository.update(order.getId(), current -> {
+            current.setStatus(OrderStatus.PAID);
+            return current;
+        }).orElseThrow();
+
+        // Then
+        assertThat(order.getVersion()).isEqualTo(1);
+        assertThat(saved.getVersion()).isEqualTo(2);
+        assertThat(updated.getVersion()).isEqualTo(3);
+        assertThat(updated.getTotal()).isEqualTo(BigDecimal.ONE);
+        assertThat(orderRepository.findById(order.getId())).get()
+                .extracting(Order::getStatus).isEqualTo(OrderStatus.PAID);
+    }
+
+    @Test
+    void shouldNotExposeStoredInstance() {
+        // Given
+        Order saved = orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+
+        // When - alterações sem save não afetam o repositório
+        saved.setTotal(BigDecimal.ZERO);
+        orderRepository.findById(saved.getId()).orElseThrow().setStatus(OrderStatus.CANCELLED);
+
+        // Then
+        Order found = orderRepository.findById(saved.getId()).orElseThrow();
+        assertThat(found.getTotal()).isEqualTo(BigDecimal.TEN);
+        assertThat(found.getStatus()).isEqualTo(OrderStatus.NEW);
+    }
+
+    @Test
+    void shouldReturnEmptyWhenUpdatingMissingOrder() {
+        assertThat(orderRepository.update(42L, current -> current)).isEmpty();
+        assertThat(orderRepository.update(null, current -> current)).isEmpty();
+    }
+
+    @Test
+    void shouldNotLoseConcurrentUpdates() throws InterruptedException {
+        // Given
+        Order order = orderRepository.save(new Order(null, "Hot", BigDecimal.ZERO, LocalDate.now()));
+        int numberOfThreads = 8;
+        int updatesPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+
+        // When
+        CompletableFuture<?>[] futures = new CompletableFuture[numberOfThreads];
+        for (int t = 0; t < numberOfThreads; t++) {
+            futures[t] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < updatesPerThread; i++) {
+                    while (true) {
+                        try {
+                            orderRepository.update(order.getId(), current -> {
+                                current.setTotal(current.getTotal().add(BigDecimal.ONE));
+                                return current;
+                            });
+                            break;
+                        } catch (ConcurrentUpdateException e) {
+                            // Conflito persistente: o chamador decide tentar de novo
+                        }
+                    }
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        Order found = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(found.getTotal()).isEqualTo(BigDecimal.valueOf(numberOfThreads * updatesPerThread));
+        assertThat(found.getVersion()).isEqualTo(numberOfThreads * updatesPerThread + 1L);
+    }
+
+    @Test
+    void shouldFailWithConflictWhenAlwaysLosingTheRace() {
+        // Given
+        Order order = orderRepository.save(new Order(null, "Hot", BigDecimal.TEN, LocalDate.now()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then - cada tentativa é atropelada por outra escrita
+        assertThatThrownBy(() -> orderRepository.update(order.getId(), current -> {
+            attempts.incrementAndGet();
+            orderRepository.save(new Order(current));
+            return current;
+        })).isInstanceOf(ConcurrentUpdateException.class);
+        assertThat(attempts.get()).isEqualTo(OrderRepository.MAX_UPDATE_ATTEMPTS);
+    }
+
+    @Test
+    void shouldNotRetryWhenTransitionFails() {
+        // Given
+        Order order = orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThatThrownBy(() -> orderRepository.update(order.getId(), current -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Transição inválida");
+        })).isInstanceOf(IllegalStateException.class).isNotInstanceOf(ConcurrentUpdateException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getVersion()).isEqualTo(1);
+    }
 }
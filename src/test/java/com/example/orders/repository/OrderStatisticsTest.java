@@ -0,0 +1,142 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para OrderStatistics
+ */
+class OrderStatisticsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 12, 15);
+
+    private InMemoryOrderRepository repository;
+    private OrderStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+        statistics = new OrderStatistics();
+        repository.addListener(statistics);
+    }
+
+    @Test
+    void shouldAggregateOverallByStatusAndByDay() {
+        // Given
+        repository.save(new Order(null, "Ana", new BigDecimal("10.00"), DAY));
+        repository.save(new Order(null, "Bruno", new BigDecimal("20.50"), DAY));
+        repository.save(new Order(null, "Carla", new BigDecimal("5.25"), DAY.plusDays(1)));
+
+        // When
+        OrderStatistics.Snapshot snapshot = statistics.snapshot();
+
+        // Then
+        assertThat(snapshot.overall()).isEqualTo(new OrderStatistics.Summary(3, 3575));
+        assertThat(snapshot.byStatus().get(OrderStatus.NEW).count()).isEqualTo(3);
+        assertThat(snapshot.byStatus().get(OrderStatus.FULFILLED).count()).isZero();
+        assertThat(snapshot.byDay()).containsOnlyKeys(DAY, DAY.plusDays(1));
+        assertThat(snapshot.byDay().get(DAY).total()).isEqualByComparingTo("30.50");
+    }
+
+    @Test
+    void shouldIncludeExistingOrdersWhenRegistered() {
+        // Given
+        repository.save(new Order(null, "Ana", new BigDecimal("10.00"), DAY));
+        OrderStatistics late = new OrderStatistics();
+
+        // When
+        repository.addListener(late);
+
+        // Then
+        assertThat(late.snapshot().overall()).isEqualTo(new OrderStatistics.Summary(1, 1000));
+    }
+
+    @Test
+    void shouldMoveOrderBetweenGroupsOnTransitions() {
+        // Given
+        Order order = repository.save(new Order(null, "Ana", new BigDecimal("100.00"), DAY));
+
+        // When: cupom de 10% e entrega
+        repository.update(order.getId(), current -> {
+            current.setTotal(new BigDecimal("90.00"));
+            return current;
+        });
+        repository.update(order.getId(), current -> {
+            current.setStatus(OrderStatus.FULFILLED);
+            return current;
+        });
+
+        // Then
+        OrderStatistics.Snapshot snapshot = statistics.snapshot();
+        assertThat(snapshot.overall()).isEqualTo(new OrderStatistics.Summary(1, 9000));
+        assertThat(snapshot.byStatus().get(OrderStatus.NEW)).isEqualTo(new OrderStatistics.Summary(0, 0));
+        assertThat(snapshot.byStatus().get(OrderStatus.FULFILLED)).isEqualTo(new OrderStatistics.Summary(1, 9000));
+        assertThat(snapshot.byDay().get(DAY)).isEqualTo(new OrderStatistics.Summary(1, 9000));
+    }
+
+    @Test
+    void shouldResetOnClear() {
+        // Given
+        repository.save(new Order(null, "Ana", new BigDecimal("10.00"), DAY));
+
+        // When
+        repository.clear();
+
+        // Then
+        assertThat(statistics.snapshot().overall()).isEqualTo(new OrderStatistics.Summary(0, 0));
+        assertThat(statistics.snapshot().byDay()).isEmpty();
+    }
+
+    @Test
+    void shouldStayConsistentUnderConcurrentTransitions() throws Exception {
+        // Given
+        int orders = 200;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            ids.add(repository.save(new Order(null, "Cliente " + i, new BigDecimal("100.00"), DAY.plusDays(i % 7))).getId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When: cada pedido recebe 8 descontos de 1.00 concorrentes e termina entregue
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (Long id : ids) {
+                    repository.update(id, current -> {
+                        current.setTotal(current.getTotal().subtract(BigDecimal.ONE));
+                        return current;
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        for (Long id : ids) {
+            repository.update(id, current -> {
+                current.setStatus(OrderStatus.FULFILLED);
+                return current;
+            });
+        }
+
+        // Then
+        OrderStatistics.Snapshot snapshot = statistics.snapshot();
+        assertThat(snapshot.overall()).isEqualTo(new OrderStatistics.Summary(orders, orders * 9200L));
+        assertThat(snapshot.byStatus().get(OrderStatus.FULFILLED)).isEqualTo(snapshot.overall());
+        assertThat(snapshot.byDay().values().stream().mapToLong(OrderStatistics.Summary::count).sum())
+                .isEqualTo(orders);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para ReactiveOrderRepository (adaptador reativo)
+ */
+class ReactiveOrderRepositoryTest {
+
+    private Scheduler scheduler;
+    private CountingRepository repository;
+    private ReactiveOrderRepository reactiveRepository;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Schedulers.newBoundedElastic(4, 100, "test-reactive");
+        repository = new CountingRepository();
+        reactiveRepository = new ReactiveOrderRepository(repository, scheduler, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void shouldSaveAndFindById() {
+        // Given
+        Order saved = reactiveRepository.save(order("Maria Santos")).block();
+
+        // When / Then
+        StepVerifier.create(reactiveRepository.findById(saved.getId()))
+                .assertNext(found -> assertThat(found.getCustomerName()).isEqualTo("Maria Santos"))
+                .verifyComplete();
+        StepVerifier.create(reactiveRepository.findById(999L))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRunRepositoryCallsOnScheduler() {
+        // When
+        reactiveRepository.findById(1L).block();
+
+        // Then
+        assertThat(repository.lastThread).startsWith("test-reactive");
+    }
+
+    @Test
+    void shouldUpdateAndCompleteEmptyWhenMissing() {
+        // Given
+        Order saved = reactiveRepository.save(order("João Silva")).block();
+
+        // When / Then
+        StepVerifier.create(reactiveRepository.update(saved.getId(), order -> {
+            order.setStatus(OrderStatus.PAID);
+            return order;
+        }))
+                .assertNext(updated -> assertThat(updated.getStatus()).isEqualTo(OrderStatus.PAID))
+                .verifyComplete();
+        StepVerifier.create(reactiveRepository.update(999L, order -> order))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStreamQueryInIdOrder() {
+        // Given
+        for (int i = 0; i < 25; i++) {
+            repository.save(order(i % 2 == 0 ? "Ana" : "Bruno"));
+        }
+
+        // When / Then
+        StepVerifier.create(reactiveRepository.findBy(new OrderQuery(null, null, null, "Ana")).map(Order::getId))
+                .expectNextSequence(List.of(1L, 3L, 5L, 7L, 9L, 11L, 13L, 15L, 17L, 19L, 21L, 23L, 25L))
+                .verifyComplete();
+        StepVerifier.create(reactiveRepository.findBy(new OrderQuery(null, null, null, "Carla")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReadPagesOnDemand() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            repository.save(order("Cliente " + i));
+        }
+        repository.pageReads.set(0);
+
+        // When / Then: uma página de 10 atende aos 5 primeiros pedidos
+        StepVerifier.create(reactiveRepository.findBy(OrderQuery.all()), 5)
+                .expectNextCount(5)
+                .then(() -> assertThat(repository.pageReads).hasValue(1))
+                .thenRequest(10)
+                .expectNextCount(10)
+                .then(() -> assertThat(repository.pageReads).hasValue(2))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void shouldRejectInvalidPageSize() {
+        assertThatThrownBy(() -> new ReactiveOrderRepository(repository, scheduler, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Order order(String customer) {
+        Order order = new Order();
+        order.setCustomerName(customer);
+        order.setTotal(new BigDecimal("100.50"));
+        order.setOrderDate(LocalDate.of(2024, 1, 15));
+        order.setStatus(OrderStatus.NEW);
+        return order;
+    }
+
+    /**
+     * Repositório em memória que conta as páginas lidas e registra a thread chamadora
+     */
+    private static final class CountingRepository extends InMemoryOrderRepository {
+        final AtomicInteger pageReads = new AtomicInteger();
+        volatile String lastThread;
+
+        @Override
+        public Optional<Order> findById(Long id) {
+            lastThread = Thread.currentThread().getName();
+            return super.findById(id);
+        }
+
+        @Override
+        public List<Order> findBy(OrderQuery query, long afterId, int limit) {
+            pageReads.incrementAndGet();
+            return super.findBy(query, afterId, limit);
+        }
+    }
+}
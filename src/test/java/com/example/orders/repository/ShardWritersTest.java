@@ -0,0 +1,76 @@
+package com.example.orders.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para ShardWriters
+ */
+class ShardWritersTest {
+
+    private final ShardWriters writers = new ShardWriters(4);
+
+    @AfterEach
+    void tearDown() {
+        writers.close();
+    }
+
+    @Test
+    void shouldRunEachShardOnItsOwnSingleThread() {
+        // Given
+        Set<String> shard0 = ConcurrentHashMap.newKeySet();
+        Set<String> shard1 = ConcurrentHashMap.newKeySet();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            writers.execute(0, () -> shard0.add(Thread.currentThread().getName()));
+            writers.execute(1, () -> shard1.add(Thread.currentThread().getName()));
+        }
+
+        // Then
+        assertThat(shard0).containsExactly("order-shard-0");
+        assertThat(shard1).containsExactly("order-shard-1");
+    }
+
+    @Test
+    void shouldReturnResultAndPropagateExceptions() {
+        assertThat(writers.execute(2, () -> 42)).isEqualTo(42);
+        assertThatThrownBy(() -> writers.execute(2, () -> {
+            throw new IllegalStateException("falha na tarefa");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("falha na tarefa");
+    }
+
+    @Test
+    void shouldRunNestedCallFromSameShardInline() {
+        // When
+        String name = writers.execute(3, () -> writers.execute(3, () -> Thread.currentThread().getName()));
+
+        // Then
+        assertThat(name).isEqualTo("order-shard-3");
+    }
+
+    @Test
+    void shouldRejectTasksAfterClose() {
+        // When
+        writers.close();
+
+        // Then
+        assertThatThrownBy(() -> writers.execute(0, () -> 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldDefaultToOneShardPerProcessor() {
+        ShardWriters defaults = new ShardWriters(0);
+        try {
+            assertThat(defaults.count()).isEqualTo(Runtime.getRuntime().availableProcessors());
+        } finally {
+            defaults.close();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do OrderRepository no modo particionado (shards com escritor único)
+ */
+class ShardedOrderRepositoryTest {
+
+    private static final int SHARDS = 4;
+
+    private final ShardWriters writers = new ShardWriters(SHARDS);
+    private final InMemoryOrderRepository repository = new InMemoryOrderRepository(null, null, writers);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        writers.close();
+    }
+
+    @Test
+    void shouldAllocateIdsFromEachShardRange() {
+        // When
+        List<Order> saved = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            saved.add(repository.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.now())));
+        }
+
+        // Then
+        assertThat(repository.shardCount()).isEqualTo(SHARDS);
+        assertThat(saved).extracting(Order::getId).doesNotHaveDuplicates();
+        for (Order order : saved) {
+            assertThat(repository.findById(order.getId())).get()
+                    .extracting(Order::getCustomerName).isEqualTo(order.getCustomerName());
+        }
+        assertThat(repository.findAll()).extracting(Order::getId).isSorted().hasSize(40);
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsUnderConcurrency() {
+        // Given
+        int numberOfThreads = 8;
+        int ordersPerThread = 500;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+
+        // When
+        CompletableFuture<?>[] futures = new CompletableFuture[numberOfThreads];
+        for (int t = 0; t < numberOfThreads; t++) {
+            futures[t] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < ordersPerThread; i++) {
+                    ids.add(repository.save(new Order(null, "C", BigDecimal.ONE, LocalDate.now())).getId());
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        executor.shutdown();
+
+        // Then
+        assertThat(ids).hasSize(numberOfThreads * ordersPerThread);
+        assertThat(repository.size()).isEqualTo(numberOfThreads * ordersPerThread);
+    }
+
+    @Test
+    void shouldApplyTransitionsOnOwningShard() {
+        // Given
+        Order order = repository.save(new Order(null, "Hot", BigDecimal.ZERO, LocalDate.now()));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        CompletableFuture<?>[] futures = new CompletableFuture[1000];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> repository.update(order.getId(), current -> {
+                current.setTotal(current.getTotal().add(BigDecimal.ONE));
+                return current;
+            }), executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        executor.shutdown();
+
+        // Then
+        Order found = repository.findById(order.getId()).orElseThrow();
+        assertThat(found.getTotal()).isEqualTo(BigDecimal.valueOf(1000));
+        assertThat(found.getVersion()).isEqualTo(1001);
+    }
+
+    @Test
+    void shouldPropagateTransitionFailure() {
+        // Given
+        Order order = repository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.update(order.getId(), current -> {
+            throw new IllegalStateException("Pedido deve estar pago");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(repository.update(999L, current -> current)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepIndexesInSync() {
+        // Given
+        Order order = repository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+
+        // When
+        repository.update(order.getId(), current -> {
+            current.setStatus(OrderStatus.PAID);
+            return current;
+        });
+
+        // Then
+        assertThat(repository.findBy(new OrderQuery(OrderStatus.PAID, null, null, null)))
+                .extracting(Order::getId).containsExactly(order.getId());
+    }
+
+    @Test
+    void shouldRecoverIntoShardsAndContinueIdRanges() throws IOException {
+        // Given
+        Path directory = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, Duration.ofMillis(1))) {
+            InMemoryOrderRepository persistent = new InMemoryOrderRepository(log, null, writers);
+            for (int i = 0; i < 20; i++) {
+                persistent.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.now()));
+            }
+        }
+
+        // When
+        ShardWriters restarted = new ShardWriters(SHARDS);
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, Duration.ofMillis(1))) {
+            InMemoryOrderRepository recovered = new InMemoryOrderRepository(log, null, restarted);
+            Set<Long> before = Set.copyOf(recovered.findAll().stream().map(Order::getId).toList());
+            Order next = recovered.save(new Order(null, "Novo", BigDecimal.ONE, LocalDate.now()));
+
+            // Then
+            assertThat(before).hasSize(20);
+            assertThat(before).doesNotContain(next.getId());
+            assertThat(recovered.size()).isEqualTo(21);
+        } finally {
+            restarted.close();
+        }
+    }
+}
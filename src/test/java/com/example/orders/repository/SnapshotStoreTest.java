@@ -0,0 +1,152 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para SnapshotStore e para a recuperação via snapshot + WAL
+ */
+class SnapshotStoreTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldWriteAndLoadSnapshot() throws IOException {
+        // Given
+        SnapshotStore store = new SnapshotStore(tempDir);
+        Order paid = new Order(2L, "Maria Santos", new BigDecimal("250.75"), LocalDate.of(2024, 12, 16));
+        paid.setStatus(OrderStatus.PAID);
+        List<Order> orders = List.of(
+                new Order(1L, "João Silva", new BigDecimal("100.50"), LocalDate.of(2024, 12, 15)),
+                paid);
+
+        // When
+        store.write(3L, 7L, orders.iterator());
+        List<Order> loaded = new ArrayList<>();
+        Optional<SnapshotStore.Snapshot> snapshot = store.load(loaded::add);
+
+        // Then
+        assertThat(snapshot).contains(new SnapshotStore.Snapshot(3L, 7L, 2L));
+        assertThat(loaded).extracting(Order::getId).containsExactly(1L, 2L);
+        assertThat(loaded.get(1).getCustomerName()).isEqualTo("Maria Santos");
+        assertThat(loaded.get(1).getTotal()).isEqualTo(new BigDecimal("250.75"));
+        assertThat(loaded.get(1).getOrderDate()).isEqualTo(LocalDate.of(2024, 12, 16));
+        assertThat(loaded.get(1).getStatus()).isEqualTo(OrderStatus.PAID);
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoSnapshotExists() throws IOException {
+        // When
+        Optional<SnapshotStore.Snapshot> snapshot = new SnapshotStore(tempDir).load(order -> {
+        });
+
+        // Then
+        assertThat(snapshot).isEmpty();
+    }
+
+    @Test
+    void shouldWriteEmptySnapshot() throws IOException {
+        // Given
+        SnapshotStore store = new SnapshotStore(tempDir);
+
+        // When
+        store.write(1L, 1L, List.<Order>of().iterator());
+
+        // Then
+        assertThat(store.load(order -> {
+        })).contains(new SnapshotStore.Snapshot(1L, 1L, 0L));
+    }
+
+    @Test
+    void shouldReplaceSnapshotAtomically() throws IOException {
+        // Given
+        SnapshotStore store = new SnapshotStore(tempDir);
+        store.write(2L, 1L, List.of(new Order(1L, "Antigo", BigDecimal.ONE, LocalDate.now())).iterator());
+
+        // When
+        store.write(3L, 2L, List.of(new Order(2L, "Novo", BigDecimal.TEN, LocalDate.now())).iterator());
+
+        // Then
+        List<Order> loaded = new ArrayList<>();
+        store.load(loaded::add);
+        assertThat(loaded).extracting(Order::getCustomerName).containsExactly("Novo");
+        assertThat(Files.exists(tempDir.resolve("orders.snapshot.tmp"))).isFalse();
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        // Given
+        SnapshotStore store = new SnapshotStore(tempDir);
+        store.write(3L, 1L, LongStream.rangeClosed(1, 2)
+                .mapToObj(id -> new Order(id, "Cliente " + id, BigDecimal.TEN, LocalDate.now()))
+                .iterator());
+        Path file = tempDir.resolve("orders.snapshot");
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(content, content.length - 5));
+
+        // When/Then
+        assertThatThrownBy(() -> store.load(order -> {
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Snapshot corrompido");
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotPlusLogTail() throws IOException {
+        // Given - snapshot seguido de novas escritas no WAL
+        Path directory = tempDir.resolve("data");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            InMemoryOrderRepository repository = new InMemoryOrderRepository(log, new SnapshotStore(directory));
+            for (int i = 0; i < 10; i++) {
+                repository.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.now()));
+            }
+            assertThat(repository.snapshot()).get()
+                    .extracting(SnapshotStore.Snapshot::orders).isEqualTo(10L);
+
+            Order updated = repository.findById(3L).orElseThrow();
+            updated.setStatus(OrderStatus.PAID);
+            repository.save(updated);
+            repository.save(new Order(null, "Depois do snapshot", BigDecimal.ONE, LocalDate.now()));
+        }
+
+        // When
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            InMemoryOrderRepository recovered = new InMemoryOrderRepository(log, new SnapshotStore(directory));
+
+            // Then
+            assertThat(recovered.findAll()).hasSize(11);
+            assertThat(recovered.findById(3L)).get().extracting(Order::getStatus).isEqualTo(OrderStatus.PAID);
+            assertThat(recovered.findById(11L)).get()
+                    .extracting(Order::getCustomerName).isEqualTo("Depois do snapshot");
+            assertThat(recovered.save(new Order(null, "Próximo", BigDecimal.ONE, LocalDate.now())).getId())
+                    .isEqualTo(12L);
+        }
+        // Segmentos cobertos pelo snapshot foram apagados
+        assertThat(Files.exists(directory.resolve("orders-0000000001.wal"))).isFalse();
+    }
+
+    @Test
+    void shouldSkipSnapshotWhenPersistenceIsDisabled() {
+        // When/Then
+        assertThat(new InMemoryOrderRepository().snapshot()).isEmpty();
+    }
+}
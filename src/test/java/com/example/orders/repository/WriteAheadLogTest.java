@@ -0,0 +1,312 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para WriteAheadLog e para a recuperação do OrderRepository
+ */
+class WriteAheadLogTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(1);
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(DurabilityMode.class)
+    void shouldReplayAppendedOrders(DurabilityMode mode) throws IOException {
+        // Given
+        Path directory = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, mode, FLUSH_INTERVAL)) {
+            append(log, order(1L, "João Silva", "100.50", OrderStatus.NEW));
+            append(log, order(2L, "Maria Santos", "250.75", OrderStatus.PAID));
+        }
+
+        // When
+        List<Order> replayed = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, mode, FLUSH_INTERVAL)) {
+            long records = log.replay(replayed::add);
+
+            // Then
+            assertThat(records).isEqualTo(2);
+        }
+        assertThat(replayed).extracting(Order::getId).containsExactly(1L, 2L);
+        assertThat(replayed.get(1).getCustomerName()).isEqualTo("Maria Santos");
+        assertThat(replayed.get(1).getTotal()).isEqualTo(new BigDecimal("250.75"));
+        assertThat(replayed.get(1).getOrderDate()).isEqualTo(LocalDate.of(2024, 12, 15));
+        assertThat(replayed.get(1).getStatus()).isEqualTo(OrderStatus.PAID);
+    }
+
+    @Test
+    void shouldPreserveNullFields() throws IOException {
+        // Given
+        Path directory = tempDir.resolve("wal");
+        Order order = new Order();
+        order.setId(7L);
+        order.setStatus(null);
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            append(log, order);
+        }
+
+        // When
+        List<Order> replayed = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            log.replay(replayed::add);
+        }
+
+        // Then
+        assertThat(replayed).hasSize(1);
+        assertThat(replayed.get(0).getId()).isEqualTo(7L);
+        assertThat(replayed.get(0).getCustomerName()).isNull();
+        assertThat(replayed.get(0).getTotal()).isNull();
+        assertThat(replayed.get(0).getOrderDate()).isNull();
+        assertThat(replayed.get(0).getStatus()).isNull();
+    }
+
+    @Test
+    void shouldDiscardTornTailOnReplay() throws IOException {
+        // Given - log com um registro completo seguido de uma escrita interrompida
+        Path directory = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            append(log, order(1L, "Cliente 1", "10.00", OrderStatus.NEW));
+        }
+        Path segment = directory.resolve("orders-0000000001.wal");
+        long validSize = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        // When
+        List<Order> replayed = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            log.replay(replayed::add);
+            append(log, order(2L, "Cliente 2", "20.00", OrderStatus.NEW));
+        }
+
+        // Then - a cauda foi descartada e novos registros continuam legíveis
+        assertThat(replayed).extracting(Order::getId).containsExactly(1L);
+        assertThat(Files.size(segment)).isGreaterThan(validSize);
+
+        List<Order> afterRestart = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            log.replay(afterRestart::add);
+        }
+        assertThat(afterRestart).extracting(Order::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldRejectFileWithoutHeader() throws IOException {
+        // Given
+        Path directory = tempDir.resolve("wal");
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("orders-0000000001.wal"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // When/Then
+        assertThatThrownBy(() -> WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Arquivo não é um WAL de pedidos");
+    }
+
+    @Test
+    void shouldRejectAppendAfterClose() throws IOException {
+        // Given
+        WriteAheadLog log = WriteAheadLog.open(tempDir.resolve("wal"), DurabilityMode.SYNC, FLUSH_INTERVAL);
+        log.close();
+
+        // When/Then
+        assertThatThrownBy(() -> append(log, order(1L, "Cliente", "10.00", OrderStatus.NEW)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(DurabilityMode.class)
+    void shouldRecoverRepositoryAfterRestart(DurabilityMode mode) throws Exception {
+        // Given - múltiplas threads gravando pedidos concorrentemente
+        Path directory = tempDir.resolve("wal");
+        final int numberOfThreads = 8;
+        final int ordersPerThread = 50;
+        try (WriteAheadLog log = WriteAheadLog.open(directory, mode, FLUSH_INTERVAL)) {
+            InMemoryOrderRepository repository = new InMemoryOrderRepository(log);
+            ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+            CompletableFuture<?>[] futures = new CompletableFuture[numberOfThreads];
+            for (int i = 0; i < numberOfThreads; i++) {
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    for (int j = 0; j < ordersPerThread; j++) {
+                        repository.save(new Order(null, "Cliente", BigDecimal.TEN, LocalDate.now()));
+                    }
+                }, executorService);
+            }
+            CompletableFuture.allOf(futures).get();
+            executorService.shutdown();
+            executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+            Order updated = repository.findById(1L).orElseThrow();
+            updated.setStatus(OrderStatus.PAID);
+            repository.save(updated);
+        }
+
+        // When
+        try (WriteAheadLog log = WriteAheadLog.open(directory, mode, FLUSH_INTERVAL)) {
+            InMemoryOrderRepository recovered = new InMemoryOrderRepository(log);
+
+            // Then - mapa e sequência reconstruídos
+            assertThat(recovered.findAll()).hasSize(numberOfThreads * ordersPerThread);
+            assertThat(recovered.findById(1L)).get().extracting(Order::getStatus).isEqualTo(OrderStatus.PAID);
+            Order next = recovered.save(new Order(null, "Novo Cliente", BigDecimal.ONE, LocalDate.now()));
+            assertThat(next.getId()).isEqualTo(numberOfThreads * ordersPerThread + 1L);
+        }
+    }
+
+    @Test
+    void shouldTruncateLogWhenRepositoryIsCleared() throws IOException {
+        // Given
+        Path directory = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            InMemoryOrderRepository repository = new InMemoryOrderRepository(log);
+            repository.save(new Order(null, "Cliente", BigDecimal.TEN, LocalDate.now()));
+
+            // When
+            repository.clear();
+        }
+
+        // Then
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            assertThat(new InMemoryOrderRepository(log).findAll()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldReplayOnlySegmentsFromGivenGeneration() throws IOException {
+        // Given
+        Path directory = tempDir.resolve("wal");
+        long generation;
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            append(log, order(1L, "Cliente 1", "10.00", OrderStatus.NEW));
+            generation = log.rotate();
+            append(log, order(2L, "Cliente 2", "20.00", OrderStatus.NEW));
+        }
+
+        // When
+        List<Order> all = new ArrayList<>();
+        List<Order> fromRotation = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            log.replay(all::add);
+            log.replay(generation, fromRotation::add);
+
+            // Then - novos registros continuam no segmento mais recente
+            assertThat(log.getGeneration()).isEqualTo(generation);
+        }
+        assertThat(all).extracting(Order::getId).containsExactly(1L, 2L);
+        assertThat(fromRotation).extracting(Order::getId).containsExactly(2L);
+    }
+
+    @Test
+    void shouldDeleteSegmentsBeforeGeneration() throws IOException {
+        // Given
+        Path directory = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            append(log, order(1L, "Cliente 1", "10.00", OrderStatus.NEW));
+            long generation = log.rotate();
+
+            // When
+            log.deleteSegmentsBefore(generation);
+        }
+
+        // Then
+        assertThat(Files.exists(directory.resolve("orders-0000000001.wal"))).isFalse();
+        assertThat(Files.exists(directory.resolve("orders-0000000002.wal"))).isTrue();
+    }
+
+    @Test
+    void shouldKeepHighestVersionOnRecovery() throws IOException {
+        // Given - versões gravadas fora de ordem por escritores concorrentes
+        Path directory = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            Order newer = order(1L, "Cliente", "80.00", OrderStatus.PAID);
+            newer.setVersion(3);
+            Order older = order(1L, "Cliente", "90.00", OrderStatus.NEW);
+            older.setVersion(2);
+            append(log, newer);
+            append(log, older);
+        }
+
+        // When
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            Order recovered = new InMemoryOrderRepository(log).findById(1L).orElseThrow();
+
+            // Then
+            assertThat(recovered.getVersion()).isEqualTo(3);
+            assertThat(recovered.getTotal()).isEqualTo(new BigDecimal("80.00"));
+            assertThat(recovered.getStatus()).isEqualTo(OrderStatus.PAID);
+        }
+    }
+
+    @Test
+    void shouldDeferDurabilityUntilEndOfGroupCommit() throws IOException {
+        // Given: modo SYNC, em que cada append grava o disco antes de retornar
+        Path directory = tempDir.resolve("wal");
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            OrderRepository repository = new InMemoryOrderRepository(log);
+            Path segment = directory.resolve("orders-0000000001.wal");
+            long before = Files.size(segment);
+            long[] during = new long[1];
+
+            // When
+            repository.groupCommit(() -> {
+                Order saved = repository.save(order(null, "João Silva", "100.50", OrderStatus.NEW));
+                repository.update(saved.getId(), order -> {
+                    order.setStatus(OrderStatus.PAID);
+                    return order;
+                });
+                try {
+                    during[0] = Files.size(segment);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // Then
+            assertThat(during[0]).isEqualTo(before);
+            assertThat(Files.size(segment)).isGreaterThan(before);
+        }
+        List<Order> replayed = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(directory, DurabilityMode.SYNC, FLUSH_INTERVAL)) {
+            log.replay(replayed::add);
+        }
+        assertThat(replayed).extracting(Order::getStatus).containsExactly(OrderStatus.NEW, OrderStatus.PAID);
+    }
+
+    private static void append(WriteAheadLog log, Order order) {
+        log.append(order);
+    }
+
+    private static Order order(Long id, String customer, String total, OrderStatus status) {
+        Order order = new Order(id, customer, new BigDecimal(total), LocalDate.of(2024, 12, 15));
+        order.setStatus(status);
+        return order;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.orders.service;
+
+import com.example.orders.model.CouponQuota;
+import com.example.orders.repository.CouponRedemptionLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para CouponRedemptions (cotas com contadores em faixas)
+ */
+class CouponRedemptionsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldNeverExceedGlobalLimitUnderContention() throws Exception {
+        // Given: 128 threads disputando 1000 resgates de um único cupom
+        CouponRedemptions redemptions = new CouponRedemptions();
+        CouponQuota quota = new CouponQuota(1_000, 0);
+        int threads = 128;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    if (redemptions.tryRedeem("FLASH", quota, "Cliente " + thread)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(accepted.get()).isEqualTo(1_000);
+        assertThat(redemptions.redeemed("FLASH")).isEqualTo(1_000);
+    }
+
+    @Test
+    void shouldEnforcePerCustomerLimitWithoutConsumingGlobalQuota() {
+        // Given
+        CouponRedemptions redemptions = new CouponRedemptions();
+        CouponQuota quota = new CouponQuota(10, 2);
+
+        // When
+        boolean first = redemptions.tryRedeem("BEMVINDO", quota, "Ana");
+        boolean second = redemptions.tryRedeem("BEMVINDO", quota, "Ana");
+        boolean third = redemptions.tryRedeem("BEMVINDO", quota, "Ana");
+        boolean other = redemptions.tryRedeem("BEMVINDO", quota, "Bruno");
+
+        // Then
+        assertThat(List.of(first, second, third, other)).containsExactly(true, true, false, true);
+        assertThat(redemptions.redeemed("BEMVINDO")).isEqualTo(3);
+        assertThat(redemptions.redeemed("BEMVINDO", "Ana")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnReleasedRedemptionToQuota() {
+        // Given
+        CouponRedemptions redemptions = new CouponRedemptions();
+        CouponQuota quota = new CouponQuota(1, 1);
+        assertThat(redemptions.tryRedeem("UNICO", quota, "Ana")).isTrue();
+
+        // When
+        redemptions.release("UNICO", quota, "Ana");
+
+        // Then
+        assertThat(redemptions.redeemed("UNICO")).isZero();
+        assertThat(redemptions.tryRedeem("UNICO", quota, "Ana")).isTrue();
+        assertThat(redemptions.tryRedeem("UNICO", quota, "Bruno")).isFalse();
+    }
+
+    @Test
+    void shouldApplyReloadedLimitImmediately() {
+        // Given
+        CouponRedemptions redemptions = new CouponRedemptions();
+        for (int i = 0; i < 5; i++) {
+            assertThat(redemptions.tryRedeem("CAMPANHA", new CouponQuota(100, 0), "Cliente " + i)).isTrue();
+        }
+
+        // When: a cota é reduzida para abaixo do já resgatado e depois ampliada
+        boolean afterReduce = redemptions.tryRedeem("CAMPANHA", new CouponQuota(5, 0), "Cliente");
+        boolean afterRaise = redemptions.tryRedeem("CAMPANHA", new CouponQuota(6, 0), "Cliente");
+        boolean beyondRaise = redemptions.tryRedeem("CAMPANHA", new CouponQuota(6, 0), "Cliente");
+
+        // Then
+        assertThat(List.of(afterReduce, afterRaise, beyondRaise)).containsExactly(false, true, false);
+    }
+
+    @Test
+    void shouldRestoreExactCountsAfterCleanShutdown() throws Exception {
+        // Given
+        CouponQuota quota = new CouponQuota(1_000, 1);
+        CouponRedemptions redemptions = new CouponRedemptions(CouponRedemptionLog.open(directory));
+        for (int i = 0; i < 7; i++) {
+            redemptions.tryRedeem("NATAL", quota, "Cliente " + i);
+        }
+        redemptions.close();
+
+        // When
+        CouponRedemptions restarted = new CouponRedemptions(CouponRedemptionLog.open(directory));
+
+        // Then
+        assertThat(restarted.redeemed("NATAL")).isEqualTo(7);
+        assertThat(restarted.redeemed("NATAL", "Cliente 3")).isEqualTo(1);
+        assertThat(restarted.tryRedeem("NATAL", quota, "Cliente 3")).isFalse();
+        restarted.close();
+    }
+
+    @Test
+    void shouldNeverOverRedeemAfterCrash() throws Exception {
+        // Given: resgates sem encerramento (apenas o log aberto é abandonado)
+        CouponQuota quota = new CouponQuota(10_000, 0);
+        CouponRedemptionLog log = CouponRedemptionLog.open(directory);
+        CouponRedemptions redemptions = new CouponRedemptions(log);
+        for (int i = 0; i < 500; i++) {
+            redemptions.tryRedeem("RELAMPAGO", quota, "Cliente");
+        }
+        log.close();
+
+        // When
+        CouponRedemptions restarted = new CouponRedemptions(CouponRedemptionLog.open(directory));
+        int accepted = 0;
+        while (restarted.tryRedeem("RELAMPAGO", quota, "Cliente")) {
+            accepted++;
+        }
+
+        // Then: reservas não usadas podem se perder, resgates nunca se repetem
+        assertThat(restarted.redeemed("RELAMPAGO")).isEqualTo(10_000);
+        assertThat(accepted).isLessThanOrEqualTo(10_000 - 500);
+        restarted.close();
+    }
+}
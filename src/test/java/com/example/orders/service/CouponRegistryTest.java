@@ -0,0 +1,175 @@
+package com.example.orders.service;
+
+import com.example.orders.model.CouponQuota;
+import com.example.orders.model.CouponRule;
+import com.example.orders.model.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para CouponRegistry (regras compiladas e recarga do arquivo)
+ */
+class CouponRegistryTest {
+
+    private static final BigDecimal TOTAL = new BigDecimal("200.00");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldResolveBuiltInCoupons() {
+        // Given
+        CouponRegistry registry = new CouponRegistry();
+
+        // When / Then
+        assertThat(discount(registry, "OFF10")).isEqualTo(new BigDecimal("20.00"));
+        assertThat(discount(registry, "OFF05")).isEqualByComparingTo("10.00");
+        assertThat(discount(registry, "VALOR15.50")).isEqualByComparingTo("15.50");
+        assertThat(discount(registry, "VALOR500")).isEqualByComparingTo("200.00");
+        assertThat(registry.find("OFF10")).containsSame(registry.find("OFF10").orElseThrow());
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownOrMalformedCodes() {
+        // Given
+        CouponRegistry registry = new CouponRegistry();
+
+        // When / Then
+        for (String code : new String[] { null, "XYZ", "OFF", "OFF101", "OFF-5", "OFF1x", "VALOR", "VALOR-5",
+                "VALOR1e3", "VALOR1.2.3", "VALOR.5", "VALOR5.", "VALOR99999999999999999999" }) {
+            assertThat(registry.find(code)).as(code).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldLoadNamedCouponsFromFile() throws IOException {
+        // Given
+        Path file = directory.resolve("coupons.properties");
+        Files.writeString(file, "# cupons da campanha\nBLACKFRIDAY=OFF30\nFRETE=VALOR15.00\n");
+
+        // When
+        try (CouponRegistry registry = new CouponRegistry(file, false)) {
+
+            // Then
+            assertThat(registry.namedCount()).isEqualTo(2);
+            assertThat(discount(registry, "BLACKFRIDAY")).isEqualTo(new BigDecimal("60.00"));
+            assertThat(discount(registry, "FRETE")).isEqualByComparingTo("15.00");
+            assertThat(discount(registry, "OFF10")).isEqualByComparingTo("20.00");
+        }
+    }
+
+    @Test
+    void shouldCompileRedemptionQuotas() throws IOException {
+        // Given
+        Path file = directory.resolve("coupons.properties");
+        Files.writeString(file, "FLASH=OFF50;limit=1000\nBEMVINDO=VALOR10; per-customer=1 ;limit=50\nLIVRE=OFF5\n");
+
+        // When
+        try (CouponRegistry registry = new CouponRegistry(file, false)) {
+
+            // Then
+            assertThat(registry.quota("FLASH")).isEqualTo(new CouponQuota(1_000, 0));
+            assertThat(registry.quota("BEMVINDO")).isEqualTo(new CouponQuota(50, 1));
+            assertThat(registry.quota("LIVRE")).isNull();
+            assertThat(registry.quota("OFF10")).isNull();
+            assertThat(discount(registry, "FLASH")).isEqualByComparingTo("100.00");
+        }
+    }
+
+    @Test
+    void shouldApplyConfiguredRoundingToPercentages() throws IOException {
+        // Given
+        Path file = directory.resolve("coupons.properties");
+        Files.writeString(file, "ARREDONDA=OFF15;rounding=DOWN\n");
+
+        // When
+        try (CouponRegistry registry = new CouponRegistry(file, false)) {
+            Money total = Money.of(new BigDecimal("33.33"));
+
+            // Then
+            assertThat(registry.find("ARREDONDA").orElseThrow().apply(total).toBigDecimal())
+                    .isEqualTo(new BigDecimal("28.34"));
+            assertThat(registry.find("OFF15").orElseThrow().apply(total).toBigDecimal())
+                    .isEqualTo(new BigDecimal("28.33"));
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidOptions() throws IOException {
+        Path file = directory.resolve("coupons.properties");
+        for (String definition : new String[] { "OFF50;limit=-1", "OFF50;limit=0", "OFF50;frete=1",
+                "OFF50;rounding=UNNECESSARY", "OFF50;rounding=half_up", "VALOR10;rounding=HALF_UP" }) {
+            // Given
+            Files.writeString(file, "FLASH=" + definition + "\n");
+
+            // When / Then
+            assertThatThrownBy(() -> new CouponRegistry(file, false)).as(definition)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldKeepPreviousRulesWhenReloadedFileIsInvalid() throws IOException {
+        // Given
+        Path file = directory.resolve("coupons.properties");
+        Files.writeString(file, "BEMVINDO=OFF15\n");
+        try (CouponRegistry registry = new CouponRegistry(file, false)) {
+
+            // When
+            Files.writeString(file, "BEMVINDO=OFF20\nQUEBRADO=GRATIS\n");
+            boolean reloaded = registry.reload();
+
+            // Then
+            assertThat(reloaded).isFalse();
+            assertThat(discount(registry, "BEMVINDO")).isEqualByComparingTo("30.00");
+            assertThat(registry.find("QUEBRADO")).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidFileAtStartup() throws IOException {
+        // Given
+        Path file = directory.resolve("coupons.properties");
+        Files.writeString(file, "QUEBRADO=OFF200\n");
+
+        // When / Then
+        assertThatThrownBy(() -> new CouponRegistry(file, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSwapRulesWhenWatchedFileChanges() throws Exception {
+        // Given
+        Path file = directory.resolve("coupons.properties");
+        try (CouponRegistry registry = new CouponRegistry(file, true)) {
+            assertThat(registry.find("NATAL")).isEmpty();
+
+            // When
+            Path staged = directory.resolve("coupons.tmp");
+            Files.writeString(staged, "NATAL=OFF25\n");
+            Files.move(staged, file);
+
+            // Then
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (registry.find("NATAL").isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(discount(registry, "NATAL")).isEqualByComparingTo("50.00");
+        }
+    }
+
+    private static BigDecimal discount(CouponRegistry registry, String code) {
+        Optional<CouponRule> rule = registry.find(code);
+        assertThat(rule).as(code).isPresent();
+        return rule.get().discount(Money.of(TOTAL)).toBigDecimal();
+    }
+}
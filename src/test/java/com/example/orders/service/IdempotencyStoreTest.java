@@ -0,0 +1,173 @@
+package com.example.orders.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para IdempotencyStore
+ */
+class IdempotencyStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldReturnOriginalResultForRepeatedKey() {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(Duration.ofMinutes(1), 10, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        String first = store.execute("chave-1", () -> "pedido-" + executions.incrementAndGet());
+        String second = store.execute("chave-1", () -> "pedido-" + executions.incrementAndGet());
+        String other = store.execute("chave-2", () -> "pedido-" + executions.incrementAndGet());
+
+        // Then
+        assertThat(first).isEqualTo("pedido-1");
+        assertThat(second).isEqualTo("pedido-1");
+        assertThat(other).isEqualTo("pedido-2");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void shouldCollapseConcurrentDuplicates() throws Exception {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(Duration.ofMinutes(1), 10);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            results.add(CompletableFuture.supplyAsync(() -> store.execute("chave", () -> {
+                executions.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "pedido";
+            }), executor));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+        executor.shutdown();
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isEqualTo("pedido"));
+    }
+
+    @Test
+    void shouldExecuteAgainAfterTtl() {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(Duration.ofSeconds(10), 10, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        store.execute("chave", () -> "pedido-" + executions.incrementAndGet());
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        String withinTtl = store.execute("chave", () -> "pedido-" + executions.incrementAndGet());
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        String afterTtl = store.execute("chave", () -> "pedido-" + executions.incrementAndGet());
+
+        // Then
+        assertThat(withinTtl).isEqualTo("pedido-1");
+        assertThat(afterTtl).isEqualTo("pedido-2");
+    }
+
+    @Test
+    void shouldStayBoundedByCount() {
+        // Given
+        IdempotencyStore<Integer> store = new IdempotencyStore<>(Duration.ofHours(1), 100, clock::get);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            int value = i;
+            store.execute("chave-" + i, () -> value);
+        }
+
+        // Then
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(store.execute("chave-999", () -> -1)).isEqualTo(999);
+        assertThat(store.execute("chave-0", () -> -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldNotEvictKeyWhileItsExecutionIsInFlight() throws Exception {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(Duration.ofSeconds(10), 2, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> store.execute("lenta", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "pedido-lento";
+        }), executor);
+        started.await(5, TimeUnit.SECONDS);
+
+        // When - novas chaves excedem o limite e o TTL passa com a execução ainda em andamento
+        for (int i = 0; i < 5; i++) {
+            store.execute("chave-" + i, () -> "pedido");
+        }
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        store.execute("chave-depois-do-ttl", () -> "pedido");
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(
+                () -> store.execute("lenta", () -> "pedido-" + executions.incrementAndGet()), executor);
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("pedido-lento");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("pedido-lento");
+        assertThat(executions).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldNotRememberFailures() {
+        // Given
+        IdempotencyStore<String> store = new IdempotencyStore<>(Duration.ofMinutes(1), 10, clock::get);
+
+        // When
+        assertThatThrownBy(() -> store.execute("chave", () -> {
+            throw new IllegalArgumentException("Total inválido");
+        })).isInstanceOf(IllegalArgumentException.class);
+        String retried = store.execute("chave", () -> "pedido");
+
+        // Then
+        assertThat(retried).isEqualTo("pedido");
+    }
+
+    @Test
+    void shouldRejectInvalidKeys() {
+        IdempotencyStore<String> store = new IdempotencyStore<>(Duration.ofMinutes(1), 10);
+
+        assertThatThrownBy(() -> store.execute(" ", () -> "pedido"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.execute("x".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), () -> "pedido"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
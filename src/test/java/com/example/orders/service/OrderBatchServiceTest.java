@@ -0,0 +1,124 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.BatchItemResult;
+import com.example.orders.dto.BatchOperationResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.util.LegacyFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para OrderBatchService
+ */
+class OrderBatchServiceTest {
+
+    private OrderRepository orderRepository;
+    private OrderBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        batchService = new OrderBatchService(new OrderService(orderRepository, new OrderMapper(), new LegacyFormat()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.close();
+    }
+
+    @Test
+    void shouldApplyCouponToEveryOrderAndReportMissingOnes() {
+        // Given
+        Long first = save(new BigDecimal("100.00"), OrderStatus.NEW);
+        Long second = save(new BigDecimal("50.00"), OrderStatus.NEW);
+
+        // When
+        BatchOperationResponse response = batchService.applyCoupon(List.of(first, 999L, second), "OFF10");
+
+        // Then
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchItemResult::getOrderId).containsExactly(first, 999L, second);
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus)
+                .containsExactly(BatchItemResult.OK, BatchItemResult.NOT_FOUND, BatchItemResult.OK);
+        assertThat(orderRepository.findById(first).orElseThrow().getTotal()).isEqualByComparingTo("90.00");
+        assertThat(orderRepository.findById(second).orElseThrow().getTotal()).isEqualByComparingTo("45.00");
+    }
+
+    @Test
+    void shouldApplyCouponOnlyOnceForRepeatedIds() {
+        // Given
+        Long id = save(new BigDecimal("100.00"), OrderStatus.NEW);
+
+        // When
+        BatchOperationResponse response = batchService.applyCoupon(List.of(id, id, id), "VALOR10");
+
+        // Then
+        assertThat(response.getResults()).hasSize(1);
+        assertThat(orderRepository.findById(id).orElseThrow().getTotal()).isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    void shouldRejectInvalidCouponBeforeChangingAnyOrder() {
+        // Given
+        Long id = save(new BigDecimal("100.00"), OrderStatus.NEW);
+
+        // When / Then
+        assertThatThrownBy(() -> batchService.applyCoupon(List.of(id), "XPTO"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(orderRepository.findById(id).orElseThrow().getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFulfillPaidOrdersAndReportConflicts() {
+        // Given
+        Long paid = save(new BigDecimal("100.00"), OrderStatus.PAID);
+        Long unpaid = save(new BigDecimal("100.00"), OrderStatus.NEW);
+
+        // When
+        BatchOperationResponse response = batchService.fulfill(List.of(paid, unpaid, 999L));
+
+        // Then
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus)
+                .containsExactly(BatchItemResult.OK, BatchItemResult.CONFLICT, BatchItemResult.NOT_FOUND);
+        assertThat(response.getResults().get(1).getMessage()).contains("pago");
+        assertThat(orderRepository.findById(paid).orElseThrow().getStatus()).isEqualTo(OrderStatus.FULFILLED);
+        assertThat(orderRepository.findById(unpaid).orElseThrow().getStatus()).isEqualTo(OrderStatus.NEW);
+    }
+
+    @Test
+    void shouldProcessLargeBatches() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            ids.add(save(new BigDecimal("10.00"), OrderStatus.PAID));
+        }
+
+        // When
+        BatchOperationResponse response = batchService.fulfill(ids);
+
+        // Then
+        assertThat(response.getSucceeded()).isEqualTo(ids.size());
+        assertThat(response.getResults()).extracting(BatchItemResult::getOrderId).containsExactlyElementsOf(ids);
+    }
+
+    private Long save(BigDecimal total, OrderStatus status) {
+        Order order = new Order(null, "Cliente", total, LocalDate.of(2024, 12, 15));
+        order.setStatus(status);
+        return orderRepository.save(order).getId();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.BulkImportError;
+import com.example.orders.dto.BulkImportResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para OrderBulkImportService
+ */
+class OrderBulkImportServiceTest {
+
+    private ValidatorFactory validatorFactory;
+    private OrderRepository orderRepository;
+    private OrderBulkImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        orderRepository = new InMemoryOrderRepository();
+        importService = new OrderBulkImportService(orderRepository, new OrderMapper(),
+                new ObjectMapper(), validatorFactory.getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.close();
+        validatorFactory.close();
+    }
+
+    @Test
+    void shouldImportNdjsonOrders() throws Exception {
+        // Given
+        String body = """
+                {"customerName":"Ana","total":10.50,"orderDate":"15-12-2024"}
+                {"customerName":"Bruno","total":20,"orderDate":"16-12-2024"}
+                """;
+
+        // When
+        BulkImportResponse result = importService.importOrders(stream(body), OrderBulkImportService.Format.NDJSON);
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(2);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        List<Order> orders = orderRepository.findAll();
+        assertThat(orders).extracting(Order::getCustomerName).containsExactlyInAnyOrder("Ana", "Bruno");
+        assertThat(orders).extracting(Order::getOrderDate)
+                .contains(LocalDate.of(2024, 12, 15), LocalDate.of(2024, 12, 16));
+    }
+
+    @Test
+    void shouldReportInvalidLinesWithoutFailingTheBatch() throws Exception {
+        // Given
+        String body = """
+                {"customerName":"Ana","total":10,"orderDate":"15-12-2024"}
+                {"customerName":"","total":10,"orderDate":"15-12-2024"}
+                {"customerName":"Carla","total":-1,"orderDate":"15-12-2024"}
+
+                {"customerName":"Davi","total":10,"orderDate":"2024-12-15"}
+                {isto não é json}
+                {"customerName":"Eva","total":10,"orderDate":"15-12-2024"}
+                """;
+
+        // When
+        BulkImportResponse result = importService.importOrders(stream(body), OrderBulkImportService.Format.NDJSON);
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(6);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(BulkImportError::getLine).containsExactly(2L, 3L, 5L, 6L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Nome do cliente é obrigatório");
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Total deve ser positivo");
+        assertThat(result.getErrors().get(2).getMessage()).startsWith("Data inválida");
+        assertThat(result.getErrors().get(3).getMessage()).startsWith("JSON inválido");
+        assertThat(orderRepository.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldImportCsvWithHeaderAndQuotedFields() throws Exception {
+        // Given
+        String body = """
+                customerName,total,orderDate
+                "Silva, João",100.50,15-12-2024
+                "Loja \"\"Central\"\"",20,16-12-2024
+                Maria,abc,16-12-2024
+                Pedro,10
+                """;
+
+        // When
+        BulkImportResponse result = importService.importOrders(stream(body), OrderBulkImportService.Format.CSV);
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkImportError::getLine).containsExactly(4L, 5L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Total inválido: abc");
+        assertThat(orderRepository.findAll()).extracting(Order::getCustomerName)
+                .containsExactlyInAnyOrder("Silva, João", "Loja \"Central\"");
+        assertThat(orderRepository.findAll()).extracting(Order::getTotal)
+                .usingElementComparator(Comparator.naturalOrder())
+                .contains(new BigDecimal("100.50"));
+    }
+
+    @Test
+    void shouldKeepLineNumbersAcrossChunksAndCapTheReport() throws Exception {
+        // Given: linhas pares inválidas, em vários blocos
+        int lines = OrderBulkImportService.CHUNK_SIZE * 3;
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            body.append(i % 2 == 0 ? "Cliente " + i + ",0,15-12-2024" : "Cliente " + i + ",10,15-12-2024")
+                    .append('\n');
+        }
+
+        // When
+        BulkImportResponse result = importService.importOrders(stream(body.toString()),
+                OrderBulkImportService.Format.CSV);
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(lines);
+        assertThat(result.getCreated()).isEqualTo(lines / 2);
+        assertThat(result.getFailed()).isEqualTo(lines / 2);
+        assertThat(result.getErrors()).hasSize(OrderBulkImportService.MAX_REPORTED_ERRORS);
+        assertThat(result.getErrors().get(0).getLine()).isEqualTo(2L);
+        assertThat(result.getErrors().get(OrderBulkImportService.MAX_REPORTED_ERRORS - 1).getLine())
+                .isEqualTo(2L * OrderBulkImportService.MAX_REPORTED_ERRORS);
+        assertThat(orderRepository.size()).isEqualTo(lines / 2);
+    }
+
+    @Test
+    void shouldReportOversizedLineWithoutBufferingIt() throws Exception {
+        // Given
+        String oversized = "Cliente " + "x".repeat(OrderBulkImportService.MAX_LINE_LENGTH) + ",10,15-12-2024";
+        String body = "Ana,10,15-12-2024\r\n" + oversized + "\r\nBruno,20,16-12-2024";
+
+        // When
+        BulkImportResponse result = importService.importOrders(stream(body), OrderBulkImportService.Format.CSV);
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2L);
+            assertThat(error.getMessage()).contains(String.valueOf(OrderBulkImportService.MAX_LINE_LENGTH));
+        });
+        assertThat(orderRepository.findAll()).extracting(Order::getCustomerName)
+                .containsExactlyInAnyOrder("Ana", "Bruno");
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.util.LegacyFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para OrderCommandPipeline (escritor único sobre buffer circular)
+ */
+class OrderCommandPipelineTest {
+
+    private OrderRepository orderRepository;
+    private OrderCommandPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        OrderService orderService = new OrderService(orderRepository, new OrderMapper(), new LegacyFormat());
+        pipeline = new OrderCommandPipeline(orderService, orderRepository, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void shouldCreateApplyCouponAndFulfill() {
+        // Given
+        OrderResponse created = pipeline.createOrder(request("João Silva", "100.00"));
+
+        // When
+        BigDecimal total = pipeline.applyCoupon(created.getId(), "OFF100");
+        String fulfilled = pipeline.fulfillOrder(created.getId());
+
+        // Then
+        assertThat(created.getId()).isEqualTo(1L);
+        assertThat(total).isEqualByComparingTo("0");
+        assertThat(fulfilled).contains("Entregue");
+        assertThat(orderRepository.findById(created.getId())).get()
+                .extracting(Order::getStatus).isEqualTo(OrderStatus.FULFILLED);
+        assertThat(pipeline.processedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPropagateBusinessErrorsToCaller() {
+        // Given
+        OrderResponse created = pipeline.createOrder(request("Maria Santos", "50.00"));
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.applyCoupon(999L, "OFF10"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("999");
+        assertThatThrownBy(() -> pipeline.applyCoupon(created.getId(), "XYZ"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pipeline.fulfillOrder(created.getId()))
+                .isInstanceOf(IllegalStateException.class);
+
+        // A thread de negócio continua atendendo após as falhas
+        assertThat(pipeline.applyCoupon(created.getId(), "OFF10")).isEqualByComparingTo("45.00");
+    }
+
+    @Test
+    void shouldApplyConcurrentCouponsWithoutLostUpdates() throws Exception {
+        // Given: buffer de 8 posições para forçar a espera dos produtores
+        OrderResponse created = pipeline.createOrder(request("Cliente", "1000.00"));
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            futures.add(CompletableFuture.runAsync(() -> pipeline.applyCoupon(created.getId(), "VALOR1"), executor));
+            futures.add(CompletableFuture.runAsync(() -> pipeline.createOrder(request("Outro", "10.00")), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        // Then
+        assertThat(orderRepository.findById(created.getId())).get()
+                .extracting(Order::getTotal).isEqualTo(new BigDecimal("800.00"));
+        assertThat(orderRepository.size()).isEqualTo(201);
+        assertThat(pipeline.processedCount()).isEqualTo(401);
+        assertThat(pipeline.batchCount()).isLessThanOrEqualTo(401);
+    }
+
+    @Test
+    void shouldRejectCommandsAfterClose() {
+        // When
+        pipeline.close();
+
+        // Then
+        assertThatThrownBy(() -> pipeline.createOrder(request("Tarde", "1.00")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRejectBufferSizeNotPowerOfTwo() {
+        OrderService orderService = new OrderService(orderRepository, new OrderMapper(), new LegacyFormat());
+        assertThatThrownBy(() -> new OrderCommandPipeline(orderService, orderRepository, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CreateOrderRequest request(String customer, String total) {
+        return new CreateOrderRequest(customer, new BigDecimal(total), "15-01-2024");
+    }
+}
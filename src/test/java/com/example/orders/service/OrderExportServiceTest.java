@@ -0,0 +1,141 @@
+package com.example.orders.service;
+
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para OrderExportService
+ */
+class OrderExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private OrderRepository orderRepository;
+    private OrderExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        exportService = new OrderExportService(orderRepository, new OrderMapper(), objectMapper);
+    }
+
+    @Test
+    void shouldWriteOneOrderPerLineAcrossPages() throws Exception {
+        // Given
+        int orders = OrderExportService.PAGE_SIZE * 2 + 5;
+        saveOrders(orders);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = exportService.exportNdjson(OrderQuery.all(), out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(orders);
+        assertThat(lines).hasSize(orders);
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\n");
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("orderDate").asText()).isEqualTo("2024-12-15");
+        assertThat(objectMapper.readTree(lines[orders - 1]).get("id").asLong()).isEqualTo(orders);
+    }
+
+    @Test
+    void shouldApplyFilters() throws Exception {
+        // Given
+        saveOrders(10);
+        orderRepository.update(3L, order -> {
+            order.setStatus(OrderStatus.FULFILLED);
+            return order;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = exportService.exportNdjson(new OrderQuery(OrderStatus.FULFILLED, null, null, null), out);
+
+        // Then
+        assertThat(written).isEqualTo(1);
+        assertThat(objectMapper.readTree(out.toByteArray()).get("id").asLong()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldFlushInBatches() throws Exception {
+        // Given
+        saveOrders(OrderExportService.FLUSH_EVERY * 3);
+        CountingOutputStream out = new CountingOutputStream(Long.MAX_VALUE);
+
+        // When
+        exportService.exportNdjson(OrderQuery.all(), out);
+
+        // Then: um flush por lote, mais o do fechamento do gerador
+        assertThat(out.flushes).isEqualTo(4);
+    }
+
+    @Test
+    void shouldStopWhenClientDisconnects() {
+        // Given
+        saveOrders(OrderExportService.PAGE_SIZE * 3);
+        CountingOutputStream out = new CountingOutputStream(32 * 1024);
+
+        // When / Then
+        assertThatThrownBy(() -> exportService.exportNdjson(OrderQuery.all(), out))
+                .isInstanceOf(IOException.class);
+        assertThat(out.bytes).isLessThanOrEqualTo(32 * 1024);
+    }
+
+    private void saveOrders(int count) {
+        for (int i = 1; i <= count; i++) {
+            orderRepository.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.of(2024, 12, 15)));
+        }
+    }
+
+    /**
+     * Descarta os bytes, contando-os; falha como um socket fechado após o limite
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final long limit;
+        long bytes;
+        int flushes;
+
+        CountingOutputStream(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (bytes + len > limit) {
+                throw new IOException("Conexão encerrada pelo cliente");
+            }
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
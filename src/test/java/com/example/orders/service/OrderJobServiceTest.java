@@ -0,0 +1,251 @@
+package com.example.orders.service;
+
+import com.example.orders.config.OrderJobProperties;
+import com.example.orders.dto.BatchItemResult;
+import com.example.orders.dto.OrderJobResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderJobRequest;
+import com.example.orders.model.OrderJobStatus;
+import com.example.orders.model.OrderJobType;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.util.LegacyFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para OrderJobService
+ */
+class OrderJobServiceTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private GatedRepository repository;
+    private OrderJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        if (jobService != null) {
+            jobService.close();
+        }
+    }
+
+    @Test
+    void shouldRunJobInBackgroundAndReportProgress() throws Exception {
+        // Given
+        createService(4, 2, 10, false);
+        List<Long> ids = saveOrders(500, OrderStatus.PAID);
+        ids.add(999_999L);
+
+        // When
+        OrderJobResponse submitted = jobService.submit(new OrderJobRequest(OrderJobType.FULFILL, ids, null));
+        OrderJobResponse finished = awaitFinished(submitted.getId());
+
+        // Then
+        assertThat(submitted.getTotal()).isEqualTo(501);
+        assertThat(finished.getStatus()).isEqualTo(OrderJobStatus.COMPLETED);
+        assertThat(finished.getProcessed()).isEqualTo(501);
+        assertThat(finished.getSucceeded()).isEqualTo(500);
+        assertThat(finished.getFailures()).extracting(BatchItemResult::getStatus)
+                .containsExactly(BatchItemResult.NOT_FOUND);
+        assertThat(repository.findById(ids.get(0)).orElseThrow().getStatus()).isEqualTo(OrderStatus.FULFILLED);
+    }
+
+    @Test
+    void shouldApplyCouponJob() throws Exception {
+        // Given
+        createService(4, 2, 10, false);
+        List<Long> ids = saveOrders(10, OrderStatus.NEW);
+
+        // When
+        OrderJobResponse submitted = jobService.submit(new OrderJobRequest(OrderJobType.APPLY_COUPON, ids, "OFF50"));
+        awaitFinished(submitted.getId());
+
+        // Then
+        assertThat(repository.findAll()).allSatisfy(order ->
+                assertThat(order.getTotal()).isEqualByComparingTo("5.00"));
+    }
+
+    @Test
+    void shouldRejectInvalidRequests() {
+        // Given
+        createService(4, 2, 10, false);
+        List<Long> ids = saveOrders(1, OrderStatus.NEW);
+
+        // When / Then
+        assertThatThrownBy(() -> jobService.submit(new OrderJobRequest(OrderJobType.APPLY_COUPON, ids, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobService.submit(new OrderJobRequest(OrderJobType.APPLY_COUPON, ids, "XPTO")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldLimitItemsInFlight() throws Exception {
+        // Given: o repositório segura as transições até o portão abrir
+        createService(3, 2, 10, true);
+        List<Long> ids = saveOrders(50, OrderStatus.PAID);
+
+        // When
+        OrderJobResponse submitted = jobService.submit(new OrderJobRequest(OrderJobType.FULFILL, ids, null));
+        awaitBlocked(3);
+        Thread.sleep(100);
+        int blockedWhileGated = repository.blocked.get();
+        gate.countDown();
+        OrderJobResponse finished = awaitFinished(submitted.getId());
+
+        // Then
+        assertThat(blockedWhileGated).isEqualTo(3);
+        assertThat(finished.getSucceeded()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldCancelRunningAndPendingJobs() throws Exception {
+        // Given
+        createService(2, 1, 10, true);
+        OrderJobResponse running = jobService.submit(
+                new OrderJobRequest(OrderJobType.FULFILL, saveOrders(20, OrderStatus.PAID), null));
+        OrderJobResponse pending = jobService.submit(
+                new OrderJobRequest(OrderJobType.FULFILL, saveOrders(5, OrderStatus.PAID), null));
+        awaitBlocked(2);
+
+        // When
+        OrderJobResponse cancelledPending = jobService.cancel(pending.getId()).orElseThrow();
+        jobService.cancel(running.getId());
+        gate.countDown();
+        OrderJobResponse cancelledRunning = awaitFinished(running.getId());
+
+        // Then
+        assertThat(cancelledPending.getStatus()).isEqualTo(OrderJobStatus.CANCELLED);
+        assertThat(cancelledPending.getProcessed()).isZero();
+        assertThat(cancelledRunning.getStatus()).isEqualTo(OrderJobStatus.CANCELLED);
+        assertThat(cancelledRunning.getProcessed()).isEqualTo(2);
+        assertThat(jobService.find(pending.getId()).orElseThrow().getProcessed()).isZero();
+    }
+
+    @Test
+    void shouldBoundRetainedJobsAndExpireFinishedOnes() throws Exception {
+        // Given
+        createService(2, 1, 1, false);
+        OrderJobResponse first = jobService.submit(
+                new OrderJobRequest(OrderJobType.FULFILL, saveOrders(1, OrderStatus.PAID), null));
+        awaitFinished(first.getId());
+
+        // When / Then: cheio até o primeiro expirar
+        List<Long> more = saveOrders(1, OrderStatus.PAID);
+        assertThatThrownBy(() -> jobService.submit(new OrderJobRequest(OrderJobType.FULFILL, more, null)))
+                .isInstanceOf(IllegalStateException.class);
+        clock.advance(Duration.ofHours(2));
+        assertThat(jobService.find(first.getId())).isEmpty();
+        assertThat(jobService.submit(new OrderJobRequest(OrderJobType.FULFILL, more, null)).getTotal()).isEqualTo(1);
+    }
+
+    private void createService(int concurrency, int maxRunningJobs, int maxJobs, boolean gated) {
+        repository = new GatedRepository(gated ? gate : null);
+        OrderJobProperties properties = new OrderJobProperties();
+        properties.setConcurrency(concurrency);
+        properties.setMaxRunningJobs(maxRunningJobs);
+        properties.setMaxJobs(maxJobs);
+        properties.setTtl(Duration.ofHours(1));
+        jobService = new OrderJobService(new OrderService(repository, new OrderMapper(), new LegacyFormat()),
+                properties, clock);
+    }
+
+    private List<Long> saveOrders(int count, OrderStatus status) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.of(2024, 12, 15));
+            order.setStatus(status);
+            ids.add(repository.save(order).getId());
+        }
+        return ids;
+    }
+
+    private OrderJobResponse awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            OrderJobResponse job = jobService.find(id).orElseThrow();
+            if (job.getStatus().isFinished()) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Job não terminou: " + id);
+    }
+
+    private void awaitBlocked(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (repository.blocked.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Repositório cujas transições esperam um portão, contando as que estão retidas
+     */
+    private static final class GatedRepository extends InMemoryOrderRepository {
+        private final CountDownLatch gate;
+        final AtomicInteger blocked = new AtomicInteger();
+
+        GatedRepository(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public Optional<Order> update(Long id, UnaryOperator<Order> transition) {
+            if (gate != null) {
+                blocked.incrementAndGet();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    blocked.decrementAndGet();
+                }
+            }
+            return super.update(id, transition);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-12-15T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.orders.service;
+
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para OrderJsonCache
+ */
+class OrderJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+    }
+
+    @Test
+    void shouldServeSerializedResponseFromCache() throws Exception {
+        // Given
+        OrderJsonCache cache = newCache(1024 * 1024);
+        Order order = orderRepository.save(new Order(null, "Maria", new BigDecimal("150.00"), LocalDate.of(2024, 12, 15)));
+
+        // When
+        byte[] first = cache.getOrderJson(order.getId()).orElseThrow();
+        byte[] second = cache.getOrderJson(order.getId()).orElseThrow();
+
+        // Then
+        JsonNode json = objectMapper.readTree(first);
+        assertThat(json.get("success").asBoolean()).isTrue();
+        assertThat(json.get("data").get("id").asLong()).isEqualTo(order.getId());
+        assertThat(json.get("data").get("customerName").asText()).isEqualTo("Maria");
+        assertThat(json.get("data").get("total").decimalValue()).isEqualByComparingTo("150.00");
+        assertThat(second).isSameAs(first);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnEmptyForMissingOrder() {
+        // Given
+        OrderJsonCache cache = newCache(1024 * 1024);
+
+        // When
+        Optional<byte[]> json = cache.getOrderJson(42L);
+
+        // Then
+        assertThat(json).isEmpty();
+        assertThat(cache.sizeInBytes()).isZero();
+    }
+
+    @Test
+    void shouldInvalidateWhenOrderChanges() throws Exception {
+        // Given
+        OrderJsonCache cache = newCache(1024 * 1024);
+        Order order = orderRepository.save(new Order(null, "Maria", BigDecimal.TEN, LocalDate.of(2024, 12, 15)));
+        cache.getOrderJson(order.getId());
+
+        // When
+        orderRepository.update(order.getId(), current -> {
+            current.setStatus(OrderStatus.FULFILLED);
+            return current;
+        });
+        byte[] json = cache.getOrderJson(order.getId()).orElseThrow();
+
+        // Then
+        assertThat(objectMapper.readTree(json).get("data").get("status").asText()).isEqualTo("FULFILLED");
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldForgetEverythingOnClear() {
+        // Given
+        OrderJsonCache cache = newCache(1024 * 1024);
+        Order order = orderRepository.save(new Order(null, "Maria", BigDecimal.TEN, LocalDate.of(2024, 12, 15)));
+        cache.getOrderJson(order.getId());
+
+        // When
+        orderRepository.clear();
+
+        // Then
+        assertThat(cache.sizeInBytes()).isZero();
+        assertThat(cache.getOrderJson(order.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldStayWithinMemoryBudget() {
+        // Given
+        long budget = 64 * 1024;
+        OrderJsonCache cache = newCache(budget);
+        for (int i = 0; i < 5_000; i++) {
+            orderRepository.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.of(2024, 12, 15)));
+        }
+
+        // When
+        for (long id = 1; id <= 5_000; id++) {
+            assertThat(cache.getOrderJson(id)).isPresent();
+        }
+
+        // Then
+        assertThat(cache.sizeInBytes()).isPositive().isLessThanOrEqualTo(budget);
+    }
+
+    @Test
+    void shouldNotStoreWhenDisabled() {
+        // Given
+        OrderJsonCache cache = newCache(0);
+        Order order = orderRepository.save(new Order(null, "Maria", BigDecimal.TEN, LocalDate.of(2024, 12, 15)));
+
+        // When
+        Optional<byte[]> first = cache.getOrderJson(order.getId());
+        cache.getOrderJson(order.getId());
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(cache.hitCount()).isZero();
+        assertThat(cache.sizeInBytes()).isZero();
+    }
+
+    private OrderJsonCache newCache(long maxBytes) {
+        OrderJsonCache cache = new OrderJsonCache(orderRepository, new OrderMapper(), objectMapper, maxBytes);
+        orderRepository.addListener(cache);
+        return cache;
+    }
+}
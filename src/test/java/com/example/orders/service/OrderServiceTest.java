@@ -0,0 +1,171 @@
+package com.example.orders.service;
+
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.PageResponse;
+import com.example.orders.mapper.OrderMapper;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderQuery;
+import com.example.orders.repository.InMemoryOrderRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.util.LegacyFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para OrderService
+ */
+class OrderServiceTest {
+
+    private OrderRepository orderRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new InMemoryOrderRepository();
+        orderService = new OrderService(orderRepository, new OrderMapper(), new LegacyFormat());
+    }
+
+    @Test
+    void shouldReturnBoundedFirstPageByDefault() {
+        // Given
+        saveOrders(OrderService.DEFAULT_PAGE_SIZE + 5);
+
+        // When
+        PageResponse<OrderResponse> page = orderService.findOrders(OrderQuery.all(), null, null);
+
+        // Then
+        assertThat(page.getItems()).hasSize(OrderService.DEFAULT_PAGE_SIZE);
+        assertThat(page.getNextCursor()).isEqualTo((long) OrderService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void shouldFollowCursorUntilLastPage() {
+        // Given
+        saveOrders(5);
+
+        // When
+        PageResponse<OrderResponse> first = orderService.findOrders(OrderQuery.all(), null, 2);
+        PageResponse<OrderResponse> second = orderService.findOrders(OrderQuery.all(), first.getNextCursor(), 2);
+        PageResponse<OrderResponse> last = orderService.findOrders(OrderQuery.all(), second.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getItems()).extracting(OrderResponse::getId).containsExactly(1L, 2L);
+        assertThat(second.getItems()).extracting(OrderResponse::getId).containsExactly(3L, 4L);
+        assertThat(last.getItems()).extracting(OrderResponse::getId).containsExactly(5L);
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldNotReturnCursorWhenPageIsExactlyFull() {
+        // Given
+        saveOrders(2);
+
+        // When
+        PageResponse<OrderResponse> page = orderService.findOrders(OrderQuery.all(), null, 2);
+
+        // Then
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> orderService.findOrders(OrderQuery.all(), null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.findOrders(OrderQuery.all(), null, OrderService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldApplyConcurrentCouponsWithoutLosingUpdates() {
+        // Given
+        Order order = orderRepository.save(new Order(null, "Hot", new BigDecimal("1000.00"), LocalDate.now()));
+        int coupons = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        CompletableFuture<?>[] futures = new CompletableFuture[coupons];
+        for (int i = 0; i < coupons; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> orderService.applyCoupon(order.getId(), "VALOR1"), executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        executor.shutdown();
+
+        // Then
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getTotal())
+                .isEqualByComparingTo("800.00");
+    }
+
+    @Test
+    void shouldRejectFulfillmentOfUnpaidOrderWithoutWriting() {
+        // Given
+        Order order = orderRepository.save(new Order(null, "João Silva", BigDecimal.TEN, LocalDate.now()));
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.fulfillOrder(order.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        Order found = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(found.getStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(found.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectUnknownCouponWithoutWriting() {
+        // Given
+        Order order = orderRepository.save(new Order(null, "João Silva", new BigDecimal("100.00"), LocalDate.now()));
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.applyCoupon(order.getId(), "OFF1e2"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("OFF1e2");
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getVersion()).isEqualTo(1);
+        assertThat(orderService.applyCoupon(order.getId(), "")).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void shouldRejectCouponWhenQuotaIsExhaustedWithoutWriting(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve("coupons.properties");
+        Files.writeString(file, "BEMVINDO=OFF10;limit=2;per-customer=1\n");
+        CouponRedemptions redemptions = new CouponRedemptions();
+        OrderService quotaService = new OrderService(orderRepository, new OrderMapper(), new LegacyFormat(),
+                new CouponRegistry(file, false), redemptions);
+        Order ana = orderRepository.save(new Order(null, "Ana", new BigDecimal("100.00"), LocalDate.now()));
+        Order anaAgain = orderRepository.save(new Order(null, "Ana", new BigDecimal("100.00"), LocalDate.now()));
+        Order bruno = orderRepository.save(new Order(null, "Bruno", new BigDecimal("100.00"), LocalDate.now()));
+        Order carla = orderRepository.save(new Order(null, "Carla", new BigDecimal("100.00"), LocalDate.now()));
+
+        // When
+        quotaService.applyCoupon(ana.getId(), "BEMVINDO");
+        quotaService.applyCoupon(bruno.getId(), "BEMVINDO");
+
+        // Then
+        assertThatThrownBy(() -> quotaService.applyCoupon(anaAgain.getId(), "BEMVINDO"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> quotaService.applyCoupon(carla.getId(), "BEMVINDO"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> quotaService.applyCoupon(999L, "BEMVINDO"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(orderRepository.findById(carla.getId()).orElseThrow().getVersion()).isEqualTo(1);
+        assertThat(redemptions.redeemed("BEMVINDO")).isEqualTo(2);
+    }
+
+    private void saveOrders(int count) {
+        for (int i = 1; i <= count; i++) {
+            orderRepository.save(new Order(null, "Cliente " + i, BigDecimal.TEN, LocalDate.of(2024, 12, 15)));
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.orders.util;
 
+import com.example.orders.model.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -224,4 +230,59 @@ class LegacyFormatTest {
         assertThat(formatted2).startsWith("R$").contains("100").contains("50");
         assertThat(formatted3).startsWith("R$").contains("100").contains("50");
     }
+
+    @Test
+    void shouldMatchNumberFormatForEveryLocaleAndValue() {
+        // Given
+        Locale[] locales = { new Locale("pt", "BR"), Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.JAPAN,
+                new Locale("en", "IN"), new Locale("de", "CH"), new Locale("ar", "SA"), Locale.ENGLISH };
+        List<BigDecimal> values = new ArrayList<>(List.of(BigDecimal.ZERO, new BigDecimal("-0.00"),
+                new BigDecimal("0.005"), new BigDecimal("0.015"), new BigDecimal("-0.005"), new BigDecimal("-0.001"),
+                new BigDecimal("0.5"), new BigDecimal("1.5"), new BigDecimal("2.5"), new BigDecimal("1000"),
+                new BigDecimal("999.995"), new BigDecimal("1E+3"), new BigDecimal("92233720368547758.07"),
+                new BigDecimal("92233720368547758.08"), new BigDecimal("-92233720368547758.08"),
+                new BigDecimal("123456789012345678901234.567")));
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            values.add(BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(6)));
+        }
+
+        for (Locale locale : locales) {
+            NumberFormat expected = NumberFormat.getCurrencyInstance(locale);
+            for (BigDecimal value : values) {
+                // When
+                String formatted = legacyFormat.formatMoney(value, locale);
+
+                // Then
+                assertThat(formatted).as("%s em %s", value, locale).isEqualTo(expected.format(value));
+            }
+        }
+    }
+
+    @Test
+    void shouldAppendMoneyToExistingBuilder() {
+        // Given
+        StringBuilder out = new StringBuilder("Total: ");
+
+        // When
+        legacyFormat.appendMoney(out, Money.ofUnits(123456, 2)).append(" | pago");
+
+        // Then
+        assertThat(out.toString()).isEqualTo("Total: R$\u00a01.234,56 | pago");
+        assertThat(legacyFormat.appendMoney(new StringBuilder(), Money.ofUnits(-5, 0), Locale.US))
+                .hasToString("-$5.00");
+        assertThat(legacyFormat.appendMoney(new StringBuilder(), null)).hasToString("R$ 0,00");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldKeepLegacyDoubleOutput() {
+        // Given
+        double[] values = { 0.1 + 0.2, 0.005, 0.015, -1.005, 1234567.891, 0 };
+
+        for (double value : values) {
+            // When / Then
+            assertThat(LegacyFormat.money(value)).isEqualTo("R$ " + new DecimalFormat("#0.00").format(value));
+        }
+    }
 }